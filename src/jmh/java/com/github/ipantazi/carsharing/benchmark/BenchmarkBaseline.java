@@ -0,0 +1,92 @@
+package com.github.ipantazi.carsharing.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+final class BenchmarkBaseline {
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Entry> entries;
+
+    private BenchmarkBaseline(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    static BenchmarkBaseline empty() {
+        return new BenchmarkBaseline(new TreeMap<>());
+    }
+
+    static BenchmarkBaseline load(Path file) throws IOException {
+        Map<String, Entry> entries = OBJECT_MAPPER.readValue(file.toFile(),
+                OBJECT_MAPPER.getTypeFactory()
+                        .constructMapType(TreeMap.class, String.class, Entry.class));
+        return new BenchmarkBaseline(entries);
+    }
+
+    void save(Path file) throws IOException {
+        OBJECT_MAPPER.writeValue(file.toFile(), entries);
+    }
+
+    void record(Collection<RunResult> results) {
+        for (RunResult result : results) {
+            entries.put(key(result.getParams()), Entry.of(result));
+        }
+    }
+
+    List<String> compare(Collection<RunResult> results, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (RunResult result : results) {
+            String key = key(result.getParams());
+            Entry expected = entries.get(key);
+            if (expected == null) {
+                regressions.add("%s: no baseline entry, record one with -Djmh.baseline.update=true"
+                        .formatted(key));
+                continue;
+            }
+            Entry actual = Entry.of(result);
+            if (actual.score() > expected.score() * (1 + tolerance)) {
+                regressions.add("%s: %.3f %s vs baseline %.3f".formatted(
+                        key, actual.score(), actual.unit(), expected.score()));
+            }
+            if (expected.allocatedBytesPerOp() >= 0
+                    && actual.allocatedBytesPerOp()
+                    > expected.allocatedBytesPerOp() * (1 + tolerance)) {
+                regressions.add("%s: %.1f B/op allocated vs baseline %.1f B/op".formatted(
+                        key, actual.allocatedBytesPerOp(), expected.allocatedBytesPerOp()));
+            }
+        }
+        return regressions;
+    }
+
+    private static String key(BenchmarkParams params) {
+        String values = params.getParamsKeys().stream()
+                .map(name -> name + "=" + params.getParam(name))
+                .collect(Collectors.joining(","));
+        return values.isEmpty() ? params.getBenchmark() : params.getBenchmark() + ":" + values;
+    }
+
+    record Entry(double score, String unit, double allocatedBytesPerOp) {
+        private static Entry of(RunResult result) {
+            Result<?> primary = result.getPrimaryResult();
+            double allocated = result.getSecondaryResults().entrySet().stream()
+                    .filter(secondary -> secondary.getKey().endsWith(ALLOCATION_METRIC))
+                    .mapToDouble(secondary -> secondary.getValue().getScore())
+                    .findFirst()
+                    .orElse(-1);
+            return new Entry(primary.getScore(), primary.getScoreUnit(), allocated);
+        }
+    }
+}
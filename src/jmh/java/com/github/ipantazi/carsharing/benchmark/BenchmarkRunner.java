@@ -0,0 +1,59 @@
+package com.github.ipantazi.carsharing.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public final class BenchmarkRunner {
+    private static final String DEFAULT_INCLUDE = ".*Benchmark.*";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+        Path resultFile = Path.of(System.getProperty("jmh.result", "target/jmh-result.json"));
+        Path baselineFile = Path.of(System.getProperty("jmh.baseline", "src/jmh/baseline.json"));
+        double tolerance = Double.parseDouble(System.getProperty("jmh.tolerance", "0.20"));
+        boolean updateBaseline = Boolean.getBoolean("jmh.baseline.update");
+
+        boolean firstRun = !Files.exists(baselineFile);
+        BenchmarkBaseline baseline = firstRun
+                ? BenchmarkBaseline.empty()
+                : BenchmarkBaseline.load(baselineFile);
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile.toString())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        if (firstRun || updateBaseline) {
+            baseline.record(results);
+            baseline.save(baselineFile);
+            System.out.printf(firstRun
+                            ? "No baseline yet, recorded %d results as the baseline: %s%n"
+                            : "Baseline updated with %d results: %s%n",
+                    results.size(), baselineFile);
+            return;
+        }
+        List<String> regressions = baseline.compare(results, tolerance);
+        if (!regressions.isEmpty()) {
+            System.err.printf("%d benchmark regressions beyond %.0f%% of %s:%n",
+                    regressions.size(), tolerance * 100, baselineFile);
+            regressions.forEach(regression -> System.err.println("  " + regression));
+            System.exit(1);
+        }
+        System.out.printf("No regressions beyond %.0f%% of %s%n", tolerance * 100, baselineFile);
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.ipantazi.carsharing.mapper;
+
+import com.github.ipantazi.carsharing.dto.enums.RentalStatus;
+import com.github.ipantazi.carsharing.dto.rental.RentalResponseDto;
+import com.github.ipantazi.carsharing.mapper.impl.CarMapperImpl;
+import com.github.ipantazi.carsharing.mapper.impl.RentalMapperImpl;
+import com.github.ipantazi.carsharing.model.Car;
+import com.github.ipantazi.carsharing.model.Rental;
+import com.github.ipantazi.carsharing.model.User;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    private static final LocalDate RENTAL_DATE = LocalDate.of(2025, 1, 1);
+    private static final BigDecimal DAILY_FEE = new BigDecimal("49.99");
+
+    @Param({"1", "100", "1000"})
+    private int rentals;
+
+    private CarMapper carMapper;
+    private RentalMapper rentalMapper;
+    private List<Rental> page;
+
+    @Setup
+    public void setUp() {
+        carMapper = new CarMapperImpl();
+        rentalMapper = new RentalMapperImpl();
+        page = new ArrayList<>(rentals);
+        for (long i = 1; i <= rentals; i++) {
+            page.add(createRental(i));
+        }
+    }
+
+    @Benchmark
+    public List<RentalResponseDto> rentalPageToDto() {
+        List<RentalResponseDto> dtos = new ArrayList<>(page.size());
+        for (Rental rental : page) {
+            dtos.add(rentalMapper.toRentalDto(
+                    rental,
+                    carMapper.toCarDto(rental.getCar()),
+                    RentalStatus.ACTIVE,
+                    DAILY_FEE
+            ));
+        }
+        return dtos;
+    }
+
+    private Rental createRental(long id) {
+        Car car = new Car();
+        car.setId(id);
+        car.setModel("Corolla");
+        car.setBrand("Toyota");
+        car.setType(Car.Type.SEDAN);
+        car.setInventory(5);
+        car.setDailyFee(DAILY_FEE);
+
+        User user = new User();
+        user.setId(id);
+        user.setEmail("customer" + id + "@example.com");
+
+        Rental rental = new Rental();
+        rental.setId(id);
+        rental.setRentalDate(RENTAL_DATE);
+        rental.setReturnDate(RENTAL_DATE.plusDays(5));
+        rental.setCar(car);
+        rental.setUser(user);
+        return rental;
+    }
+}
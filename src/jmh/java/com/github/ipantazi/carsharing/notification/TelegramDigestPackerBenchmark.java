@@ -0,0 +1,56 @@
+package com.github.ipantazi.carsharing.notification;
+
+import com.github.ipantazi.carsharing.model.NotificationOutboxMessage;
+import com.github.ipantazi.carsharing.notification.dto.NotificationDigest;
+import com.github.ipantazi.carsharing.notification.impl.TelegramDigestPacker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TelegramDigestPackerBenchmark {
+    private static final int MAX_LENGTH = 4096;
+    private static final String MESSAGE = "⚠️ <b>OVERDUE RENTAL:</b>\n• Rental id: %d\n"
+            + "• User: customer%d@example.com\n• Car: Toyota Corolla (SEDAN)";
+
+    @Param({"1", "50", "200"})
+    private int messages;
+
+    private NotificationDigestPacker digestPacker;
+    private List<NotificationOutboxMessage> batch;
+
+    @Setup
+    public void setUp() {
+        digestPacker = new TelegramDigestPacker(MAX_LENGTH);
+        NotificationType[] types = NotificationType.values();
+        batch = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            NotificationOutboxMessage message = new NotificationOutboxMessage();
+            message.setId((long) i);
+            message.setType(types[i % types.length]);
+            message.setMessage(MESSAGE.formatted(i, i));
+            batch.add(message);
+        }
+    }
+
+    @Benchmark
+    public List<NotificationDigest> pack() {
+        return digestPacker.pack(batch);
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.ipantazi.carsharing.notification;
+
+import com.github.ipantazi.carsharing.model.Payment;
+import com.github.ipantazi.carsharing.notification.dto.NewRentalPayload;
+import com.github.ipantazi.carsharing.notification.dto.OverdueRentalPayload;
+import com.github.ipantazi.carsharing.notification.dto.PaymentPayload;
+import com.github.ipantazi.carsharing.notification.impl.TelegramMessageBuilder;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TelegramMessageBuilderBenchmark {
+    private static final String SAMPLE = "Tom & Jerry <cars> \"rent\" ";
+    private static final LocalDate RENTAL_DATE = LocalDate.of(2025, 1, 1);
+
+    @Param({"16", "256", "4096"})
+    private int fieldLength;
+
+    private NotificationMessageBuilder messageBuilder;
+    private NewRentalPayload newRentalPayload;
+    private OverdueRentalPayload overdueRentalPayload;
+    private PaymentPayload paymentPayload;
+
+    @Setup
+    public void setUp() {
+        messageBuilder = new TelegramMessageBuilder();
+        String text = SAMPLE.repeat(fieldLength / SAMPLE.length() + 1).substring(0, fieldLength);
+        newRentalPayload = new NewRentalPayload(1L, text, text, text, text, text, text,
+                RENTAL_DATE, RENTAL_DATE.plusDays(5));
+        overdueRentalPayload = new OverdueRentalPayload(1L, text, text, text, text,
+                RENTAL_DATE, 3L);
+        paymentPayload = new PaymentPayload(1L, 1L, text, new BigDecimal("249.95"),
+                Payment.Type.PAYMENT);
+    }
+
+    @Benchmark
+    public String newRentalMessage() {
+        return messageBuilder.buildMessage(NotificationType.NEW_RENTAL_CREATED, newRentalPayload);
+    }
+
+    @Benchmark
+    public String overdueRentalMessage() {
+        return messageBuilder.buildMessage(NotificationType.OVERDUE_RENTAL, overdueRentalPayload);
+    }
+
+    @Benchmark
+    public String paymentMessage() {
+        return messageBuilder.buildMessage(NotificationType.PAYMENT_SUCCESSFUL, paymentPayload);
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.ipantazi.carsharing.security;
+
+import com.github.ipantazi.carsharing.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+    private static final long EXPIRATION = 3_600_000L;
+
+    private SecretKey secret;
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        secret = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtUtil = new JwtUtil(SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        token = jwtUtil.generateToken("customer@example.com", 1L, User.Role.CUSTOMER, 0L);
+    }
+
+    @Benchmark
+    public String validateThenExtractSubject() {
+        Jws<Claims> claimsJws = Jwts.parser()
+                .verifyWith(secret)
+                .build()
+                .parseSignedClaims(token);
+        if (claimsJws.getPayload().getExpiration().before(new Date())) {
+            return null;
+        }
+        return Jwts.parser()
+                .verifyWith(secret)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String parseClaimsOnce() {
+        return jwtUtil.parseClaims(token).getSubject();
+    }
+
+    @Benchmark
+    public JwtPrincipal parseClaimsToPrincipal() {
+        return jwtUtil.getPrincipal(jwtUtil.parseClaims(token)).orElseThrow();
+    }
+}
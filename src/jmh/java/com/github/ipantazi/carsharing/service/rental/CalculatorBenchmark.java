@@ -0,0 +1,72 @@
+package com.github.ipantazi.carsharing.service.rental;
+
+import com.github.ipantazi.carsharing.model.Rental;
+import com.github.ipantazi.carsharing.service.rental.impl.CalculatorImpl;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculatorBenchmark {
+    private static final LocalDate RENTAL_DATE = LocalDate.of(2025, 1, 1);
+    private static final BigDecimal DAILY_FEE = new BigDecimal("49.99");
+    private static final long DAILY_FEE_CENTS = MoneyCents.toCentsHalfUp(DAILY_FEE);
+
+    @Param({"1", "30", "365"})
+    private int rentalDays;
+
+    private Calculator calculator;
+    private Rental rental;
+    private LocalDate today;
+
+    @Setup
+    public void setUp() {
+        calculator = new CalculatorImpl(null, null);
+        rental = new Rental();
+        rental.setRentalDate(RENTAL_DATE);
+        rental.setReturnDate(RENTAL_DATE.plusDays(rentalDays));
+        rental.setActualReturnDate(RENTAL_DATE.plusDays(rentalDays * 2L));
+        today = rental.getActualReturnDate();
+    }
+
+    @Benchmark
+    public BigDecimal baseRentalCost() {
+        return calculator.calculateBaseRentalCost(DAILY_FEE, rental);
+    }
+
+    @Benchmark
+    public BigDecimal penaltyAmount() {
+        return calculator.calculatePenaltyAmount(DAILY_FEE, rental);
+    }
+
+    @Benchmark
+    public long baseRentalCostCents() {
+        return calculator.calculateBaseRentalCostCents(DAILY_FEE_CENTS, rental);
+    }
+
+    @Benchmark
+    public long penaltyAmountCents() {
+        return calculator.calculatePenaltyAmountCents(DAILY_FEE_CENTS, rental);
+    }
+
+    @Benchmark
+    public long daysOverdue() {
+        return calculator.calculateDaysOverdue(rental.getReturnDate(), today);
+    }
+}
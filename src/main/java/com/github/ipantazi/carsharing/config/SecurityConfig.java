@@ -52,6 +52,10 @@ public class SecurityConfig {
                                         "/actuator/health",
                                         "/actuator/health/**"
                                 ).permitAll()
+                                .requestMatchers(
+                                        "/actuator/metrics/**",
+                                        "/actuator/caches/**"
+                                ).hasRole("MANAGER")
                                 .anyRequest()
                                 .authenticated()
                 )
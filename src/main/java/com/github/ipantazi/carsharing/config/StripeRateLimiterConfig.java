@@ -0,0 +1,25 @@
+package com.github.ipantazi.carsharing.config;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StripeRateLimiterConfig {
+
+    @Bean
+    public RateLimiter stripeRateLimiter(
+            @Value("${stripe.verification.rate-per-second}") int ratePerSecond
+    ) {
+        RateLimiterConfig config = RateLimiterConfig.custom()
+                .limitForPeriod(ratePerSecond)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofSeconds(30))
+                .build();
+
+        return RateLimiter.of("stripe-rate-limiter", config);
+    }
+}
@@ -8,6 +8,7 @@ import com.github.ipantazi.carsharing.service.car.CarService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
@@ -24,6 +25,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Car management", description = "Endpoints of managing cars")
 @RestController
@@ -42,13 +44,20 @@ public class CarController {
 
     @Operation(summary = "Get all cars.", description = "Get a list of all available cars.")
     @GetMapping
-    public Page<CarDto> getAll(@ParameterObject Pageable pageable) {
+    public Page<CarDto> getAll(@ParameterObject Pageable pageable, WebRequest webRequest) {
+        if (webRequest.checkNotModified(carService.getCatalogETag())) {
+            return null;
+        }
         return carService.findAll(pageable);
     }
 
     @Operation(summary = "Get a car by id", description = "Get a car by id.")
     @GetMapping("/{id}")
-    public CarDto getCarById(@PathVariable Long id) {
+    public CarDto getCarById(@PathVariable Long id, WebRequest webRequest) {
+        Optional<String> etag = carService.getCarETag(id);
+        if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+            return null;
+        }
         return carService.getById(id);
     }
 
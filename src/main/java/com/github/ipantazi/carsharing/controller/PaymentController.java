@@ -2,7 +2,7 @@ package com.github.ipantazi.carsharing.controller;
 
 import com.github.ipantazi.carsharing.dto.payment.PaymentRequestDto;
 import com.github.ipantazi.carsharing.dto.payment.PaymentResponseDto;
-import com.github.ipantazi.carsharing.model.User;
+import com.github.ipantazi.carsharing.security.UserPrincipal;
 import com.github.ipantazi.carsharing.service.payment.PaymentService;
 import com.github.ipantazi.carsharing.service.user.UserService;
 import com.stripe.exception.StripeException;
@@ -47,7 +47,7 @@ public class PaymentController {
             Long requestedUserId,
             @ParameterObject Pageable pageable
     ) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         Long actualUserId = userService.resolveUserIdForAccess(
                 user.getId(),
                 user.getRole(),
@@ -66,7 +66,7 @@ public class PaymentController {
             UriComponentsBuilder uriBuilder
     ) throws StripeException {
 
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return paymentService.createPaymentSession(user.getId(), paymentRequestDto, uriBuilder);
     }
 
@@ -97,7 +97,7 @@ public class PaymentController {
             @RequestBody @Valid PaymentRequestDto paymentRequestDto,
             UriComponentsBuilder uriBuilder
     ) throws StripeException {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return paymentService.renewPaymentSession(user.getId(), paymentRequestDto, uriBuilder);
     }
 }
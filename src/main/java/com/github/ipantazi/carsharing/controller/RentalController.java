@@ -1,10 +1,13 @@
 package com.github.ipantazi.carsharing.controller;
 
+import com.github.ipantazi.carsharing.dto.rental.BulkReturnRequestDto;
+import com.github.ipantazi.carsharing.dto.rental.BulkReturnResponseDto;
+import com.github.ipantazi.carsharing.dto.rental.RentalCursorPageDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalDetailedDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalRequestDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalRequestFilterDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalResponseDto;
-import com.github.ipantazi.carsharing.model.User;
+import com.github.ipantazi.carsharing.security.UserPrincipal;
 import com.github.ipantazi.carsharing.service.rental.RentalService;
 import com.github.ipantazi.carsharing.service.user.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -22,8 +25,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Rental management", description = "Operations related to car rentals")
 @RestController
@@ -44,7 +49,7 @@ public class RentalController {
             Authentication authentication,
             @RequestBody @Valid RentalRequestDto rentalRequestDto
     ) {
-        Long userId = ((User) authentication.getPrincipal()).getId();
+        Long userId = ((UserPrincipal) authentication.getPrincipal()).getId();
         return rentalService.createRental(userId, rentalRequestDto);
     }
 
@@ -57,7 +62,7 @@ public class RentalController {
     public Page<RentalResponseDto> getRentals(Authentication authentication,
                                               @Valid RentalRequestFilterDto filter,
                                               @ParameterObject Pageable pageable) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         Long actualUserId = userService.resolveUserIdForAccess(
                 user.getId(),
                 user.getRole(),
@@ -66,6 +71,28 @@ public class RentalController {
         return rentalService.getRentalsByFilter(actualUserId, filter.is_active(), pageable);
     }
 
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping(params = "mode=keyset")
+    @Operation(
+            summary = "Get rentals by filter using keyset pagination",
+            description = "Returns rentals ordered by rental date and id, newest first. "
+                    + "Pass nextCursor from the previous response as 'after' to get next page"
+    )
+    public RentalCursorPageDto getRentalsByCursor(
+            Authentication authentication,
+            @Valid RentalRequestFilterDto filter,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        Long actualUserId = userService.resolveUserIdForAccess(
+                user.getId(),
+                user.getRole(),
+                filter.user_id()
+        ).orElse(null);
+        return rentalService.getRentalsByCursor(actualUserId, filter.is_active(), after, size);
+    }
+
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/{id}")
     @Operation(
@@ -74,9 +101,14 @@ public class RentalController {
     )
 
     public RentalDetailedDto getRentalById(Authentication authentication,
-                                           @PathVariable Long id) {
-        User user = (User) authentication.getPrincipal();
-        return rentalService.getRental(user.getId(), id);
+                                           @PathVariable Long id,
+                                           WebRequest webRequest) {
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        String etag = rentalService.getRentalETag(user.getId(), user.getRole(), id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return rentalService.getRental(user.getId(), user.getRole(), id);
     }
 
     @PreAuthorize("isAuthenticated()")
@@ -87,7 +119,22 @@ public class RentalController {
     )
     public RentalDetailedDto returnRental(Authentication authentication,
                                           @PathVariable Long id) {
-        Long userId = ((User) authentication.getPrincipal()).getId();
-        return rentalService.returnRental(userId, id);
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        return rentalService.returnRental(user.getId(), user.getRole(), id);
+    }
+
+    @PreAuthorize("hasRole('ROLE_MANAGER')")
+    @PostMapping("/return")
+    @Operation(
+            summary = "Return rentals in bulk",
+            description = "Returns up to 500 rentals in one transaction and reports "
+                    + "the outcome for each rental id"
+    )
+    public BulkReturnResponseDto returnRentals(
+            Authentication authentication,
+            @RequestBody @Valid BulkReturnRequestDto requestDto
+    ) {
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        return rentalService.returnRentals(user.getId(), user.getRole(), requestDto.rentalIds());
     }
 }
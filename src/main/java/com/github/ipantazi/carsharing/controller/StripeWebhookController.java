@@ -39,7 +39,7 @@ public class StripeWebhookController {
             String sigHeader
     ) {
         try {
-            stripeWebhookService.processStripeEvent(payload, sigHeader);
+            stripeWebhookService.enqueueStripeEvent(payload, sigHeader);
             return ResponseEntity.ok("Webhook received");
         } catch (SignatureVerificationException e) {
             log.warn("❌ Invalid Stripe Signature: {}", e.getMessage());
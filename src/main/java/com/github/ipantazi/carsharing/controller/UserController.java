@@ -4,7 +4,7 @@ import com.github.ipantazi.carsharing.dto.user.UserChangePasswordDto;
 import com.github.ipantazi.carsharing.dto.user.UserProfileUpdateDto;
 import com.github.ipantazi.carsharing.dto.user.UserResponseDto;
 import com.github.ipantazi.carsharing.dto.user.UserRoleUpdateDto;
-import com.github.ipantazi.carsharing.model.User;
+import com.github.ipantazi.carsharing.security.UserPrincipal;
 import com.github.ipantazi.carsharing.service.user.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -44,7 +44,7 @@ public class UserController {
             description = "Retrieve the details of the authenticated user"
     )
     public UserResponseDto getUserDetails(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return userService.getUserDetails(user.getId());
     }
 
@@ -58,7 +58,7 @@ public class UserController {
             Authentication authentication,
             @RequestBody @Valid UserProfileUpdateDto userProfileUpdateDto
     ) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return userService.updateUserProfile(user.getId(), userProfileUpdateDto);
     }
 
@@ -71,7 +71,7 @@ public class UserController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void changePassword(Authentication authentication,
                                @RequestBody @Valid UserChangePasswordDto requestDto) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         userService.changePassword(user.getId(), requestDto);
     }
 }
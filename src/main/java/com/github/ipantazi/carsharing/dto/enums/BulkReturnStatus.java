@@ -0,0 +1,8 @@
+package com.github.ipantazi.carsharing.dto.enums;
+
+public enum BulkReturnStatus {
+    RETURNED,
+    ALREADY_RETURNED,
+    NOT_FOUND,
+    FORBIDDEN
+}
@@ -0,0 +1,11 @@
+package com.github.ipantazi.carsharing.dto.rental;
+
+import com.github.ipantazi.carsharing.dto.enums.BulkReturnStatus;
+
+public record BulkReturnItemDto(
+        Long rentalId,
+        BulkReturnStatus status,
+        String message,
+        RentalDetailedDto rental
+) {
+}
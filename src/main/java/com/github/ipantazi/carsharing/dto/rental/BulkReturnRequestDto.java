@@ -0,0 +1,15 @@
+package com.github.ipantazi.carsharing.dto.rental;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BulkReturnRequestDto(
+        @NotEmpty(message = "Rental IDs cannot be empty")
+        @Size(max = 500, message = "No more than 500 rentals can be returned at once")
+        List<@NotNull(message = "Rental ID cannot be null")
+                @Positive(message = "Rental ID must be a positive number") Long> rentalIds
+) {
+}
@@ -0,0 +1,9 @@
+package com.github.ipantazi.carsharing.dto.rental;
+
+import java.util.List;
+
+public record BulkReturnResponseDto(
+        int returned,
+        List<BulkReturnItemDto> results
+) {
+}
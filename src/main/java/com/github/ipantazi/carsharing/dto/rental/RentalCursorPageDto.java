@@ -0,0 +1,10 @@
+package com.github.ipantazi.carsharing.dto.rental;
+
+import java.util.List;
+
+public record RentalCursorPageDto(
+        List<RentalResponseDto> content,
+        String nextCursor,
+        boolean hasNext
+) {
+}
@@ -0,0 +1,7 @@
+package com.github.ipantazi.carsharing.exception;
+
+public class LeaseLostException extends RuntimeException {
+    public LeaseLostException(String message) {
+        super(message);
+    }
+}
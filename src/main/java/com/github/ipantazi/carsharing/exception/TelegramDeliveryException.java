@@ -0,0 +1,21 @@
+package com.github.ipantazi.carsharing.exception;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public class TelegramDeliveryException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public TelegramDeliveryException(String message, Throwable cause) {
+        this(message, null, cause);
+    }
+
+    public TelegramDeliveryException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+}
@@ -17,6 +17,7 @@ public interface CarMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "type", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Car toCarEntity(CarRequestDto carRequestDto);
 
     @AfterMapping
@@ -27,5 +28,6 @@ public interface CarMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "inventory", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateCarEntity(UpdateCarDto updateCarDto, @MappingTarget Car car);
 }
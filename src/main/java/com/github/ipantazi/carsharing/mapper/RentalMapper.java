@@ -17,6 +17,11 @@ import org.mapstruct.Mapping;
 public interface RentalMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "actualReturnDate", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "totalCost", ignore = true)
+    @Mapping(target = "amountPaid", ignore = true)
+    @Mapping(target = "car", source = "car")
+    @Mapping(target = "dailyFee", source = "car.dailyFee")
     Rental toRentalEntity(User user,
                           Car car,
                           LocalDate returnDate,
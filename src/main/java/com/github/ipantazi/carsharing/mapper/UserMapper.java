@@ -15,6 +15,7 @@ public interface UserMapper {
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "role", ignore = true)
     @Mapping(target = "password", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     User toUserEntity(UserRegistrationRequestDto requestDto);
 
     UserResponseDto toUserDto(User user);
@@ -23,5 +24,6 @@ public interface UserMapper {
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "role", ignore = true)
     @Mapping(target = "password", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     void updateUserEntity(UserProfileUpdateDto dto, @MappingTarget User user);
 }
@@ -9,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import lombok.Getter;
@@ -21,7 +22,8 @@ import org.hibernate.annotations.SQLRestriction;
         name = "cars",
         uniqueConstraints = @UniqueConstraint(columnNames = {"model", "brand"})
 )
-@SQLDelete(sql = "UPDATE cars SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE cars SET is_deleted = true, version = version + 1 "
+        + "WHERE id = ? AND version = ?")
 @SQLRestriction("is_deleted = false")
 @Setter
 @Getter
@@ -47,6 +49,10 @@ public class Car {
 
     private boolean isDeleted = false;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public enum Type {
         SEDAN,
         SUV,
@@ -0,0 +1,55 @@
+package com.github.ipantazi.carsharing.model;
+
+import com.github.ipantazi.carsharing.notification.NotificationType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Table(name = "notification_outbox")
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class NotificationOutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 32)
+    @Enumerated(value = EnumType.STRING)
+    private NotificationType type;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Column(nullable = false)
+    @Enumerated(value = EnumType.STRING)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant availableAt;
+
+    private Instant sentAt;
+
+    @Column(length = 1024)
+    private String lastError;
+
+    public enum Status {
+        PENDING, SENDING, SENT, FAILED
+    }
+}
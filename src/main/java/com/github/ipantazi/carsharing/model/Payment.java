@@ -11,6 +11,7 @@ import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Positive;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -54,6 +55,8 @@ public class Payment {
     @Enumerated(value = EnumType.STRING)
     private Type type;
 
+    private Instant sessionCreatedAt;
+
     private boolean isDeleted = false;
 
     public enum Status {
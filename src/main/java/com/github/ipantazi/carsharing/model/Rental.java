@@ -9,6 +9,8 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -32,6 +34,19 @@ public class Rental {
 
     private LocalDate actualReturnDate;
 
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal dailyFee;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalCost = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amountPaid = BigDecimal.ZERO;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "car_id", nullable = false)
     @EqualsAndHashCode.Exclude
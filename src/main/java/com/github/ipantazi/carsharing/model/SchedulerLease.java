@@ -0,0 +1,31 @@
+package com.github.ipantazi.carsharing.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Table(name = "scheduler_leases")
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class SchedulerLease {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    private String owner;
+
+    @Column(nullable = false)
+    private long fencingToken;
+
+    private Instant lockedAt;
+
+    @Column(nullable = false)
+    private Instant leaseUntil;
+}
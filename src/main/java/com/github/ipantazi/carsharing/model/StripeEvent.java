@@ -0,0 +1,50 @@
+package com.github.ipantazi.carsharing.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Table(name = "stripe_events")
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class StripeEvent {
+    @Id
+    private String id;
+
+    @Column(nullable = false, length = 64)
+    private String type;
+
+    @Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    @Enumerated(value = EnumType.STRING)
+    private Status status = Status.RECEIVED;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant receivedAt;
+
+    @Column(nullable = false)
+    private Instant availableAt;
+
+    private Instant processedAt;
+
+    @Column(length = 1024)
+    private String lastError;
+
+    public enum Status {
+        RECEIVED, PROCESSING, PROCESSED, FAILED
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.ipantazi.carsharing.model;
 
+import com.github.ipantazi.carsharing.security.UserPrincipal;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -27,7 +28,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 @Setter
 @Getter
 @NoArgsConstructor
-public class User implements UserDetails {
+public class User implements UserDetails, UserPrincipal {
     private static final String ROLE_PREFIX = "ROLE_";
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -49,6 +50,9 @@ public class User implements UserDetails {
     @Enumerated(value = EnumType.STRING)
     private Role role = Role.CUSTOMER;
 
+    @Column(nullable = false)
+    private long tokenVersion;
+
     private boolean isDeleted = false;
 
     @Override
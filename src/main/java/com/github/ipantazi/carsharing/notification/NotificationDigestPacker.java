@@ -0,0 +1,9 @@
+package com.github.ipantazi.carsharing.notification;
+
+import com.github.ipantazi.carsharing.model.NotificationOutboxMessage;
+import com.github.ipantazi.carsharing.notification.dto.NotificationDigest;
+import java.util.List;
+
+public interface NotificationDigestPacker {
+    List<NotificationDigest> pack(List<NotificationOutboxMessage> messages);
+}
@@ -6,6 +6,7 @@ import com.github.ipantazi.carsharing.model.Rental;
 import com.github.ipantazi.carsharing.notification.dto.NewRentalPayload;
 import com.github.ipantazi.carsharing.notification.dto.OverdueRentalPayload;
 import com.github.ipantazi.carsharing.notification.dto.PaymentPayload;
+import com.github.ipantazi.carsharing.repository.rental.OverdueRentalView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -24,11 +25,5 @@ public interface NotificationMapper {
     @Mapping(target = "amount", source = "payment.amountToPay")
     PaymentPayload toPaymentPayload(Payment payment, String email);
 
-    @Mapping(target = "rentalId", source = "rental.id")
-    @Mapping(target = "carModel", source = "rental.car.model")
-    @Mapping(target = "carBrand", source = "rental.car.brand")
-    @Mapping(target = "carType", source = "rental.car.type")
-    @Mapping(target = "email", source = "rental.user.email")
-    OverdueRentalPayload toOverdueRentalPayload(Rental rental,
-                                                long daysOverdue);
+    OverdueRentalPayload toOverdueRentalPayload(OverdueRentalView overdueRental);
 }
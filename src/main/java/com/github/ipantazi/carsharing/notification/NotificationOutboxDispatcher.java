@@ -0,0 +1,9 @@
+package com.github.ipantazi.carsharing.notification;
+
+import com.github.ipantazi.carsharing.service.scheduler.LeaseToken;
+
+public interface NotificationOutboxDispatcher {
+    int dispatch(LeaseToken lease);
+
+    int pruneSent();
+}
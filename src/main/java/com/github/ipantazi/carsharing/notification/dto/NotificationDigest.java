@@ -0,0 +1,15 @@
+package com.github.ipantazi.carsharing.notification.dto;
+
+import com.github.ipantazi.carsharing.model.NotificationOutboxMessage;
+import com.github.ipantazi.carsharing.notification.NotificationType;
+import java.util.List;
+
+public record NotificationDigest(
+        NotificationType type,
+        List<NotificationOutboxMessage> messages,
+        String text
+) {
+    public List<Long> messageIds() {
+        return messages.stream().map(NotificationOutboxMessage::getId).toList();
+    }
+}
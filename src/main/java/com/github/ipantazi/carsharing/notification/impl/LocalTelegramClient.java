@@ -0,0 +1,60 @@
+package com.github.ipantazi.carsharing.notification.impl;
+
+import com.github.ipantazi.carsharing.exception.TelegramDeliveryException;
+import com.github.ipantazi.carsharing.notification.TelegramClient;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Profile("telegram-stub")
+@Service
+public class LocalTelegramClient implements TelegramClient {
+    private final AtomicLong deliveredMessages = new AtomicLong();
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final double errorRate;
+
+    public LocalTelegramClient(
+            @Value("${telegram.stub.latency-ms}") long latencyMillis,
+            @Value("${telegram.stub.latency-jitter-ms}") long latencyJitterMillis,
+            @Value("${telegram.stub.error-rate}") double errorRate
+    ) {
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = latencyJitterMillis;
+        this.errorRate = errorRate;
+        log.warn("Telegram stand-in is active: messages are not sent to Telegram");
+    }
+
+    @Override
+    public void sendMessage(String text) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latency = latencyMillis;
+        if (latencyJitterMillis > 0) {
+            latency += random.nextLong(latencyJitterMillis + 1);
+        }
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TelegramDeliveryException("Interrupted while calling local Telegram", e);
+            }
+        }
+        if (random.nextDouble() < errorRate) {
+            throw new TelegramDeliveryException("Simulated Telegram failure", null);
+        }
+        log.debug("Local Telegram delivered message #{} ({} chars)",
+                deliveredMessages.incrementAndGet(), text.length());
+    }
+
+    public long getDeliveredMessages() {
+        return deliveredMessages.get();
+    }
+}
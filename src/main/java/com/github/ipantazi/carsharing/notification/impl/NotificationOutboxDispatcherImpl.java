@@ -0,0 +1,250 @@
+package com.github.ipantazi.carsharing.notification.impl;
+
+import com.github.ipantazi.carsharing.exception.TelegramDeliveryException;
+import com.github.ipantazi.carsharing.model.NotificationOutboxMessage;
+import com.github.ipantazi.carsharing.notification.NotificationDigestPacker;
+import com.github.ipantazi.carsharing.notification.NotificationOutboxDispatcher;
+import com.github.ipantazi.carsharing.notification.TelegramClient;
+import com.github.ipantazi.carsharing.notification.dto.NotificationDigest;
+import com.github.ipantazi.carsharing.repository.notification.NotificationOutboxRepository;
+import com.github.ipantazi.carsharing.service.scheduler.LeaseToken;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class NotificationOutboxDispatcherImpl implements NotificationOutboxDispatcher {
+    private static final String METRIC_PREFIX = "notification.outbox";
+    private static final int MAX_ERROR_LENGTH = 1024;
+    private static final int MAX_BACKOFF_SHIFT = 10;
+    private final NotificationOutboxRepository outboxRepository;
+    private final TelegramClient telegramClient;
+    private final NotificationDigestPacker digestPacker;
+    private final RateLimiter rateLimiter;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration claimTimeout;
+    private final Duration retention;
+    private final int pruneBatchSize;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong ageSeconds = new AtomicLong();
+    private final Timer deliveryLag;
+    private final DistributionSummary digestSize;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter throttledCounter;
+    private final Counter failedCounter;
+    private Instant pausedUntil = Instant.MIN;
+
+    public NotificationOutboxDispatcherImpl(
+            NotificationOutboxRepository outboxRepository,
+            TelegramClient telegramClient,
+            NotificationDigestPacker digestPacker,
+            RateLimiter telegramRateLimiter,
+            SchedulerLeaseService schedulerLeaseService,
+            TransactionTemplate transactionTemplate,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${notification.outbox.batch-size}") int batchSize,
+            @Value("${notification.outbox.max-attempts}") int maxAttempts,
+            @Value("${notification.outbox.retry-delay-seconds}") long retryDelaySeconds,
+            @Value("${notification.outbox.claim-timeout-seconds}") long claimTimeoutSeconds,
+            @Value("${notification.outbox.retention-days}") long retentionDays,
+            @Value("${notification.outbox.prune.batch-size}") int pruneBatchSize
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.telegramClient = telegramClient;
+        this.digestPacker = digestPacker;
+        this.rateLimiter = telegramRateLimiter;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = Duration.ofSeconds(retryDelaySeconds);
+        this.claimTimeout = Duration.ofSeconds(claimTimeoutSeconds);
+        this.retention = Duration.ofDays(retentionDays);
+        this.pruneBatchSize = pruneBatchSize;
+        Gauge.builder(METRIC_PREFIX + ".backlog", backlog, AtomicLong::get)
+                .description("Notifications waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".age.seconds", ageSeconds, AtomicLong::get)
+                .description("Age of the oldest notification waiting in the outbox")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder(METRIC_PREFIX + ".delivery.lag")
+                .description("Time from enqueue to successful delivery")
+                .register(meterRegistry);
+        this.digestSize = DistributionSummary.builder(METRIC_PREFIX + ".digest.size")
+                .description("Notifications packed into one Telegram message")
+                .register(meterRegistry);
+        this.sentCounter = outcomeCounter(meterRegistry, "sent");
+        this.retriedCounter = outcomeCounter(meterRegistry, "retried");
+        this.throttledCounter = outcomeCounter(meterRegistry, "throttled");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+    }
+
+    @Override
+    public synchronized int dispatch(LeaseToken lease) {
+        int sent = 0;
+        int permits = rateLimiter.getMetrics().getAvailablePermissions();
+        if (permits <= 0 || Instant.now(clock).isBefore(pausedUntil)) {
+            refreshBacklogMetrics();
+            return sent;
+        }
+        List<NotificationDigest> digests = new ArrayList<>(claimDigests(lease, permits));
+        for (int i = 0; i < digests.size(); i++) {
+            NotificationDigest digest = digests.get(i);
+            if (!rateLimiter.acquirePermission()) {
+                release(digests.subList(i, digests.size()), Instant.now(clock));
+                break;
+            }
+            try {
+                telegramClient.sendMessage(digest.text());
+                Instant sentAt = Instant.now(clock);
+                outboxRepository.markSent(
+                        digest.messageIds(),
+                        NotificationOutboxMessage.Status.SENT,
+                        sentAt
+                );
+                for (NotificationOutboxMessage message : digest.messages()) {
+                    deliveryLag.record(Duration.between(message.getCreatedAt(), sentAt));
+                }
+                digestSize.record(digest.messages().size());
+                sentCounter.increment(digest.messages().size());
+                sent += digest.messages().size();
+            } catch (TelegramDeliveryException e) {
+                if (e.getRetryAfter().isPresent()) {
+                    pausedUntil = Instant.now(clock).plus(e.getRetryAfter().get());
+                    throttledCounter.increment();
+                    log.warn("Telegram asked to retry after {}, pausing notification outbox",
+                            e.getRetryAfter().get());
+                    release(digests.subList(i, digests.size()), pausedUntil);
+                    break;
+                }
+                if (digest.messages().size() == 1) {
+                    scheduleRetry(digest.messages().get(0), e);
+                    continue;
+                }
+                log.warn("Failed to send digest of {} notifications, sending them one by one",
+                        digest.messages().size(), e);
+                digests.addAll(i + 1, splitDigest(digest));
+            }
+        }
+        refreshBacklogMetrics();
+        return sent;
+    }
+
+    @Override
+    public int pruneSent() {
+        Instant cutoff = Instant.now(clock).minus(retention);
+        int pruned = 0;
+        int deleted;
+        do {
+            deleted = outboxRepository.deleteSentBefore(cutoff, pruneBatchSize);
+            pruned += deleted;
+        } while (deleted == pruneBatchSize && !Thread.currentThread().isInterrupted());
+        if (pruned > 0) {
+            log.info("Pruned {} sent notifications older than {}", pruned, cutoff);
+        }
+        return pruned;
+    }
+
+    private List<NotificationDigest> claimDigests(LeaseToken lease, int permits) {
+        return transactionTemplate.execute(status -> {
+            schedulerLeaseService.assertHeld(lease);
+            Instant now = Instant.now(clock);
+            List<NotificationDigest> digests =
+                    digestPacker.pack(outboxRepository.lockAvailableBatch(now, batchSize));
+            List<NotificationDigest> claimed =
+                    digests.subList(0, Math.min(permits, digests.size()));
+            for (NotificationDigest digest : claimed) {
+                for (NotificationOutboxMessage message : digest.messages()) {
+                    message.setStatus(NotificationOutboxMessage.Status.SENDING);
+                    message.setAvailableAt(now.plus(claimTimeout));
+                }
+            }
+            return List.copyOf(claimed);
+        });
+    }
+
+    private List<NotificationDigest> splitDigest(NotificationDigest digest) {
+        return digest.messages().stream()
+                .flatMap(message -> digestPacker.pack(List.of(message)).stream())
+                .toList();
+    }
+
+    private void release(List<NotificationDigest> digests, Instant availableAt) {
+        outboxRepository.release(
+                digests.stream().flatMap(digest -> digest.messageIds().stream()).toList(),
+                NotificationOutboxMessage.Status.PENDING,
+                availableAt
+        );
+    }
+
+    private void scheduleRetry(NotificationOutboxMessage message, Exception e) {
+        int attempts = message.getAttempts() + 1;
+        boolean exhausted = attempts >= maxAttempts;
+        Duration backoff = retryDelay.multipliedBy(
+                1L << Math.min(attempts - 1, MAX_BACKOFF_SHIFT));
+        outboxRepository.markFailed(
+                message.getId(),
+                exhausted
+                        ? NotificationOutboxMessage.Status.FAILED
+                        : NotificationOutboxMessage.Status.PENDING,
+                attempts,
+                Instant.now(clock).plus(backoff),
+                abbreviate(e.getMessage())
+        );
+        if (exhausted) {
+            failedCounter.increment();
+            log.error("Giving up on notification {} after {} attempts",
+                    message.getId(), attempts, e);
+        } else {
+            retriedCounter.increment();
+            log.warn("Failed to send notification {} (attempt {} of {}), retrying in {}",
+                    message.getId(), attempts, maxAttempts, backoff);
+        }
+    }
+
+    private void refreshBacklogMetrics() {
+        Instant now = Instant.now(clock);
+        backlog.set(outboxRepository.countByStatus(NotificationOutboxMessage.Status.PENDING));
+        ageSeconds.set(outboxRepository
+                .findOldestCreatedAt(NotificationOutboxMessage.Status.PENDING)
+                .map(createdAt -> Duration.between(createdAt, now).toSeconds())
+                .orElse(0L));
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".messages")
+                .description("Outbox notifications by delivery outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -1,28 +1,33 @@
 package com.github.ipantazi.carsharing.notification.impl;
 
+import com.github.ipantazi.carsharing.exception.TelegramDeliveryException;
 import com.github.ipantazi.carsharing.notification.TelegramClient;
 import com.github.ipantazi.carsharing.notification.dto.TelegramMessageRequest;
-import io.github.resilience4j.ratelimiter.RateLimiter;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 @Slf4j
+@Profile("!telegram-stub")
 @Service
 public class TelegramClientImpl implements TelegramClient {
     private static final String BASE_URL = "https://api.telegram.org";
+    private static final Pattern RETRY_AFTER = Pattern.compile("\"retry_after\"\\s*:\\s*(\\d+)");
     private final WebClient webClient;
-    private final RateLimiter rateLimiter;
     private final String botToken;
     private final String chatId;
 
     public TelegramClientImpl(
             @Value("${telegram.bot.token}") String botToken,
             @Value("${telegram.chat.id}") String chatId,
-            WebClient.Builder builder,
-            RateLimiter telegramRateLimiter
+            WebClient.Builder builder
     ) {
         if (botToken == null || botToken.isBlank()) {
             throw new IllegalArgumentException("Telegram bot token cannot be null or blank.");
@@ -32,7 +37,6 @@ public class TelegramClientImpl implements TelegramClient {
         }
         this.botToken = botToken;
         this.chatId = chatId;
-        this.rateLimiter = telegramRateLimiter;
         this.webClient = builder.baseUrl(BASE_URL).build();
     }
 
@@ -42,15 +46,6 @@ public class TelegramClientImpl implements TelegramClient {
             return;
         }
 
-        Runnable sendTask = RateLimiter.decorateRunnable(rateLimiter, () -> doSend(text));
-        try {
-            sendTask.run();
-        } catch (Exception ex) {
-            log.warn("Telegram message sending skipped or delayed due to rate limiting", ex);
-        }
-    }
-
-    private void doSend(String text) {
         String url = String.format("/bot%s/sendMessage", botToken);
         TelegramMessageRequest request = TelegramMessageRequest.html(chatId, text);
 
@@ -62,9 +57,24 @@ public class TelegramClientImpl implements TelegramClient {
                     .toBodilessEntity()
                     .block();
         } catch (WebClientResponseException.TooManyRequests ex) {
-            log.warn("Telegram rate limit exceeded (429). Message dropped.");
+            Duration retryAfter = retryAfter(ex);
+            log.warn("Telegram rate limit exceeded (429), retry after {}", retryAfter);
+            throw new TelegramDeliveryException("Telegram rate limit exceeded", retryAfter, ex);
         } catch (Exception ex) {
-            log.error("Failed to send Telegram message", ex);
+            throw new TelegramDeliveryException("Failed to send Telegram message", ex);
+        }
+    }
+
+    private Duration retryAfter(WebClientResponseException ex) {
+        Matcher matcher = RETRY_AFTER.matcher(ex.getResponseBodyAsString());
+        if (matcher.find()) {
+            return Duration.ofSeconds(Long.parseLong(matcher.group(1)));
+        }
+        String header = ex.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (header != null && !header.isEmpty()
+                && header.chars().allMatch(Character::isDigit)) {
+            return Duration.ofSeconds(Long.parseLong(header));
         }
+        return null;
     }
 }
@@ -0,0 +1,136 @@
+package com.github.ipantazi.carsharing.notification.impl;
+
+import com.github.ipantazi.carsharing.model.NotificationOutboxMessage;
+import com.github.ipantazi.carsharing.notification.NotificationDigestPacker;
+import com.github.ipantazi.carsharing.notification.NotificationType;
+import com.github.ipantazi.carsharing.notification.dto.NotificationDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TelegramDigestPacker implements NotificationDigestPacker {
+    private static final String SEPARATOR = "\n\n";
+    private static final String ELLIPSIS = "…";
+    private static final int MAX_ENTITY_LENGTH = 10;
+    private final int maxLength;
+
+    public TelegramDigestPacker(@Value("${notification.digest.max-length}") int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public List<NotificationDigest> pack(List<NotificationOutboxMessage> messages) {
+        Map<Optional<NotificationType>, List<NotificationOutboxMessage>> byType =
+                new LinkedHashMap<>();
+        for (NotificationOutboxMessage message : messages) {
+            byType.computeIfAbsent(Optional.ofNullable(message.getType()),
+                    type -> new ArrayList<>()).add(message);
+        }
+
+        List<NotificationDigest> digests = new ArrayList<>();
+        byType.forEach((type, group) -> packGroup(type.orElse(null), group, digests));
+        return digests;
+    }
+
+    private void packGroup(NotificationType type,
+                           List<NotificationOutboxMessage> group,
+                           List<NotificationDigest> digests) {
+        List<NotificationOutboxMessage> current = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        for (NotificationOutboxMessage message : group) {
+            String body = fit(message.getMessage());
+            int length = text.isEmpty() ? body.length() : SEPARATOR.length() + body.length();
+            if (!current.isEmpty() && text.length() + length > maxLength) {
+                digests.add(new NotificationDigest(type, current, text.toString()));
+                current = new ArrayList<>();
+                text.setLength(0);
+            }
+            if (!text.isEmpty()) {
+                text.append(SEPARATOR);
+            }
+            text.append(body);
+            current.add(message);
+        }
+        if (!current.isEmpty()) {
+            digests.add(new NotificationDigest(type, current, text.toString()));
+        }
+    }
+
+    private String fit(String message) {
+        if (message.length() <= maxLength) {
+            return message;
+        }
+        Deque<String> openTags = new ArrayDeque<>();
+        int closingLength = 0;
+        int end = 0;
+        while (end < message.length()) {
+            int next = nextTokenEnd(message, end);
+            String token = message.substring(end, next);
+            String tag = tagName(token);
+            boolean closes = tag != null && token.startsWith("</") && tag.equals(openTags.peek());
+            boolean opens = tag != null && !token.startsWith("</") && !token.endsWith("/>");
+            int nextClosingLength = closingLength;
+            if (closes) {
+                nextClosingLength -= closingTag(tag).length();
+            } else if (opens) {
+                nextClosingLength += closingTag(tag).length();
+            }
+            if (next + nextClosingLength + ELLIPSIS.length() > maxLength) {
+                break;
+            }
+            if (closes) {
+                openTags.pop();
+            } else if (opens) {
+                openTags.push(tag);
+            }
+            closingLength = nextClosingLength;
+            end = next;
+        }
+        StringBuilder truncated = new StringBuilder(message.substring(0, end)).append(ELLIPSIS);
+        openTags.forEach(tag -> truncated.append(closingTag(tag)));
+        return truncated.toString();
+    }
+
+    private int nextTokenEnd(String message, int start) {
+        char current = message.charAt(start);
+        if (current == '<') {
+            int close = message.indexOf('>', start);
+            if (close > start) {
+                return close + 1;
+            }
+        }
+        if (current == '&') {
+            int close = message.indexOf(';', start);
+            if (close > start && close - start <= MAX_ENTITY_LENGTH) {
+                return close + 1;
+            }
+        }
+        if (Character.isHighSurrogate(current) && start + 1 < message.length()) {
+            return start + 2;
+        }
+        return start + 1;
+    }
+
+    private String tagName(String token) {
+        if (token.length() < 3 || token.charAt(0) != '<') {
+            return null;
+        }
+        int from = token.charAt(1) == '/' ? 2 : 1;
+        int to = from;
+        while (to < token.length() && Character.isLetterOrDigit(token.charAt(to))) {
+            to++;
+        }
+        return to > from ? token.substring(from, to) : null;
+    }
+
+    private String closingTag(String tag) {
+        return "</" + tag + ">";
+    }
+}
@@ -1,45 +1,76 @@
 package com.github.ipantazi.carsharing.notification.impl;
 
+import com.github.ipantazi.carsharing.model.NotificationOutboxMessage;
 import com.github.ipantazi.carsharing.notification.NotificationMessageBuilder;
 import com.github.ipantazi.carsharing.notification.NotificationService;
 import com.github.ipantazi.carsharing.notification.NotificationType;
-import com.github.ipantazi.carsharing.notification.TelegramClient;
 import com.github.ipantazi.carsharing.notification.dto.NewRentalPayload;
 import com.github.ipantazi.carsharing.notification.dto.OverdueRentalPayload;
 import com.github.ipantazi.carsharing.notification.dto.PaymentPayload;
+import com.github.ipantazi.carsharing.repository.notification.NotificationOutboxRepository;
+import java.time.Clock;
+import java.time.Instant;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class TelegramNotificationService implements NotificationService {
-    private final TelegramClient telegramClient;
+    private final NotificationOutboxRepository outboxRepository;
     private final NotificationMessageBuilder messageBuilder;
+    private final Clock clock;
+
+    @Value("${notification.digest.window.new-rental-seconds}")
+    private long newRentalWindowSeconds;
+
+    @Value("${notification.digest.window.overdue-rental-seconds}")
+    private long overdueRentalWindowSeconds;
+
+    @Value("${notification.digest.window.payment-seconds}")
+    private long paymentWindowSeconds;
 
-    @Async
     @Override
     public void sendMessage(NotificationType type, NewRentalPayload newRentalPayload) {
-        String message = messageBuilder.buildMessage(type, newRentalPayload);
-        telegramClient.sendMessage(message);
+        enqueue(type, messageBuilder.buildMessage(type, newRentalPayload));
     }
 
-    @Async
     @Override
     public void sendMessage(NotificationType type, OverdueRentalPayload overdueRentalPayload) {
-        String message = messageBuilder.buildMessage(type, overdueRentalPayload);
-        telegramClient.sendMessage(message);
+        enqueue(type, messageBuilder.buildMessage(type, overdueRentalPayload));
     }
 
-    @Async
     @Override
     public void sendMessage(NotificationType type, PaymentPayload paymentPayload) {
-        String message = messageBuilder.buildMessage(type, paymentPayload);
-        telegramClient.sendMessage(message);
+        enqueue(type, messageBuilder.buildMessage(type, paymentPayload));
     }
 
     @Override
     public void sendToDefault(String message) {
-        telegramClient.sendMessage(message);
+        enqueue(null, message);
+    }
+
+    private void enqueue(NotificationType type, String message) {
+        if (message == null || message.isBlank()) {
+            return;
+        }
+        Instant now = Instant.now(clock);
+        NotificationOutboxMessage outboxMessage = new NotificationOutboxMessage();
+        outboxMessage.setType(type);
+        outboxMessage.setMessage(message);
+        outboxMessage.setCreatedAt(now);
+        outboxMessage.setAvailableAt(now.plusSeconds(windowSeconds(type)));
+        outboxRepository.save(outboxMessage);
+    }
+
+    private long windowSeconds(NotificationType type) {
+        if (type == null) {
+            return 0;
+        }
+        return switch (type) {
+            case NEW_RENTAL_CREATED -> newRentalWindowSeconds;
+            case OVERDUE_RENTAL -> overdueRentalWindowSeconds;
+            case PAYMENT_SUCCESSFUL -> paymentWindowSeconds;
+        };
     }
 }
@@ -0,0 +1,9 @@
+package com.github.ipantazi.carsharing.repository.car;
+
+public interface CarCatalogVersion {
+    long getTotal();
+
+    long getMaxId();
+
+    long getVersionSum();
+}
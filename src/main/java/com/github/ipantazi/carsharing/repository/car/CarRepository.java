@@ -6,6 +6,7 @@ import java.math.BigDecimal;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -28,4 +29,26 @@ public interface CarRepository extends JpaRepository<Car, Long> {
 
     @Query("SELECT c.dailyFee FROM Car c WHERE c.id = :carId")
     Optional<BigDecimal> findDailyFeeByCarId(@Param("carId") Long carId);
+
+    @Query("SELECT c.version FROM Car c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("""
+        SELECT COUNT(c) AS total,
+               COALESCE(MAX(c.id), 0) AS maxId,
+               COALESCE(SUM(c.version), 0) AS versionSum
+        FROM Car c
+            """)
+    CarCatalogVersion findCatalogVersion();
+
+    @Modifying
+    @Query("""
+        UPDATE Car c
+        SET c.inventory = c.inventory + :delta,
+            c.version = c.version + 1
+        WHERE c.id = :carId
+          AND c.isDeleted = false
+          AND c.inventory + :delta >= 0
+            """)
+    int applyInventoryDelta(@Param("carId") Long carId, @Param("delta") int delta);
 }
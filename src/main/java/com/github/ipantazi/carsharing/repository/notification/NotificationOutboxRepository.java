@@ -0,0 +1,83 @@
+package com.github.ipantazi.carsharing.repository.notification;
+
+import com.github.ipantazi.carsharing.model.NotificationOutboxMessage;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface NotificationOutboxRepository
+        extends JpaRepository<NotificationOutboxMessage, Long> {
+    long countByStatus(NotificationOutboxMessage.Status status);
+
+    @Query("SELECT MIN(m.createdAt) FROM NotificationOutboxMessage m WHERE m.status = :status")
+    Optional<Instant> findOldestCreatedAt(@Param("status") NotificationOutboxMessage.Status status);
+
+    @Query(value = """
+    SELECT *
+    FROM notification_outbox
+    WHERE status IN ('PENDING', 'SENDING') AND available_at <= :now
+    ORDER BY available_at, id
+    LIMIT :limit
+    FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<NotificationOutboxMessage> lockAvailableBatch(@Param("now") Instant now,
+                                                       @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("""
+    UPDATE NotificationOutboxMessage m
+    SET m.status = :status,
+        m.sentAt = :sentAt,
+        m.lastError = NULL
+    WHERE m.id IN :ids
+            """)
+    int markSent(@Param("ids") Collection<Long> ids,
+                 @Param("status") NotificationOutboxMessage.Status status,
+                 @Param("sentAt") Instant sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+    UPDATE NotificationOutboxMessage m
+    SET m.status = :status,
+        m.attempts = :attempts,
+        m.availableAt = :availableAt,
+        m.lastError = :lastError
+    WHERE m.id = :id
+            """)
+    int markFailed(@Param("id") Long id,
+                   @Param("status") NotificationOutboxMessage.Status status,
+                   @Param("attempts") int attempts,
+                   @Param("availableAt") Instant availableAt,
+                   @Param("lastError") String lastError);
+
+    @Transactional
+    @Modifying
+    @Query("""
+    UPDATE NotificationOutboxMessage m
+    SET m.status = :status,
+        m.availableAt = :availableAt
+    WHERE m.id IN :ids
+            """)
+    int release(@Param("ids") Collection<Long> ids,
+                @Param("status") NotificationOutboxMessage.Status status,
+                @Param("availableAt") Instant availableAt);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+    DELETE FROM notification_outbox
+    WHERE status = 'SENT' AND sent_at < :cutoff
+    LIMIT :limit
+            """, nativeQuery = true)
+    int deleteSentBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
@@ -3,15 +3,19 @@ package com.github.ipantazi.carsharing.repository.payment;
 import com.github.ipantazi.carsharing.model.Payment;
 import jakarta.persistence.LockModeType;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -52,4 +56,91 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
             """)
     BigDecimal sumAmountToPayByRentalIdAndStatus(@Param("rentalId") Long rentalId,
                                                  @Param("status") Payment.Status status);
+
+    @Transactional
+    @Modifying
+    @Query("""
+    UPDATE Payment p
+    SET p.status = :newStatus
+    WHERE p.status = :currentStatus
+      AND p.sessionCreatedAt <= :cutoff
+      AND p.isDeleted = false
+            """)
+    int updateStatusBySessionCreatedAtBefore(@Param("currentStatus") Payment.Status currentStatus,
+                                             @Param("newStatus") Payment.Status newStatus,
+                                             @Param("cutoff") Instant cutoff);
+
+    @Query("""
+    SELECT p
+    FROM Payment p
+    WHERE p.status = :status
+      AND p.sessionCreatedAt IS NULL
+      AND p.id > :afterId
+    ORDER BY p.id
+            """)
+    List<Payment> findPendingWithoutSessionCreatedAt(@Param("status") Payment.Status status,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("""
+    UPDATE Payment p
+    SET p.status = :newStatus
+    WHERE p.sessionId = :sessionId
+      AND p.status = :currentStatus
+      AND p.isDeleted = false
+            """)
+    int updateStatusBySessionId(@Param("sessionId") String sessionId,
+                                @Param("currentStatus") Payment.Status currentStatus,
+                                @Param("newStatus") Payment.Status newStatus);
+
+    @Transactional
+    @Modifying
+    @Query("""
+    UPDATE Payment p
+    SET p.status = :newStatus
+    WHERE p.sessionId IN :sessionIds
+      AND p.status = :currentStatus
+      AND p.isDeleted = false
+            """)
+    int updateStatusBySessionIdIn(@Param("sessionIds") Collection<String> sessionIds,
+                                  @Param("currentStatus") Payment.Status currentStatus,
+                                  @Param("newStatus") Payment.Status newStatus);
+
+    @Transactional
+    @Modifying
+    @Query("""
+    UPDATE Payment p
+    SET p.sessionId = :sessionId,
+        p.sessionUrl = :sessionUrl,
+        p.amountToPay = :amountToPay,
+        p.sessionCreatedAt = :sessionCreatedAt
+    WHERE p.sessionId = :reservationId
+      AND p.status = :currentStatus
+      AND p.isDeleted = false
+            """)
+    int attachSession(@Param("reservationId") String reservationId,
+                      @Param("currentStatus") Payment.Status currentStatus,
+                      @Param("sessionId") String sessionId,
+                      @Param("sessionUrl") String sessionUrl,
+                      @Param("amountToPay") BigDecimal amountToPay,
+                      @Param("sessionCreatedAt") Instant sessionCreatedAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+    UPDATE Payment p
+    SET p.status = :newStatus
+    WHERE p.sessionId LIKE :sessionIdPattern
+      AND p.status = :currentStatus
+      AND p.sessionCreatedAt <= :cutoff
+      AND p.isDeleted = false
+            """)
+    int updateStatusBySessionIdLikeAndSessionCreatedAtBefore(
+            @Param("sessionIdPattern") String sessionIdPattern,
+            @Param("currentStatus") Payment.Status currentStatus,
+            @Param("newStatus") Payment.Status newStatus,
+            @Param("cutoff") Instant cutoff
+    );
 }
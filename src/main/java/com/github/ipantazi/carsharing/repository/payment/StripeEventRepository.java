@@ -0,0 +1,80 @@
+package com.github.ipantazi.carsharing.repository.payment;
+
+import com.github.ipantazi.carsharing.model.StripeEvent;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface StripeEventRepository extends JpaRepository<StripeEvent, String> {
+    long countByStatus(StripeEvent.Status status);
+
+    @Query("SELECT MIN(e.receivedAt) FROM StripeEvent e WHERE e.status = :status")
+    Optional<Instant> findOldestReceivedAt(@Param("status") StripeEvent.Status status);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+    INSERT IGNORE INTO stripe_events (id, type, payload, status, attempts, received_at,
+                                      available_at)
+    VALUES (:id, :type, :payload, 'RECEIVED', 0, :receivedAt, :receivedAt)
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id,
+                       @Param("type") String type,
+                       @Param("payload") String payload,
+                       @Param("receivedAt") Instant receivedAt);
+
+    @Query(value = """
+    SELECT *
+    FROM stripe_events
+    WHERE status IN ('RECEIVED', 'PROCESSING') AND available_at <= :now
+    ORDER BY available_at
+    LIMIT :limit
+    FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<StripeEvent> lockAvailableBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("""
+    UPDATE StripeEvent e
+    SET e.status = :status,
+        e.processedAt = :processedAt,
+        e.lastError = NULL
+    WHERE e.id = :id
+            """)
+    int markProcessed(@Param("id") String id,
+                      @Param("status") StripeEvent.Status status,
+                      @Param("processedAt") Instant processedAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+    UPDATE StripeEvent e
+    SET e.status = :status,
+        e.attempts = :attempts,
+        e.availableAt = :availableAt,
+        e.lastError = :lastError
+    WHERE e.id = :id
+            """)
+    int markFailed(@Param("id") String id,
+                   @Param("status") StripeEvent.Status status,
+                   @Param("attempts") int attempts,
+                   @Param("availableAt") Instant availableAt,
+                   @Param("lastError") String lastError);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+    DELETE FROM stripe_events
+    WHERE status = 'PROCESSED' AND processed_at < :cutoff
+    LIMIT :limit
+            """, nativeQuery = true)
+    int deleteProcessedBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,20 @@
+package com.github.ipantazi.carsharing.repository.rental;
+
+import com.github.ipantazi.carsharing.model.Car;
+import java.time.LocalDate;
+
+public interface OverdueRentalView {
+    Long getRentalId();
+
+    String getEmail();
+
+    String getCarModel();
+
+    String getCarBrand();
+
+    Car.Type getCarType();
+
+    LocalDate getReturnDate();
+
+    long getDaysOverdue();
+}
@@ -0,0 +1,24 @@
+package com.github.ipantazi.carsharing.repository.rental;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface RentalBalanceView {
+    Long getRentalId();
+
+    Long getVersion();
+
+    LocalDate getRentalDate();
+
+    LocalDate getReturnDate();
+
+    LocalDate getActualReturnDate();
+
+    BigDecimal getDailyFee();
+
+    BigDecimal getTotalCost();
+
+    BigDecimal getAmountPaid();
+
+    BigDecimal getPaidSum();
+}
@@ -1,8 +1,11 @@
 package com.github.ipantazi.carsharing.repository.rental;
 
+import com.github.ipantazi.carsharing.model.Payment;
 import com.github.ipantazi.carsharing.model.Rental;
 import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -10,13 +13,17 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface RentalRepository extends JpaRepository<Rental, Long> {
+public interface RentalRepository extends JpaRepository<Rental, Long>,
+        JpaSpecificationExecutor<Rental> {
     Optional<Rental> findRentalByIdAndUserId(Long rentalId, Long userId);
 
     @EntityGraph(attributePaths = "car")
@@ -25,14 +32,50 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
     @EntityGraph(attributePaths = "car")
     Page<Rental> findAll(Specification<Rental> spec, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"car", "user"})
-    List<Rental> findAllByReturnDateLessThanEqualAndActualReturnDateIsNull(LocalDate date);
+    @Query(value = """
+        SELECT r.id AS rentalId,
+               u.email AS email,
+               c.model AS carModel,
+               c.brand AS carBrand,
+               c.type AS carType,
+               r.return_date AS returnDate,
+               CASE WHEN r.return_date < :today
+                    THEN DATEDIFF(:today, r.return_date)
+                    ELSE 0
+               END AS daysOverdue
+        FROM rentals r
+        JOIN cars c ON c.id = r.car_id
+        JOIN users u ON u.id = r.user_id
+        WHERE r.return_date <= :cutoff
+          AND r.actual_return_date IS NULL
+          AND r.id > :afterId
+        ORDER BY r.id
+            """, nativeQuery = true)
+    List<OverdueRentalView> findOverdueRentalsAfter(@Param("today") LocalDate today,
+                                                    @Param("cutoff") LocalDate cutoff,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    @Query(value = """
+        SELECT r.version AS rentalVersion,
+               r.user_id AS userId,
+               c.version AS carVersion
+        FROM rentals r
+        JOIN cars c ON c.id = r.car_id
+        WHERE r.id = :id
+            """, nativeQuery = true)
+    Optional<RentalVersionView> findVersionsById(@Param("id") Long rentalId);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @EntityGraph(attributePaths = "car")
     @Query("SELECT r FROM Rental r WHERE r.id = :id")
     Optional<Rental> lockRentalForUpdate(@Param("id") Long rentalId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = "car")
+    @Query("SELECT r FROM Rental r WHERE r.id IN :ids ORDER BY r.id")
+    List<Rental> lockRentalsForUpdate(@Param("ids") Collection<Long> rentalIds);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("""
         SELECT r FROM Rental r
@@ -40,4 +83,49 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
           AND r.actualReturnDate IS NULL
             """)
     List<Rental> lockActiveRentalsForUpdateByCarId(@Param("carId") Long carId);
+
+    @Query("""
+        SELECT r.id AS rentalId,
+               r.version AS version,
+               r.rentalDate AS rentalDate,
+               r.returnDate AS returnDate,
+               r.actualReturnDate AS actualReturnDate,
+               r.dailyFee AS dailyFee,
+               r.totalCost AS totalCost,
+               r.amountPaid AS amountPaid,
+               (SELECT COALESCE(SUM(p.amountToPay), 0)
+                FROM Payment p
+                WHERE p.rentalId = r.id AND p.status = :status) AS paidSum
+        FROM Rental r
+        WHERE r.id > :afterId
+        ORDER BY r.id
+            """)
+    List<RentalBalanceView> findBalancesAfter(@Param("status") Payment.Status status,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE Rental r
+        SET r.amountPaid = r.amountPaid + :amount,
+            r.version = r.version + 1
+        WHERE r.id = :id
+            """)
+    int addAmountPaid(@Param("id") Long rentalId, @Param("amount") BigDecimal amount);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE Rental r
+        SET r.totalCost = :totalCost,
+            r.amountPaid = :amountPaid,
+            r.version = r.version + 1
+        WHERE r.id = :id
+          AND r.version = :version
+            """)
+    int updateBalance(@Param("id") Long rentalId,
+                      @Param("version") Long version,
+                      @Param("totalCost") BigDecimal totalCost,
+                      @Param("amountPaid") BigDecimal amountPaid);
 }
@@ -0,0 +1,9 @@
+package com.github.ipantazi.carsharing.repository.rental;
+
+public interface RentalVersionView {
+    Long getRentalVersion();
+
+    Long getUserId();
+
+    Long getCarVersion();
+}
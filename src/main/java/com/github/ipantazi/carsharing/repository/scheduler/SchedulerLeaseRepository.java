@@ -0,0 +1,81 @@
+package com.github.ipantazi.carsharing.repository.scheduler;
+
+import com.github.ipantazi.carsharing.model.SchedulerLease;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+    @Transactional
+    @Modifying
+    @Query(value = """
+    INSERT IGNORE INTO scheduler_leases (name, fencing_token, lease_until)
+    VALUES (:name, 0, NOW(6))
+            """, nativeQuery = true)
+    int createIfAbsent(@Param("name") String name);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+    UPDATE scheduler_leases
+    SET owner = :owner,
+        fencing_token = fencing_token + 1,
+        locked_at = NOW(6),
+        lease_until = TIMESTAMPADD(MICROSECOND, :leaseMicros, NOW(6))
+    WHERE name = :name AND (lease_until <= NOW(6) OR owner = :owner)
+            """, nativeQuery = true)
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("leaseMicros") long leaseMicros);
+
+    @Query("""
+    SELECT l.fencingToken
+    FROM SchedulerLease l
+    WHERE l.name = :name AND l.owner = :owner
+            """)
+    Optional<Long> findFencingToken(@Param("name") String name, @Param("owner") String owner);
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = """
+    SELECT COUNT(*)
+    FROM scheduler_leases
+    WHERE name = :name
+      AND owner = :owner
+      AND fencing_token = :fencingToken
+      AND lease_until > NOW(6)
+    FOR SHARE
+            """, nativeQuery = true)
+    long lockIfHeld(@Param("name") String name,
+                    @Param("owner") String owner,
+                    @Param("fencingToken") long fencingToken);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+    UPDATE scheduler_leases
+    SET lease_until = TIMESTAMPADD(MICROSECOND, :leaseMicros, NOW(6))
+    WHERE name = :name AND owner = :owner AND fencing_token = :fencingToken
+            """, nativeQuery = true)
+    int renew(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("fencingToken") long fencingToken,
+              @Param("leaseMicros") long leaseMicros);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+    UPDATE scheduler_leases
+    SET lease_until = GREATEST(NOW(6), TIMESTAMPADD(MICROSECOND, :minHoldMicros, locked_at))
+    WHERE name = :name AND owner = :owner AND fencing_token = :fencingToken
+            """, nativeQuery = true)
+    int release(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("fencingToken") long fencingToken,
+                @Param("minHoldMicros") long minHoldMicros);
+}
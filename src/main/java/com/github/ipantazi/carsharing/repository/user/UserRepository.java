@@ -1,6 +1,7 @@
 package com.github.ipantazi.carsharing.repository.user;
 
 import com.github.ipantazi.carsharing.model.User;
+import com.github.ipantazi.carsharing.security.CachedPrincipal;
 import jakarta.persistence.LockModeType;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -18,8 +19,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmailAndIdNot(String email, Long id);
 
-    boolean existsByIdAndRole(Long id, User.Role role);
-
     @Query(value = """
     SELECT CASE WHEN COUNT(*) > 0 THEN 1 ELSE 0 END
     FROM users
@@ -38,6 +37,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
             """)
     Optional<String> getEmailByRentalId(@Param("rentalId") Long rentalId);
 
+    @Query("""
+    SELECT new com.github.ipantazi.carsharing.security.CachedPrincipal(
+        u.id, u.role, u.tokenVersion)
+    FROM User u
+    WHERE u.id = :id
+            """)
+    Optional<CachedPrincipal> findPrincipalById(@Param("id") Long id);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT u FROM User u WHERE u.id = :id")
     Optional<User> lockUserForUpdate(Long id);
@@ -0,0 +1,32 @@
+package com.github.ipantazi.carsharing.scheduler;
+
+import com.github.ipantazi.carsharing.notification.NotificationOutboxDispatcher;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Profile("!concurrency-test")
+@Component
+@RequiredArgsConstructor
+public class NotificationOutboxScheduler {
+    private static final String LEASE_NAME = "notification-outbox";
+
+    private final NotificationOutboxDispatcher outboxDispatcher;
+    private final SchedulerLeaseService schedulerLeaseService;
+
+    @Value("${scheduler.lease.notification-outbox.min-hold-seconds}")
+    private long minHoldSeconds;
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-delay}")
+    public void run() {
+        schedulerLeaseService.runExclusively(
+                LEASE_NAME,
+                Duration.ofSeconds(minHoldSeconds),
+                outboxDispatcher::dispatch
+        );
+    }
+}
@@ -1,7 +1,10 @@
 package com.github.ipantazi.carsharing.scheduler;
 
 import com.github.ipantazi.carsharing.service.rental.OverdueRentalChecker;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
+import java.time.Duration;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -10,10 +13,19 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class OverdueRentalScheduler {
+    private static final String LEASE_NAME = "overdue-rental-check";
     private final OverdueRentalChecker checker;
+    private final SchedulerLeaseService schedulerLeaseService;
+
+    @Value("${scheduler.lease.overdue-rental.min-hold-seconds}")
+    private long minHoldSeconds;
 
     @Scheduled(cron = "0 0 9 * * *")
     public void run() {
-        checker.checkOverdueRental();
+        schedulerLeaseService.runExclusively(
+                LEASE_NAME,
+                Duration.ofSeconds(minHoldSeconds),
+                checker::checkOverdueRental
+        );
     }
 }
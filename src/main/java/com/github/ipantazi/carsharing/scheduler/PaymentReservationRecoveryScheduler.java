@@ -0,0 +1,20 @@
+package com.github.ipantazi.carsharing.scheduler;
+
+import com.github.ipantazi.carsharing.service.payment.PaymentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Profile("!concurrency-test")
+@Component
+@RequiredArgsConstructor
+public class PaymentReservationRecoveryScheduler {
+
+    private final PaymentService paymentService;
+
+    @Scheduled(fixedDelayString = "${payment.reservation.recovery-delay}")
+    public void run() {
+        paymentService.expireAbandonedReservations();
+    }
+}
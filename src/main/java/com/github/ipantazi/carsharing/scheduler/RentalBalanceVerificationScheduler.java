@@ -0,0 +1,31 @@
+package com.github.ipantazi.carsharing.scheduler;
+
+import com.github.ipantazi.carsharing.service.rental.RentalBalanceVerifier;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Profile("!concurrency-test")
+@Component
+@RequiredArgsConstructor
+public class RentalBalanceVerificationScheduler {
+    private static final String LEASE_NAME = "rental-balance-verification";
+    private final RentalBalanceVerifier verifier;
+    private final SchedulerLeaseService schedulerLeaseService;
+
+    @Value("${scheduler.lease.rental-balance.min-hold-seconds}")
+    private long minHoldSeconds;
+
+    @Scheduled(cron = "${rental.balance.verify.cron}")
+    public void run() {
+        schedulerLeaseService.runExclusively(
+                LEASE_NAME,
+                Duration.ofSeconds(minHoldSeconds),
+                verifier::verifyBalances
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.ipantazi.carsharing.scheduler;
+
+import com.github.ipantazi.carsharing.service.payment.stripe.StripeEventInbox;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Profile("!concurrency-test")
+@Component
+@RequiredArgsConstructor
+public class StripeEventInboxPruneScheduler {
+    private static final String LEASE_NAME = "stripe-inbox-prune";
+
+    private final StripeEventInbox stripeEventInbox;
+    private final SchedulerLeaseService schedulerLeaseService;
+
+    @Value("${scheduler.lease.stripe-inbox-prune.min-hold-seconds}")
+    private long minHoldSeconds;
+
+    @Scheduled(cron = "${stripe.inbox.prune.cron}")
+    public void run() {
+        schedulerLeaseService.runExclusively(
+                LEASE_NAME,
+                Duration.ofSeconds(minHoldSeconds),
+                lease -> stripeEventInbox.pruneProcessed()
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.ipantazi.carsharing.scheduler;
+
+import com.github.ipantazi.carsharing.service.payment.stripe.StripeEventInbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Profile("!concurrency-test")
+@Component
+@RequiredArgsConstructor
+public class StripeEventInboxScheduler {
+    private final StripeEventInbox stripeEventInbox;
+
+    @Scheduled(fixedDelayString = "${stripe.inbox.poll-delay}")
+    public void run() {
+        stripeEventInbox.drain();
+    }
+}
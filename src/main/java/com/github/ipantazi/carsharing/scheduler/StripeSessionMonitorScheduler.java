@@ -1,7 +1,10 @@
 package com.github.ipantazi.carsharing.scheduler;
 
 import com.github.ipantazi.carsharing.service.payment.stripe.StripeSessionMonitorService;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
+import java.time.Duration;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -10,11 +13,20 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class StripeSessionMonitorScheduler {
+    private static final String LEASE_NAME = "stripe-session-monitor";
 
     private final StripeSessionMonitorService monitorService;
+    private final SchedulerLeaseService schedulerLeaseService;
+
+    @Value("${scheduler.lease.stripe-session-monitor.min-hold-seconds}")
+    private long minHoldSeconds;
 
     @Scheduled(fixedDelayString = "${stripe.session.monitor.delay}")
     public void run() {
-        monitorService.checkAndExpireSessions();
+        schedulerLeaseService.runExclusively(
+                LEASE_NAME,
+                Duration.ofSeconds(minHoldSeconds),
+                monitorService::checkAndExpireSessions
+        );
     }
 }
@@ -18,7 +18,13 @@ public class AuthenticationService {
         final Authentication authentication = authenticationManager
                 .authenticate(new UsernamePasswordAuthenticationToken(requestDto.email(),
                         requestDto.password()));
-        String token = jwtUtil.generateToken(authentication.getName());
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        String token = jwtUtil.generateToken(
+                authentication.getName(),
+                principal.getId(),
+                principal.getRole(),
+                principal.getTokenVersion()
+        );
         return new UserLoginResponseDto(token);
     }
 }
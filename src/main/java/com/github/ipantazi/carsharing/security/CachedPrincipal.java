@@ -0,0 +1,10 @@
+package com.github.ipantazi.carsharing.security;
+
+import com.github.ipantazi.carsharing.model.User;
+
+public record CachedPrincipal(
+        Long id,
+        User.Role role,
+        long tokenVersion
+) {
+}
@@ -1,8 +1,11 @@
 package com.github.ipantazi.carsharing.security;
 
+import com.github.ipantazi.carsharing.config.CacheConfig;
 import com.github.ipantazi.carsharing.exception.EntityNotFoundException;
 import com.github.ipantazi.carsharing.repository.user.UserRepository;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
@@ -17,4 +20,10 @@ public class CustomUserDetailsService implements UserDetailsService {
         return userRepository.findByEmail(email).orElseThrow(()
                 -> new EntityNotFoundException("Can't find user by email: " + email));
     }
+
+    @Cacheable(cacheNames = CacheConfig.PRINCIPALS_CACHE, key = "#userId",
+            unless = "#result == null")
+    public Optional<CachedPrincipal> findPrincipal(Long userId) {
+        return userRepository.findPrincipalById(userId);
+    }
 }
@@ -0,0 +1,43 @@
+package com.github.ipantazi.carsharing.security;
+
+import com.github.ipantazi.carsharing.model.User;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+public record JwtPrincipal(Long id, String email, User.Role role, long tokenVersion)
+        implements UserPrincipal, UserDetails {
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public User.Role getRole() {
+        return role;
+    }
+
+    @Override
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(ROLE_PREFIX + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -0,0 +1,11 @@
+package com.github.ipantazi.carsharing.security;
+
+import com.github.ipantazi.carsharing.model.User;
+
+public interface UserPrincipal {
+    Long getId();
+
+    User.Role getRole();
+
+    long getTokenVersion();
+}
@@ -6,6 +6,7 @@ import com.github.ipantazi.carsharing.dto.car.InventoryRequestDto;
 import com.github.ipantazi.carsharing.dto.car.UpdateCarDto;
 import com.github.ipantazi.carsharing.model.Car;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -26,4 +27,8 @@ public interface CarService {
     Car findCarById(Long id);
 
     List<CarDto> getByIds(Set<Long> ids);
+
+    Optional<String> getCarETag(Long id);
+
+    String getCatalogETag();
 }
@@ -1,5 +1,6 @@
 package com.github.ipantazi.carsharing.service.car;
 
+import com.github.ipantazi.carsharing.config.CacheConfig;
 import com.github.ipantazi.carsharing.dto.car.CarDto;
 import com.github.ipantazi.carsharing.dto.car.CarRequestDto;
 import com.github.ipantazi.carsharing.dto.car.InventoryRequestDto;
@@ -8,10 +9,21 @@ import com.github.ipantazi.carsharing.exception.DataProcessingException;
 import com.github.ipantazi.carsharing.exception.EntityNotFoundException;
 import com.github.ipantazi.carsharing.mapper.CarMapper;
 import com.github.ipantazi.carsharing.model.Car;
+import com.github.ipantazi.carsharing.repository.car.CarCatalogVersion;
 import com.github.ipantazi.carsharing.repository.car.CarRepository;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,8 +35,10 @@ public class CarServiceImpl implements CarService {
     private final CarRepository carRepository;
     private final CarMapper carMapper;
     private final InventoryService inventoryService;
+    private final CacheManager cacheManager;
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CAR_PAGES_CACHE, allEntries = true)
     public CarDto save(CarRequestDto carRequestDto) {
         validateCarDoesNotExist(carRequestDto.model(), carRequestDto.brand());
         Car car = carMapper.toCarEntity(carRequestDto);
@@ -32,11 +46,16 @@ public class CarServiceImpl implements CarService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.CARS_CACHE, key = "#id")
     public CarDto getById(Long id) {
         return carMapper.toCarDto(findCarById(id));
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CAR_PAGES_CACHE, allEntries = true)
+    })
     public CarDto update(Long id, UpdateCarDto updateCarDto) {
         Car car = findCarById(id);
         validateCarDoesNotExist(updateCarDto.model(), updateCarDto.brand());
@@ -46,6 +65,10 @@ public class CarServiceImpl implements CarService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CAR_PAGES_CACHE, allEntries = true)
+    })
     public CarDto manageInventory(Long id, InventoryRequestDto requestDto) {
         Car car = inventoryService.adjustInventory(
                 id,
@@ -56,6 +79,10 @@ public class CarServiceImpl implements CarService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CAR_PAGES_CACHE, allEntries = true)
+    })
     public void delete(Long id) {
         if (!carRepository.existsById(id)) {
             throw new EntityNotFoundException("Car not found with id: " + id);
@@ -64,6 +91,7 @@ public class CarServiceImpl implements CarService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.CAR_PAGES_CACHE, key = "#pageable")
     public Page<CarDto> findAll(Pageable pageable) {
         return carRepository.findAll(pageable).map(carMapper::toCarDto);
     }
@@ -76,11 +104,52 @@ public class CarServiceImpl implements CarService {
 
     @Override
     public List<CarDto> getByIds(Set<Long> ids) {
-        return carRepository.findAllById(ids).stream()
-                .map(carMapper::toCarDto)
+        Cache cache = cacheManager.getCache(CacheConfig.CARS_CACHE);
+        if (cache == null) {
+            return carRepository.findAllById(ids).stream()
+                    .map(carMapper::toCarDto)
+                    .toList();
+        }
+        Map<Long, CarDto> carDtosById = new HashMap<>();
+        Set<Long> missingIds = new HashSet<>();
+        for (Long id : ids) {
+            CarDto cachedCarDto = cache.get(id, CarDto.class);
+            if (cachedCarDto != null) {
+                carDtosById.put(id, cachedCarDto);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            for (Car car : carRepository.findAllById(missingIds)) {
+                CarDto carDto = carMapper.toCarDto(car);
+                cache.put(car.getId(), carDto);
+                carDtosById.put(car.getId(), carDto);
+            }
+        }
+        return ids.stream()
+                .map(carDtosById::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
+    @Override
+    public Optional<String> getCarETag(Long id) {
+        return carRepository.findVersionById(id)
+                .map(version -> "\"car-%d-%d\"".formatted(id, version));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CAR_PAGES_CACHE, key = "'catalog-etag'")
+    public String getCatalogETag() {
+        CarCatalogVersion catalogVersion = carRepository.findCatalogVersion();
+        return "\"cars-%d-%d-%d\"".formatted(
+                catalogVersion.getTotal(),
+                catalogVersion.getMaxId(),
+                catalogVersion.getVersionSum()
+        );
+    }
+
     private void validateCarDoesNotExist(String model, String brand) {
         if (carRepository.existsByModelAndBrand(model, brand)) {
             throw new DataProcessingException("Car with model: " + model + " and brand: " + brand
@@ -5,4 +5,6 @@ import com.github.ipantazi.carsharing.model.Car;
 
 public interface InventoryService {
     Car adjustInventory(Long carId, int quantity, OperationType operation);
+
+    void decreaseIfAvailable(Long carId, int quantity);
 }
@@ -1,11 +1,14 @@
 package com.github.ipantazi.carsharing.service.car;
 
+import com.github.ipantazi.carsharing.config.CacheConfig;
 import com.github.ipantazi.carsharing.dto.enums.OperationType;
 import com.github.ipantazi.carsharing.exception.CarNotAvailableException;
 import com.github.ipantazi.carsharing.exception.EntityNotFoundException;
 import com.github.ipantazi.carsharing.model.Car;
 import com.github.ipantazi.carsharing.repository.car.CarRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +19,10 @@ public class InventoryServiceImpl implements InventoryService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS_CACHE, key = "#carId"),
+            @CacheEvict(cacheNames = CacheConfig.CAR_PAGES_CACHE, allEntries = true)
+    })
     public Car adjustInventory(Long carId, int quantity, OperationType operation) {
         if (quantity <= 0) {
             throw new IllegalArgumentException("Invalid quantity. Quantity should be positive.");
@@ -39,4 +46,22 @@ public class InventoryServiceImpl implements InventoryService {
         }
         return carRepository.save(car);
     }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS_CACHE, key = "#carId"),
+            @CacheEvict(cacheNames = CacheConfig.CAR_PAGES_CACHE, allEntries = true)
+    })
+    public void decreaseIfAvailable(Long carId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Invalid quantity. Quantity should be positive.");
+        }
+        if (carRepository.applyInventoryDelta(carId, -quantity) == 0) {
+            if (!carRepository.existsById(carId)) {
+                throw new EntityNotFoundException("Car not found with id: %d".formatted(carId));
+            }
+            throw new CarNotAvailableException("Not enough cars with ID: %d".formatted(carId));
+        }
+    }
 }
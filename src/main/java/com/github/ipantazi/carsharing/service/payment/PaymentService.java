@@ -17,6 +17,8 @@ public interface PaymentService {
 
     void handlePaymentSuccess(StripeSessionMetadataDto metadataDto) throws StripeException;
 
+    void handlePaymentExpired(String sessionId);
+
     String getPaymentSuccessMessage(String sessionId);
 
     PaymentResponseDto renewPaymentSession(
@@ -24,4 +26,6 @@ public interface PaymentService {
             PaymentRequestDto paymentRequestDto,
             UriComponentsBuilder uriBuilder
     ) throws StripeException;
+
+    int expireAbandonedReservations();
 }
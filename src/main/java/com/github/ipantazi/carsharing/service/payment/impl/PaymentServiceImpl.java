@@ -23,14 +23,19 @@ import com.github.ipantazi.carsharing.service.rental.RentalService;
 import com.github.ipantazi.carsharing.service.user.UserService;
 import com.stripe.exception.StripeException;
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @Slf4j
@@ -39,8 +44,10 @@ import org.springframework.web.util.UriComponentsBuilder;
 public class PaymentServiceImpl implements PaymentService {
     private static final Payment.Status STATUS_PAID = Payment.Status.PAID;
     private static final Payment.Status STATUS_PENDING = Payment.Status.PENDING;
+    private static final Payment.Status STATUS_EXPIRED = Payment.Status.EXPIRED;
     private static final String SUCCESS_URL = "/payments/success";
     private static final String CANCEL_URL = "/payments/cancel";
+    private static final String RESERVATION_PREFIX = "reserved_";
     private final PaymentRepository paymentRepository;
     private final RentalService rentalService;
     private final StripeClient stripeClient;
@@ -50,6 +57,11 @@ public class PaymentServiceImpl implements PaymentService {
     private final NotificationService notificationService;
     private final NotificationMapper notificationMapper;
     private final UserService userService;
+    private final Clock clock;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${payment.reservation.timeout-seconds}")
+    private long reservationTimeoutSeconds;
 
     @Override
     @Transactional(readOnly = true)
@@ -64,7 +76,6 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
-    @Transactional
     public PaymentResponseDto createPaymentSession(
             Long userId,
             PaymentRequestDto paymentRequestDto,
@@ -74,31 +85,17 @@ public class PaymentServiceImpl implements PaymentService {
         Payment.Type type = Payment.Type.valueOfType(paymentRequestDto.type());
         Long rentalId = paymentRequestDto.rentalId();
 
-        Rental rental = rentalService.getRentalEntityByIdAndUserId(userId, rentalId);
-
-        Optional<Payment> paymentOpt = paymentRepository.lockPaymentForUpdate(rentalId, type)
-                .map(this::validatePaymentStatus);
-
-        StripeSessionMetadataDto sessionDto = createStripeSession(
-                rental,
-                uriBuilder,
-                paymentRequestDto
-        );
-
-        Payment payment = paymentOpt
-                .map(existing -> updatePaymentWithNewSession(existing, sessionDto, STATUS_PENDING))
-                .orElseGet(() -> buildPayment(sessionDto, STATUS_PENDING));
-
+        Reservation reservation;
         try {
-            payment = paymentRepository.save(payment);
+            reservation = transactionTemplate.execute(status ->
+                    reservePayment(userId, rentalId, type, false));
         } catch (DataIntegrityViolationException e) {
             log.info("Concurrent payment insert detected for rentalId={}, type={} (createPayment)",
                     rentalId, type);
-            payment = paymentRepository.lockPaymentForUpdate(rentalId, type)
-                    .orElseThrow(() -> e);
+            throw sessionBeingCreated(rentalId, type.name());
         }
 
-        return paymentMapper.toPaymentResponseDto(payment);
+        return attachStripeSession(rentalId, type, reservation, uriBuilder, paymentRequestDto);
     }
 
     @Override
@@ -116,7 +113,6 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
-    @Transactional
     public PaymentResponseDto renewPaymentSession(
             Long userId,
             PaymentRequestDto paymentRequestDto,
@@ -126,25 +122,10 @@ public class PaymentServiceImpl implements PaymentService {
         Payment.Type type = Payment.Type.valueOfType(paymentRequestDto.type());
         Long rentalId = paymentRequestDto.rentalId();
 
-        Rental rental = rentalService.getRentalEntityByIdAndUserId(userId, rentalId);
-
-        Payment payment = paymentRepository.lockPaymentForUpdate(rentalId, type)
-                .map(this::validatePaymentStatus)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "No previous session found for this rental: %d and type: %s."
-                                .formatted(rentalId, type)
-                                + " Please create a new payment session."
-                ));
-
-        StripeSessionMetadataDto sessionDto = createStripeSession(
-                rental,
-                uriBuilder,
-                paymentRequestDto
-        );
+        Reservation reservation = transactionTemplate.execute(status ->
+                reservePayment(userId, rentalId, type, true));
 
-        updatePaymentWithNewSession(payment, sessionDto, STATUS_PENDING);
-
-        return paymentMapper.toPaymentResponseDto(paymentRepository.save(payment));
+        return attachStripeSession(rentalId, type, reservation, uriBuilder, paymentRequestDto);
     }
 
     @Override
@@ -153,6 +134,7 @@ public class PaymentServiceImpl implements PaymentService {
         Long rentalId = metadataDto.rentalId();
         Payment.Type type = metadataDto.type();
         Payment payment;
+        boolean markedPaid = false;
 
         paymentValidator.checkingAmountToPay(metadataDto);
         Optional<Payment> paymentOpt = paymentRepository.lockPaymentForUpdate(rentalId, type);
@@ -164,11 +146,13 @@ public class PaymentServiceImpl implements PaymentService {
             }
             updatePaymentWithNewSession(payment, metadataDto, STATUS_PAID);
             paymentRepository.save(payment);
+            markedPaid = true;
 
         } else {
             payment = buildPayment(metadataDto, STATUS_PAID);
             try {
                 paymentRepository.save(payment);
+                markedPaid = true;
             } catch (DataIntegrityViolationException e) {
                 log.info("Concurrent payment insert detected for rentalId={}, type={} (WebHook)",
                         rentalId, type);
@@ -180,6 +164,10 @@ public class PaymentServiceImpl implements PaymentService {
         if (payment.getStatus() != STATUS_PAID) {
             updatePaymentWithNewSession(payment, metadataDto, STATUS_PAID);
             paymentRepository.save(payment);
+            markedPaid = true;
+        }
+        if (markedPaid) {
+            rentalService.recordPayment(rentalId, payment.getAmountToPay());
         }
 
         PaymentPayload paymentPayload = notificationMapper.toPaymentPayload(
@@ -192,18 +180,123 @@ public class PaymentServiceImpl implements PaymentService {
         );
     }
 
-    private StripeSessionMetadataDto createStripeSession(
-            Rental rental,
-            UriComponentsBuilder uriBuilder,
-            PaymentRequestDto requestDto
-    ) throws StripeException {
+    @Override
+    public void handlePaymentExpired(String sessionId) {
+        int updated = paymentRepository.updateStatusBySessionId(
+                sessionId,
+                STATUS_PENDING,
+                STATUS_EXPIRED
+        );
+        if (updated == 0) {
+            log.debug("Ignoring session expiry for session ID {}: no pending payment", sessionId);
+        }
+    }
+
+    @Override
+    public int expireAbandonedReservations() {
+        Instant cutoff = Instant.now(clock).minusSeconds(reservationTimeoutSeconds);
+        int expired = paymentRepository.updateStatusBySessionIdLikeAndSessionCreatedAtBefore(
+                RESERVATION_PREFIX + "%",
+                STATUS_PENDING,
+                STATUS_EXPIRED,
+                cutoff
+        );
+        if (expired > 0) {
+            log.warn("Expired {} payment reservations left without a Stripe session", expired);
+        }
+        return expired;
+    }
+
+    private Reservation reservePayment(Long userId,
+                                       Long rentalId,
+                                       Payment.Type type,
+                                       boolean renewal) {
+        Rental rental = rentalService.getRentalEntityByIdAndUserId(userId, rentalId);
+
+        Optional<Payment> paymentOpt = paymentRepository.lockPaymentForUpdate(rentalId, type)
+                .map(this::validatePaymentStatus);
+        if (renewal && paymentOpt.isEmpty()) {
+            throw new EntityNotFoundException(
+                    "No previous session found for this rental: %d and type: %s."
+                            .formatted(rentalId, type)
+                            + " Please create a new payment session.");
+        }
+
+        BigDecimal amount = calculator.calculateAmountToPayByType(rental, type);
+        Reservation reservation = new Reservation(
+                RESERVATION_PREFIX + UUID.randomUUID(),
+                amount
+        );
+        Payment payment = paymentOpt.orElseGet(Payment::new);
+        payment.setRentalId(rentalId);
+        payment.setType(type);
+        payment.setSessionId(reservation.sessionId());
+        payment.setSessionUrl(null);
+        payment.setAmountToPay(amount);
+        payment.setStatus(STATUS_PENDING);
+        payment.setSessionCreatedAt(Instant.now(clock));
+        paymentRepository.save(payment);
+        return reservation;
+    }
+
+    private PaymentResponseDto attachStripeSession(Long rentalId,
+                                                   Payment.Type type,
+                                                   Reservation reservation,
+                                                   UriComponentsBuilder uriBuilder,
+                                                   PaymentRequestDto requestDto)
+            throws StripeException {
 
-        Payment.Type type = Payment.Type.valueOfType(requestDto.type());
         String successUrl = uriBuilder.path(SUCCESS_URL).toUriString();
         String cancelUrl = uriBuilder.path(CANCEL_URL).toUriString();
-        BigDecimal amount = calculator.calculateAmountToPayByType(rental, type);
+        StripeSessionMetadataDto sessionDto;
+        try {
+            sessionDto = stripeClient.createSession(
+                    reservation.amount(),
+                    successUrl,
+                    cancelUrl,
+                    requestDto
+            );
+        } catch (StripeException | RuntimeException e) {
+            paymentRepository.updateStatusBySessionId(
+                    reservation.sessionId(),
+                    STATUS_PENDING,
+                    STATUS_EXPIRED
+            );
+            throw e;
+        }
 
-        return stripeClient.createSession(amount, successUrl, cancelUrl, requestDto);
+        int attached = paymentRepository.attachSession(
+                reservation.sessionId(),
+                STATUS_PENDING,
+                sessionDto.sessionId(),
+                sessionDto.sessionUrl(),
+                sessionDto.amountToPay(),
+                Instant.now(clock)
+        );
+        if (attached == 0) {
+            log.info("Payment for rentalId={}, type={} changed while its Stripe session {} "
+                    + "was being created", rentalId, type, sessionDto.sessionId());
+            return resolveDetachedSession(rentalId, type, sessionDto.sessionId());
+        }
+        return paymentRepository.findPaymentBySessionId(sessionDto.sessionId())
+                .map(paymentMapper::toPaymentResponseDto)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Payment not found for session id: " + sessionDto.sessionId()));
+    }
+
+    private PaymentResponseDto resolveDetachedSession(Long rentalId,
+                                                      Payment.Type type,
+                                                      String sessionId) {
+        Optional<Payment> current = paymentRepository.findPaymentByRentalIdAndType(rentalId, type);
+        if (current.map(Payment::getSessionId).filter(sessionId::equals).isEmpty()) {
+            expireOrphanedSession(sessionId);
+        }
+        Payment payment = current.orElseThrow(() -> new EntityNotFoundException(
+                "Payment not found for rental: %d and type: %s".formatted(rentalId, type)));
+        if (isReservation(payment)) {
+            throw sessionBeingCreated(rentalId, type.name());
+        }
+        return paymentMapper.toPaymentResponseDto(payment);
     }
 
     private Payment validatePaymentStatus(Payment payment) {
@@ -212,16 +305,37 @@ public class PaymentServiceImpl implements PaymentService {
 
         return switch (payment.getStatus()) {
             case PAID -> throw new PaymentAlreadyPaidException(rentalId, type);
-            case PENDING -> throw new PendingPaymentsExistException(
-                    "There is already a pending payment for rental: %d and type: %s. "
-                            .formatted(rentalId, type)
-                            + "Please complete your session by url: %s"
-                            .formatted(payment.getSessionUrl())
-            );
+            case PENDING -> throw isReservation(payment)
+                    ? sessionBeingCreated(rentalId, type)
+                    : new PendingPaymentsExistException(
+                            "There is already a pending payment for rental: %d and type: %s. "
+                                    .formatted(rentalId, type)
+                                    + "Please complete your session by url: %s"
+                                    .formatted(payment.getSessionUrl()));
             case EXPIRED -> payment;
         };
     }
 
+    private PendingPaymentsExistException sessionBeingCreated(Long rentalId, String type) {
+        return new PendingPaymentsExistException(
+                "A payment session for rental: %d and type: %s is being created. "
+                        .formatted(rentalId, type)
+                        + "Please try again in a moment.");
+    }
+
+    private void expireOrphanedSession(String sessionId) {
+        try {
+            stripeClient.expireSession(sessionId);
+        } catch (StripeException | RuntimeException e) {
+            log.warn("Failed to expire orphaned Stripe session {}", sessionId, e);
+        }
+    }
+
+    private boolean isReservation(Payment payment) {
+        return payment.getSessionId() != null
+                && payment.getSessionId().startsWith(RESERVATION_PREFIX);
+    }
+
     private Payment updatePaymentWithNewSession(Payment payment,
                                                 StripeSessionMetadataDto metadataDto,
                                                 Payment.Status status) {
@@ -248,4 +362,7 @@ public class PaymentServiceImpl implements PaymentService {
         payment.setStatus(status);
         return payment;
     }
+
+    private record Reservation(String sessionId, BigDecimal amount) {
+    }
 }
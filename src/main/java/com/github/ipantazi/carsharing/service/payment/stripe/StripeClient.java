@@ -18,8 +18,12 @@ public interface StripeClient {
 
     boolean isStripeSessionExpired(String sessionId) throws StripeException;
 
+    void expireSession(String sessionId) throws StripeException;
+
     Event constructEvent(String payload, String sigHeader, String endpointSecret)
             throws SignatureVerificationException;
 
+    Event parseEvent(String payload);
+
     StripeSessionMetadataDto getMetadataFromSession(Session session);
 }
@@ -0,0 +1,7 @@
+package com.github.ipantazi.carsharing.service.payment.stripe;
+
+public interface StripeEventInbox {
+    int drain();
+
+    int pruneProcessed();
+}
@@ -1,5 +1,7 @@
 package com.github.ipantazi.carsharing.service.payment.stripe;
 
+import com.github.ipantazi.carsharing.service.scheduler.LeaseToken;
+
 public interface StripeSessionMonitorService {
-    void checkAndExpireSessions();
+    void checkAndExpireSessions(LeaseToken lease);
 }
@@ -0,0 +1,7 @@
+package com.github.ipantazi.carsharing.service.payment.stripe;
+
+import com.github.ipantazi.carsharing.service.scheduler.LeaseToken;
+
+public interface StripeSessionVerificationPipeline {
+    int expireVerifiedSessions(LeaseToken lease);
+}
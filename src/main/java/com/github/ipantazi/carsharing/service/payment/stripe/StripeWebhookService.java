@@ -1,8 +1,12 @@
 package com.github.ipantazi.carsharing.service.payment.stripe;
 
 import com.stripe.exception.StripeException;
+import com.stripe.model.Event;
 
 public interface StripeWebhookService {
-    void processStripeEvent(String payload, String sigHeader)
+    void enqueueStripeEvent(String payload, String sigHeader)
+            throws StripeException;
+
+    void processStripeEvent(Event event)
             throws StripeException;
 }
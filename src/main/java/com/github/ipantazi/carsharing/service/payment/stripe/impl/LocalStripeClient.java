@@ -0,0 +1,130 @@
+package com.github.ipantazi.carsharing.service.payment.stripe.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.ipantazi.carsharing.dto.payment.PaymentRequestDto;
+import com.github.ipantazi.carsharing.dto.payment.StripeSessionMetadataDto;
+import com.github.ipantazi.carsharing.model.Payment;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.StripeException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Profile("stripe-stub")
+@Component
+public class LocalStripeClient extends StripeClientImpl {
+    private static final String SESSION_PREFIX = "cs_local_";
+    private static final String CHECKOUT_URL = "http://localhost/checkout/";
+    private static final long MAX_TRACKED_SESSIONS = 1_000_000L;
+    private final Clock clock;
+    private final LocalStripeWebhookEmitter webhookEmitter;
+    private final Cache<String, Instant> sessions;
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final double errorRate;
+    private final double completionRate;
+    private final long expirySeconds;
+
+    public LocalStripeClient(
+            Clock clock,
+            LocalStripeWebhookEmitter webhookEmitter,
+            @Value("${stripe.stub.latency-ms}") long latencyMillis,
+            @Value("${stripe.stub.latency-jitter-ms}") long latencyJitterMillis,
+            @Value("${stripe.stub.error-rate}") double errorRate,
+            @Value("${stripe.stub.completion-rate}") double completionRate,
+            @Value("${stripe.session.expiry-seconds}") long expirySeconds
+    ) {
+        super(clock);
+        this.clock = clock;
+        this.webhookEmitter = webhookEmitter;
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = latencyJitterMillis;
+        this.errorRate = errorRate;
+        this.completionRate = completionRate;
+        this.expirySeconds = expirySeconds;
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_SESSIONS)
+                .expireAfterWrite(Duration.ofSeconds(expirySeconds))
+                .build();
+    }
+
+    @Override
+    public void init() {
+        log.warn("Stripe stand-in is active: sessions are simulated locally");
+    }
+
+    @Override
+    public StripeSessionMetadataDto createSession(BigDecimal amount,
+                                                  String successUrl,
+                                                  String cancelUrl,
+                                                  PaymentRequestDto paymentRequestDto)
+            throws StripeException {
+        simulateCall();
+        String sessionId = SESSION_PREFIX + UUID.randomUUID().toString().replace("-", "");
+        StripeSessionMetadataDto metadata = new StripeSessionMetadataDto(
+                sessionId,
+                paymentRequestDto.rentalId(),
+                Payment.Type.valueOfType(paymentRequestDto.type()),
+                amount.setScale(2, RoundingMode.HALF_UP),
+                CHECKOUT_URL + sessionId
+        );
+        sessions.put(sessionId, Instant.now(clock));
+
+        if (ThreadLocalRandom.current().nextDouble() < completionRate) {
+            webhookEmitter.emit(LocalStripeWebhookEmitter.SESSION_COMPLETED, metadata);
+        }
+        return metadata;
+    }
+
+    @Override
+    public boolean isStripeSessionExpired(String sessionId) throws StripeException {
+        simulateCall();
+        Instant createdAt = sessions.getIfPresent(sessionId);
+        if (createdAt == null) {
+            return true;
+        }
+        return Duration.between(createdAt, Instant.now(clock)).toSeconds() > expirySeconds;
+    }
+
+    @Override
+    public void expireSession(String sessionId) throws StripeException {
+        simulateCall();
+        sessions.invalidate(sessionId);
+    }
+
+    private void simulateCall() throws StripeException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latency = latencyMillis;
+        if (latencyJitterMillis > 0) {
+            latency += random.nextLong(latencyJitterMillis + 1);
+        }
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ApiConnectionException("Interrupted while calling local Stripe", e);
+            }
+        }
+        if (random.nextDouble() < errorRate) {
+            throw new ApiException(
+                    "Simulated Stripe failure",
+                    "req_local_" + UUID.randomUUID(),
+                    "api_error",
+                    500,
+                    null
+            );
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.ipantazi.carsharing.service.payment.stripe.impl;
+
+import com.github.ipantazi.carsharing.dto.payment.StripeSessionMetadataDto;
+import com.stripe.Stripe;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Profile("stripe-stub")
+@Component
+public class LocalStripeWebhookEmitter {
+    public static final String SESSION_COMPLETED = "checkout.session.completed";
+    private static final String SIGNATURE_HEADER = "Stripe-Signature";
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private final WebClient webClient;
+    private final Clock clock;
+    private final String endpointSecret;
+    private final Duration delay;
+
+    public LocalStripeWebhookEmitter(
+            WebClient.Builder builder,
+            Clock clock,
+            @Value("${stripe.webhook.secret}") String endpointSecret,
+            @Value("${stripe.stub.webhook-url}") String webhookUrl,
+            @Value("${stripe.stub.webhook-delay-ms}") long delayMillis
+    ) {
+        this.webClient = builder.baseUrl(webhookUrl).build();
+        this.clock = clock;
+        this.endpointSecret = endpointSecret;
+        this.delay = Duration.ofMillis(delayMillis);
+    }
+
+    public void emit(String type, StripeSessionMetadataDto metadata) {
+        String payload = buildPayload(type, metadata);
+
+        Mono.delay(delay)
+                .then(Mono.defer(() -> webClient.post()
+                        .header(SIGNATURE_HEADER, signatureHeader(
+                                payload,
+                                Instant.now(clock).getEpochSecond()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(payload)
+                        .retrieve()
+                        .toBodilessEntity()))
+                .subscribe(
+                        response -> log.debug("Delivered local {} webhook for session {}",
+                                type, metadata.sessionId()),
+                        ex -> log.warn("Failed to deliver local {} webhook for session {}",
+                                type, metadata.sessionId(), ex));
+    }
+
+    public String buildPayload(String type, StripeSessionMetadataDto metadata) {
+        return """
+                {
+                  "id": "evt_local_%s",
+                  "object": "event",
+                  "api_version": "%s",
+                  "created": %d,
+                  "livemode": false,
+                  "type": "%s",
+                  "data": {
+                    "object": {
+                      "id": "%s",
+                      "object": "checkout.session",
+                      "url": "%s",
+                      "metadata": {
+                        "rentalId": "%d",
+                        "type": "%s",
+                        "amountToPay": "%s"
+                      }
+                    }
+                  }
+                }
+                """.formatted(
+                UUID.randomUUID().toString().replace("-", ""),
+                Stripe.API_VERSION,
+                Instant.now(clock).getEpochSecond(),
+                type,
+                metadata.sessionId(),
+                metadata.sessionUrl(),
+                metadata.rentalId(),
+                metadata.type().name(),
+                metadata.amountToPay().toPlainString()
+        );
+    }
+
+    public String signatureHeader(String payload, long timestamp) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(new SecretKeySpec(
+                    endpointSecret.getBytes(StandardCharsets.UTF_8),
+                    HMAC_SHA256));
+            byte[] digest = mac.doFinal((timestamp + "." + payload)
+                    .getBytes(StandardCharsets.UTF_8));
+            return "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign local Stripe webhook payload", e);
+        }
+    }
+}
@@ -5,11 +5,13 @@ import com.github.ipantazi.carsharing.dto.payment.StripeSessionMetadataDto;
 import com.github.ipantazi.carsharing.exception.InvalidStripePayloadException;
 import com.github.ipantazi.carsharing.model.Payment;
 import com.github.ipantazi.carsharing.service.payment.stripe.StripeClient;
+import com.google.gson.JsonParseException;
 import com.stripe.Stripe;
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Event;
 import com.stripe.model.checkout.Session;
+import com.stripe.net.ApiResource;
 import com.stripe.net.RequestOptions;
 import com.stripe.net.Webhook;
 import com.stripe.param.checkout.SessionCreateParams;
@@ -22,9 +24,11 @@ import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 @Slf4j
+@Profile("!stripe-stub")
 @Component
 @RequiredArgsConstructor
 public class StripeClientImpl implements StripeClient {
@@ -98,6 +102,11 @@ public class StripeClientImpl implements StripeClient {
         return (nowEpoch - createdEpoch) > expirySeconds;
     }
 
+    @Override
+    public void expireSession(String sessionId) throws StripeException {
+        Session.retrieve(sessionId).expire();
+    }
+
     @Override
     public Event constructEvent(String payload, String sigHeader, String endpointSecret) {
         Event event;
@@ -116,6 +125,15 @@ public class StripeClientImpl implements StripeClient {
         return event;
     }
 
+    @Override
+    public Event parseEvent(String payload) {
+        try {
+            return ApiResource.GSON.fromJson(payload, Event.class);
+        } catch (JsonParseException e) {
+            throw new InvalidStripePayloadException("Invalid stored Stripe event payload", e);
+        }
+    }
+
     @Override
     public StripeSessionMetadataDto getMetadataFromSession(Session session) {
         String sessionId = Optional.ofNullable(session.getId())
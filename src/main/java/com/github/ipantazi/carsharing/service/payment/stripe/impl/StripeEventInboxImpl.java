@@ -0,0 +1,212 @@
+package com.github.ipantazi.carsharing.service.payment.stripe.impl;
+
+import com.github.ipantazi.carsharing.model.StripeEvent;
+import com.github.ipantazi.carsharing.repository.payment.StripeEventRepository;
+import com.github.ipantazi.carsharing.service.payment.stripe.StripeClient;
+import com.github.ipantazi.carsharing.service.payment.stripe.StripeEventInbox;
+import com.github.ipantazi.carsharing.service.payment.stripe.StripeWebhookService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class StripeEventInboxImpl implements StripeEventInbox {
+    private static final String METRIC_PREFIX = "stripe.inbox";
+    private static final int MAX_ERROR_LENGTH = 1024;
+    private final StripeEventRepository stripeEventRepository;
+    private final StripeClient stripeClient;
+    private final StripeWebhookService stripeWebhookService;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final ExecutorService workerPool;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration claimTimeout;
+    private final Duration retention;
+    private final int pruneBatchSize;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Timer deliveryLag;
+    private final Counter processedCounter;
+    private final Counter failedCounter;
+
+    public StripeEventInboxImpl(
+            StripeEventRepository stripeEventRepository,
+            StripeClient stripeClient,
+            StripeWebhookService stripeWebhookService,
+            TransactionTemplate transactionTemplate,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${stripe.inbox.workers}") int workers,
+            @Value("${stripe.inbox.batch-size}") int batchSize,
+            @Value("${stripe.inbox.max-attempts}") int maxAttempts,
+            @Value("${stripe.inbox.retry-delay-seconds}") long retryDelaySeconds,
+            @Value("${stripe.inbox.claim-timeout-seconds}") long claimTimeoutSeconds,
+            @Value("${stripe.inbox.retention-days}") long retentionDays,
+            @Value("${stripe.inbox.prune.batch-size}") int pruneBatchSize
+    ) {
+        this.stripeEventRepository = stripeEventRepository;
+        this.stripeClient = stripeClient;
+        this.stripeWebhookService = stripeWebhookService;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.workerPool = Executors.newFixedThreadPool(workers);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = Duration.ofSeconds(retryDelaySeconds);
+        this.claimTimeout = Duration.ofSeconds(claimTimeoutSeconds);
+        this.retention = Duration.ofDays(retentionDays);
+        this.pruneBatchSize = pruneBatchSize;
+        Gauge.builder(METRIC_PREFIX + ".backlog", backlog, AtomicLong::get)
+                .description("Stripe events waiting in the inbox")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest Stripe event waiting in the inbox")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder(METRIC_PREFIX + ".delivery.lag")
+                .description("Time from webhook receipt to successful processing")
+                .register(meterRegistry);
+        this.processedCounter = outcomeCounter(meterRegistry, "processed");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdown();
+    }
+
+    @Override
+    public int drain() {
+        List<Future<Integer>> results = IntStream.range(0, workers)
+                .mapToObj(i -> workerPool.submit(this::drainBatches))
+                .toList();
+
+        int processed = 0;
+        for (Future<Integer> result : results) {
+            try {
+                processed += result.get();
+            } catch (ExecutionException e) {
+                log.error("Stripe inbox worker failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        refreshLagMetrics();
+        return processed;
+    }
+
+    @Override
+    public int pruneProcessed() {
+        Instant cutoff = Instant.now(clock).minus(retention);
+        int pruned = 0;
+        int deleted;
+        do {
+            deleted = stripeEventRepository.deleteProcessedBefore(cutoff, pruneBatchSize);
+            pruned += deleted;
+        } while (deleted == pruneBatchSize && !Thread.currentThread().isInterrupted());
+        if (pruned > 0) {
+            log.info("Pruned {} processed Stripe events older than {}", pruned, cutoff);
+        }
+        return pruned;
+    }
+
+    private int drainBatches() {
+        int processed = 0;
+        List<StripeEvent> batch = claimBatch();
+        while (!batch.isEmpty()) {
+            for (StripeEvent event : batch) {
+                if (process(event)) {
+                    processed++;
+                }
+            }
+            batch = claimBatch();
+        }
+        return processed;
+    }
+
+    private List<StripeEvent> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now(clock);
+            List<StripeEvent> events = stripeEventRepository.lockAvailableBatch(now, batchSize);
+            for (StripeEvent event : events) {
+                event.setStatus(StripeEvent.Status.PROCESSING);
+                event.setAvailableAt(now.plus(claimTimeout));
+            }
+            return events;
+        });
+    }
+
+    private boolean process(StripeEvent event) {
+        try {
+            stripeWebhookService.processStripeEvent(stripeClient.parseEvent(event.getPayload()));
+            Instant processedAt = Instant.now(clock);
+            stripeEventRepository.markProcessed(
+                    event.getId(),
+                    StripeEvent.Status.PROCESSED,
+                    processedAt
+            );
+            deliveryLag.record(Duration.between(event.getReceivedAt(), processedAt));
+            processedCounter.increment();
+            return true;
+        } catch (Exception e) {
+            int attempts = event.getAttempts() + 1;
+            StripeEvent.Status status = attempts >= maxAttempts
+                    ? StripeEvent.Status.FAILED
+                    : StripeEvent.Status.RECEIVED;
+            stripeEventRepository.markFailed(
+                    event.getId(),
+                    status,
+                    attempts,
+                    Instant.now(clock).plus(retryDelay.multipliedBy(attempts)),
+                    abbreviate(e.getMessage())
+            );
+            failedCounter.increment();
+            log.error("Failed to process Stripe event {} (attempt {} of {})",
+                    event.getId(), attempts, maxAttempts, e);
+            return false;
+        }
+    }
+
+    private void refreshLagMetrics() {
+        Instant now = Instant.now(clock);
+        backlog.set(stripeEventRepository.countByStatus(StripeEvent.Status.RECEIVED));
+        lagSeconds.set(stripeEventRepository.findOldestReceivedAt(StripeEvent.Status.RECEIVED)
+                .map(receivedAt -> Duration.between(receivedAt, now).toSeconds())
+                .orElse(0L));
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".events")
+                .description("Stripe inbox events by processing outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
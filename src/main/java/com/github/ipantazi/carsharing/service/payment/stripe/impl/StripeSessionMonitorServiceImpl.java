@@ -2,46 +2,47 @@ package com.github.ipantazi.carsharing.service.payment.stripe.impl;
 
 import com.github.ipantazi.carsharing.model.Payment;
 import com.github.ipantazi.carsharing.repository.payment.PaymentRepository;
-import com.github.ipantazi.carsharing.service.payment.stripe.StripeClient;
 import com.github.ipantazi.carsharing.service.payment.stripe.StripeSessionMonitorService;
-import com.stripe.exception.StripeException;
-import java.util.ArrayList;
-import java.util.List;
+import com.github.ipantazi.carsharing.service.payment.stripe.StripeSessionVerificationPipeline;
+import com.github.ipantazi.carsharing.service.scheduler.LeaseToken;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
+import java.time.Clock;
+import java.time.Instant;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class StripeSessionMonitorServiceImpl implements StripeSessionMonitorService {
+    private static final Payment.Status STATUS_PENDING = Payment.Status.PENDING;
+    private static final Payment.Status STATUS_EXPIRED = Payment.Status.EXPIRED;
     private final PaymentRepository paymentRepository;
-    private final StripeClient stripeClient;
+    private final StripeSessionVerificationPipeline pipeline;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
 
-    @Override
-    @Transactional
-    public void checkAndExpireSessions() {
-        Payment.Status pendingStatus = Payment.Status.PENDING;
-        Payment.Status expiredStatus = Payment.Status.EXPIRED;
-        List<Payment> pendingPayments = paymentRepository.findPaymentsByStatus(pendingStatus);
+    @Value("${stripe.session.expiry-seconds}")
+    private long expirySeconds;
 
-        List<Payment> expiredPayments = new ArrayList<>();
-        for (Payment payment : pendingPayments) {
-            try {
-                if (stripeClient.isStripeSessionExpired(payment.getSessionId())) {
-                    payment.setStatus(expiredStatus);
-                    expiredPayments.add(payment);
-                }
-            } catch (StripeException e) {
-                log.error(
-                        "Stripe session check failed for session ID {}: {}",
-                        payment.getSessionId(),
-                        e.getMessage());
-            }
-        }
-        if (!expiredPayments.isEmpty()) {
-            paymentRepository.saveAll(expiredPayments);
+    @Override
+    public void checkAndExpireSessions(LeaseToken lease) {
+        Instant cutoff = Instant.now(clock).minusSeconds(expirySeconds);
+        int expired = transactionTemplate.execute(status -> {
+            schedulerLeaseService.assertHeld(lease);
+            return paymentRepository.updateStatusBySessionCreatedAtBefore(
+                    STATUS_PENDING,
+                    STATUS_EXPIRED,
+                    cutoff
+            );
+        });
+        if (expired > 0) {
+            log.info("Expired {} pending payment sessions created before {}", expired, cutoff);
         }
+        pipeline.expireVerifiedSessions(lease);
     }
 }
@@ -0,0 +1,171 @@
+package com.github.ipantazi.carsharing.service.payment.stripe.impl;
+
+import com.github.ipantazi.carsharing.model.Payment;
+import com.github.ipantazi.carsharing.repository.payment.PaymentRepository;
+import com.github.ipantazi.carsharing.service.payment.stripe.StripeClient;
+import com.github.ipantazi.carsharing.service.payment.stripe.StripeSessionVerificationPipeline;
+import com.github.ipantazi.carsharing.service.scheduler.LeaseToken;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class StripeSessionVerificationPipelineImpl implements StripeSessionVerificationPipeline {
+    private static final Payment.Status STATUS_PENDING = Payment.Status.PENDING;
+    private static final Payment.Status STATUS_EXPIRED = Payment.Status.EXPIRED;
+    private static final String METRIC_PREFIX = "stripe.session.verification";
+    private final PaymentRepository paymentRepository;
+    private final StripeClient stripeClient;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final RateLimiter rateLimiter;
+    private final Semaphore permits;
+    private final Pageable chunk;
+    private final int ratePerSecond;
+    private final long sessionsPerInterval;
+    private final Timer latencyTimer;
+    private final Counter expiredCounter;
+    private final Counter activeCounter;
+    private final Counter failedCounter;
+
+    public StripeSessionVerificationPipelineImpl(
+            PaymentRepository paymentRepository,
+            StripeClient stripeClient,
+            SchedulerLeaseService schedulerLeaseService,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("stripeRateLimiter") RateLimiter rateLimiter,
+            MeterRegistry meterRegistry,
+            @Value("${stripe.verification.chunk-size}") int chunkSize,
+            @Value("${stripe.verification.concurrency}") int concurrency,
+            @Value("${stripe.verification.rate-per-second}") int ratePerSecond,
+            @Value("${stripe.session.monitor.delay}") long monitorDelayMillis
+    ) {
+        this.paymentRepository = paymentRepository;
+        this.stripeClient = stripeClient;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.transactionTemplate = transactionTemplate;
+        this.rateLimiter = rateLimiter;
+        this.permits = new Semaphore(concurrency);
+        this.chunk = PageRequest.ofSize(chunkSize);
+        this.ratePerSecond = ratePerSecond;
+        this.sessionsPerInterval = ratePerSecond * monitorDelayMillis / 1000;
+        Gauge.builder(METRIC_PREFIX + ".capacity", () -> sessionsPerInterval)
+                .description("Stripe sessions one monitor interval can verify at the rate limit")
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder(METRIC_PREFIX + ".latency")
+                .description("Latency of a single Stripe session lookup")
+                .register(meterRegistry);
+        this.expiredCounter = outcomeCounter(meterRegistry, "expired");
+        this.activeCounter = outcomeCounter(meterRegistry, "active");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+    }
+
+    @Override
+    public int expireVerifiedSessions(LeaseToken lease) {
+        long lastId = 0L;
+        int checked = 0;
+        int expired = 0;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Payment> payments = paymentRepository.findPendingWithoutSessionCreatedAt(
+                    STATUS_PENDING,
+                    lastId,
+                    chunk
+            );
+            if (payments.isEmpty()) {
+                break;
+            }
+            lastId = payments.get(payments.size() - 1).getId();
+
+            List<String> expiredSessionIds = verifyChunk(payments);
+            if (!expiredSessionIds.isEmpty()) {
+                expired += transactionTemplate.execute(status -> {
+                    schedulerLeaseService.assertHeld(lease);
+                    return paymentRepository.updateStatusBySessionIdIn(
+                            expiredSessionIds,
+                            STATUS_PENDING,
+                            STATUS_EXPIRED
+                    );
+                });
+            }
+            checked += payments.size();
+            log.debug("Verified {} Stripe sessions, {} expired so far", checked, expired);
+        }
+        if (checked > 0) {
+            log.info("Verified {} Stripe sessions without creation time, {} expired",
+                    checked, expired);
+        }
+        if (checked > sessionsPerInterval) {
+            log.warn("Verified {} Stripe sessions, more than the {} one monitor interval "
+                    + "allows at {} per second", checked, sessionsPerInterval, ratePerSecond);
+        }
+        return expired;
+    }
+
+    private List<String> verifyChunk(List<Payment> payments) {
+        List<String> expiredSessionIds = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Boolean>> results = payments.stream()
+                    .map(payment -> executor.submit(() -> isExpired(payment.getSessionId())))
+                    .toList();
+
+            for (int i = 0; i < results.size(); i++) {
+                String sessionId = payments.get(i).getSessionId();
+                try {
+                    if (results.get(i).get()) {
+                        expiredCounter.increment();
+                        expiredSessionIds.add(sessionId);
+                    } else {
+                        activeCounter.increment();
+                    }
+                } catch (ExecutionException e) {
+                    failedCounter.increment();
+                    log.error(
+                            "Stripe session check failed for session ID {}: {}",
+                            sessionId,
+                            e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Stripe session verification interrupted, committing verified sessions");
+        }
+        return expiredSessionIds;
+    }
+
+    private boolean isExpired(String sessionId) throws Exception {
+        permits.acquire();
+        try {
+            RateLimiter.waitForPermission(rateLimiter);
+            return latencyTimer.recordCallable(
+                    () -> stripeClient.isStripeSessionExpired(sessionId));
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(METRIC_PREFIX)
+                .description("Stripe sessions verified by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -1,6 +1,9 @@
 package com.github.ipantazi.carsharing.service.payment.stripe.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.ipantazi.carsharing.exception.InvalidStripePayloadException;
+import com.github.ipantazi.carsharing.repository.payment.StripeEventRepository;
 import com.github.ipantazi.carsharing.service.payment.PaymentService;
 import com.github.ipantazi.carsharing.service.payment.stripe.StripeClient;
 import com.github.ipantazi.carsharing.service.payment.stripe.StripeWebhookService;
@@ -8,31 +11,76 @@ import com.stripe.exception.StripeException;
 import com.stripe.model.Event;
 import com.stripe.model.StripeObject;
 import com.stripe.model.checkout.Session;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.Optional;
-import lombok.RequiredArgsConstructor;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class StripeWebhookServiceImpl implements StripeWebhookService {
     private static final String SESSION_COMPLETED = "checkout.session.completed";
+    private static final String SESSION_EXPIRED = "checkout.session.expired";
     private static final String PAYMENT_SUCCEEDED = "payment_intent.succeeded";
+    private static final Set<String> INBOX_EVENT_TYPES = Set.of(SESSION_COMPLETED, SESSION_EXPIRED);
 
     private final StripeClient stripeClient;
     private final PaymentService paymentService;
+    private final StripeEventRepository stripeEventRepository;
+    private final Clock clock;
+    private final Cache<String, Boolean> recentEventIds;
 
     @Value("${stripe.webhook.secret}")
     private String endpointSecret;
 
+    public StripeWebhookServiceImpl(
+            StripeClient stripeClient,
+            PaymentService paymentService,
+            StripeEventRepository stripeEventRepository,
+            Clock clock,
+            @Value("${stripe.webhook.recent-event-ids.max-size}") long recentEventIdsMaxSize
+    ) {
+        this.stripeClient = stripeClient;
+        this.paymentService = paymentService;
+        this.stripeEventRepository = stripeEventRepository;
+        this.clock = clock;
+        this.recentEventIds = Caffeine.newBuilder()
+                .maximumSize(recentEventIdsMaxSize)
+                .build();
+    }
+
     @Override
-    public void processStripeEvent(String payload, String sigHeader) throws StripeException {
+    public void enqueueStripeEvent(String payload, String sigHeader) throws StripeException {
         Event event = stripeClient.constructEvent(payload, sigHeader, endpointSecret);
 
+        if (!INBOX_EVENT_TYPES.contains(event.getType())) {
+            log.debug("Ignoring unsupported Stripe event type: {}", event.getType());
+            return;
+        }
+        if (recentEventIds.getIfPresent(event.getId()) != null) {
+            log.debug("Stripe event {} recently received, skipping", event.getId());
+            return;
+        }
+        int inserted = stripeEventRepository.insertIfAbsent(
+                event.getId(),
+                event.getType(),
+                payload,
+                Instant.now(clock)
+        );
+        recentEventIds.put(event.getId(), Boolean.TRUE);
+        if (inserted == 0) {
+            log.debug("Stripe event {} already received, skipping", event.getId());
+        }
+    }
+
+    @Override
+    public void processStripeEvent(Event event) throws StripeException {
         switch (event.getType()) {
             case SESSION_COMPLETED -> handleCheckoutSessionCompleted(event);
+            case SESSION_EXPIRED -> handleCheckoutSessionExpired(event);
             case PAYMENT_SUCCEEDED -> log.debug("Ignoring payment_intent.succeeded "
                     + "(handled by checkout.session.completed)");
             default -> log.debug("Ignoring unsupported Stripe event type: {}", event.getType());
@@ -40,14 +88,22 @@ public class StripeWebhookServiceImpl implements StripeWebhookService {
     }
 
     private void handleCheckoutSessionCompleted(Event event) throws StripeException {
+        Session session = getSession(event);
+        paymentService.handlePaymentSuccess(stripeClient.getMetadataFromSession(session));
+    }
+
+    private void handleCheckoutSessionExpired(Event event) {
+        Session session = getSession(event);
+        paymentService.handlePaymentExpired(session.getId());
+    }
+
+    private Session getSession(Event event) {
         Optional<StripeObject> objectOpt = event.getDataObjectDeserializer().getObject();
 
         if (objectOpt.isPresent()) {
-            Session session = (Session) objectOpt.get();
-            paymentService.handlePaymentSuccess(stripeClient.getMetadataFromSession(session));
-        } else {
-            log.error("❌ Could not deserialize Stripe session object");
-            throw new InvalidStripePayloadException("Could not deserialize Stripe session object");
+            return (Session) objectOpt.get();
         }
+        log.error("❌ Could not deserialize Stripe session object");
+        throw new InvalidStripePayloadException("Could not deserialize Stripe session object");
     }
 }
@@ -8,8 +8,14 @@ import java.time.LocalDate;
 public interface Calculator {
     BigDecimal calculateBaseRentalCost(BigDecimal dailyFee, Rental rental);
 
+    long calculateBaseRentalCostCents(long dailyFeeCents, Rental rental);
+
     BigDecimal calculatePenaltyAmount(BigDecimal dailyFee, Rental rental);
 
+    long calculatePenaltyAmountCents(long dailyFeeCents, Rental rental);
+
+    long calculateTotalCostCents(long dailyFeeCents, Rental rental);
+
     BigDecimal calculateTotalAmountPaid(Long rentalId);
 
     BigDecimal calculateAmountToPayByType(Rental rental, Payment.Type type);
@@ -0,0 +1,24 @@
+package com.github.ipantazi.carsharing.service.rental;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class MoneyCents {
+    public static final int SCALE = 2;
+    public static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
+
+    private MoneyCents() {
+    }
+
+    public static long toCentsHalfUp(BigDecimal amount) {
+        return amount.setScale(SCALE, ROUNDING_MODE).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static long divideHalfUp(long cents, long divisor) {
+        return Math.addExact(cents, divisor / 2) / divisor;
+    }
+}
@@ -1,5 +1,7 @@
 package com.github.ipantazi.carsharing.service.rental;
 
+import com.github.ipantazi.carsharing.service.scheduler.LeaseToken;
+
 public interface OverdueRentalChecker {
-    void checkOverdueRental();
+    void checkOverdueRental(LeaseToken lease);
 }
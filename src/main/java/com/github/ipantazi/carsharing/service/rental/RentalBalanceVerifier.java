@@ -0,0 +1,7 @@
+package com.github.ipantazi.carsharing.service.rental;
+
+import com.github.ipantazi.carsharing.service.scheduler.LeaseToken;
+
+public interface RentalBalanceVerifier {
+    int verifyBalances(LeaseToken lease);
+}
@@ -1,9 +1,14 @@
 package com.github.ipantazi.carsharing.service.rental;
 
+import com.github.ipantazi.carsharing.dto.rental.BulkReturnResponseDto;
+import com.github.ipantazi.carsharing.dto.rental.RentalCursorPageDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalDetailedDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalRequestDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalResponseDto;
 import com.github.ipantazi.carsharing.model.Rental;
+import com.github.ipantazi.carsharing.model.User;
+import java.math.BigDecimal;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -12,9 +17,17 @@ public interface RentalService {
 
     Page<RentalResponseDto> getRentalsByFilter(Long userId, Boolean isActive, Pageable pageable);
 
-    RentalDetailedDto getRental(Long userId, Long rentalId);
+    RentalCursorPageDto getRentalsByCursor(Long userId, Boolean isActive, String after, int size);
 
-    RentalDetailedDto returnRental(Long userId, Long rentalId);
+    RentalDetailedDto getRental(Long userId, User.Role userRole, Long rentalId);
+
+    String getRentalETag(Long userId, User.Role userRole, Long rentalId);
+
+    RentalDetailedDto returnRental(Long userId, User.Role userRole, Long rentalId);
+
+    BulkReturnResponseDto returnRentals(Long userId, User.Role userRole, List<Long> rentalIds);
 
     Rental getRentalEntityByIdAndUserId(Long userId, Long rentalId);
+
+    void recordPayment(Long rentalId, BigDecimal amount);
 }
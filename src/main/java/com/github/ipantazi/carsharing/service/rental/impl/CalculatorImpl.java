@@ -5,6 +5,7 @@ import com.github.ipantazi.carsharing.model.Rental;
 import com.github.ipantazi.carsharing.repository.car.CarRepository;
 import com.github.ipantazi.carsharing.repository.payment.PaymentRepository;
 import com.github.ipantazi.carsharing.service.rental.Calculator;
+import com.github.ipantazi.carsharing.service.rental.MoneyCents;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
@@ -14,7 +15,8 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class CalculatorImpl implements Calculator {
-    private static final BigDecimal LATE_FEE_MULTIPLIER = BigDecimal.valueOf(1.5);
+    private static final long LATE_FEE_NUMERATOR = 3;
+    private static final long LATE_FEE_DENOMINATOR = 2;
     private final PaymentRepository paymentRepository;
     private final CarRepository carRepository;
 
@@ -22,15 +24,30 @@ public class CalculatorImpl implements Calculator {
     public BigDecimal calculateBaseRentalCost(BigDecimal dailyFee, Rental rental) {
         validateInputs(dailyFee, rental);
 
-        return dailyFee.multiply(BigDecimal.valueOf(
-                ChronoUnit.DAYS.between(rental.getRentalDate(), rental.getReturnDate())
-        ));
+        return MoneyCents.toAmount(
+                calculateBaseRentalCostCents(MoneyCents.toCentsHalfUp(dailyFee), rental));
+    }
+
+    @Override
+    public long calculateBaseRentalCostCents(long dailyFeeCents, Rental rental) {
+        validateInputs(dailyFeeCents, rental);
+
+        return Math.multiplyExact(dailyFeeCents,
+                ChronoUnit.DAYS.between(rental.getRentalDate(), rental.getReturnDate()));
     }
 
     @Override
     public BigDecimal calculatePenaltyAmount(BigDecimal dailyFee, Rental rental) {
         validateInputs(dailyFee, rental);
 
+        return MoneyCents.toAmount(
+                calculatePenaltyAmountCents(MoneyCents.toCentsHalfUp(dailyFee), rental));
+    }
+
+    @Override
+    public long calculatePenaltyAmountCents(long dailyFeeCents, Rental rental) {
+        validateInputs(dailyFeeCents, rental);
+
         LocalDate actualReturnDate = rental.getActualReturnDate();
         if (actualReturnDate == null) {
             throw new IllegalArgumentException("Rental is not returned");
@@ -39,7 +56,20 @@ public class CalculatorImpl implements Calculator {
         if (daysLate <= 0) {
             throw new IllegalArgumentException("Rental is not late");
         }
-        return dailyFee.multiply(BigDecimal.valueOf(daysLate)).multiply(LATE_FEE_MULTIPLIER);
+        long lateCost = Math.multiplyExact(dailyFeeCents, daysLate);
+        return MoneyCents.divideHalfUp(
+                Math.multiplyExact(lateCost, LATE_FEE_NUMERATOR), LATE_FEE_DENOMINATOR);
+    }
+
+    @Override
+    public long calculateTotalCostCents(long dailyFeeCents, Rental rental) {
+        long baseCost = calculateBaseRentalCostCents(dailyFeeCents, rental);
+
+        LocalDate actualReturnDate = rental.getActualReturnDate();
+        if (actualReturnDate == null || !actualReturnDate.isAfter(rental.getReturnDate())) {
+            return baseCost;
+        }
+        return Math.addExact(baseCost, calculatePenaltyAmountCents(dailyFeeCents, rental));
     }
 
     @Override
@@ -77,6 +107,17 @@ public class CalculatorImpl implements Calculator {
         if (dailyFee == null || dailyFee.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Invalid daily fee: " + dailyFee);
         }
+        validateRental(rental);
+    }
+
+    private void validateInputs(long dailyFeeCents, Rental rental) {
+        if (dailyFeeCents <= 0) {
+            throw new IllegalArgumentException("Invalid daily fee cents: " + dailyFeeCents);
+        }
+        validateRental(rental);
+    }
+
+    private void validateRental(Rental rental) {
         if (rental == null || rental.getRentalDate() == null || rental.getReturnDate() == null) {
             throw new IllegalArgumentException("Invalid rental: " + rental);
         }
@@ -1,20 +1,24 @@
 package com.github.ipantazi.carsharing.service.rental.impl;
 
-import com.github.ipantazi.carsharing.model.Rental;
 import com.github.ipantazi.carsharing.notification.NotificationMapper;
 import com.github.ipantazi.carsharing.notification.NotificationService;
 import com.github.ipantazi.carsharing.notification.NotificationType;
-import com.github.ipantazi.carsharing.notification.dto.OverdueRentalPayload;
+import com.github.ipantazi.carsharing.repository.rental.OverdueRentalView;
 import com.github.ipantazi.carsharing.repository.rental.RentalRepository;
-import com.github.ipantazi.carsharing.service.rental.Calculator;
 import com.github.ipantazi.carsharing.service.rental.OverdueRentalChecker;
+import com.github.ipantazi.carsharing.service.scheduler.LeaseToken;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OverdueRentalCheckerImpl implements OverdueRentalChecker {
@@ -22,32 +26,52 @@ public class OverdueRentalCheckerImpl implements OverdueRentalChecker {
     private final RentalRepository rentalRepository;
     private final NotificationService notificationService;
     private final NotificationMapper notificationMapper;
-    private final Calculator calculator;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLeaseService schedulerLeaseService;
+
+    @Value("${rental.overdue.page-size}")
+    private int pageSize;
 
     @Override
-    @Transactional(readOnly = true)
-    public void checkOverdueRental() {
+    public void checkOverdueRental(LeaseToken lease) {
         LocalDate today = LocalDate.now(clock);
         LocalDate tomorrow = today.plusDays(1);
+        Pageable page = Pageable.ofSize(pageSize);
 
-        List<Rental> overdueRentals =
-                rentalRepository.findAllByReturnDateLessThanEqualAndActualReturnDateIsNull(
-                        tomorrow);
+        long afterId = 0L;
+        int total = 0;
+        List<OverdueRentalView> overdueRentals;
+        do {
+            long cursor = afterId;
+            overdueRentals = transactionTemplate.execute(status ->
+                    notifyPage(lease, today, tomorrow, cursor, page));
+            if (!overdueRentals.isEmpty()) {
+                afterId = overdueRentals.get(overdueRentals.size() - 1).getRentalId();
+                total += overdueRentals.size();
+            }
+        } while (overdueRentals.size() == pageSize && !Thread.currentThread().isInterrupted());
 
-        if (overdueRentals.isEmpty()) {
-            notificationService.sendToDefault("✅ No rentals overdue today!");
+        if (total == 0) {
+            transactionTemplate.executeWithoutResult(status -> {
+                schedulerLeaseService.assertHeld(lease);
+                notificationService.sendToDefault("✅ No rentals overdue today!");
+            });
             return;
         }
+        log.info("Queued overdue notifications for {} rentals", total);
+    }
 
-        overdueRentals.forEach(rental -> {
-            long daysOverdue = calculator.calculateDaysOverdue(rental.getReturnDate(), today);
-
-            OverdueRentalPayload overdueRentalPayload = notificationMapper.toOverdueRentalPayload(
-                    rental, daysOverdue);
-
-            notificationService.sendMessage(
-                    NotificationType.OVERDUE_RENTAL,
-                    overdueRentalPayload);
-        });
+    private List<OverdueRentalView> notifyPage(LeaseToken lease,
+                                               LocalDate today,
+                                               LocalDate cutoff,
+                                               long afterId,
+                                               Pageable page) {
+        schedulerLeaseService.assertHeld(lease);
+        List<OverdueRentalView> overdueRentals =
+                rentalRepository.findOverdueRentalsAfter(today, cutoff, afterId, page);
+        overdueRentals.forEach(overdueRental -> notificationService.sendMessage(
+                NotificationType.OVERDUE_RENTAL,
+                notificationMapper.toOverdueRentalPayload(overdueRental)));
+        return overdueRentals;
     }
 }
@@ -0,0 +1,123 @@
+package com.github.ipantazi.carsharing.service.rental.impl;
+
+import com.github.ipantazi.carsharing.model.Payment;
+import com.github.ipantazi.carsharing.model.Rental;
+import com.github.ipantazi.carsharing.repository.rental.RentalBalanceView;
+import com.github.ipantazi.carsharing.repository.rental.RentalRepository;
+import com.github.ipantazi.carsharing.service.rental.Calculator;
+import com.github.ipantazi.carsharing.service.rental.MoneyCents;
+import com.github.ipantazi.carsharing.service.rental.RentalBalanceVerifier;
+import com.github.ipantazi.carsharing.service.scheduler.LeaseToken;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class RentalBalanceVerifierImpl implements RentalBalanceVerifier {
+    private final RentalRepository rentalRepository;
+    private final Calculator calculator;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final Counter driftCounter;
+    private final int pageSize;
+
+    public RentalBalanceVerifierImpl(
+            RentalRepository rentalRepository,
+            Calculator calculator,
+            TransactionTemplate transactionTemplate,
+            SchedulerLeaseService schedulerLeaseService,
+            MeterRegistry meterRegistry,
+            @Value("${rental.balance.verify.page-size}") int pageSize
+    ) {
+        this.rentalRepository = rentalRepository;
+        this.calculator = calculator;
+        this.transactionTemplate = transactionTemplate;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.pageSize = pageSize;
+        this.driftCounter = Counter.builder("rental.balance.drift")
+                .description("Rentals whose stored balance differed from payments and pricing")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int verifyBalances(LeaseToken lease) {
+        Pageable page = Pageable.ofSize(pageSize);
+
+        Map<BigDecimal, Long> dailyFeeCentsByFee = new HashMap<>();
+        long afterId = 0L;
+        int drifted = 0;
+        List<RentalBalanceView> balances;
+        do {
+            long cursor = afterId;
+            balances = transactionTemplate.execute(status ->
+                    rentalRepository.findBalancesAfter(Payment.Status.PAID, cursor, page));
+            for (RentalBalanceView balance : balances) {
+                long dailyFeeCents = dailyFeeCentsByFee.computeIfAbsent(balance.getDailyFee(),
+                        MoneyCents::toCentsHalfUp);
+                if (repairIfDrifted(lease, balance, dailyFeeCents)) {
+                    drifted++;
+                }
+            }
+            if (!balances.isEmpty()) {
+                afterId = balances.get(balances.size() - 1).getRentalId();
+            }
+        } while (balances.size() == pageSize && !Thread.currentThread().isInterrupted());
+
+        if (drifted > 0) {
+            log.warn("Detected balance drift on {} rentals", drifted);
+        }
+        return drifted;
+    }
+
+    private boolean repairIfDrifted(LeaseToken lease,
+                                    RentalBalanceView balance,
+                                    long dailyFeeCents) {
+        long totalCost = calculator.calculateTotalCostCents(dailyFeeCents, toRental(balance));
+        long amountPaid = MoneyCents.toCentsHalfUp(balance.getPaidSum());
+        if (totalCost == MoneyCents.toCentsHalfUp(balance.getTotalCost())
+                && amountPaid == MoneyCents.toCentsHalfUp(balance.getAmountPaid())) {
+            return false;
+        }
+
+        log.warn("Balance drift for rentalId={}: totalCost {} -> {}, amountPaid {} -> {}",
+                balance.getRentalId(),
+                balance.getTotalCost(),
+                MoneyCents.toAmount(totalCost),
+                balance.getAmountPaid(),
+                MoneyCents.toAmount(amountPaid));
+        driftCounter.increment();
+        int updated = transactionTemplate.execute(status -> {
+            schedulerLeaseService.assertHeld(lease);
+            return rentalRepository.updateBalance(
+                    balance.getRentalId(),
+                    balance.getVersion(),
+                    MoneyCents.toAmount(totalCost),
+                    MoneyCents.toAmount(amountPaid)
+            );
+        });
+        if (updated == 0) {
+            log.info("Rental {} changed during balance verification, left for the next run",
+                    balance.getRentalId());
+        }
+        return true;
+    }
+
+    private Rental toRental(RentalBalanceView balance) {
+        Rental rental = new Rental();
+        rental.setId(balance.getRentalId());
+        rental.setRentalDate(balance.getRentalDate());
+        rental.setReturnDate(balance.getReturnDate());
+        rental.setActualReturnDate(balance.getActualReturnDate());
+        return rental;
+    }
+}
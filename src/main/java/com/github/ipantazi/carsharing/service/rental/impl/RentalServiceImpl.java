@@ -1,8 +1,12 @@
 package com.github.ipantazi.carsharing.service.rental.impl;
 
 import com.github.ipantazi.carsharing.dto.car.CarDto;
+import com.github.ipantazi.carsharing.dto.enums.BulkReturnStatus;
 import com.github.ipantazi.carsharing.dto.enums.OperationType;
 import com.github.ipantazi.carsharing.dto.enums.RentalStatus;
+import com.github.ipantazi.carsharing.dto.rental.BulkReturnItemDto;
+import com.github.ipantazi.carsharing.dto.rental.BulkReturnResponseDto;
+import com.github.ipantazi.carsharing.dto.rental.RentalCursorPageDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalDetailedDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalRequestDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalResponseDto;
@@ -18,22 +22,38 @@ import com.github.ipantazi.carsharing.notification.NotificationType;
 import com.github.ipantazi.carsharing.notification.dto.NewRentalPayload;
 import com.github.ipantazi.carsharing.repository.rental.RentalRepository;
 import com.github.ipantazi.carsharing.repository.rental.RentalSpecificationBuilder;
+import com.github.ipantazi.carsharing.repository.rental.RentalVersionView;
 import com.github.ipantazi.carsharing.service.car.CarService;
 import com.github.ipantazi.carsharing.service.car.InventoryService;
 import com.github.ipantazi.carsharing.service.payment.PaymentValidator;
 import com.github.ipantazi.carsharing.service.rental.Calculator;
+import com.github.ipantazi.carsharing.service.rental.MoneyCents;
 import com.github.ipantazi.carsharing.service.rental.RentalService;
 import com.github.ipantazi.carsharing.service.rental.RentalValidator;
 import com.github.ipantazi.carsharing.service.user.UserService;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
@@ -42,6 +62,13 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 public class RentalServiceImpl implements RentalService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final String CURSOR_SEPARATOR = ":";
+    private static final Sort KEYSET_SORT = Sort.by(
+            Sort.Order.desc("rentalDate"),
+            Sort.Order.desc("id")
+    );
+
     private final Clock clock;
     private final RentalRepository rentalRepository;
     private final RentalSpecificationBuilder specificationBuilder;
@@ -56,6 +83,9 @@ public class RentalServiceImpl implements RentalService {
     private final NotificationService notificationService;
     private final NotificationMapper notificationMapper;
 
+    @Value("${rental.create.conditional-decrement}")
+    private boolean conditionalDecrement;
+
     @Override
     @Transactional
     public RentalResponseDto createRental(Long userId, RentalRequestDto rentalRequestDto) {
@@ -65,8 +95,12 @@ public class RentalServiceImpl implements RentalService {
         rentalValidator.checkDatesBeforeRenting(rentalRequestDto, rentalDate);
         paymentValidator.checkForPendingPayments(userId);
 
-        rentalRepository.lockActiveRentalsForUpdateByCarId(carId);
-        inventoryService.adjustInventory(carId, 1, OperationType.DECREASE);
+        if (conditionalDecrement) {
+            inventoryService.decreaseIfAvailable(carId, 1);
+        } else {
+            rentalRepository.lockActiveRentalsForUpdateByCarId(carId);
+            inventoryService.adjustInventory(carId, 1, OperationType.DECREASE);
+        }
 
         User user = userService.getUserById(userId);
         Car car = carService.findCarById(carId);
@@ -76,12 +110,22 @@ public class RentalServiceImpl implements RentalService {
                 rentalRequestDto.returnDate(),
                 rentalDate
         );
+        long baseRentalCost = calculator.calculateBaseRentalCostCents(
+                MoneyCents.toCentsHalfUp(rental.getDailyFee()),
+                rental
+        );
+        rental.setTotalCost(MoneyCents.toAmount(baseRentalCost));
         rentalRepository.save(rental);
 
         NewRentalPayload newRentalPayload = notificationMapper.toRentalPayload(rental);
         notificationService.sendMessage(NotificationType.NEW_RENTAL_CREATED, newRentalPayload);
 
-        return buildRentalResponseDto(rental);
+        return rentalMapper.toRentalDto(
+                rental,
+                carMapper.toCarDto(car),
+                getRentalStatus(rental),
+                MoneyCents.toAmount(baseRentalCost)
+        );
     }
 
     @Override
@@ -100,27 +144,73 @@ public class RentalServiceImpl implements RentalService {
 
     @Override
     @Transactional(readOnly = true)
-    public RentalDetailedDto getRental(Long userId, Long rentalId) {
+    public RentalCursorPageDto getRentalsByCursor(Long userId,
+                                                  Boolean isActive,
+                                                  String after,
+                                                  int size) {
+        if (size <= 0 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Invalid size. Size should be between 1 and %d."
+                    .formatted(MAX_CURSOR_PAGE_SIZE));
+        }
+        Specification<Rental> specification = specificationBuilder.build(userId, isActive);
+        Specification<Rental> filter = specification != null
+                ? specification
+                : (root, query, criteriaBuilder) -> null;
+        ScrollPosition position = after == null ? ScrollPosition.keyset() : decodeCursor(after);
+
+        Window<Rental> window = rentalRepository.findBy(filter, query -> query
+                .sortBy(KEYSET_SORT)
+                .limit(size)
+                .project("car")
+                .scroll(position));
+
+        List<RentalResponseDto> content = buildRentalResponseDtos(window.getContent());
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encodeCursor(window.getContent().get(window.size() - 1))
+                : null;
+        return new RentalCursorPageDto(content, nextCursor, nextCursor != null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RentalDetailedDto getRental(Long userId, User.Role userRole, Long rentalId) {
         Rental rental = rentalRepository.findRentalById(rentalId)
                 .orElseThrow(() -> new EntityNotFoundException("Rental not found with id: "
                         + rentalId));
 
-        if (!userService.canAccessRental(userId, rental.getUser().getId())) {
+        if (!userService.canAccessRental(userId, userRole, rental.getUser().getId())) {
             throw new AccessDeniedException("You do not have permission to access this rental");
         }
         return buildRentalDetailedDto(rental);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getRentalETag(Long userId, User.Role userRole, Long rentalId) {
+        RentalVersionView versions = rentalRepository.findVersionsById(rentalId)
+                .orElseThrow(() -> new EntityNotFoundException("Rental not found with id: "
+                        + rentalId));
+
+        if (!userService.canAccessRental(userId, userRole, versions.getUserId())) {
+            throw new AccessDeniedException("You do not have permission to access this rental");
+        }
+        return "\"rental-%d-%d-%d\"".formatted(
+                rentalId,
+                versions.getRentalVersion(),
+                versions.getCarVersion()
+        );
+    }
+
     @Override
     @Transactional
-    public RentalDetailedDto returnRental(Long userId, Long rentalId) {
+    public RentalDetailedDto returnRental(Long userId, User.Role userRole, Long rentalId) {
         LocalDate actualReturnDate = LocalDate.now(clock);
 
         Rental rental = rentalRepository.lockRentalForUpdate(rentalId)
                 .orElseThrow(() -> new EntityNotFoundException("Rental not found with id: "
                         + rentalId));
 
-        if (!userService.canAccessRental(userId, rental.getUser().getId())) {
+        if (!userService.canAccessRental(userId, userRole, rental.getUser().getId())) {
             throw new AccessDeniedException("You do not have permission to access this rental");
         }
 
@@ -130,9 +220,73 @@ public class RentalServiceImpl implements RentalService {
         }
         rental.setActualReturnDate(actualReturnDate);
 
-        rentalRepository.save(rental);
         inventoryService.adjustInventory(rental.getCar().getId(), 1, OperationType.INCREASE);
-        return buildRentalDetailedDto(rental);
+        long dailyFeeCents = MoneyCents.toCentsHalfUp(rental.getDailyFee());
+        updateTotalCost(rental, dailyFeeCents);
+        rentalRepository.save(rental);
+        return buildRentalDetailedDto(
+                rental, carMapper.toCarDto(rental.getCar()), dailyFeeCents);
+    }
+
+    @Override
+    @Transactional
+    public BulkReturnResponseDto returnRentals(Long userId,
+                                               User.Role userRole,
+                                               List<Long> rentalIds) {
+        LocalDate actualReturnDate = LocalDate.now(clock);
+        Set<Long> sortedIds = new TreeSet<>(rentalIds);
+
+        Map<Long, Rental> rentalsById = new HashMap<>();
+        for (Rental rental : rentalRepository.lockRentalsForUpdate(sortedIds)) {
+            rentalsById.put(rental.getId(), rental);
+        }
+
+        Map<Long, BulkReturnItemDto> results = new TreeMap<>();
+        Map<Long, Integer> quantitiesByCarId = new TreeMap<>();
+        List<Rental> returnedRentals = new ArrayList<>();
+        for (Long rentalId : sortedIds) {
+            Rental rental = rentalsById.get(rentalId);
+            if (rental == null) {
+                results.put(rentalId, rejectedItem(rentalId, BulkReturnStatus.NOT_FOUND,
+                        "Rental not found with id: " + rentalId));
+            } else if (!userService.canAccessRental(userId, userRole, rental.getUser().getId())) {
+                results.put(rentalId, rejectedItem(rentalId, BulkReturnStatus.FORBIDDEN,
+                        "You do not have permission to access this rental"));
+            } else if (rental.getActualReturnDate() != null) {
+                results.put(rentalId, rejectedItem(rentalId, BulkReturnStatus.ALREADY_RETURNED,
+                        "Rental with id %d is already returned on %s"
+                                .formatted(rentalId, rental.getActualReturnDate())));
+            } else {
+                rental.setActualReturnDate(actualReturnDate);
+                quantitiesByCarId.merge(rental.getCar().getId(), 1, Integer::sum);
+                returnedRentals.add(rental);
+            }
+        }
+
+        quantitiesByCarId.forEach((carId, quantity) ->
+                inventoryService.adjustInventory(carId, quantity, OperationType.INCREASE));
+
+        Map<Long, CarDto> carDtosById = new HashMap<>();
+        Map<BigDecimal, Long> dailyFeeCentsByFee = new HashMap<>();
+        for (Rental rental : returnedRentals) {
+            Car car = rental.getCar();
+            CarDto carDto = carDtosById.computeIfAbsent(car.getId(),
+                    id -> carMapper.toCarDto(car));
+            long dailyFeeCents = dailyFeeCentsByFee.computeIfAbsent(rental.getDailyFee(),
+                    MoneyCents::toCentsHalfUp);
+            updateTotalCost(rental, dailyFeeCents);
+            RentalDetailedDto rentalDetailedDto =
+                    buildRentalDetailedDto(rental, carDto, dailyFeeCents);
+            results.put(rental.getId(), new BulkReturnItemDto(
+                    rental.getId(),
+                    BulkReturnStatus.RETURNED,
+                    null,
+                    rentalDetailedDto
+            ));
+        }
+        rentalRepository.saveAll(returnedRentals);
+
+        return new BulkReturnResponseDto(returnedRentals.size(), new ArrayList<>(results.values()));
     }
 
     @Override
@@ -145,55 +299,106 @@ public class RentalServiceImpl implements RentalService {
                 ));
     }
 
+    @Override
+    @Transactional
+    public void recordPayment(Long rentalId, BigDecimal amount) {
+        if (rentalRepository.addAmountPaid(rentalId, amount) == 0) {
+            throw new EntityNotFoundException("Rental not found with id: " + rentalId);
+        }
+    }
+
     private RentalStatus getRentalStatus(Rental rental) {
         return rental.getActualReturnDate() == null ? RentalStatus.ACTIVE : RentalStatus.RETURNED;
     }
 
-    private RentalResponseDto buildRentalResponseDto(Rental rental) {
-        CarDto carDto = carMapper.toCarDto(rental.getCar());
-        BigDecimal baseRentalCost = calculator.calculateBaseRentalCost(carDto.getDailyFee(),
-                rental);
+    private List<RentalResponseDto> buildRentalResponseDtos(List<Rental> rentals) {
+        Map<Long, CarDto> carDtosById = new HashMap<>();
+        Map<BigDecimal, Long> dailyFeeCentsByFee = new HashMap<>();
+        List<RentalResponseDto> rentalResponseDtos = new ArrayList<>(rentals.size());
+        for (Rental rental : rentals) {
+            Car car = rental.getCar();
+            CarDto carDto = carDtosById.computeIfAbsent(car.getId(),
+                    id -> carMapper.toCarDto(car));
+            long baseRentalCost = calculator.calculateBaseRentalCostCents(
+                    dailyFeeCentsByFee.computeIfAbsent(rental.getDailyFee(),
+                            MoneyCents::toCentsHalfUp),
+                    rental
+            );
+            rentalResponseDtos.add(rentalMapper.toRentalDto(
+                    rental,
+                    carDto,
+                    getRentalStatus(rental),
+                    MoneyCents.toAmount(baseRentalCost)
+            ));
+        }
+        return rentalResponseDtos;
+    }
 
-        return rentalMapper.toRentalDto(
+    private RentalDetailedDto buildRentalDetailedDto(Rental rental) {
+        return buildRentalDetailedDto(
                 rental,
-                carDto,
-                getRentalStatus(rental),
-                baseRentalCost
+                carMapper.toCarDto(rental.getCar()),
+                MoneyCents.toCentsHalfUp(rental.getDailyFee())
         );
     }
 
-    private RentalDetailedDto buildRentalDetailedDto(Rental rental) {
-        CarDto carDto = carMapper.toCarDto(rental.getCar());
-
-        BigDecimal baseCost = calculator.calculateBaseRentalCost(carDto.getDailyFee(), rental);
-
-        boolean isOverdue = rental.getActualReturnDate() != null
-                && rental.getActualReturnDate().isAfter(rental.getReturnDate());
-        BigDecimal penaltyAmount = isOverdue
-                ? calculator.calculatePenaltyAmount(carDto.getDailyFee(), rental)
-                : BigDecimal.ZERO;
-
-        BigDecimal totalCost = baseCost.add(penaltyAmount);
-        BigDecimal amountPaid = calculator.calculateTotalAmountPaid(rental.getId());
-        BigDecimal amountDue = totalCost.subtract(amountPaid);
+    private RentalDetailedDto buildRentalDetailedDto(Rental rental,
+                                                     CarDto carDto,
+                                                     long dailyFeeCents) {
+        long totalCost = MoneyCents.toCentsHalfUp(rental.getTotalCost());
+        long baseCost = calculator.calculateBaseRentalCostCents(dailyFeeCents, rental);
+        long penaltyAmount = Math.max(totalCost - baseCost, 0L);
+        long amountPaid = MoneyCents.toCentsHalfUp(rental.getAmountPaid());
+        long amountDue = totalCost - amountPaid;
 
         return rentalMapper.toRentalDetailedDto(
                 rental,
                 carDto,
-                baseCost,
-                penaltyAmount,
-                totalCost,
-                amountPaid,
-                amountDue,
+                MoneyCents.toAmount(baseCost),
+                MoneyCents.toAmount(penaltyAmount),
+                MoneyCents.toAmount(totalCost),
+                MoneyCents.toAmount(amountPaid),
+                MoneyCents.toAmount(amountDue),
                 getRentalStatus(rental)
                 );
     }
 
+    private void updateTotalCost(Rental rental, long dailyFeeCents) {
+        long totalCost = calculator.calculateTotalCostCents(dailyFeeCents, rental);
+        rental.setTotalCost(MoneyCents.toAmount(totalCost));
+    }
+
+    private BulkReturnItemDto rejectedItem(Long rentalId, BulkReturnStatus status, String message) {
+        return new BulkReturnItemDto(rentalId, status, message, null);
+    }
+
+    private String encodeCursor(Rental rental) {
+        String cursor = rental.getRentalDate() + CURSOR_SEPARATOR + rental.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ScrollPosition decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8);
+            String[] parts = decoded.split(CURSOR_SEPARATOR);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("rentalDate", LocalDate.parse(parts[0]));
+            keys.put("id", Long.parseLong(parts[1]));
+            return ScrollPosition.forward(keys);
+        } catch (DateTimeParseException | IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
     private Page<RentalResponseDto> mapToRentalResponsePage(Page<Rental> rentalPage,
                                                             Pageable pageable) {
-        List<RentalResponseDto> rentalResponseDtos = rentalPage.stream()
-                .map(this::buildRentalResponseDto)
-                .toList();
+        List<RentalResponseDto> rentalResponseDtos = buildRentalResponseDtos(
+                rentalPage.getContent());
 
         return new PageImpl<>(rentalResponseDtos, pageable, rentalPage.getTotalElements());
     }
@@ -0,0 +1,8 @@
+package com.github.ipantazi.carsharing.service.scheduler;
+
+public record LeaseToken(
+        String leaseName,
+        String owner,
+        long fencingToken
+) {
+}
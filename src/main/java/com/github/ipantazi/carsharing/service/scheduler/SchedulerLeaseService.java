@@ -0,0 +1,10 @@
+package com.github.ipantazi.carsharing.service.scheduler;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+public interface SchedulerLeaseService {
+    boolean runExclusively(String leaseName, Duration minHold, Consumer<LeaseToken> job);
+
+    void assertHeld(LeaseToken lease);
+}
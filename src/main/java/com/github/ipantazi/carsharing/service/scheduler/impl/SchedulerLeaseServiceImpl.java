@@ -0,0 +1,162 @@
+package com.github.ipantazi.carsharing.service.scheduler.impl;
+
+import com.github.ipantazi.carsharing.exception.LeaseLostException;
+import com.github.ipantazi.carsharing.repository.scheduler.SchedulerLeaseRepository;
+import com.github.ipantazi.carsharing.service.scheduler.LeaseToken;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class SchedulerLeaseServiceImpl implements SchedulerLeaseService {
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final TaskScheduler leaseRenewalScheduler;
+    private final String nodeId;
+    private final Duration leaseDuration;
+    private final Duration renewInterval;
+
+    public SchedulerLeaseServiceImpl(
+            SchedulerLeaseRepository schedulerLeaseRepository,
+            @Qualifier("leaseRenewalScheduler") TaskScheduler leaseRenewalScheduler,
+            @Value("${scheduler.lease.duration-seconds}") long leaseDurationSeconds,
+            @Value("${scheduler.lease.renew-interval-seconds}") long renewIntervalSeconds
+    ) {
+        this.schedulerLeaseRepository = schedulerLeaseRepository;
+        this.leaseRenewalScheduler = leaseRenewalScheduler;
+        this.nodeId = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+        this.leaseDuration = Duration.ofSeconds(leaseDurationSeconds);
+        this.renewInterval = Duration.ofSeconds(renewIntervalSeconds);
+    }
+
+    @Override
+    public boolean runExclusively(String leaseName, Duration minHold, Consumer<LeaseToken> job) {
+        Optional<Long> fencingToken = tryAcquire(leaseName);
+        if (fencingToken.isEmpty()) {
+            log.debug("Lease {} is held by another node, skipping run", leaseName);
+            return false;
+        }
+        LeaseToken lease = new LeaseToken(leaseName, nodeId, fencingToken.get());
+        log.debug("Acquired lease {} with fencing token {}", leaseName, lease.fencingToken());
+        LeasedRun run = new LeasedRun(Thread.currentThread());
+        ScheduledFuture<?> heartbeat = leaseRenewalScheduler.scheduleAtFixedRate(
+                () -> renew(lease, run),
+                Instant.now().plus(renewInterval),
+                renewInterval
+        );
+        try {
+            job.accept(lease);
+            return !run.isLost();
+        } catch (LeaseLostException ex) {
+            log.warn("Stopped job under lease {}: {}", leaseName, ex.getMessage());
+            return false;
+        } finally {
+            heartbeat.cancel(false);
+            run.finish();
+            release(lease, minHold);
+        }
+    }
+
+    @Override
+    public void assertHeld(LeaseToken lease) {
+        if (schedulerLeaseRepository.lockIfHeld(
+                lease.leaseName(), lease.owner(), lease.fencingToken()) == 0) {
+            throw new LeaseLostException("Lease %s with fencing token %d is no longer held"
+                    .formatted(lease.leaseName(), lease.fencingToken()));
+        }
+    }
+
+    private Optional<Long> tryAcquire(String leaseName) {
+        try {
+            long leaseMicros = toMicros(leaseDuration);
+            int acquired = schedulerLeaseRepository.acquire(leaseName, nodeId, leaseMicros);
+            if (acquired == 0 && schedulerLeaseRepository.createIfAbsent(leaseName) == 1) {
+                acquired = schedulerLeaseRepository.acquire(leaseName, nodeId, leaseMicros);
+            }
+            if (acquired == 0) {
+                return Optional.empty();
+            }
+            return schedulerLeaseRepository.findFencingToken(leaseName, nodeId);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to acquire lease {}, skipping run", leaseName, ex);
+            return Optional.empty();
+        }
+    }
+
+    private void renew(LeaseToken lease, LeasedRun run) {
+        if (run.isLost()) {
+            return;
+        }
+        int renewed;
+        try {
+            renewed = schedulerLeaseRepository.renew(
+                    lease.leaseName(), nodeId, lease.fencingToken(), toMicros(leaseDuration));
+        } catch (DataAccessException ex) {
+            log.warn("Failed to renew lease {}, retrying on next heartbeat",
+                    lease.leaseName(), ex);
+            return;
+        }
+        if (renewed == 0) {
+            log.error("Lease {} with fencing token {} was taken over by another node, "
+                    + "interrupting job", lease.leaseName(), lease.fencingToken());
+            run.markLost();
+        }
+    }
+
+    private void release(LeaseToken lease, Duration minHold) {
+        try {
+            if (schedulerLeaseRepository.release(
+                    lease.leaseName(), nodeId, lease.fencingToken(), toMicros(minHold)) == 0) {
+                log.warn("Lease {} with fencing token {} was already taken over",
+                        lease.leaseName(), lease.fencingToken());
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Failed to release lease {}, it will expire on its own",
+                    lease.leaseName(), ex);
+        }
+    }
+
+    private static long toMicros(Duration duration) {
+        return TimeUnit.NANOSECONDS.toMicros(duration.toNanos());
+    }
+
+    private static final class LeasedRun {
+        private final Thread worker;
+        private boolean running = true;
+        private boolean lost;
+
+        private LeasedRun(Thread worker) {
+            this.worker = worker;
+        }
+
+        private synchronized boolean isLost() {
+            return lost;
+        }
+
+        private synchronized void markLost() {
+            lost = true;
+            if (running) {
+                worker.interrupt();
+            }
+        }
+
+        private synchronized void finish() {
+            if (running && lost) {
+                Thread.interrupted();
+            }
+            running = false;
+        }
+    }
+}
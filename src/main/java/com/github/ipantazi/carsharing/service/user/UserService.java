@@ -25,7 +25,7 @@ public interface UserService {
                                           User.Role userRole,
                                           Long requestedUserId);
 
-    boolean canAccessRental(Long userId, Long rentalOwnerId);
+    boolean canAccessRental(Long userId, User.Role userRole, Long rentalOwnerId);
 
     String getEmailByRentalId(Long userId);
 
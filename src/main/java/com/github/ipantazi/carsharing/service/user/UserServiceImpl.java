@@ -1,5 +1,6 @@
 package com.github.ipantazi.carsharing.service.user;
 
+import com.github.ipantazi.carsharing.config.CacheConfig;
 import com.github.ipantazi.carsharing.dto.user.UserChangePasswordDto;
 import com.github.ipantazi.carsharing.dto.user.UserProfileUpdateDto;
 import com.github.ipantazi.carsharing.dto.user.UserRegistrationRequestDto;
@@ -14,6 +15,8 @@ import com.github.ipantazi.carsharing.model.User;
 import com.github.ipantazi.carsharing.repository.user.UserRepository;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +27,7 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final CacheManager cacheManager;
 
     @Override
     @Transactional
@@ -43,6 +47,7 @@ public class UserServiceImpl implements UserService {
     public UserResponseDto updateUserRole(Long id, UserRoleUpdateDto newRole) {
         User user = lockUserForUpdate(id);
         user.setRole(User.Role.valueOf(newRole.role()));
+        revokeTokens(user);
         return userMapper.toUserDto(userRepository.save(user));
     }
 
@@ -81,6 +86,7 @@ public class UserServiceImpl implements UserService {
 
         }
         user.setPassword(passwordEncoder.encode(requestDto.newPassword()));
+        revokeTokens(user);
         userRepository.save(user);
     }
 
@@ -101,9 +107,8 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public boolean canAccessRental(Long userId, Long rentalOwnerId) {
-        boolean isManager = userRepository.existsByIdAndRole(userId, User.Role.MANAGER);
-        return isManager || userId.equals(rentalOwnerId);
+    public boolean canAccessRental(Long userId, User.Role userRole, Long rentalOwnerId) {
+        return userRole == User.Role.MANAGER || userId.equals(rentalOwnerId);
     }
 
     @Override
@@ -128,6 +133,14 @@ public class UserServiceImpl implements UserService {
                 );
     }
 
+    private void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        Cache principals = cacheManager.getCache(CacheConfig.PRINCIPALS_CACHE);
+        if (principals != null) {
+            principals.evict(user.getId());
+        }
+    }
+
     private void validateUserExistsOrThrow(Long userId) {
         if (userRepository.existsSoftDeletedUserById(userId) == 1L) {
             throw new IllegalArgumentException("User with id: %d was previously deleted."
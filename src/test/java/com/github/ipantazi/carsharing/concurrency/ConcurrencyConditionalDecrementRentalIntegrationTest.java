@@ -0,0 +1,177 @@
+package com.github.ipantazi.carsharing.concurrency;
+
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_CAR_ID;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_ID_ANOTHER_USER;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_RENTAL_ID;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_USER_ID;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.RETURN_DATE_FOR_NEW_RENTAL;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestIdsList;
+import static com.github.ipantazi.carsharing.util.controller.DatabaseTestUtil.executeSqlScript;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.ipantazi.carsharing.config.BaseConcurrencyIntegrationTest;
+import com.github.ipantazi.carsharing.dto.rental.RentalRequestDto;
+import com.github.ipantazi.carsharing.model.User;
+import com.github.ipantazi.carsharing.repository.car.CarRepository;
+import com.github.ipantazi.carsharing.repository.rental.RentalRepository;
+import com.github.ipantazi.carsharing.service.rental.RentalService;
+import com.github.ipantazi.carsharing.util.concurrency.ConcurrencyTestHelper;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+@TestPropertySource(properties = "rental.create.conditional-decrement=true")
+public class ConcurrencyConditionalDecrementRentalIntegrationTest
+        extends BaseConcurrencyIntegrationTest {
+    private static final int USER_COUNT = 5;
+    private static final int AVAILABLE_CARS = 3;
+
+    private static RentalRequestDto dto;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @BeforeAll
+    public static void beforeAll(@Autowired DataSource dataSource) {
+        teardown(dataSource);
+        executeSqlScript(
+                dataSource,
+                "database/users/insert-test-users.sql",
+                "database/cars/insert-test-cars.sql");
+
+        dto = new RentalRequestDto(RETURN_DATE_FOR_NEW_RENTAL, EXISTING_CAR_ID);
+    }
+
+    @AfterEach
+    public void afterEach(@Autowired DataSource dataSource) {
+        executeSqlScript(
+                dataSource,
+                "database/rentals/clear-all-rentals.sql",
+                "database/cars/restoring-car-id101.sql");
+    }
+
+    @AfterAll
+    public static void afterAll(@Autowired DataSource dataSource) {
+        teardown(dataSource);
+    }
+
+    @SneakyThrows
+    public static void teardown(DataSource dataSource) {
+        executeSqlScript(
+                dataSource,
+                "database/rentals/clear-all-rentals.sql",
+                "database/cars/clear-all-cars.sql",
+                "database/users/clear-all-users.sql"
+        );
+    }
+
+    @Test
+    @DisplayName("Conditional decrement should hand out the last car to exactly one thread")
+    @Sql(scripts = "classpath:database/cars/set-inventory-one-for-car-id101.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void createRental_LastCarContended_OnlyOneRentalSucceeds() throws InterruptedException {
+        // Given
+        List<Callable<Boolean>> tasks = createRentalTasks(createTestIdsList(USER_COUNT));
+
+        // When
+        long successCount = countSuccesses(tasks);
+
+        // Then
+        assertThat(successCount).isEqualTo(1);
+        assertThat(rentalRepository.count()).isEqualTo(1);
+        assertThat(getInventory()).isZero();
+    }
+
+    @Test
+    @DisplayName("Conditional decrement should never rent more cars than the inventory holds")
+    @Sql(scripts = "classpath:database/cars/set-inventory-three-for-car-id101.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void createRental_MoreThreadsThanInventory_RentsExactlyInventory()
+            throws InterruptedException {
+        // Given
+        List<Callable<Boolean>> tasks = createRentalTasks(createTestIdsList(USER_COUNT));
+
+        // When
+        long successCount = countSuccesses(tasks);
+
+        // Then
+        assertThat(successCount).isEqualTo(AVAILABLE_CARS);
+        assertThat(rentalRepository.count()).isEqualTo(AVAILABLE_CARS);
+        assertThat(getInventory()).isZero();
+    }
+
+    @Test
+    @DisplayName("Conditional decrement racing a return should keep inventory consistent")
+    @Sql(scripts = {
+            "classpath:database/cars/set-inventory-null-for-car-id101.sql",
+            "classpath:database/rentals/insert-one-test-rental.sql"
+    },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void createRental_ConcurrentReturn_KeepsInventoryConsistent() throws InterruptedException {
+        // Given
+        List<Callable<Boolean>> tasks = List.of(
+                () -> succeeds(() -> rentalService.returnRental(
+                        EXISTING_USER_ID, User.Role.CUSTOMER, EXISTING_RENTAL_ID)),
+                () -> succeeds(() -> rentalService.createRental(EXISTING_ID_ANOTHER_USER, dto))
+        );
+
+        // When
+        long successCount = countSuccesses(tasks);
+
+        // Then
+        long activeRentals = rentalRepository.findAll().stream()
+                .filter(rental -> rental.getActualReturnDate() == null)
+                .count();
+        assertThat(successCount).isIn(1L, 2L);
+        assertThat(getInventory()).isGreaterThanOrEqualTo(0);
+        assertThat(getInventory() + activeRentals).isEqualTo(1);
+    }
+
+    private List<Callable<Boolean>> createRentalTasks(List<Long> userIds) {
+        return userIds.stream()
+                .map(userId -> (Callable<Boolean>) () ->
+                        succeeds(() -> rentalService.createRental(userId, dto)))
+                .toList();
+    }
+
+    private boolean succeeds(Runnable action) {
+        try {
+            action.run();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private long countSuccesses(List<Callable<Boolean>> tasks) throws InterruptedException {
+        List<Future<Boolean>> results = new ConcurrencyTestHelper(tasks.size())
+                .runConcurrentTasks(tasks);
+
+        return results.stream()
+                .map(ConcurrencyTestHelper::safeGet)
+                .filter(Boolean.TRUE::equals)
+                .count();
+    }
+
+    private int getInventory() {
+        return carRepository.findById(EXISTING_CAR_ID)
+                .orElseThrow()
+                .getInventory();
+    }
+}
@@ -16,6 +16,7 @@ import static org.assertj.core.api.Assertions.fail;
 
 import com.github.ipantazi.carsharing.config.BaseConcurrencyIntegrationTest;
 import com.github.ipantazi.carsharing.dto.rental.RentalRequestDto;
+import com.github.ipantazi.carsharing.model.User;
 import com.github.ipantazi.carsharing.repository.car.CarRepository;
 import com.github.ipantazi.carsharing.repository.rental.RentalRepository;
 import com.github.ipantazi.carsharing.service.rental.RentalService;
@@ -248,7 +249,7 @@ public class ConcurrencyRentalIntegrationTest extends BaseConcurrencyIntegration
 
     private Outcome tryReturnRental() {
         try {
-            rentalService.returnRental(EXISTING_USER_ID, EXISTING_RENTAL_ID);
+            rentalService.returnRental(EXISTING_USER_ID, User.Role.CUSTOMER, EXISTING_RENTAL_ID);
             return RETURN_OK;
         } catch (Exception e) {
             return RETURN_FAIL;
@@ -6,13 +6,14 @@ import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_USER_ID;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.LOCAL_HOST;
 import static com.github.ipantazi.carsharing.util.controller.DatabaseTestUtil.executeSqlScript;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
 import com.github.ipantazi.carsharing.config.BaseConcurrencyIntegrationTest;
 import com.github.ipantazi.carsharing.dto.payment.PaymentRequestDto;
 import com.github.ipantazi.carsharing.model.Payment;
+import com.github.ipantazi.carsharing.model.Rental;
 import com.github.ipantazi.carsharing.repository.payment.PaymentRepository;
+import com.github.ipantazi.carsharing.repository.rental.RentalRepository;
 import com.github.ipantazi.carsharing.service.payment.PaymentService;
 import com.github.ipantazi.carsharing.service.payment.stripe.StripeClient;
 import com.github.ipantazi.carsharing.service.payment.stripe.StripeWebhookService;
@@ -48,6 +49,9 @@ class ConcurrentPaymentWebhookIntegrationTest extends BaseConcurrencyIntegration
     @Autowired
     private PaymentRepository paymentRepository;
 
+    @Autowired
+    private RentalRepository rentalRepository;
+
     @BeforeAll
     public static void beforeAll(@Autowired DataSource dataSource) {
         teardown(dataSource);
@@ -61,7 +65,11 @@ class ConcurrentPaymentWebhookIntegrationTest extends BaseConcurrencyIntegration
 
     @AfterEach
     public void afterEach(@Autowired DataSource dataSource) {
-        executeSqlScript(dataSource,"database/payments/clear-all-payments.sql");
+        executeSqlScript(
+                dataSource,
+                "database/payments/clear-all-payments.sql",
+                "database/rentals/restoring-rental-id101.sql"
+        );
     }
 
     @AfterAll
@@ -88,26 +96,18 @@ class ConcurrentPaymentWebhookIntegrationTest extends BaseConcurrencyIntegration
     void paymentCreationAndWebhookArriveConcurrently_shouldRemainIdempotent() throws Exception {
         // Given
         int threadCount = 2;
-        String signature = TestStripeEventFactory.validSignature();
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
         ConcurrencyTestHelper helper = new ConcurrencyTestHelper(threadCount);
         PaymentRequestDto requestDto = new PaymentRequestDto(
                 EXISTING_RENTAL_ID,
                 TYPE_PAYMENT.name()
         );
-        String webhookPayload = TestStripeEventFactory.dummyPayload(
-                EXISTING_RENTAL_ID,
-                TYPE_PAYMENT,
-                AMOUNT_TO_PAY_FOR_NEW_PAYMENT
-        );
         var stripeTestContextHolder = TestStripeEventFactory.checkoutSessionCompleted(
                 EXISTING_RENTAL_ID,
                 TYPE_PAYMENT,
                 AMOUNT_TO_PAY_FOR_NEW_PAYMENT
         );
 
-        when(stripeClient.constructEvent(anyString(), anyString(), anyString()))
-                .thenReturn(stripeTestContextHolder.event());
         when(stripeClient.getMetadataFromSession(stripeTestContextHolder.session()))
                 .thenReturn(stripeTestContextHolder.metadataDto());
 
@@ -123,7 +123,7 @@ class ConcurrentPaymentWebhookIntegrationTest extends BaseConcurrencyIntegration
                 },
                 // Thread B: Stripe webhook arrives concurrently (or retry)
                 () -> {
-                    stripeWebhookService.processStripeEvent(webhookPayload, signature);
+                    stripeWebhookService.processStripeEvent(stripeTestContextHolder.event());
                     return "WEBHOOK_OK";
                 }
         );
@@ -146,6 +146,7 @@ class ConcurrentPaymentWebhookIntegrationTest extends BaseConcurrencyIntegration
         assertThat(payment.getAmountToPay())
                 .as("Amount must match Stripe metadata")
                 .isEqualByComparingTo(AMOUNT_TO_PAY_FOR_NEW_PAYMENT);
+        assertAmountPaidRecordedOnce();
     }
 
     @Test
@@ -155,28 +156,20 @@ class ConcurrentPaymentWebhookIntegrationTest extends BaseConcurrencyIntegration
             """)
     void stripeWebhookRetry_shouldBeIdempotent() throws Exception {
         // Given
-        String signature = TestStripeEventFactory.validSignature();
-        String payload = TestStripeEventFactory.dummyPayload(
-                EXISTING_RENTAL_ID,
-                TYPE_PAYMENT,
-                AMOUNT_TO_PAY_FOR_NEW_PAYMENT
-        );
         var stripeTestContextHolder = TestStripeEventFactory.checkoutSessionCompleted(
                 EXISTING_RENTAL_ID,
                 TYPE_PAYMENT,
                 AMOUNT_TO_PAY_FOR_NEW_PAYMENT
         );
 
-        when(stripeClient.constructEvent(anyString(), anyString(), anyString()))
-                .thenReturn(stripeTestContextHolder.event());
         when(stripeClient.getMetadataFromSession(stripeTestContextHolder.session()))
                 .thenReturn(stripeTestContextHolder.metadataDto());
 
         // When
         // First webhook
-        stripeWebhookService.processStripeEvent(payload, signature);
+        stripeWebhookService.processStripeEvent(stripeTestContextHolder.event());
         // retry webhook
-        stripeWebhookService.processStripeEvent(payload, signature);
+        stripeWebhookService.processStripeEvent(stripeTestContextHolder.event());
 
         // Then
         Optional<Payment> paymentOptional = paymentRepository.findPaymentByRentalIdAndType(
@@ -186,5 +179,13 @@ class ConcurrentPaymentWebhookIntegrationTest extends BaseConcurrencyIntegration
 
         assertThat(paymentOptional).isPresent();
         assertThat(paymentOptional.get().getStatus()).isEqualTo(STATUS_PAID);
+        assertAmountPaidRecordedOnce();
+    }
+
+    private void assertAmountPaidRecordedOnce() {
+        Rental rental = rentalRepository.findById(EXISTING_RENTAL_ID).orElseThrow();
+        assertThat(rental.getAmountPaid())
+                .as("Rental balance must include the payment exactly once")
+                .isEqualByComparingTo(AMOUNT_TO_PAY_FOR_NEW_PAYMENT);
     }
 }
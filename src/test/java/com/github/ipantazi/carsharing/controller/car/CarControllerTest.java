@@ -71,6 +71,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
@@ -380,6 +381,29 @@ public class CarControllerTest extends BaseIntegrationTest {
         assertObjectsAreEqualIgnoringFields(actualCarDto, expectedCarDto, CAR_DTO_IGNORING_FIELD);
     }
 
+    @Test
+    @DisplayName("Test get car by id returns Not Modified for matching ETag")
+    void getCarById_MatchingETag_ShouldReturnNotModified() throws Exception {
+        // Given
+        MvcResult firstResult = createMvcResult(
+                mockMvc,
+                get(URL_CARS_EXISTING_CAR_ID),
+                status().isOk()
+        );
+        String etag = firstResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        MvcResult result = createMvcResult(
+                mockMvc,
+                get(URL_CARS_EXISTING_CAR_ID).header(HttpHeaders.IF_NONE_MATCH, etag),
+                status().isNotModified()
+        );
+
+        // Then
+        assertThat(etag).isNotBlank();
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+    }
+
     @Test
     @DisplayName("Test get car by id with invalid id")
     void getCarById_InvalidId_ShouldReturnNotFound() throws Exception {
@@ -18,6 +18,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.github.ipantazi.carsharing.controller.StripeWebhookController;
 import com.github.ipantazi.carsharing.exception.InvalidStripePayloadException;
+import com.github.ipantazi.carsharing.security.CustomUserDetailsService;
 import com.github.ipantazi.carsharing.security.JwtUtil;
 import com.github.ipantazi.carsharing.service.payment.stripe.StripeWebhookService;
 import com.stripe.exception.SignatureVerificationException;
@@ -42,6 +43,9 @@ public class StripeWebhookControllerTest {
     @MockitoBean
     private JwtUtil jwtUtil;
 
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
     @Test
     @DisplayName("Test handleStripeEvent method with valid payload and signature")
     void handleStripeEvent_WhenServiceSucceeds_ReturnsOk() throws Exception {
@@ -63,7 +67,7 @@ public class StripeWebhookControllerTest {
     void handleStripeEvent_WhenSignatureInvalid_ReturnsBadRequest() throws Exception {
         // Given
         doThrow(new SignatureVerificationException("Invalid signature", INVALID_SIG_HEADER_TEST))
-                .when(stripeWebhookService).processStripeEvent(anyString(), anyString());
+                .when(stripeWebhookService).enqueueStripeEvent(anyString(), anyString());
 
         // When
         MvcResult result = createWebhookMvcResult(
@@ -83,7 +87,7 @@ public class StripeWebhookControllerTest {
     void handleStripeEvent_WhenPayloadInvalid_ReturnsBadRequest() throws Exception {
         // Given
         doThrow(new InvalidStripePayloadException("Invalid payload"))
-                .when(stripeWebhookService).processStripeEvent(anyString(), anyString());
+                .when(stripeWebhookService).enqueueStripeEvent(anyString(), anyString());
 
         // When
         MvcResult result = createWebhookMvcResult(
@@ -103,7 +107,7 @@ public class StripeWebhookControllerTest {
     void handleStripeEvent_WhenUnexpectedException_ReturnsInternalServerError() throws Exception {
         // Given
         doThrow(new RuntimeException("Unexpected error"))
-                .when(stripeWebhookService).processStripeEvent(anyString(), anyString());
+                .when(stripeWebhookService).enqueueStripeEvent(anyString(), anyString());
 
         // When
         MvcResult result = createWebhookMvcResult(
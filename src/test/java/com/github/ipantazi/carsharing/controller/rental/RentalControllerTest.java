@@ -40,6 +40,7 @@ import static com.github.ipantazi.carsharing.util.controller.ControllerTestDataU
 import static com.github.ipantazi.carsharing.util.controller.ControllerTestDataUtil.URL_RENTALS;
 import static com.github.ipantazi.carsharing.util.controller.ControllerTestDataUtil.URL_RENTAL_BY_ID;
 import static com.github.ipantazi.carsharing.util.controller.ControllerTestDataUtil.URL_RETURN_RENTAL;
+import static com.github.ipantazi.carsharing.util.controller.ControllerTestDataUtil.URL_RETURN_RENTALS;
 import static com.github.ipantazi.carsharing.util.controller.ControllerTestUtil.createRequestWithPageable;
 import static com.github.ipantazi.carsharing.util.controller.ControllerTestUtil.parsePageContent;
 import static com.github.ipantazi.carsharing.util.controller.ControllerTestUtil.parseResponseToObject;
@@ -49,6 +50,7 @@ import static com.github.ipantazi.carsharing.util.controller.MvcTestHelper.creat
 import static com.github.ipantazi.carsharing.util.controller.MvcTestHelper.createMvcResult;
 import static com.github.ipantazi.carsharing.util.controller.SecurityTestUtil.authenticateTestUser;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -56,11 +58,18 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.ipantazi.carsharing.config.BaseIntegrationTest;
+import com.github.ipantazi.carsharing.dto.enums.BulkReturnStatus;
 import com.github.ipantazi.carsharing.dto.enums.RentalStatus;
+import com.github.ipantazi.carsharing.dto.rental.BulkReturnItemDto;
+import com.github.ipantazi.carsharing.dto.rental.BulkReturnRequestDto;
+import com.github.ipantazi.carsharing.dto.rental.BulkReturnResponseDto;
+import com.github.ipantazi.carsharing.dto.rental.RentalCursorPageDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalDetailedDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalRequestDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalResponseDto;
+import com.github.ipantazi.carsharing.model.Rental;
 import com.github.ipantazi.carsharing.model.User;
+import com.github.ipantazi.carsharing.repository.rental.RentalRepository;
 import java.time.Clock;
 import java.util.List;
 import javax.sql.DataSource;
@@ -74,6 +83,7 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
@@ -89,6 +99,9 @@ public class RentalControllerTest extends BaseIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private RentalRepository rentalRepository;
+
     @BeforeAll
      void beforeAll() {
         teardown();
@@ -164,6 +177,44 @@ public class RentalControllerTest extends BaseIntegrationTest {
         );
     }
 
+    @Test
+    @DisplayName("Test create rental persists the rented car and its daily fee")
+    @Sql(scripts = {
+            "classpath:database/rentals/remove-new-test-rental-from-rentals-table.sql",
+            "classpath:database/cars/restoring-car-id101.sql"
+    },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void createRental_ValidRequest_PersistsCar() throws Exception {
+        // Given
+        authenticateTestUser(EXISTING_USER_ID, User.Role.CUSTOMER);
+
+        RentalResponseDto expectedRentalResponseDto = createNewTestRentalResponseDto(
+                NEW_RENTAL_ID, FIXED_DATE);
+        RentalRequestDto rentalRequestDto = createTestRentalRequestDto(expectedRentalResponseDto);
+        String jsonRequest = toJson(objectMapper, rentalRequestDto);
+
+        // When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                post(URL_RENTALS),
+                status().isCreated(),
+                jsonRequest
+        );
+
+        // Then
+        RentalResponseDto actualRentalResponseDto = parseResponseToObject(
+                result,
+                objectMapper,
+                RentalResponseDto.class
+        );
+        Rental actualRental = rentalRepository.findById(actualRentalResponseDto.getId())
+                .orElseThrow();
+        assertThat(actualRental.getCar()).isNotNull();
+        assertThat(actualRental.getCar().getId()).isEqualTo(EXISTING_CAR_ID);
+        assertThat(actualRental.getDailyFee())
+                .isEqualByComparingTo(expectedRentalResponseDto.getCarDto().getDailyFee());
+    }
+
     @Test
     @DisplayName("Should return Unauthorized when unauthorized user tries to create a rental")
     void createRental_UnauthorizedUser_ShouldReturnUnauthorized() throws Exception {
@@ -770,6 +821,70 @@ public class RentalControllerTest extends BaseIntegrationTest {
         assertThat(actualResponseDtoList).isEmpty();
     }
 
+    @Test
+    @DisplayName("Test get rentals in keyset mode walks pages using next cursor.")
+    void getRentalsByCursor_ManagerRole_ShouldReturnPagesInKeysetOrder() throws Exception {
+        // Given
+        authenticateTestUser(EXISTING_RENTAL_ID_ANOTHER_USER, User.Role.MANAGER);
+
+        // When
+        MvcResult firstResult = createMvcResult(
+                mockMvc,
+                get(URL_RENTALS)
+                        .param("mode", "keyset")
+                        .param("size", "1"),
+                status().isOk()
+        );
+        RentalCursorPageDto firstPage = parseResponseToObject(
+                firstResult,
+                objectMapper,
+                RentalCursorPageDto.class
+        );
+        MvcResult secondResult = createMvcResult(
+                mockMvc,
+                get(URL_RENTALS)
+                        .param("mode", "keyset")
+                        .param("size", "1")
+                        .param("after", firstPage.nextCursor()),
+                status().isOk()
+        );
+        RentalCursorPageDto secondPage = parseResponseToObject(
+                secondResult,
+                objectMapper,
+                RentalCursorPageDto.class
+        );
+
+        // Then
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(firstPage.content()).hasSize(1);
+        assertThat(firstPage.content().get(0).getId()).isEqualTo(EXISTING_RENTAL_ID_ANOTHER_USER);
+        assertThat(secondPage.hasNext()).isFalse();
+        assertThat(secondPage.nextCursor()).isNull();
+        assertThat(secondPage.content()).hasSize(1);
+        assertThat(secondPage.content().get(0).getId()).isEqualTo(EXISTING_RENTAL_ID);
+    }
+
+    @Test
+    @DisplayName("Test get rentals in keyset mode with invalid cursor.")
+    void getRentalsByCursor_InvalidCursor_ShouldReturnBadRequest() throws Exception {
+        // Given
+        authenticateTestUser(EXISTING_RENTAL_ID_ANOTHER_USER, User.Role.MANAGER);
+        String invalidCursor = "not-a-cursor";
+
+        // When
+        MvcResult result = createMvcResult(
+                mockMvc,
+                get(URL_RENTALS)
+                        .param("mode", "keyset")
+                        .param("after", invalidCursor),
+                status().isBadRequest()
+        );
+
+        // Then
+        assertThat(result.getResponse().getContentAsString())
+                .contains("Invalid cursor: " + invalidCursor);
+    }
+
     @Test
     @DisplayName("Test get rental by id with valid rental id and CUSTOMER role.")
     void getRentalById_ValidIdAndCustomerRole_ShouldReturnRentalDetailedDto() throws Exception {
@@ -798,6 +913,31 @@ public class RentalControllerTest extends BaseIntegrationTest {
         );
     }
 
+    @Test
+    @DisplayName("Test get rental by id returns Not Modified for matching ETag.")
+    void getRentalById_MatchingETag_ShouldReturnNotModified() throws Exception {
+        // Given
+        authenticateTestUser(EXISTING_USER_ID, User.Role.CUSTOMER);
+        MvcResult firstResult = createMvcResult(
+                mockMvc,
+                get(URL_RENTAL_BY_ID, EXISTING_RENTAL_ID),
+                status().isOk()
+        );
+        String etag = firstResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        MvcResult result = createMvcResult(
+                mockMvc,
+                get(URL_RENTAL_BY_ID, EXISTING_RENTAL_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag),
+                status().isNotModified()
+        );
+
+        // Then
+        assertThat(etag).isNotBlank();
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+    }
+
     @Test
     @DisplayName("Test get rental by id when MANAGER find rental by any customer.")
     void getRentalById_GetRentalAnyCustomer_ReturnsRentalDetailedDto() throws Exception {
@@ -1085,4 +1225,102 @@ public class RentalControllerTest extends BaseIntegrationTest {
                 "Access denied. You do not have permission to perform this action."
         );
     }
+
+    @Test
+    @DisplayName("Test bulk return with MANAGER role reports result for each rental id.")
+    @Sql(scripts = {
+            "classpath:database/rentals/restoring-rental-id101.sql",
+            "classpath:database/cars/restoring-car-id101.sql"
+    },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void returnRentals_ManagerRole_ReturnsResultPerRental() throws Exception {
+        // Given
+        authenticateTestUser(EXISTING_ID_ANOTHER_USER, User.Role.MANAGER);
+
+        int expectedInventory = CAR_INVENTORY + 1;
+        RentalDetailedDto expectedDto = createTestRentalDetailedDto(EXISTING_USER_ID, FIXED_DATE);
+        expectedDto.getCarDto().setInventory(expectedInventory);
+        String jsonRequest = toJson(objectMapper, new BulkReturnRequestDto(
+                List.of(NOT_EXISTING_RENTAL_ID, EXISTING_RENTAL_ID)
+        ));
+
+        // When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                post(URL_RETURN_RENTALS),
+                status().isOk(),
+                jsonRequest
+        );
+
+        // Then
+        BulkReturnResponseDto actualDto = parseResponseToObject(
+                result,
+                objectMapper,
+                BulkReturnResponseDto.class
+        );
+        assertThat(actualDto.returned()).isEqualTo(1);
+        assertThat(actualDto.results())
+                .extracting(BulkReturnItemDto::rentalId, BulkReturnItemDto::status)
+                .containsExactly(
+                        tuple(EXISTING_RENTAL_ID, BulkReturnStatus.RETURNED),
+                        tuple(NOT_EXISTING_RENTAL_ID, BulkReturnStatus.NOT_FOUND)
+                );
+        RentalDetailedDto actualRentalDto = actualDto.results().get(0).rental();
+        assertObjectsAreEqualIgnoringFields(
+                actualRentalDto,
+                expectedDto,
+                RENTAL_DTO_IGNORING_FIELDS
+        );
+        assertThat(actualRentalDto.getActualReturnDate()).isEqualTo(FIXED_DATE.toString());
+        assertThat(actualRentalDto.getStatus()).isEqualTo(RentalStatus.RETURNED);
+    }
+
+    @Test
+    @DisplayName("Should return Forbidden when CUSTOMER tries to return rentals in bulk")
+    void returnRentals_CustomerRole_ShouldReturnForbidden() throws Exception {
+        // Given
+        authenticateTestUser(EXISTING_USER_ID, User.Role.CUSTOMER);
+        String jsonRequest = toJson(objectMapper, new BulkReturnRequestDto(
+                List.of(EXISTING_RENTAL_ID)
+        ));
+
+        // When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                post(URL_RETURN_RENTALS),
+                status().isForbidden(),
+                jsonRequest
+        );
+
+        // Then
+        assertValidationError(
+                result,
+                objectMapper,
+                FORBIDDEN,
+                "Access denied. You do not have permission to perform this action."
+        );
+    }
+
+    @Test
+    @DisplayName("Test bulk return when rental ids are empty.")
+    void returnRentals_EmptyRentalIds_ShouldReturnBadRequest() throws Exception {
+        // Given
+        authenticateTestUser(EXISTING_ID_ANOTHER_USER, User.Role.MANAGER);
+        String jsonRequest = toJson(objectMapper, new BulkReturnRequestDto(List.of()));
+
+        // When
+        MvcResult result = createJsonMvcResult(
+                mockMvc,
+                post(URL_RETURN_RENTALS),
+                status().isBadRequest(),
+                jsonRequest
+        );
+
+        // Then
+        assertValidationErrorList(
+                result,
+                objectMapper,
+                List.of("Field 'rentalIds': Rental IDs cannot be empty")
+        );
+    }
 }
@@ -0,0 +1,73 @@
+package com.github.ipantazi.carsharing.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Tag("load")
+@Testcontainers
+@ActiveProfiles({"load-test", "stripe-stub", "telegram-stub"})
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
+public class CarSharingLoadTest {
+    private static final Path REPORT_DIRECTORY = Path.of("target", "load-reports");
+
+    @Container
+    @SuppressWarnings("resource")
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>(
+            System.getenv().getOrDefault("TEST_DB_IMAGE", "mysql:8.0.43"))
+            .withDatabaseName("loaddb")
+            .waitingFor(Wait.forListeningPort())
+            .withStartupTimeout(Duration.ofMinutes(2));
+
+    @Value("${server.port}")
+    private int port;
+
+    @Value("${server.servlet.context-path}")
+    private String contextPath;
+
+    @DynamicPropertySource
+    static void datasourceProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Test
+    @DisplayName("Replay the traffic mix against the perf dataset and write a latency report")
+    public void replayTrafficMix_PerfDataset_WritesReport()
+            throws IOException, InterruptedException {
+        // Given
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        LoadGenerator generator = new LoadGenerator(
+                "http://localhost:%d%s".formatted(port, contextPath), settings);
+        generator.prepare();
+        Instant startedAt = Instant.now();
+
+        // When
+        Duration measured = generator.run();
+
+        // Then
+        LoadReport report = LoadReport.of(startedAt, settings, generator, measured);
+        Path reportFile = report.write(REPORT_DIRECTORY);
+        System.out.printf("%nLoad report written to %s%n%s%n", reportFile, report.toTable());
+        assertThat(report.total().requests()).isPositive();
+        assertThat(report.total().errorRate())
+                .as("5xx and transport error rate")
+                .isLessThanOrEqualTo(settings.maxErrorRate());
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.ipantazi.carsharing.load;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class EndpointRecorder {
+    private static final int INITIAL_CAPACITY = 1024;
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private long[] latencies = new long[INITIAL_CAPACITY];
+    private int count;
+
+    public void record(long latencyNanos, int status) {
+        if (status >= 500 || status < 0) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        }
+        synchronized (this) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+    }
+
+    public EndpointSummary summarize(String route, double measuredSeconds) {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(latencies, count);
+        }
+        Arrays.sort(sorted);
+        long requests = sorted.length;
+        long errors = serverErrors.sum();
+        return new EndpointSummary(
+                route,
+                requests,
+                requests / measuredSeconds,
+                clientErrors.sum(),
+                errors,
+                requests == 0 ? 0 : (double) errors / requests,
+                percentileMillis(sorted, 0.50),
+                percentileMillis(sorted, 0.95),
+                percentileMillis(sorted, 0.99),
+                sorted.length == 0 ? 0 : toMillis(sorted[sorted.length - 1])
+        );
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, rank)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public record EndpointSummary(
+            String route,
+            long requests,
+            double throughputRps,
+            long clientErrors,
+            long errors,
+            double errorRate,
+            double p50Millis,
+            double p95Millis,
+            double p99Millis,
+            double maxMillis
+    ) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.ipantazi.carsharing.load;
+
+public enum LoadEndpoint {
+    LIST_CARS("cars", "GET /cars", 35),
+    GET_CAR("car", "GET /cars/{id}", 20),
+    LIST_RENTALS("rentals", "GET /rentals", 15),
+    CREATE_RENTAL("rent", "POST /rentals", 12),
+    RETURN_RENTAL("return", "POST /rentals/{id}/return", 10),
+    CREATE_PAYMENT("pay", "POST /payments", 8);
+
+    private final String key;
+    private final String route;
+    private final int defaultWeight;
+
+    LoadEndpoint(String key, String route, int defaultWeight) {
+        this.key = key;
+        this.route = route;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    public boolean needsRental() {
+        return this == RETURN_RENTAL || this == CREATE_PAYMENT;
+    }
+
+    public static LoadEndpoint valueOfKey(String key) {
+        for (LoadEndpoint endpoint : values()) {
+            if (endpoint.key.equalsIgnoreCase(key.trim())) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown load endpoint: " + key);
+    }
+}
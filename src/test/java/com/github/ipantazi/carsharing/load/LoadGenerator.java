@@ -0,0 +1,275 @@
+package com.github.ipantazi.carsharing.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadGenerator {
+    private static final String PASSWORD = "LoadTest#2025";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int CAR_PAGE_SIZE = 1000;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final LoadSettings settings;
+    private final Random random;
+    private final List<String> tokens = new ArrayList<>();
+    private final List<Long> carIds = new ArrayList<>();
+    private final Map<LoadEndpoint, EndpointRecorder> recorders =
+            new EnumMap<>(LoadEndpoint.class);
+    private final Map<LoadEndpoint, Long> planned = new EnumMap<>(LoadEndpoint.class);
+    private final Map<LoadEndpoint, LongAdder> skipped = new EnumMap<>(LoadEndpoint.class);
+    private final EndpointRecorder totalRecorder = new EndpointRecorder();
+    private final List<LoadEndpoint> weightedEndpoints = new ArrayList<>();
+    private final List<PlannedRequest> schedule = new ArrayList<>();
+
+    public LoadGenerator(String baseUrl, LoadSettings settings) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.random = new Random(settings.seed());
+        for (LoadEndpoint endpoint : LoadEndpoint.values()) {
+            recorders.put(endpoint, new EndpointRecorder());
+            planned.put(endpoint, 0L);
+            skipped.put(endpoint, new LongAdder());
+        }
+        settings.mix().forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weightedEndpoints.add(endpoint);
+            }
+        });
+        if (weightedEndpoints.isEmpty()) {
+            throw new IllegalArgumentException("Load mix must contain at least one endpoint");
+        }
+    }
+
+    public void prepare() throws IOException, InterruptedException {
+        for (int i = 0; i < settings.users(); i++) {
+            String email = "load.user" + i + "@example.com";
+            send(post("/auth/registration", null, Map.of(
+                    "email", email,
+                    "password", PASSWORD,
+                    "repeatPassword", PASSWORD,
+                    "firstName", "Load",
+                    "lastName", "Tester"
+            )));
+            HttpResponse<String> login = send(post("/auth/login", null, Map.of(
+                    "email", email,
+                    "password", PASSWORD
+            )));
+            tokens.add(objectMapper.readTree(login.body()).get("token").asText());
+        }
+        HttpResponse<String> cars = send(get("/cars?page=0&size=" + CAR_PAGE_SIZE,
+                tokens.get(0)));
+        for (JsonNode car : objectMapper.readTree(cars.body()).get("content")) {
+            if (car.get("inventory").asInt() > 0) {
+                carIds.add(car.get("id").asLong());
+            }
+        }
+        if (carIds.isEmpty()) {
+            throw new IllegalStateException("Perf dataset has no cars with inventory");
+        }
+        planSchedule();
+    }
+
+    public Duration run() throws InterruptedException {
+        long period = periodNanos();
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int tick = 0; tick < schedule.size(); tick++) {
+                long intendedStart = start + tick * period;
+                parkUntil(intendedStart);
+                PlannedRequest request = schedule.get(tick);
+                workers.submit(() -> execute(request, intendedStart));
+            }
+        }
+        return Duration.ofNanos(System.nanoTime() - start).minus(settings.warmup());
+    }
+
+    public Map<LoadEndpoint, EndpointRecorder> getRecorders() {
+        return recorders;
+    }
+
+    public EndpointRecorder getTotalRecorder() {
+        return totalRecorder;
+    }
+
+    public Map<LoadEndpoint, Long> getPlanned() {
+        return planned;
+    }
+
+    public Map<LoadEndpoint, Long> getSkipped() {
+        Map<LoadEndpoint, Long> counts = new EnumMap<>(LoadEndpoint.class);
+        skipped.forEach((endpoint, count) -> counts.put(endpoint, count.sum()));
+        return counts;
+    }
+
+    private void planSchedule() {
+        long period = periodNanos();
+        long warmupTicks = settings.warmup().toNanos() / period;
+        long totalTicks = settings.warmup().plus(settings.duration()).toNanos() / period;
+        List<Deque<CompletableFuture<CreatedRental>>> activeRentals = new ArrayList<>();
+        List<Deque<CompletableFuture<CreatedRental>>> payableRentals = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            activeRentals.add(new ArrayDeque<>());
+            payableRentals.add(new ArrayDeque<>());
+        }
+        for (long tick = 0; tick < totalTicks; tick++) {
+            LoadEndpoint endpoint = weightedEndpoints.get(
+                    random.nextInt(weightedEndpoints.size()));
+            int user = random.nextInt(tokens.size());
+            final Long carId = carIds.get(random.nextInt(carIds.size()));
+            final int rentalDays = 1 + random.nextInt(7);
+            CompletableFuture<CreatedRental> rental = switch (endpoint) {
+                case RETURN_RENTAL -> activeRentals.get(user).pollFirst();
+                case CREATE_PAYMENT -> payableRentals.get(user).pollFirst();
+                default -> null;
+            };
+            if (rental == null && endpoint.needsRental()) {
+                endpoint = LoadEndpoint.CREATE_RENTAL;
+            }
+            if (endpoint == LoadEndpoint.CREATE_RENTAL) {
+                rental = new CompletableFuture<>();
+                activeRentals.get(user).addLast(rental);
+                payableRentals.get(user).addLast(rental);
+            }
+            boolean measured = tick >= warmupTicks;
+            if (measured) {
+                planned.merge(endpoint, 1L, Long::sum);
+            }
+            schedule.add(new PlannedRequest(
+                    endpoint, tokens.get(user), carId, rentalDays, rental, measured));
+        }
+    }
+
+    private void execute(PlannedRequest request, long intendedStart) {
+        LoadEndpoint endpoint = request.endpoint();
+        long start = intendedStart;
+        Long rentalId = null;
+        if (endpoint.needsRental()) {
+            CreatedRental rental = request.rental().join();
+            if (rental == null) {
+                if (request.measured()) {
+                    skipped.get(endpoint).increment();
+                }
+                return;
+            }
+            rentalId = rental.id();
+            start = Math.max(intendedStart, rental.createdAt());
+        }
+        int status = -1;
+        try {
+            HttpResponse<String> response = send(request(request, rentalId));
+            status = response.statusCode();
+            if (endpoint == LoadEndpoint.CREATE_RENTAL && status < 300) {
+                rentalId = objectMapper.readTree(response.body()).get("id").asLong();
+            }
+        } catch (IOException ex) {
+            status = -1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            status = -1;
+        } finally {
+            if (endpoint == LoadEndpoint.CREATE_RENTAL) {
+                request.rental().complete(rentalId == null
+                        ? null
+                        : new CreatedRental(rentalId, System.nanoTime()));
+            }
+        }
+        if (request.measured()) {
+            long latency = System.nanoTime() - start;
+            recorders.get(endpoint).record(latency, status);
+            totalRecorder.record(latency, status);
+        }
+    }
+
+    private HttpRequest request(PlannedRequest request, Long rentalId) throws IOException {
+        String token = request.token();
+        return switch (request.endpoint()) {
+            case LIST_CARS -> get("/cars?page=0&size=20", token);
+            case GET_CAR -> get("/cars/" + request.carId(), token);
+            case LIST_RENTALS -> get("/rentals?page=0&size=20", token);
+            case CREATE_RENTAL -> post("/rentals", token, Map.of(
+                    "returnDate", LocalDate.now().plusDays(request.rentalDays()).toString(),
+                    "carId", request.carId()
+            ));
+            case RETURN_RENTAL -> post("/rentals/" + rentalId + "/return", token, null);
+            case CREATE_PAYMENT -> post("/payments", token, Map.of(
+                    "rentalId", rentalId,
+                    "type", "PAYMENT"
+            ));
+        };
+    }
+
+    private long periodNanos() {
+        return TimeUnit.SECONDS.toNanos(1) / settings.targetRps();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return builder(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) throws IOException {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        return builder(path, token)
+                .header("Content-Type", "application/json")
+                .POST(publisher)
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(HttpRequest request)
+            throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private record PlannedRequest(
+            LoadEndpoint endpoint,
+            String token,
+            Long carId,
+            int rentalDays,
+            CompletableFuture<CreatedRental> rental,
+            boolean measured
+    ) {
+    }
+
+    private record CreatedRental(Long id, long createdAt) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.ipantazi.carsharing.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.ipantazi.carsharing.load.EndpointRecorder.EndpointSummary;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record LoadReport(
+        Instant startedAt,
+        Map<String, Object> settings,
+        Map<String, Long> planned,
+        Map<String, Long> skipped,
+        List<EndpointSummary> endpoints,
+        EndpointSummary total
+) {
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static LoadReport of(Instant startedAt,
+                                LoadSettings settings,
+                                LoadGenerator generator,
+                                Duration measured) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        settings.mix().forEach((endpoint, weight) -> mix.put(endpoint.getRoute(), weight));
+        Map<String, Object> settingsView = new LinkedHashMap<>();
+        settingsView.put("targetRps", settings.targetRps());
+        settingsView.put("durationSeconds", settings.duration().toSeconds());
+        settingsView.put("warmupSeconds", settings.warmup().toSeconds());
+        settingsView.put("users", settings.users());
+        settingsView.put("seed", settings.seed());
+        settingsView.put("mix", mix);
+        double measuredSeconds = Math.max(1, measured.toMillis()) / 1000.0;
+        List<EndpointSummary> endpoints = generator.getRecorders().entrySet().stream()
+                .map(entry -> entry.getValue()
+                        .summarize(entry.getKey().getRoute(), measuredSeconds))
+                .filter(summary -> summary.requests() > 0)
+                .toList();
+        return new LoadReport(
+                startedAt,
+                settingsView,
+                byRoute(generator.getPlanned()),
+                byRoute(generator.getSkipped()),
+                endpoints,
+                generator.getTotalRecorder().summarize("total", measuredSeconds)
+        );
+    }
+
+    public Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("load-report-%s-rps%s-seed%s.json".formatted(
+                FILE_TIMESTAMP.format(startedAt),
+                settings.get("targetRps"),
+                settings.get("seed")));
+        OBJECT_MAPPER.writeValue(file.toFile(), this);
+        return file;
+    }
+
+    public String toTable() {
+        StringBuilder table = new StringBuilder(String.format(
+                "%-28s %8s %8s %8s %9s %9s %9s %7s%n",
+                "endpoint", "requests", "rps", "4xx", "p50 ms", "p95 ms", "p99 ms", "errors"));
+        endpoints.forEach(summary -> appendRow(table, summary));
+        appendRow(table, total);
+        skipped.forEach((route, count) -> table.append(String.format(
+                "%-28s skipped %d of %d planned, their rental was not created%n",
+                route, count, planned.get(route))));
+        return table.toString();
+    }
+
+    private static Map<String, Long> byRoute(Map<LoadEndpoint, Long> counts) {
+        Map<String, Long> routes = new LinkedHashMap<>();
+        counts.forEach((endpoint, count) -> {
+            if (count > 0) {
+                routes.put(endpoint.getRoute(), count);
+            }
+        });
+        return routes;
+    }
+
+    private static void appendRow(StringBuilder table, EndpointSummary summary) {
+        table.append(String.format("%-28s %8d %8.1f %8d %9.1f %9.1f %9.1f %6.2f%%%n",
+                summary.route(),
+                summary.requests(),
+                summary.throughputRps(),
+                summary.clientErrors(),
+                summary.p50Millis(),
+                summary.p95Millis(),
+                summary.p99Millis(),
+                summary.errorRate() * 100));
+    }
+}
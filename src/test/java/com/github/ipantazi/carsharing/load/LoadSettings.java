@@ -0,0 +1,45 @@
+package com.github.ipantazi.carsharing.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+public record LoadSettings(
+        int targetRps,
+        Duration duration,
+        Duration warmup,
+        int users,
+        long seed,
+        double maxErrorRate,
+        Map<LoadEndpoint, Integer> mix
+) {
+    public static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Integer.getInteger("load.rps", 50),
+                Duration.ofSeconds(Long.getLong("load.duration-seconds", 60L)),
+                Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10L)),
+                Integer.getInteger("load.users", 20),
+                Long.getLong("load.seed", 42L),
+                Double.parseDouble(System.getProperty("load.max-error-rate", "0.01")),
+                parseMix(System.getProperty("load.mix", ""))
+        );
+    }
+
+    static Map<LoadEndpoint, Integer> parseMix(String value) {
+        Map<LoadEndpoint, Integer> mix = new EnumMap<>(LoadEndpoint.class);
+        if (value.isBlank()) {
+            for (LoadEndpoint endpoint : LoadEndpoint.values()) {
+                mix.put(endpoint, endpoint.getDefaultWeight());
+            }
+            return mix;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load mix entry: " + entry);
+            }
+            mix.put(LoadEndpoint.valueOfKey(parts[0]), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
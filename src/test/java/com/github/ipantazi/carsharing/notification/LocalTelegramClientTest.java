@@ -0,0 +1,39 @@
+package com.github.ipantazi.carsharing.notification;
+
+import static com.github.ipantazi.carsharing.util.TestDataUtil.TELEGRAM_MESSAGE_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.ipantazi.carsharing.exception.TelegramDeliveryException;
+import com.github.ipantazi.carsharing.notification.impl.LocalTelegramClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LocalTelegramClientTest {
+    @Test
+    @DisplayName("Should count delivered messages without calling Telegram")
+    void sendMessage_ValidText_CountsDelivery() {
+        // Given
+        LocalTelegramClient telegramClient = new LocalTelegramClient(0L, 0L, 0.0);
+
+        // When
+        telegramClient.sendMessage(TELEGRAM_MESSAGE_TEST);
+        telegramClient.sendMessage(" ");
+
+        // Then
+        assertThat(telegramClient.getDeliveredMessages()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should fail deliveries according to configured error rate")
+    void sendMessage_ErrorRateOne_ThrowsDeliveryException() {
+        // Given
+        LocalTelegramClient telegramClient = new LocalTelegramClient(0L, 0L, 1.0);
+
+        // When & Then
+        assertThatThrownBy(() -> telegramClient.sendMessage(TELEGRAM_MESSAGE_TEST))
+                .isInstanceOf(TelegramDeliveryException.class)
+                .hasMessage("Simulated Telegram failure");
+        assertThat(telegramClient.getDeliveredMessages()).isZero();
+    }
+}
@@ -0,0 +1,382 @@
+package com.github.ipantazi.carsharing.notification;
+
+import static com.github.ipantazi.carsharing.util.TestDataUtil.FIXED_INSTANT;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.LEASE_TOKEN;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.TELEGRAM_MESSAGE_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.github.ipantazi.carsharing.exception.LeaseLostException;
+import com.github.ipantazi.carsharing.exception.TelegramDeliveryException;
+import com.github.ipantazi.carsharing.model.NotificationOutboxMessage;
+import com.github.ipantazi.carsharing.notification.impl.NotificationOutboxDispatcherImpl;
+import com.github.ipantazi.carsharing.notification.impl.TelegramDigestPacker;
+import com.github.ipantazi.carsharing.repository.notification.NotificationOutboxRepository;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxDispatcherTest {
+    private static final int BATCH_SIZE = 20;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_SECONDS = 5L;
+    private static final long CLAIM_TIMEOUT_SECONDS = 120L;
+    private static final int MAX_DIGEST_LENGTH = 4096;
+    private static final long RETENTION_DAYS = 7L;
+    private static final int PRUNE_BATCH_SIZE = 2;
+    private static final Instant CREATED_AT = FIXED_INSTANT.minusSeconds(3);
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+
+    @Mock
+    private TelegramClient telegramClient;
+
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private Clock clock;
+
+    private MeterRegistry meterRegistry;
+    private NotificationOutboxDispatcherImpl dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = createDispatcher(100);
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
+    }
+
+    @Test
+    @DisplayName("Should claim pending messages, send them and mark them sent")
+    void dispatch_PendingMessage_SendsAndMarksSent() {
+        // Given
+        runInTransaction();
+        mockEmptyBacklog();
+        NotificationOutboxMessage message = createOutboxMessage(1L, 0);
+        when(outboxRepository.lockAvailableBatch(FIXED_INSTANT, BATCH_SIZE))
+                .thenReturn(List.of(message));
+        doNothing().when(telegramClient).sendMessage(TELEGRAM_MESSAGE_TEST);
+
+        // When
+        int sent = dispatcher.dispatch(LEASE_TOKEN);
+
+        // Then
+        assertThat(sent).isEqualTo(1);
+        assertThat(message.getStatus()).isEqualTo(NotificationOutboxMessage.Status.SENDING);
+        assertThat(message.getAvailableAt())
+                .isEqualTo(FIXED_INSTANT.plusSeconds(CLAIM_TIMEOUT_SECONDS));
+        verify(outboxRepository, times(1))
+                .markSent(List.of(1L), NotificationOutboxMessage.Status.SENT, FIXED_INSTANT);
+        assertThat(meterRegistry.get("notification.outbox.delivery.lag").timer().count())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should coalesce messages of the same type into one digest")
+    void dispatch_BurstOfSameType_SendsSingleDigest() {
+        // Given
+        runInTransaction();
+        mockEmptyBacklog();
+        NotificationOutboxMessage first = createOutboxMessage(1L, 0);
+        NotificationOutboxMessage second = createOutboxMessage(2L, 0);
+        NotificationOutboxMessage third = createOutboxMessage(3L, 0);
+        third.setType(NotificationType.PAYMENT_SUCCESSFUL);
+        when(outboxRepository.lockAvailableBatch(FIXED_INSTANT, BATCH_SIZE))
+                .thenReturn(List.of(first, second, third));
+
+        // When
+        int sent = dispatcher.dispatch(LEASE_TOKEN);
+
+        // Then
+        assertThat(sent).isEqualTo(3);
+        verify(telegramClient, times(1))
+                .sendMessage(TELEGRAM_MESSAGE_TEST + "\n\n" + TELEGRAM_MESSAGE_TEST);
+        verify(telegramClient, times(1)).sendMessage(TELEGRAM_MESSAGE_TEST);
+        verify(outboxRepository, times(1))
+                .markSent(List.of(1L, 2L), NotificationOutboxMessage.Status.SENT, FIXED_INSTANT);
+        verify(outboxRepository, times(1))
+                .markSent(List.of(3L), NotificationOutboxMessage.Status.SENT, FIXED_INSTANT);
+        assertThat(meterRegistry.get("notification.outbox.digest.size").summary().count())
+                .isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should honor retry_after and pause the whole outbox on 429")
+    void dispatch_RateLimited_ReleasesBatchAndPauses() {
+        // Given
+        runInTransaction();
+        mockEmptyBacklog();
+        Duration retryAfter = Duration.ofSeconds(17);
+        NotificationOutboxMessage first = createOutboxMessage(1L, 0);
+        NotificationOutboxMessage second = createOutboxMessage(2L, 0);
+        when(outboxRepository.lockAvailableBatch(FIXED_INSTANT, BATCH_SIZE))
+                .thenReturn(List.of(first, second));
+        doThrow(new TelegramDeliveryException("Too Many Requests", retryAfter, null))
+                .when(telegramClient).sendMessage(anyString());
+
+        // When
+        int sent = dispatcher.dispatch(LEASE_TOKEN);
+        int sentWhilePaused = dispatcher.dispatch(LEASE_TOKEN);
+
+        // Then
+        assertThat(sent).isZero();
+        assertThat(sentWhilePaused).isZero();
+        verify(telegramClient, times(1)).sendMessage(anyString());
+        verify(outboxRepository, times(1)).release(
+                List.of(1L, 2L),
+                NotificationOutboxMessage.Status.PENDING,
+                FIXED_INSTANT.plus(retryAfter)
+        );
+        verify(outboxRepository, times(1)).lockAvailableBatch(FIXED_INSTANT, BATCH_SIZE);
+        verify(outboxRepository, never()).markFailed(any(), any(), anyInt(), any(), any());
+        assertThat(meterRegistry.get("notification.outbox.messages")
+                .tag("outcome", "throttled").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reschedule failed message with exponential backoff")
+    void dispatch_DeliveryFails_ReschedulesWithBackoff() {
+        // Given
+        runInTransaction();
+        mockEmptyBacklog();
+        NotificationOutboxMessage message = createOutboxMessage(1L, 1);
+        when(outboxRepository.lockAvailableBatch(FIXED_INSTANT, BATCH_SIZE))
+                .thenReturn(List.of(message));
+        doThrow(new TelegramDeliveryException("Connection reset", null))
+                .when(telegramClient).sendMessage(TELEGRAM_MESSAGE_TEST);
+
+        // When
+        int sent = dispatcher.dispatch(LEASE_TOKEN);
+
+        // Then
+        assertThat(sent).isZero();
+        verify(outboxRepository, times(1)).markFailed(
+                1L,
+                NotificationOutboxMessage.Status.PENDING,
+                2,
+                FIXED_INSTANT.plusSeconds(RETRY_DELAY_SECONDS * 2),
+                "Connection reset"
+        );
+    }
+
+    @Test
+    @DisplayName("Should mark message failed once max attempts are exhausted")
+    void dispatch_MaxAttemptsReached_MarksFailed() {
+        // Given
+        runInTransaction();
+        mockEmptyBacklog();
+        NotificationOutboxMessage message = createOutboxMessage(1L, MAX_ATTEMPTS - 1);
+        when(outboxRepository.lockAvailableBatch(FIXED_INSTANT, BATCH_SIZE))
+                .thenReturn(List.of(message));
+        doThrow(new TelegramDeliveryException("Bad Request", null))
+                .when(telegramClient).sendMessage(TELEGRAM_MESSAGE_TEST);
+
+        // When
+        dispatcher.dispatch(LEASE_TOKEN);
+
+        // Then
+        verify(outboxRepository, times(1)).markFailed(
+                1L,
+                NotificationOutboxMessage.Status.FAILED,
+                MAX_ATTEMPTS,
+                FIXED_INSTANT.plusSeconds(RETRY_DELAY_SECONDS * 4),
+                "Bad Request"
+        );
+        assertThat(meterRegistry.get("notification.outbox.messages")
+                .tag("outcome", "failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should fall back to single sends when a digest is rejected")
+    void dispatch_DigestRejected_SendsMessagesOneByOne() {
+        // Given
+        runInTransaction();
+        mockEmptyBacklog();
+        NotificationOutboxMessage first = createOutboxMessage(1L, 0);
+        NotificationOutboxMessage second = createOutboxMessage(2L, 0);
+        second.setMessage("<b>broken");
+        when(outboxRepository.lockAvailableBatch(FIXED_INSTANT, BATCH_SIZE))
+                .thenReturn(List.of(first, second));
+        doThrow(new TelegramDeliveryException("Bad Request: can't parse entities", null))
+                .when(telegramClient).sendMessage(TELEGRAM_MESSAGE_TEST + "\n\n<b>broken");
+        doThrow(new TelegramDeliveryException("Bad Request: can't parse entities", null))
+                .when(telegramClient).sendMessage("<b>broken");
+        doNothing().when(telegramClient).sendMessage(TELEGRAM_MESSAGE_TEST);
+
+        // When
+        int sent = dispatcher.dispatch(LEASE_TOKEN);
+
+        // Then
+        assertThat(sent).isEqualTo(1);
+        verify(telegramClient, times(1)).sendMessage(TELEGRAM_MESSAGE_TEST);
+        verify(outboxRepository, times(1))
+                .markSent(List.of(1L), NotificationOutboxMessage.Status.SENT, FIXED_INSTANT);
+        verify(outboxRepository, times(1)).markFailed(
+                2L,
+                NotificationOutboxMessage.Status.PENDING,
+                1,
+                FIXED_INSTANT.plusSeconds(RETRY_DELAY_SECONDS),
+                "Bad Request: can't parse entities"
+        );
+        verify(outboxRepository, never()).markFailed(
+                eq(1L), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should claim only the digests the rate limiter can send right now")
+    void dispatch_FewerPermitsThanDigests_ClaimsOnlyPermittedDigests() {
+        // Given
+        runInTransaction();
+        mockEmptyBacklog();
+        NotificationOutboxMessage first = createOutboxMessage(1L, 0);
+        NotificationOutboxMessage second = createOutboxMessage(2L, 0);
+        second.setType(NotificationType.PAYMENT_SUCCESSFUL);
+        when(outboxRepository.lockAvailableBatch(FIXED_INSTANT, BATCH_SIZE))
+                .thenReturn(List.of(first, second));
+        NotificationOutboxDispatcherImpl throttledDispatcher = createDispatcher(1);
+
+        // When
+        int sent = throttledDispatcher.dispatch(LEASE_TOKEN);
+
+        // Then
+        assertThat(sent).isEqualTo(1);
+        assertThat(first.getStatus()).isEqualTo(NotificationOutboxMessage.Status.SENDING);
+        assertThat(second.getStatus()).isEqualTo(NotificationOutboxMessage.Status.PENDING);
+        assertThat(second.getAvailableAt()).isEqualTo(CREATED_AT);
+        verify(telegramClient, times(1)).sendMessage(TELEGRAM_MESSAGE_TEST);
+        verify(outboxRepository, never()).release(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not touch the outbox when no rate limiter permits are left")
+    void dispatch_NoPermitsLeft_SkipsClaim() {
+        // Given
+        runInTransaction();
+        mockEmptyBacklog();
+        NotificationOutboxDispatcherImpl throttledDispatcher = createDispatcher(1);
+        when(outboxRepository.lockAvailableBatch(FIXED_INSTANT, BATCH_SIZE))
+                .thenReturn(List.of(createOutboxMessage(1L, 0)));
+        throttledDispatcher.dispatch(LEASE_TOKEN);
+
+        // When
+        int sent = throttledDispatcher.dispatch(LEASE_TOKEN);
+
+        // Then
+        assertThat(sent).isZero();
+        verify(outboxRepository, times(1)).lockAvailableBatch(FIXED_INSTANT, BATCH_SIZE);
+        verify(telegramClient, times(1)).sendMessage(TELEGRAM_MESSAGE_TEST);
+    }
+
+    @Test
+    @DisplayName("Should not claim messages once the outbox lease is lost")
+    void dispatch_LeaseLost_DoesNotClaim() {
+        // Given
+        runInTransaction();
+        doThrow(new LeaseLostException("Lease lost"))
+                .when(schedulerLeaseService).assertHeld(LEASE_TOKEN);
+
+        // When & Then
+        assertThatThrownBy(() -> dispatcher.dispatch(LEASE_TOKEN))
+                .isInstanceOf(LeaseLostException.class)
+                .hasMessage("Lease lost");
+        verify(outboxRepository, never()).lockAvailableBatch(any(), anyInt());
+        verifyNoInteractions(telegramClient);
+    }
+
+    @Test
+    @DisplayName("Should delete sent messages past retention in batches")
+    void pruneSent_SeveralBatches_DeletesUntilShortBatch() {
+        // Given
+        Instant cutoff = FIXED_INSTANT.minus(Duration.ofDays(RETENTION_DAYS));
+        when(outboxRepository.deleteSentBefore(cutoff, PRUNE_BATCH_SIZE))
+                .thenReturn(PRUNE_BATCH_SIZE, 1);
+
+        // When
+        int pruned = dispatcher.pruneSent();
+
+        // Then
+        assertThat(pruned).isEqualTo(PRUNE_BATCH_SIZE + 1);
+        verify(outboxRepository, times(2)).deleteSentBefore(cutoff, PRUNE_BATCH_SIZE);
+        verifyNoInteractions(telegramClient, transactionTemplate);
+    }
+
+    private void runInTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private void mockEmptyBacklog() {
+        when(outboxRepository.findOldestCreatedAt(NotificationOutboxMessage.Status.PENDING))
+                .thenReturn(Optional.empty());
+    }
+
+    private NotificationOutboxDispatcherImpl createDispatcher(int permitsPerSecond) {
+        RateLimiter rateLimiter = RateLimiter.of(
+                "test-limiter",
+                RateLimiterConfig.custom()
+                        .limitForPeriod(permitsPerSecond)
+                        .limitRefreshPeriod(Duration.ofSeconds(1))
+                        .timeoutDuration(Duration.ZERO)
+                        .build()
+        );
+        return new NotificationOutboxDispatcherImpl(
+                outboxRepository,
+                telegramClient,
+                new TelegramDigestPacker(MAX_DIGEST_LENGTH),
+                rateLimiter,
+                schedulerLeaseService,
+                transactionTemplate,
+                clock,
+                meterRegistry,
+                BATCH_SIZE,
+                MAX_ATTEMPTS,
+                RETRY_DELAY_SECONDS,
+                CLAIM_TIMEOUT_SECONDS,
+                RETENTION_DAYS,
+                PRUNE_BATCH_SIZE
+        );
+    }
+
+    private NotificationOutboxMessage createOutboxMessage(Long id, int attempts) {
+        NotificationOutboxMessage message = new NotificationOutboxMessage();
+        message.setId(id);
+        message.setType(NotificationType.NEW_RENTAL_CREATED);
+        message.setMessage(TELEGRAM_MESSAGE_TEST);
+        message.setAttempts(attempts);
+        message.setCreatedAt(CREATED_AT);
+        message.setAvailableAt(CREATED_AT);
+        return message;
+    }
+}
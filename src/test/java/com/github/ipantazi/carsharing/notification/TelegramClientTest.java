@@ -3,6 +3,7 @@ package com.github.ipantazi.carsharing.notification;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.ESCAPED_MESSAGE_TEST;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.TELEGRAM_BOT_TOKEN_TEST;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.TELEGRAM_CHAT_ID_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -14,10 +15,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.github.ipantazi.carsharing.exception.TelegramDeliveryException;
 import com.github.ipantazi.carsharing.notification.dto.TelegramMessageRequest;
 import com.github.ipantazi.carsharing.notification.impl.TelegramClientImpl;
-import io.github.resilience4j.ratelimiter.RateLimiter;
-import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,7 +26,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
 @ExtendWith(MockitoExtension.class)
@@ -55,20 +60,10 @@ public class TelegramClientTest {
         when(webClientBuilder.baseUrl(anyString())).thenReturn(webClientBuilder);
         when(webClientBuilder.build()).thenReturn(webClient);
 
-        RateLimiter testRateLimiter = RateLimiter.of(
-                "test-limiter",
-                RateLimiterConfig.custom()
-                        .limitForPeriod(100)
-                        .limitRefreshPeriod(Duration.ofSeconds(1))
-                        .timeoutDuration(Duration.ZERO)
-                        .build()
-        );
-
         telegramClient = new TelegramClientImpl(
                 TELEGRAM_BOT_TOKEN_TEST,
                 TELEGRAM_CHAT_ID_TEST,
-                webClientBuilder,
-                testRateLimiter
+                webClientBuilder
         );
     }
 
@@ -99,6 +94,67 @@ public class TelegramClientTest {
         verify(responseSpec, times(1)).toBodilessEntity();
     }
 
+    @Test
+    @DisplayName("Should surface retry_after when Telegram answers 429")
+    public void sendMessage_TooManyRequests_ThrowsWithRetryAfter() {
+        // Given
+        WebClientResponseException tooManyRequests = WebClientResponseException.create(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                HttpHeaders.EMPTY,
+                "{\"ok\":false,\"error_code\":429,\"parameters\":{\"retry_after\":17}}"
+                        .getBytes(StandardCharsets.UTF_8),
+                StandardCharsets.UTF_8
+        );
+        mockPostChain(Mono.error(tooManyRequests));
+
+        // When & Then
+        assertThatThrownBy(() -> telegramClient.sendMessage(ESCAPED_MESSAGE_TEST))
+                .isInstanceOf(TelegramDeliveryException.class)
+                .satisfies(ex -> assertThat(((TelegramDeliveryException) ex).getRetryAfter())
+                        .contains(Duration.ofSeconds(17)));
+    }
+
+    @Test
+    @DisplayName("Should fall back to default backoff when Retry-After header is empty")
+    public void sendMessage_TooManyRequestsEmptyRetryAfter_ThrowsWithoutRetryAfter() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.RETRY_AFTER, "");
+        mockPostChain(Mono.error(WebClientResponseException.create(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                headers,
+                new byte[0],
+                StandardCharsets.UTF_8
+        )));
+
+        // When & Then
+        assertThatThrownBy(() -> telegramClient.sendMessage(ESCAPED_MESSAGE_TEST))
+                .isInstanceOf(TelegramDeliveryException.class)
+                .satisfies(ex -> assertThat(((TelegramDeliveryException) ex).getRetryAfter())
+                        .isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should surface delivery failure instead of dropping the message")
+    public void sendMessage_ServerError_ThrowsWithoutRetryAfter() {
+        // Given
+        mockPostChain(Mono.error(WebClientResponseException.create(
+                HttpStatus.BAD_GATEWAY.value(),
+                "Bad Gateway",
+                HttpHeaders.EMPTY,
+                new byte[0],
+                StandardCharsets.UTF_8
+        )));
+
+        // When & Then
+        assertThatThrownBy(() -> telegramClient.sendMessage(ESCAPED_MESSAGE_TEST))
+                .isInstanceOf(TelegramDeliveryException.class)
+                .satisfies(ex -> assertThat(((TelegramDeliveryException) ex).getRetryAfter())
+                        .isEmpty());
+    }
+
     @Test
     @DisplayName("Should not send message if text is null")
     public void sendMessage_NullText_NotSendMessage() {
@@ -132,15 +188,11 @@ public class TelegramClientTest {
     @Test
     @DisplayName("Should not send message if telegram bot token is null")
     public void sendMessage_NullTelegramBotToken_ThrowException() {
-        // Given
-        RateLimiter limiter = RateLimiter.ofDefaults("test");
-
         // When & Then
         assertThatThrownBy(() -> new TelegramClientImpl(
                 null,
                 TELEGRAM_CHAT_ID_TEST,
-                webClientBuilder,
-                limiter
+                webClientBuilder
         ))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Telegram bot token cannot be null or blank.");
@@ -151,15 +203,11 @@ public class TelegramClientTest {
     @Test
     @DisplayName("Should not send message if telegram chat id is null")
     public void sendMessage_NullTelegramChatId_ThrowException() {
-        // Given
-        RateLimiter limiter = RateLimiter.ofDefaults("test");
-
         // When & Then
         assertThatThrownBy(() -> new TelegramClientImpl(
                 TELEGRAM_BOT_TOKEN_TEST,
                 null,
-                webClientBuilder,
-                limiter
+                webClientBuilder
         ))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Telegram chat id cannot be null or blank.");
@@ -170,15 +218,11 @@ public class TelegramClientTest {
     @Test
     @DisplayName("Should not send message if telegram bot token is blank")
     public void sendMessage_BlankTelegramBotToken_ThrowException() {
-        // Given
-        RateLimiter limiter = RateLimiter.ofDefaults("test");
-
         // When & Then
         assertThatThrownBy(() -> new TelegramClientImpl(
                 "   ",
                 TELEGRAM_CHAT_ID_TEST,
-                webClientBuilder,
-                limiter
+                webClientBuilder
         ))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Telegram bot token cannot be null or blank.");
@@ -189,19 +233,24 @@ public class TelegramClientTest {
     @Test
     @DisplayName("Should not send message if telegram chat id is blank")
     public void sendMessage_BlankTelegramChatId_ThrowException() {
-        // Given
-        RateLimiter limiter = RateLimiter.ofDefaults("test");
-
         // When & Then
         assertThatThrownBy(() -> new TelegramClientImpl(
                 TELEGRAM_BOT_TOKEN_TEST,
                 "   ",
-                webClientBuilder,
-                limiter
+                webClientBuilder
         ))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Telegram chat id cannot be null or blank.");
 
         verifyNoInteractions(webClient);
     }
+
+    private void mockPostChain(Mono<ResponseEntity<Void>> response) {
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(any(TelegramMessageRequest.class)))
+                .thenAnswer(invocation -> requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toBodilessEntity()).thenReturn(response);
+    }
 }
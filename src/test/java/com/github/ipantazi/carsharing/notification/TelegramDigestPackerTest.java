@@ -0,0 +1,147 @@
+package com.github.ipantazi.carsharing.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.ipantazi.carsharing.model.NotificationOutboxMessage;
+import com.github.ipantazi.carsharing.notification.dto.NotificationDigest;
+import com.github.ipantazi.carsharing.notification.impl.TelegramDigestPacker;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TelegramDigestPackerTest {
+    private static final int MAX_LENGTH = 4096;
+    private static final String SEPARATOR = "\n\n";
+
+    private final TelegramDigestPacker packer = new TelegramDigestPacker(MAX_LENGTH);
+
+    @Test
+    @DisplayName("Should group messages by type, keeping the order of first appearance")
+    void pack_MixedTypes_GroupsByType() {
+        // Given
+        List<NotificationOutboxMessage> messages = List.of(
+                createMessage(1L, NotificationType.OVERDUE_RENTAL, "overdue 1"),
+                createMessage(2L, NotificationType.PAYMENT_SUCCESSFUL, "payment 1"),
+                createMessage(3L, NotificationType.OVERDUE_RENTAL, "overdue 2"),
+                createMessage(4L, null, "default")
+        );
+
+        // When
+        List<NotificationDigest> digests = packer.pack(messages);
+
+        // Then
+        assertThat(digests).extracting(NotificationDigest::type).containsExactly(
+                NotificationType.OVERDUE_RENTAL,
+                NotificationType.PAYMENT_SUCCESSFUL,
+                null
+        );
+        assertThat(digests.get(0).messageIds()).containsExactly(1L, 3L);
+        assertThat(digests.get(0).text()).isEqualTo("overdue 1" + SEPARATOR + "overdue 2");
+        assertThat(digests.get(1).text()).isEqualTo("payment 1");
+        assertThat(digests.get(2).text()).isEqualTo("default");
+    }
+
+    @Test
+    @DisplayName("Should never exceed the Telegram message length limit")
+    void pack_ManyMessages_SplitsAtLimit() {
+        // Given
+        String body = "x".repeat(300);
+        List<NotificationOutboxMessage> messages = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            messages.add(createMessage(id, NotificationType.OVERDUE_RENTAL, body));
+        }
+        int perDigest = (MAX_LENGTH + SEPARATOR.length()) / (body.length() + SEPARATOR.length());
+
+        // When
+        List<NotificationDigest> digests = packer.pack(messages);
+
+        // Then
+        assertThat(digests).allSatisfy(digest ->
+                assertThat(digest.text().length()).isLessThanOrEqualTo(MAX_LENGTH));
+        assertThat(digests.get(0).messages()).hasSize(perDigest);
+        assertThat(digests.stream().mapToInt(digest -> digest.messages().size()).sum())
+                .isEqualTo(messages.size());
+        assertThat(digests).hasSize((messages.size() + perDigest - 1) / perDigest);
+    }
+
+    @Test
+    @DisplayName("Should truncate a single message that is longer than the limit")
+    void pack_OversizedMessage_Truncates() {
+        // Given
+        NotificationOutboxMessage message = createMessage(
+                1L,
+                NotificationType.NEW_RENTAL_CREATED,
+                "y".repeat(MAX_LENGTH + 100)
+        );
+
+        // When
+        List<NotificationDigest> digests = packer.pack(List.of(message));
+
+        // Then
+        assertThat(digests).hasSize(1);
+        assertThat(digests.get(0).text()).hasSize(MAX_LENGTH).endsWith("…");
+    }
+
+    @Test
+    @DisplayName("Should close HTML tags left open by truncation")
+    void pack_OversizedMessageWithTags_KeepsTagsBalanced() {
+        // Given
+        TelegramDigestPacker smallPacker = new TelegramDigestPacker(20);
+        NotificationOutboxMessage message = createMessage(
+                1L,
+                NotificationType.OVERDUE_RENTAL,
+                "<b>Overdue rental number 42</b>"
+        );
+
+        // When
+        List<NotificationDigest> digests = smallPacker.pack(List.of(message));
+
+        // Then
+        assertThat(digests.get(0).text()).isEqualTo("<b>Overdue rent…</b>");
+    }
+
+    @Test
+    @DisplayName("Should not cut an HTML entity in half")
+    void pack_OversizedMessageWithEntity_KeepsEntityWhole() {
+        // Given
+        TelegramDigestPacker smallPacker = new TelegramDigestPacker(9);
+        NotificationOutboxMessage message = createMessage(
+                1L,
+                NotificationType.NEW_RENTAL_CREATED,
+                "Tom &amp; Jerry rented car 42"
+        );
+
+        // When
+        List<NotificationDigest> digests = smallPacker.pack(List.of(message));
+
+        // Then
+        assertThat(digests.get(0).text()).isEqualTo("Tom …");
+    }
+
+    @Test
+    @DisplayName("Should not split a surrogate pair")
+    void pack_OversizedMessageWithEmoji_KeepsSurrogatePairWhole() {
+        // Given
+        TelegramDigestPacker smallPacker = new TelegramDigestPacker(4);
+        NotificationOutboxMessage message = createMessage(
+                1L,
+                NotificationType.PAYMENT_SUCCESSFUL,
+                "ab" + Character.toString(0x1F697) + "c".repeat(10)
+        );
+
+        // When
+        List<NotificationDigest> digests = smallPacker.pack(List.of(message));
+
+        // Then
+        assertThat(digests.get(0).text()).isEqualTo("ab…");
+    }
+
+    private NotificationOutboxMessage createMessage(Long id, NotificationType type, String text) {
+        NotificationOutboxMessage message = new NotificationOutboxMessage();
+        message.setId(id);
+        message.setType(type);
+        message.setMessage(text);
+        return message;
+    }
+}
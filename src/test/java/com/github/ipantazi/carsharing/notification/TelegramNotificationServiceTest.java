@@ -2,45 +2,56 @@ package com.github.ipantazi.carsharing.notification;
 
 import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_PAYMENT_WITH_ID_101;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_RENTAL_ID;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.FIXED_INSTANT;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.TELEGRAM_MESSAGE_TEST;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestNewRentalPayload;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestOverdueRentalPayload;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestPaymentPayload;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.github.ipantazi.carsharing.model.NotificationOutboxMessage;
 import com.github.ipantazi.carsharing.notification.dto.NewRentalPayload;
 import com.github.ipantazi.carsharing.notification.dto.OverdueRentalPayload;
 import com.github.ipantazi.carsharing.notification.dto.PaymentPayload;
 import com.github.ipantazi.carsharing.notification.impl.TelegramNotificationService;
+import com.github.ipantazi.carsharing.repository.notification.NotificationOutboxRepository;
+import java.time.Clock;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 public class TelegramNotificationServiceTest {
     @Mock
-    private TelegramClient telegramClient;
+    private NotificationOutboxRepository outboxRepository;
 
     @Mock
     private NotificationMessageBuilder messageBuilder;
 
+    @Mock
+    private Clock clock;
+
     @InjectMocks
     private TelegramNotificationService notificationService;
 
     @Test
-    @DisplayName("Should send message to telegram with type NEW_RENTAL_CREATED")
-    public void sendMessage_NewRentalCreated_BuildAndSend() {
+    @DisplayName("Should enqueue message with type NEW_RENTAL_CREATED in the outbox")
+    public void sendMessage_NewRentalCreated_BuildAndEnqueue() {
         // Given
         NotificationType type = NotificationType.NEW_RENTAL_CREATED;
         NewRentalPayload newRentalPayload = createTestNewRentalPayload(EXISTING_RENTAL_ID);
 
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
         when(messageBuilder.buildMessage(type, newRentalPayload)).thenReturn(TELEGRAM_MESSAGE_TEST);
 
         // When
@@ -48,18 +59,19 @@ public class TelegramNotificationServiceTest {
 
         // Then
         verify(messageBuilder, times(1)).buildMessage(type, newRentalPayload);
-        verify(telegramClient, times(1)).sendMessage(TELEGRAM_MESSAGE_TEST);
-        verifyNoMoreInteractions(messageBuilder, telegramClient);
+        assertOutboxMessage(type);
+        verifyNoMoreInteractions(messageBuilder, outboxRepository);
     }
 
     @Test
-    @DisplayName("Should send message to telegram with type OVERDUE_RENTAL")
-    public void sendMessage_OverdueRental_BuildAndSend() {
+    @DisplayName("Should enqueue message with type OVERDUE_RENTAL in the outbox")
+    public void sendMessage_OverdueRental_BuildAndEnqueue() {
         // Given
         NotificationType type = NotificationType.OVERDUE_RENTAL;
         OverdueRentalPayload overdueRentalPayload = createTestOverdueRentalPayload(
                 EXISTING_RENTAL_ID);
 
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
         when(messageBuilder.buildMessage(type, overdueRentalPayload))
                 .thenReturn(TELEGRAM_MESSAGE_TEST);
 
@@ -68,17 +80,18 @@ public class TelegramNotificationServiceTest {
 
         // Then
         verify(messageBuilder, times(1)).buildMessage(type, overdueRentalPayload);
-        verify(telegramClient, times(1)).sendMessage(TELEGRAM_MESSAGE_TEST);
-        verifyNoMoreInteractions(messageBuilder, telegramClient);
+        assertOutboxMessage(type);
+        verifyNoMoreInteractions(messageBuilder, outboxRepository);
     }
 
     @Test
-    @DisplayName("Should send message to telegram with type PAYMENT_SUCCESSFUL")
-    public void sendMessage_PaymentSuccessful_BuildAndSend() {
+    @DisplayName("Should enqueue message with type PAYMENT_SUCCESSFUL in the outbox")
+    public void sendMessage_PaymentSuccessful_BuildAndEnqueue() {
         // Given
         NotificationType type = NotificationType.PAYMENT_SUCCESSFUL;
         PaymentPayload paymentPayload = createTestPaymentPayload(EXISTING_PAYMENT_WITH_ID_101);
 
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
         when(messageBuilder.buildMessage(type, paymentPayload)).thenReturn(TELEGRAM_MESSAGE_TEST);
 
         // When
@@ -86,19 +99,64 @@ public class TelegramNotificationServiceTest {
 
         // Then
         verify(messageBuilder, times(1)).buildMessage(type, paymentPayload);
-        verify(telegramClient, times(1)).sendMessage(TELEGRAM_MESSAGE_TEST);
-        verifyNoMoreInteractions(messageBuilder, telegramClient);
+        assertOutboxMessage(type);
+        verifyNoMoreInteractions(messageBuilder, outboxRepository);
+    }
+
+    @Test
+    @DisplayName("Should hold message for its type's digest window")
+    public void sendMessage_OverdueWindowConfigured_DelaysAvailability() {
+        // Given
+        long windowSeconds = 60L;
+        NotificationType type = NotificationType.OVERDUE_RENTAL;
+        OverdueRentalPayload overdueRentalPayload = createTestOverdueRentalPayload(
+                EXISTING_RENTAL_ID);
+        ReflectionTestUtils.setField(
+                notificationService,
+                "overdueRentalWindowSeconds",
+                windowSeconds
+        );
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
+        when(messageBuilder.buildMessage(type, overdueRentalPayload))
+                .thenReturn(TELEGRAM_MESSAGE_TEST);
+
+        // When
+        notificationService.sendMessage(type, overdueRentalPayload);
+
+        // Then
+        ArgumentCaptor<NotificationOutboxMessage> captor =
+                ArgumentCaptor.forClass(NotificationOutboxMessage.class);
+        verify(outboxRepository, times(1)).save(captor.capture());
+        assertThat(captor.getValue().getCreatedAt()).isEqualTo(FIXED_INSTANT);
+        assertThat(captor.getValue().getAvailableAt())
+                .isEqualTo(FIXED_INSTANT.plusSeconds(windowSeconds));
     }
 
     @Test
-    @DisplayName("Should call TelegramClient directly if no type is provided")
-    public void sendToDefault_NoTypeProvided_CallTelegramClientDirectly() {
+    @DisplayName("Should enqueue untyped message if no type is provided")
+    public void sendToDefault_NoTypeProvided_EnqueuesMessage() {
+        // Given
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
+
         // When
         notificationService.sendToDefault(TELEGRAM_MESSAGE_TEST);
 
         // Then
-        verify(telegramClient, times(1)).sendMessage(TELEGRAM_MESSAGE_TEST);
-        verifyNoMoreInteractions(telegramClient);
+        assertOutboxMessage(null);
+        verifyNoMoreInteractions(outboxRepository);
         verifyNoInteractions(messageBuilder);
     }
+
+    private void assertOutboxMessage(NotificationType type) {
+        ArgumentCaptor<NotificationOutboxMessage> captor =
+                ArgumentCaptor.forClass(NotificationOutboxMessage.class);
+        verify(outboxRepository, times(1)).save(captor.capture());
+        NotificationOutboxMessage message = captor.getValue();
+        assertThat(message.getType()).isEqualTo(type);
+        assertThat(message.getMessage()).isEqualTo(TELEGRAM_MESSAGE_TEST);
+        assertThat(message.getStatus()).isEqualTo(NotificationOutboxMessage.Status.PENDING);
+        assertThat(message.getAttempts()).isZero();
+        assertThat(message.getCreatedAt()).isEqualTo(FIXED_INSTANT);
+        assertThat(message.getAvailableAt()).isEqualTo(FIXED_INSTANT);
+    }
 }
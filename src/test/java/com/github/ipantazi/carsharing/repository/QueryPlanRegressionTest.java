@@ -0,0 +1,290 @@
+package com.github.ipantazi.carsharing.repository;
+
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_CAR_ID;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_USER_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.ipantazi.carsharing.config.BaseJpaIntegrationTest;
+import com.github.ipantazi.carsharing.model.Payment;
+import com.github.ipantazi.carsharing.model.Rental;
+import com.github.ipantazi.carsharing.repository.payment.PaymentRepository;
+import com.github.ipantazi.carsharing.repository.rental.IsActiveSpecificationProvider;
+import com.github.ipantazi.carsharing.repository.rental.RentalRepository;
+import com.github.ipantazi.carsharing.repository.rental.UserIdSpecificationProvider;
+import com.github.ipantazi.carsharing.util.repository.SqlStatementRecorder;
+import com.github.ipantazi.carsharing.util.repository.SqlStatementRecorder.RecordedStatement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+@Sql(scripts = {
+        "classpath:database/payments/clear-all-payments.sql",
+        "classpath:database/rentals/clear-all-rentals.sql",
+        "classpath:database/cars/clear-all-cars.sql",
+        "classpath:database/users/clear-all-users.sql",
+        "classpath:database/users/insert-test-users.sql",
+        "classpath:database/cars/insert-test-cars.sql",
+        "classpath:database/explain/insert-explain-dataset.sql"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = {
+        "classpath:database/payments/clear-all-payments.sql",
+        "classpath:database/rentals/clear-all-rentals.sql",
+        "classpath:database/cars/clear-all-cars.sql",
+        "classpath:database/users/clear-all-users.sql"
+}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+@Import(QueryPlanRegressionTest.SqlRecorderTestConfig.class)
+public class QueryPlanRegressionTest extends BaseJpaIntegrationTest {
+    private static final String FULL_SCAN = "ALL";
+    private static final String FILESORT = "Using filesort";
+    private static final String PRIMARY_KEY = "PRIMARY";
+    private static final LocalDate TODAY = LocalDate.parse("2025-01-07");
+    private static final LocalDate OVERDUE_CUTOFF = LocalDate.parse("2025-01-06");
+    private static final Instant SESSION_CUTOFF = Instant.parse("2025-01-06T00:00:00Z");
+    private static final Long EXPLAIN_RENTAL_ID = 1001L;
+    private static final int PAGE_SIZE = 500;
+    private static final int KEYSET_PAGE_SIZE = 10;
+    private static final Sort KEYSET_SORT = Sort.by(
+            Sort.Order.desc("rentalDate"),
+            Sort.Order.desc("id")
+    );
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("lockActiveRentalsForUpdateByCarId() uses index on car and return date.")
+    public void lockActiveRentalsForUpdateByCarId_UsesIndex() {
+        // When
+        List<Map<String, Object>> plan = explain(() ->
+                rentalRepository.lockActiveRentalsForUpdateByCarId(EXISTING_CAR_ID));
+
+        // Then
+        assertUsesIndex(plan, "idx_rentals_car_id_actual_return_date");
+    }
+
+    @Test
+    @DisplayName("findOverdueRentalsAfter() uses index on return dates, not a primary key scan.")
+    public void findOverdueRentalsAfter_UsesIndex() {
+        // When
+        List<Map<String, Object>> plan = explain(() -> rentalRepository.findOverdueRentalsAfter(
+                TODAY, OVERDUE_CUTOFF, 0L, PageRequest.of(0, PAGE_SIZE)));
+
+        // Then
+        assertUsesIndex(plan, "idx_rentals_actual_return_date_return_date");
+    }
+
+    @Test
+    @DisplayName("findBalancesAfter() walks the primary key in order and sums via payments index.")
+    public void findBalancesAfter_UsesIndex() {
+        // When
+        List<Map<String, Object>> plan = explain(() -> rentalRepository.findBalancesAfter(
+                Payment.Status.PAID, 0L, PageRequest.of(0, PAGE_SIZE)));
+
+        // Then
+        assertUsesIndex(plan, PRIMARY_KEY, "idx_payments_rental_id_status_amount");
+        assertNoFilesort(plan);
+    }
+
+    @Test
+    @DisplayName("Rental search by user and active flag uses index on user and return date.")
+    public void findAll_UserAndActiveSpecification_UsesIndex() {
+        // Given
+        Specification<Rental> specification = new UserIdSpecificationProvider()
+                .getSpecification(EXISTING_USER_ID)
+                .and(new IsActiveSpecificationProvider().getSpecification(true));
+
+        // When
+        List<Map<String, Object>> plan = explain(() -> rentalRepository.findAll(
+                specification, PageRequest.of(0, KEYSET_PAGE_SIZE, Sort.by("id"))));
+
+        // Then
+        assertUsesIndex(plan, "idx_rentals_user_id_actual_return_date");
+    }
+
+    @Test
+    @DisplayName("Rental keyset first page reads the rental date index without sorting.")
+    public void findBy_KeysetFirstPage_UsesIndex() {
+        // Given
+        Specification<Rental> specification = (root, query, criteriaBuilder) -> null;
+
+        // When
+        List<Map<String, Object>> plan = explain(() ->
+                scroll(specification, ScrollPosition.keyset()));
+
+        // Then
+        assertUsesIndex(plan, "idx_rentals_rental_date_id");
+        assertNoFilesort(plan);
+    }
+
+    @Test
+    @DisplayName("Rental keyset next page seeks the rental date index without sorting.")
+    public void findBy_KeysetNextPage_UsesIndex() {
+        // Given
+        Specification<Rental> specification = (root, query, criteriaBuilder) -> null;
+        ScrollPosition position = ScrollPosition.forward(Map.of(
+                "rentalDate", LocalDate.parse("2024-09-01"),
+                "id", 1500L
+        ));
+
+        // When
+        List<Map<String, Object>> plan = explain(() -> scroll(specification, position));
+
+        // Then
+        assertUsesIndex(plan, "idx_rentals_rental_date_id");
+        assertNoFilesort(plan);
+    }
+
+    @Test
+    @DisplayName("Rental keyset page filtered by user uses index on user and rental date.")
+    public void findBy_KeysetPageByUser_UsesIndex() {
+        // Given
+        Specification<Rental> specification = new UserIdSpecificationProvider()
+                .getSpecification(EXISTING_USER_ID);
+
+        // When
+        List<Map<String, Object>> plan = explain(() ->
+                scroll(specification, ScrollPosition.keyset()));
+
+        // Then
+        assertUsesIndex(plan, "idx_rentals_user_id_rental_date_id");
+        assertNoFilesort(plan);
+    }
+
+    @Test
+    @DisplayName("findPaymentsByStatus() uses index on status.")
+    public void findPaymentsByStatus_UsesIndex() {
+        // When
+        List<Map<String, Object>> plan = explain(() ->
+                paymentRepository.findPaymentsByStatus(Payment.Status.PENDING));
+
+        // Then
+        assertUsesIndex(plan, "idx_payments_status");
+    }
+
+    @Test
+    @DisplayName("Bulk session expiry uses index on status and session creation time.")
+    public void updateStatusBySessionCreatedAtBefore_UsesIndex() {
+        // When
+        List<Map<String, Object>> plan = explain(() ->
+                paymentRepository.updateStatusBySessionCreatedAtBefore(
+                        Payment.Status.PENDING, Payment.Status.EXPIRED, SESSION_CUTOFF));
+
+        // Then
+        assertUsesIndex(plan, "idx_payments_status_session_created_at");
+    }
+
+    @Test
+    @DisplayName("findPaymentBySessionId() uses unique index on session id.")
+    public void findPaymentBySessionId_UsesIndex() {
+        // When
+        List<Map<String, Object>> plan = explain(() ->
+                paymentRepository.findPaymentBySessionId("explain session 1001"));
+
+        // Then
+        assertUsesIndex(plan, "session_id");
+    }
+
+    @Test
+    @DisplayName("lockPaymentForUpdate() uses unique index on rental id and type.")
+    public void lockPaymentForUpdate_UsesIndex() {
+        // When
+        List<Map<String, Object>> plan = explain(() ->
+                paymentRepository.lockPaymentForUpdate(EXPLAIN_RENTAL_ID, Payment.Type.PAYMENT));
+
+        // Then
+        assertUsesIndex(plan, "unique_rental_id_type");
+    }
+
+    @Test
+    @DisplayName("sumAmountToPayByRentalIdAndStatus() uses covering index.")
+    public void sumAmountToPayByRentalIdAndStatus_UsesIndex() {
+        // When
+        List<Map<String, Object>> plan = explain(() ->
+                paymentRepository.sumAmountToPayByRentalIdAndStatus(
+                        EXPLAIN_RENTAL_ID, Payment.Status.PAID));
+
+        // Then
+        assertUsesIndex(plan, "idx_payments_rental_id_status_amount");
+    }
+
+    @Test
+    @DisplayName("existsByUserIdAndStatus() uses indexes on both joined tables.")
+    public void existsByUserIdAndStatus_UsesIndex() {
+        // When
+        List<Map<String, Object>> plan = explain(() ->
+                paymentRepository.existsByUserIdAndStatus(EXISTING_USER_ID, "PENDING"));
+
+        // Then
+        assertThat(plan).hasSize(2);
+    }
+
+    private void scroll(Specification<Rental> specification, ScrollPosition position) {
+        rentalRepository.findBy(specification, query -> query
+                .sortBy(KEYSET_SORT)
+                .limit(KEYSET_PAGE_SIZE)
+                .project("car")
+                .scroll(position));
+    }
+
+    private List<Map<String, Object>> explain(Runnable repositoryCall) {
+        List<RecordedStatement> statements = sqlStatementRecorder.record(repositoryCall);
+        assertThat(statements).isNotEmpty();
+
+        List<Map<String, Object>> plan = new ArrayList<>();
+        for (RecordedStatement statement : statements) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "EXPLAIN " + statement.sql(), statement.parameters().toArray());
+            assertThat(rows)
+                    .as("Query plan for:%n%s%n%s", statement.sql(), rows)
+                    .isNotEmpty()
+                    .noneMatch(row -> FULL_SCAN.equals(row.get("type")))
+                    .allMatch(row -> row.get("table") == null || row.get("key") != null);
+            plan.addAll(rows);
+        }
+        return plan;
+    }
+
+    private void assertUsesIndex(List<Map<String, Object>> plan, String... indexes) {
+        assertThat(plan)
+                .as("Query plan %s", plan)
+                .extracting(row -> row.get("key"))
+                .contains((Object[]) indexes);
+    }
+
+    private void assertNoFilesort(List<Map<String, Object>> plan) {
+        assertThat(plan)
+                .as("Query plan %s", plan)
+                .noneMatch(row -> String.valueOf(row.get("Extra")).contains(FILESORT));
+    }
+
+    @TestConfiguration
+    static class SqlRecorderTestConfig {
+        @Bean
+        static SqlStatementRecorder sqlStatementRecorder() {
+            return new SqlStatementRecorder();
+        }
+    }
+}
@@ -105,4 +105,14 @@ public class CarRepositoryTest extends BaseJpaIntegrationTest {
         // Then
         assertThat(actualDailyFeeOpt).isEmpty();
     }
+
+    @Test
+    @DisplayName("Test applyInventoryDelta() does not touch a soft-deleted car.")
+    void applyInventoryDelta_SoftDeletedCar_ReturnsZero() {
+        // When
+        int updated = carRepository.applyInventoryDelta(SAFE_DELETED_CAR_ID, -1);
+
+        // Then
+        assertThat(updated).isZero();
+    }
 }
@@ -1,21 +1,28 @@
 package com.github.ipantazi.carsharing.repository.rental;
 
 import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_CAR_ID;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_EMAIL;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_RENTAL_ID;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_USER_ID;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.NOT_EXISTING_RENTAL_ID;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.RENTAL_IGNORING_FIELDS;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.RETURN_DATE;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestRental;
 import static com.github.ipantazi.carsharing.util.assertions.TestAssertionsUtil.assertObjectsAreEqualIgnoringFields;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.github.ipantazi.carsharing.config.BaseJpaIntegrationTest;
+import com.github.ipantazi.carsharing.model.Payment;
 import com.github.ipantazi.carsharing.model.Rental;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.jdbc.Sql;
 
 @Sql(scripts = {
@@ -34,6 +41,9 @@ import org.springframework.test.context.jdbc.Sql;
 },
         executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
 public class RentalRepositoryTest extends BaseJpaIntegrationTest {
+    private static final BigDecimal RENTAL_TOTAL_COST = new BigDecimal("505.00");
+    private static final BigDecimal RENTAL_DAILY_FEE = new BigDecimal("101.00");
+
     @Autowired
     private RentalRepository rentalRepository;
 
@@ -100,4 +110,156 @@ public class RentalRepositoryTest extends BaseJpaIntegrationTest {
         // Then
         assertThat(actualRentals).isEmpty();
     }
+
+    @Test
+    @DisplayName("Test findOverdueRentalsAfter() pages by id and computes days overdue.")
+    public void findOverdueRentalsAfter_OverdueRentals_ReturnsKeysetPages() {
+        // Given
+        LocalDate today = RETURN_DATE.plusDays(2);
+        Pageable page = Pageable.ofSize(1);
+
+        // When
+        List<OverdueRentalView> firstPage = rentalRepository.findOverdueRentalsAfter(
+                today, today.plusDays(1), 0L, page);
+        List<OverdueRentalView> secondPage = rentalRepository.findOverdueRentalsAfter(
+                today, today.plusDays(1), firstPage.get(0).getRentalId(), page);
+
+        // Then
+        assertThat(firstPage).hasSize(1);
+        OverdueRentalView overdueRental = firstPage.get(0);
+        assertThat(overdueRental.getRentalId()).isEqualTo(EXISTING_RENTAL_ID);
+        assertThat(overdueRental.getEmail()).isEqualTo(EXISTING_EMAIL);
+        assertThat(overdueRental.getReturnDate()).isEqualTo(RETURN_DATE);
+        assertThat(overdueRental.getDaysOverdue()).isEqualTo(2L);
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getRentalId()).isGreaterThan(EXISTING_RENTAL_ID);
+    }
+
+    @Test
+    @DisplayName("Test findOverdueRentalsAfter() returns zero days for rentals due tomorrow.")
+    public void findOverdueRentalsAfter_DueTomorrow_ReturnsZeroDaysOverdue() {
+        // Given
+        LocalDate today = RETURN_DATE.minusDays(1);
+
+        // When
+        List<OverdueRentalView> overdueRentals = rentalRepository.findOverdueRentalsAfter(
+                today, today.plusDays(1), 0L, Pageable.ofSize(10));
+
+        // Then
+        assertThat(overdueRentals).isNotEmpty()
+                .allSatisfy(rental -> assertThat(rental.getDaysOverdue()).isZero());
+    }
+
+    @Test
+    @DisplayName("Test findOverdueRentalsAfter() keeps rentals of soft-deleted cars.")
+    @Sql(scripts = "classpath:database/cars/soft-delete-car-id101.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/cars/restoring-car-id101.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findOverdueRentalsAfter_SoftDeletedCar_ReturnsRentalWithCar() {
+        // Given
+        LocalDate today = RETURN_DATE.plusDays(2);
+
+        // When
+        List<OverdueRentalView> overdueRentals = rentalRepository.findOverdueRentalsAfter(
+                today, today.plusDays(1), 0L, Pageable.ofSize(1));
+
+        // Then
+        assertThat(overdueRentals).hasSize(1);
+        OverdueRentalView overdueRental = overdueRentals.get(0);
+        assertThat(overdueRental.getRentalId()).isEqualTo(EXISTING_RENTAL_ID);
+        assertThat(overdueRental.getCarModel()).isNotNull();
+        assertThat(overdueRental.getCarType()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Test findBalancesAfter() returns stored balance and sum of paid payments.")
+    public void findBalancesAfter_ExistingRentals_ReturnsBalances() {
+        // When
+        List<RentalBalanceView> balances = rentalRepository.findBalancesAfter(
+                Payment.Status.PAID, 0L, Pageable.ofSize(1));
+
+        // Then
+        assertThat(balances).hasSize(1);
+        RentalBalanceView balance = balances.get(0);
+        assertThat(balance.getRentalId()).isEqualTo(EXISTING_RENTAL_ID);
+        assertThat(balance.getReturnDate()).isEqualTo(RETURN_DATE);
+        assertThat(balance.getTotalCost()).isEqualByComparingTo(RENTAL_TOTAL_COST);
+        assertThat(balance.getAmountPaid()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(balance.getPaidSum()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Test findBalancesAfter() keeps rentals of soft-deleted cars.")
+    @Sql(scripts = "classpath:database/cars/soft-delete-car-id101.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/cars/restoring-car-id101.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findBalancesAfter_SoftDeletedCar_ReturnsRentalWithStoredFee() {
+        // When
+        List<RentalBalanceView> balances = rentalRepository.findBalancesAfter(
+                Payment.Status.PAID, 0L, Pageable.ofSize(1));
+
+        // Then
+        assertThat(balances).hasSize(1);
+        assertThat(balances.get(0).getRentalId()).isEqualTo(EXISTING_RENTAL_ID);
+        assertThat(balances.get(0).getDailyFee()).isEqualByComparingTo(RENTAL_DAILY_FEE);
+    }
+
+    @Test
+    @DisplayName("Test addAmountPaid() increments amount paid and rental version.")
+    public void addAmountPaid_ExistingRental_IncrementsAmountAndVersion() {
+        // Given
+        Long versionBefore = rentalRepository.findVersionsById(EXISTING_RENTAL_ID)
+                .orElseThrow()
+                .getRentalVersion();
+
+        // When
+        int updated = rentalRepository.addAmountPaid(EXISTING_RENTAL_ID, RENTAL_TOTAL_COST);
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        RentalBalanceView balance = rentalRepository.findBalancesAfter(
+                Payment.Status.PAID, 0L, Pageable.ofSize(1)).get(0);
+        assertThat(balance.getAmountPaid()).isEqualByComparingTo(RENTAL_TOTAL_COST);
+        assertThat(balance.getVersion()).isEqualTo(versionBefore + 1);
+    }
+
+    @Test
+    @DisplayName("Test findVersionsById() keeps rentals of soft-deleted cars.")
+    @Sql(scripts = "classpath:database/cars/soft-delete-car-id101.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/cars/restoring-car-id101.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findVersionsById_SoftDeletedCar_ReturnsVersions() {
+        // When
+        Optional<RentalVersionView> versions = rentalRepository.findVersionsById(
+                EXISTING_RENTAL_ID);
+
+        // Then
+        assertThat(versions).isPresent();
+        assertThat(versions.get().getRentalVersion()).isNotNull();
+        assertThat(versions.get().getUserId()).isEqualTo(EXISTING_USER_ID);
+        assertThat(versions.get().getCarVersion()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Test updateBalance() skips rental whose version has changed.")
+    public void updateBalance_StaleVersion_ReturnsZero() {
+        // Given
+        Long version = rentalRepository.findVersionsById(EXISTING_RENTAL_ID)
+                .orElseThrow()
+                .getRentalVersion();
+
+        // When
+        int updated = rentalRepository.updateBalance(
+                EXISTING_RENTAL_ID,
+                version + 1,
+                RENTAL_TOTAL_COST,
+                RENTAL_TOTAL_COST
+        );
+
+        // Then
+        assertThat(updated).isZero();
+    }
 }
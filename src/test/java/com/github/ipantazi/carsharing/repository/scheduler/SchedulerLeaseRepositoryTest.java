@@ -0,0 +1,87 @@
+package com.github.ipantazi.carsharing.repository.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.ipantazi.carsharing.config.BaseJpaIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+@Sql(scripts = "classpath:database/scheduler/clear-all-scheduler-leases.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+public class SchedulerLeaseRepositoryTest extends BaseJpaIntegrationTest {
+    private static final String LEASE_NAME = "test-job";
+    private static final String NODE_A = "node-a";
+    private static final String NODE_B = "node-b";
+    private static final long LEASE_MICROS = 60_000_000L;
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Test
+    @DisplayName("Test acquire() grants lease to a single node and bumps fencing token.")
+    public void acquire_LeaseHeld_RejectsOtherNode() {
+        // Given
+        schedulerLeaseRepository.createIfAbsent(LEASE_NAME);
+
+        // When
+        int acquiredByA = schedulerLeaseRepository.acquire(LEASE_NAME, NODE_A, LEASE_MICROS);
+        int acquiredByB = schedulerLeaseRepository.acquire(LEASE_NAME, NODE_B, LEASE_MICROS);
+
+        // Then
+        assertThat(acquiredByA).isEqualTo(1);
+        assertThat(acquiredByB).isZero();
+        assertThat(schedulerLeaseRepository.findFencingToken(LEASE_NAME, NODE_A)).contains(1L);
+        assertThat(schedulerLeaseRepository.findFencingToken(LEASE_NAME, NODE_B)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test acquire() hands expired lease to another node with a new token.")
+    public void acquire_LeaseExpired_FailsOverWithNewToken() {
+        // Given
+        schedulerLeaseRepository.createIfAbsent(LEASE_NAME);
+        schedulerLeaseRepository.acquire(LEASE_NAME, NODE_A, 0L);
+
+        // When
+        int acquiredByB = schedulerLeaseRepository.acquire(LEASE_NAME, NODE_B, LEASE_MICROS);
+
+        // Then
+        assertThat(acquiredByB).isEqualTo(1);
+        assertThat(schedulerLeaseRepository.findFencingToken(LEASE_NAME, NODE_B)).contains(2L);
+        assertThat(schedulerLeaseRepository.renew(LEASE_NAME, NODE_A, 1L, LEASE_MICROS))
+                .isZero();
+        assertThat(schedulerLeaseRepository.release(LEASE_NAME, NODE_A, 1L, 0L)).isZero();
+        assertThat(schedulerLeaseRepository.renew(LEASE_NAME, NODE_B, 2L, LEASE_MICROS))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test lockIfHeld() matches only the current owner and fencing token.")
+    public void lockIfHeld_LeaseFailedOver_RejectsStaleToken() {
+        // Given
+        schedulerLeaseRepository.createIfAbsent(LEASE_NAME);
+        schedulerLeaseRepository.acquire(LEASE_NAME, NODE_A, 0L);
+        schedulerLeaseRepository.acquire(LEASE_NAME, NODE_B, LEASE_MICROS);
+
+        // When
+        long heldByA = schedulerLeaseRepository.lockIfHeld(LEASE_NAME, NODE_A, 1L);
+        long heldByB = schedulerLeaseRepository.lockIfHeld(LEASE_NAME, NODE_B, 2L);
+
+        // Then
+        assertThat(heldByA).isZero();
+        assertThat(heldByB).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Test createIfAbsent() inserts lease row only once.")
+    public void createIfAbsent_ExistingLease_DoesNothing() {
+        // When
+        int first = schedulerLeaseRepository.createIfAbsent(LEASE_NAME);
+        int second = schedulerLeaseRepository.createIfAbsent(LEASE_NAME);
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.ipantazi.carsharing.service.car;
+
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_CAR_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.ipantazi.carsharing.config.CacheConfig;
+import com.github.ipantazi.carsharing.mapper.CarMapper;
+import com.github.ipantazi.carsharing.repository.car.CarCatalogVersion;
+import com.github.ipantazi.carsharing.repository.car.CarRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig(CarCatalogETagCacheTest.CachingConfig.class)
+public class CarCatalogETagCacheTest {
+    @MockitoBean
+    private CarRepository carRepository;
+
+    @MockitoBean
+    private CarMapper carMapper;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.CAR_PAGES_CACHE).clear();
+    }
+
+    @Test
+    @DisplayName("Test getCatalogETag() aggregates the catalog once until the pages are evicted.")
+    public void getCatalogETag_RepeatedCalls_ServedFromCache() {
+        // Given
+        CarCatalogVersion version = catalogVersion(3L, 103L, 7L);
+        when(carRepository.findCatalogVersion()).thenReturn(version);
+
+        // When
+        String first = carService.getCatalogETag();
+        String second = carService.getCatalogETag();
+
+        // Then
+        assertThat(first).isEqualTo("\"cars-3-103-7\"");
+        assertThat(second).isEqualTo(first);
+        verify(carRepository, times(1)).findCatalogVersion();
+    }
+
+    @Test
+    @DisplayName("Test getCatalogETag() is recomputed after a catalog write evicts the pages.")
+    public void getCatalogETag_AfterDelete_Recomputed() {
+        // Given
+        CarCatalogVersion before = catalogVersion(3L, 103L, 7L);
+        CarCatalogVersion after = catalogVersion(2L, 103L, 6L);
+        when(carRepository.findCatalogVersion()).thenReturn(before, after);
+        when(carRepository.existsById(EXISTING_CAR_ID)).thenReturn(true);
+        String first = carService.getCatalogETag();
+
+        // When
+        carService.delete(EXISTING_CAR_ID);
+        String second = carService.getCatalogETag();
+
+        // Then
+        assertThat(first).isEqualTo("\"cars-3-103-7\"");
+        assertThat(second).isEqualTo("\"cars-2-103-6\"");
+        verify(carRepository, times(2)).findCatalogVersion();
+    }
+
+    @Test
+    @DisplayName("Test getCatalogETag() is recomputed after a rental changes the inventory.")
+    public void getCatalogETag_AfterInventoryDecrease_Recomputed() {
+        // Given
+        CarCatalogVersion before = catalogVersion(3L, 103L, 7L);
+        CarCatalogVersion after = catalogVersion(3L, 103L, 8L);
+        when(carRepository.findCatalogVersion()).thenReturn(before, after);
+        when(carRepository.applyInventoryDelta(EXISTING_CAR_ID, -1)).thenReturn(1);
+        String first = carService.getCatalogETag();
+
+        // When
+        inventoryService.decreaseIfAvailable(EXISTING_CAR_ID, 1);
+        String second = carService.getCatalogETag();
+
+        // Then
+        assertThat(first).isEqualTo("\"cars-3-103-7\"");
+        assertThat(second).isEqualTo("\"cars-3-103-8\"");
+        verify(carRepository, times(2)).findCatalogVersion();
+    }
+
+    private CarCatalogVersion catalogVersion(long total, long maxId, long versionSum) {
+        CarCatalogVersion version = mock(CarCatalogVersion.class);
+        when(version.getTotal()).thenReturn(total);
+        when(version.getMaxId()).thenReturn(maxId);
+        when(version.getVersionSum()).thenReturn(versionSum);
+        return version;
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import({CarServiceImpl.class, InventoryServiceImpl.class})
+    static class CachingConfig {
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(
+                    CacheConfig.CARS_CACHE,
+                    CacheConfig.CAR_PAGES_CACHE
+            );
+        }
+    }
+}
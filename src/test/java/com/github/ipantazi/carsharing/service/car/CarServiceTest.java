@@ -23,6 +23,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.github.ipantazi.carsharing.config.CacheConfig;
 import com.github.ipantazi.carsharing.dto.car.CarDto;
 import com.github.ipantazi.carsharing.dto.car.CarRequestDto;
 import com.github.ipantazi.carsharing.dto.car.InventoryRequestDto;
@@ -34,6 +35,7 @@ import com.github.ipantazi.carsharing.mapper.CarMapper;
 import com.github.ipantazi.carsharing.model.Car;
 import com.github.ipantazi.carsharing.repository.car.CarRepository;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -43,6 +45,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
@@ -57,6 +62,9 @@ public class CarServiceTest {
     @Mock
     private InventoryService inventoryService;
 
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private CarServiceImpl carService;
 
@@ -194,6 +202,38 @@ public class CarServiceTest {
         verifyNoInteractions(carMapper);
     }
 
+    @Test
+    @DisplayName("Test getCarETag() method with existing car")
+    public void getCarETag_ExistingCar_ReturnsVersionedETag() {
+        // Given
+        Long version = 3L;
+        when(carRepository.findVersionById(EXISTING_CAR_ID)).thenReturn(Optional.of(version));
+
+        // When
+        Optional<String> etag = carService.getCarETag(EXISTING_CAR_ID);
+
+        // Then
+        assertThat(etag).contains("\"car-%d-%d\"".formatted(EXISTING_CAR_ID, version));
+        verify(carRepository, times(1)).findVersionById(EXISTING_CAR_ID);
+        verifyNoMoreInteractions(carRepository);
+        verifyNoInteractions(carMapper);
+    }
+
+    @Test
+    @DisplayName("Test getCarETag() method with non-existing car")
+    public void getCarETag_NonExistingCar_ReturnsEmpty() {
+        // Given
+        when(carRepository.findVersionById(NOT_EXISTING_CAR_ID)).thenReturn(Optional.empty());
+
+        // When
+        Optional<String> etag = carService.getCarETag(NOT_EXISTING_CAR_ID);
+
+        // Then
+        assertThat(etag).isEmpty();
+        verify(carRepository, times(1)).findVersionById(NOT_EXISTING_CAR_ID);
+        verifyNoMoreInteractions(carRepository);
+    }
+
     @Test
     @DisplayName("Test update() method with existing car")
     public void update_ExistingCar_ReturnsCarDto() {
@@ -444,4 +484,31 @@ public class CarServiceTest {
         verify(carRepository, times(1)).findAllById(carIds);
         verifyNoMoreInteractions(carRepository);
     }
+
+    @Test
+    @DisplayName("Test getByIds() loads only cars missing in cache")
+    void getByIds_PartiallyCached_LoadsOnlyMissingCars() {
+        // Given
+        CarDto cachedCarDto = createTestCarDto(EXISTING_CAR_ID);
+        CarDto loadedCarDto = createTestCarDto(NOT_EXISTING_CAR_ID);
+        Car loadedCar = createTestCar(loadedCarDto);
+        Cache cache = new ConcurrentMapCache(CacheConfig.CARS_CACHE);
+        cache.put(EXISTING_CAR_ID, cachedCarDto);
+        Set<Long> carIds = new LinkedHashSet<>(List.of(EXISTING_CAR_ID, NOT_EXISTING_CAR_ID));
+
+        when(cacheManager.getCache(CacheConfig.CARS_CACHE)).thenReturn(cache);
+        when(carRepository.findAllById(Set.of(NOT_EXISTING_CAR_ID)))
+                .thenReturn(List.of(loadedCar));
+        when(carMapper.toCarDto(loadedCar)).thenReturn(loadedCarDto);
+
+        // When
+        List<CarDto> actualCarDtos = carService.getByIds(carIds);
+
+        // Then
+        assertThat(actualCarDtos).containsExactly(cachedCarDto, loadedCarDto);
+        assertThat(cache.get(NOT_EXISTING_CAR_ID, CarDto.class)).isEqualTo(loadedCarDto);
+        verify(carRepository, times(1)).findAllById(Set.of(NOT_EXISTING_CAR_ID));
+        verify(carMapper, times(1)).toCarDto(loadedCar);
+        verifyNoMoreInteractions(carRepository, carMapper);
+    }
 }
@@ -172,4 +172,51 @@ public class InventoryServiceTest {
         verify(carRepository, never()).save(any());
         verifyNoInteractions(carRepository);
     }
+
+    @Test
+    @DisplayName("Test decreaseIfAvailable() applies conditional decrement without row lock.")
+    public void decreaseIfAvailable_CarAvailable_DecrementsInventory() {
+        // Given
+        when(carRepository.applyInventoryDelta(EXISTING_CAR_ID, -1)).thenReturn(1);
+
+        // When
+        inventoryService.decreaseIfAvailable(EXISTING_CAR_ID, 1);
+
+        // Then
+        verify(carRepository, times(1)).applyInventoryDelta(EXISTING_CAR_ID, -1);
+        verify(carRepository, never()).lockCarForUpdate(any());
+        verifyNoMoreInteractions(carRepository);
+    }
+
+    @Test
+    @DisplayName("Test decreaseIfAvailable() when no cars left.")
+    public void decreaseIfAvailable_NoCarsLeft_ThrowsException() {
+        // Given
+        when(carRepository.applyInventoryDelta(EXISTING_CAR_ID, -1)).thenReturn(0);
+        when(carRepository.existsById(EXISTING_CAR_ID)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> inventoryService.decreaseIfAvailable(EXISTING_CAR_ID, 1))
+                .isInstanceOf(CarNotAvailableException.class)
+                .hasMessage("Not enough cars with ID: %d".formatted(EXISTING_CAR_ID));
+        verify(carRepository, times(1)).applyInventoryDelta(EXISTING_CAR_ID, -1);
+        verify(carRepository, times(1)).existsById(EXISTING_CAR_ID);
+        verifyNoMoreInteractions(carRepository);
+    }
+
+    @Test
+    @DisplayName("Test decreaseIfAvailable() with invalid car id.")
+    public void decreaseIfAvailable_InvalidCarId_ThrowsException() {
+        // Given
+        when(carRepository.applyInventoryDelta(NOT_EXISTING_CAR_ID, -1)).thenReturn(0);
+        when(carRepository.existsById(NOT_EXISTING_CAR_ID)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> inventoryService.decreaseIfAvailable(NOT_EXISTING_CAR_ID, 1))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Car not found with id: " + NOT_EXISTING_CAR_ID);
+        verify(carRepository, times(1)).applyInventoryDelta(NOT_EXISTING_CAR_ID, -1);
+        verify(carRepository, times(1)).existsById(NOT_EXISTING_CAR_ID);
+        verifyNoMoreInteractions(carRepository);
+    }
 }
@@ -4,12 +4,14 @@ import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_EMAIL;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_ID_ANOTHER_USER;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_PAYMENT_WITH_ID_101;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_USER_ID;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.FIXED_INSTANT;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.INVALID_SESSION_ID;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.LOCAL_HOST;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.NEW_PAYMENT_ID;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.NOT_EXISTING_RENTAL_ID;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.PAYMENT_IGNORING_FIELDS;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.PAYMENT_PAGEABLE;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.SESSION;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.createNewTestPaymentResponseDto;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestPayment;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestPaymentPayload;
@@ -23,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -49,8 +52,11 @@ import com.github.ipantazi.carsharing.service.payment.stripe.StripeClient;
 import com.github.ipantazi.carsharing.service.rental.Calculator;
 import com.github.ipantazi.carsharing.service.rental.RentalService;
 import com.github.ipantazi.carsharing.service.user.UserService;
+import com.stripe.exception.ApiConnectionException;
 import com.stripe.exception.StripeException;
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -64,10 +70,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @ExtendWith(MockitoExtension.class)
 public class PaymentServiceTest {
+    private static final String RESERVATION_PREFIX = "reserved_";
+    private static final long RESERVATION_TIMEOUT_SECONDS = 300L;
+
     @Mock
     private PaymentRepository paymentRepository;
     @Mock
@@ -86,6 +98,10 @@ public class PaymentServiceTest {
     private NotificationMapper notificationMapper;
     @Mock
     private UserService userService;
+    @Mock
+    private Clock clock;
+    @Mock
+    private TransactionTemplate transactionTemplate;
     @InjectMocks
     private PaymentServiceImpl paymentService;
 
@@ -212,6 +228,7 @@ public class PaymentServiceTest {
     public void createPaymentSession_PaymentDoesNotExist_ReturnsPaymentResponseDto()
             throws StripeException {
         // Given
+        runInTransaction();
         final UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
         PaymentResponseDto expectedPaymentResponseDto = createNewTestPaymentResponseDto(
                 NEW_PAYMENT_ID,
@@ -243,6 +260,16 @@ public class PaymentServiceTest {
                 eq(paymentRequestDto)
         )).thenReturn(stripeSessionMetadataDto);
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+        when(paymentRepository.attachSession(
+                startsWith(RESERVATION_PREFIX),
+                eq(Payment.Status.PENDING),
+                eq(stripeSessionMetadataDto.sessionId()),
+                eq(stripeSessionMetadataDto.sessionUrl()),
+                eq(stripeSessionMetadataDto.amountToPay()),
+                any()
+        )).thenReturn(1);
+        when(paymentRepository.findPaymentBySessionId(stripeSessionMetadataDto.sessionId()))
+                .thenReturn(Optional.of(payment));
         when(paymentMapper.toPaymentResponseDto(any(Payment.class)))
                 .thenReturn(expectedPaymentResponseDto);
 
@@ -277,6 +304,16 @@ public class PaymentServiceTest {
                         eq(paymentRequestDto)
                 );
         verify(paymentRepository, times(1)).save(any(Payment.class));
+        verify(paymentRepository, times(1)).attachSession(
+                startsWith(RESERVATION_PREFIX),
+                eq(Payment.Status.PENDING),
+                eq(stripeSessionMetadataDto.sessionId()),
+                eq(stripeSessionMetadataDto.sessionUrl()),
+                eq(stripeSessionMetadataDto.amountToPay()),
+                any()
+        );
+        verify(paymentRepository, times(1))
+                .findPaymentBySessionId(stripeSessionMetadataDto.sessionId());
         verify(paymentMapper, times(1)).toPaymentResponseDto(any(Payment.class));
         verifyNoMoreInteractions(rentalService, paymentRepository, calculator, stripeClient);
     }
@@ -286,6 +323,7 @@ public class PaymentServiceTest {
     public void createPaymentSession_PaymentIsExpired_ReturnsPaymentResponseDto()
             throws StripeException {
         // Given
+        runInTransaction();
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
         PaymentResponseDto expectedPaymentResponseDto = createTestPaymentResponseDto(
                 EXISTING_PAYMENT_WITH_ID_101,
@@ -317,6 +355,16 @@ public class PaymentServiceTest {
                 eq(paymentRequestDto)
         )).thenReturn(stripeSessionMetadataDto);
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+        when(paymentRepository.attachSession(
+                startsWith(RESERVATION_PREFIX),
+                eq(Payment.Status.PENDING),
+                eq(stripeSessionMetadataDto.sessionId()),
+                eq(stripeSessionMetadataDto.sessionUrl()),
+                eq(stripeSessionMetadataDto.amountToPay()),
+                any()
+        )).thenReturn(1);
+        when(paymentRepository.findPaymentBySessionId(stripeSessionMetadataDto.sessionId()))
+                .thenReturn(Optional.of(payment));
         when(paymentMapper.toPaymentResponseDto(any(Payment.class)))
                 .thenReturn(expectedPaymentResponseDto);
 
@@ -352,6 +400,16 @@ public class PaymentServiceTest {
                         eq(paymentRequestDto)
                 );
         verify(paymentRepository, times(1)).save(any(Payment.class));
+        verify(paymentRepository, times(1)).attachSession(
+                startsWith(RESERVATION_PREFIX),
+                eq(Payment.Status.PENDING),
+                eq(stripeSessionMetadataDto.sessionId()),
+                eq(stripeSessionMetadataDto.sessionUrl()),
+                eq(stripeSessionMetadataDto.amountToPay()),
+                any()
+        );
+        verify(paymentRepository, times(1))
+                .findPaymentBySessionId(stripeSessionMetadataDto.sessionId());
         verify(paymentMapper, times(1)).toPaymentResponseDto(any(Payment.class));
         verifyNoMoreInteractions(rentalService, paymentRepository, calculator, stripeClient);
     }
@@ -360,6 +418,7 @@ public class PaymentServiceTest {
     @DisplayName("Test createPaymentSession() method when payment is already paid")
     public void createPaymentSession_PaymentIsPaid_ThrowsException() {
         // Given
+        runInTransaction();
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
         Payment payment = createTestPayment(
                 EXISTING_PAYMENT_WITH_ID_101,
@@ -403,6 +462,7 @@ public class PaymentServiceTest {
     @DisplayName("Test createPaymentSession() method when payment is already pending")
     public void createPaymentSession_PaymentIsPending_ThrowsException() {
         // Given
+        runInTransaction();
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
         Payment payment = createTestPayment(
                 EXISTING_PAYMENT_WITH_ID_101,
@@ -450,6 +510,7 @@ public class PaymentServiceTest {
     @DisplayName("Test createPaymentSession() method when rental id is not found")
     public void createPaymentSession_RentalIdIsNotFound_ThrowsException() {
         // Given
+        runInTransaction();
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
         PaymentRequestDto paymentRequestDto = new PaymentRequestDto(
                 NOT_EXISTING_RENTAL_ID,
@@ -484,75 +545,345 @@ public class PaymentServiceTest {
     @Test
     @DisplayName("""
             Test createPaymentSession() method when concurrency issue occurs
-             and no payment exists yet. Should return updated payment from the database.
+             and no payment exists yet. Should report that the session is being created.
             """)
-    public void createPaymentSession_ConcurrencyIssue_ReturnsUpdatedPayment()
+    public void createPaymentSession_ConcurrencyIssue_ThrowsException() {
+        // Given
+        runInTransaction();
+        Payment payment = createTestPayment(EXISTING_PAYMENT_WITH_ID_101, Payment.Status.PENDING);
+        Rental rental = createTestRental(EXISTING_USER_ID, null);
+
+        when(rentalService.getRentalEntityByIdAndUserId(
+                EXISTING_USER_ID,
+                payment.getRentalId()
+        )).thenReturn(rental);
+        when(paymentRepository.lockPaymentForUpdate(payment.getRentalId(), payment.getType()))
+                .thenReturn(Optional.empty());
+        when(calculator.calculateAmountToPayByType(rental, payment.getType()))
+                .thenReturn(payment.getAmountToPay());
+        when(paymentRepository.save(any(Payment.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
+        PaymentRequestDto paymentRequestDto = new PaymentRequestDto(
+                payment.getRentalId(),
+                String.valueOf(payment.getType())
+        );
+
+        // When & Then
+        assertThatThrownBy(() -> paymentService.createPaymentSession(
+                EXISTING_USER_ID,
+                paymentRequestDto,
+                uriBuilder
+        ))
+                .isInstanceOf(PendingPaymentsExistException.class)
+                .hasMessage("A payment session for rental: %d and type: %s is being created. "
+                        .formatted(payment.getRentalId(), payment.getType())
+                        + "Please try again in a moment.");
+
+        verify(rentalService, times(1)).getRentalEntityByIdAndUserId(
+                EXISTING_USER_ID,
+                payment.getRentalId()
+        );
+        verify(paymentRepository, times(1))
+                .lockPaymentForUpdate(payment.getRentalId(), payment.getType());
+        verify(calculator, times(1)).calculateAmountToPayByType(rental, payment.getType());
+        verify(paymentRepository, times(1)).save(any(Payment.class));
+        verifyNoMoreInteractions(rentalService, paymentRepository, calculator);
+        verifyNoInteractions(stripeClient, paymentMapper);
+    }
+
+    @Test
+    @DisplayName("Test createPaymentSession() expires its Stripe session when the row moved on")
+    public void createPaymentSession_ReservationReplaced_ExpiresOrphanedSession()
             throws StripeException {
         // Given
+        runInTransaction();
+        Payment payment = createTestPayment(EXISTING_PAYMENT_WITH_ID_101, Payment.Status.EXPIRED);
+        Rental rental = createTestRental(EXISTING_USER_ID, null);
+        Payment currentPayment = createTestPayment(
+                EXISTING_PAYMENT_WITH_ID_101,
+                Payment.Status.PENDING
+        );
+        PaymentResponseDto expectedPaymentDto = createTestPaymentResponseDto(
+                EXISTING_PAYMENT_WITH_ID_101,
+                Payment.Status.PENDING
+        );
+        StripeSessionMetadataDto orphanedSession = new StripeSessionMetadataDto(
+                INVALID_SESSION_ID,
+                payment.getRentalId(),
+                payment.getType(),
+                payment.getAmountToPay(),
+                LOCAL_HOST
+        );
+
+        when(rentalService.getRentalEntityByIdAndUserId(
+                EXISTING_USER_ID,
+                payment.getRentalId()
+        )).thenReturn(rental);
+        when(paymentRepository.lockPaymentForUpdate(payment.getRentalId(), payment.getType()))
+                .thenReturn(Optional.of(payment));
+        when(calculator.calculateAmountToPayByType(rental, payment.getType()))
+                .thenReturn(payment.getAmountToPay());
+        when(paymentRepository.save(payment)).thenReturn(payment);
+        PaymentRequestDto paymentRequestDto = new PaymentRequestDto(
+                payment.getRentalId(),
+                String.valueOf(payment.getType())
+        );
+        when(stripeClient.createSession(
+                any(BigDecimal.class),
+                anyString(),
+                anyString(),
+                eq(paymentRequestDto)
+        )).thenReturn(orphanedSession);
+        when(paymentRepository.attachSession(
+                startsWith(RESERVATION_PREFIX),
+                eq(Payment.Status.PENDING),
+                eq(INVALID_SESSION_ID),
+                anyString(),
+                any(),
+                any()
+        )).thenReturn(0);
+        when(paymentRepository.findPaymentByRentalIdAndType(
+                payment.getRentalId(),
+                payment.getType()
+        )).thenReturn(Optional.of(currentPayment));
+        when(paymentMapper.toPaymentResponseDto(currentPayment)).thenReturn(expectedPaymentDto);
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
+
+        // When
+        PaymentResponseDto actualPaymentDto = paymentService.createPaymentSession(
+                EXISTING_USER_ID,
+                paymentRequestDto,
+                uriBuilder
+        );
+
+        // Then
+        assertThat(actualPaymentDto).isEqualTo(expectedPaymentDto);
+        verify(stripeClient, times(1)).expireSession(INVALID_SESSION_ID);
+        verify(paymentMapper, times(1)).toPaymentResponseDto(currentPayment);
+    }
+
+    @Test
+    @DisplayName("Test createPaymentSession() keeps a session another request already attached")
+    public void createPaymentSession_SessionAttachedByOtherRequest_DoesNotExpireSession()
+            throws StripeException {
+        // Given
+        runInTransaction();
+        Payment payment = createTestPayment(EXISTING_PAYMENT_WITH_ID_101, Payment.Status.EXPIRED);
+        Rental rental = createTestRental(EXISTING_USER_ID, null);
+        Payment currentPayment = createTestPayment(
+                EXISTING_PAYMENT_WITH_ID_101,
+                Payment.Status.PENDING
+        );
         PaymentResponseDto expectedPaymentDto = createTestPaymentResponseDto(
                 EXISTING_PAYMENT_WITH_ID_101,
                 Payment.Status.PENDING
         );
-        Payment payment = createTestPayment(expectedPaymentDto);
+        StripeSessionMetadataDto sharedSession = new StripeSessionMetadataDto(
+                currentPayment.getSessionId(),
+                payment.getRentalId(),
+                payment.getType(),
+                payment.getAmountToPay(),
+                LOCAL_HOST
+        );
+
+        when(rentalService.getRentalEntityByIdAndUserId(
+                EXISTING_USER_ID,
+                payment.getRentalId()
+        )).thenReturn(rental);
+        when(paymentRepository.lockPaymentForUpdate(payment.getRentalId(), payment.getType()))
+                .thenReturn(Optional.of(payment));
+        when(calculator.calculateAmountToPayByType(rental, payment.getType()))
+                .thenReturn(payment.getAmountToPay());
+        when(paymentRepository.save(payment)).thenReturn(payment);
         PaymentRequestDto paymentRequestDto = new PaymentRequestDto(
                 payment.getRentalId(),
                 String.valueOf(payment.getType())
         );
+        when(stripeClient.createSession(
+                any(BigDecimal.class),
+                anyString(),
+                anyString(),
+                eq(paymentRequestDto)
+        )).thenReturn(sharedSession);
+        when(paymentRepository.attachSession(
+                startsWith(RESERVATION_PREFIX),
+                eq(Payment.Status.PENDING),
+                eq(sharedSession.sessionId()),
+                anyString(),
+                any(),
+                any()
+        )).thenReturn(0);
+        when(paymentRepository.findPaymentByRentalIdAndType(
+                payment.getRentalId(),
+                payment.getType()
+        )).thenReturn(Optional.of(currentPayment));
+        when(paymentMapper.toPaymentResponseDto(currentPayment)).thenReturn(expectedPaymentDto);
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
+
+        // When
+        PaymentResponseDto actualPaymentDto = paymentService.createPaymentSession(
+                EXISTING_USER_ID,
+                paymentRequestDto,
+                uriBuilder
+        );
+
+        // Then
+        assertThat(actualPaymentDto).isEqualTo(expectedPaymentDto);
+        verify(stripeClient, never()).expireSession(anyString());
+    }
+
+    @Test
+    @DisplayName("Test createPaymentSession() reserves the row before calling Stripe")
+    public void createPaymentSession_PaymentDoesNotExist_SavesPendingReservation()
+            throws StripeException {
+        // Given
+        runInTransaction();
+        PaymentResponseDto expectedPaymentDto = createNewTestPaymentResponseDto(
+                NEW_PAYMENT_ID,
+                Payment.Status.PENDING
+        );
+        Payment payment = createTestPayment(expectedPaymentDto);
+        PaymentRequestDto paymentRequestDto = new PaymentRequestDto(
+                expectedPaymentDto.getRentalId(),
+                String.valueOf(expectedPaymentDto.getType())
+        );
         Rental rental = createTestRental(EXISTING_USER_ID, null);
         StripeSessionMetadataDto stripeSessionMetadataDto = createTestStripeSessionMetadataDto(
                 expectedPaymentDto);
+        ArgumentCaptor<Payment> reservationCaptor = ArgumentCaptor.forClass(Payment.class);
 
         when(rentalService.getRentalEntityByIdAndUserId(
                 EXISTING_USER_ID,
-                payment.getRentalId()
+                expectedPaymentDto.getRentalId()
         )).thenReturn(rental);
         when(paymentRepository.lockPaymentForUpdate(
-                payment.getRentalId(),
-                payment.getType()
-        ))
-                .thenReturn(Optional.empty())
-                .thenReturn(Optional.of(payment)
-                );
+                expectedPaymentDto.getRentalId(),
+                expectedPaymentDto.getType()
+        )).thenReturn(Optional.empty());
         when(calculator.calculateAmountToPayByType(rental, expectedPaymentDto.getType()))
                 .thenReturn(expectedPaymentDto.getAmountToPay());
+        when(paymentRepository.save(reservationCaptor.capture())).thenReturn(payment);
         when(stripeClient.createSession(
-                any(BigDecimal.class),
+                eq(expectedPaymentDto.getAmountToPay()),
                 anyString(),
                 anyString(),
                 eq(paymentRequestDto)
         )).thenReturn(stripeSessionMetadataDto);
-        when(paymentRepository.save(any(Payment.class)))
-                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(paymentRepository.attachSession(
+                anyString(),
+                eq(Payment.Status.PENDING),
+                eq(stripeSessionMetadataDto.sessionId()),
+                eq(stripeSessionMetadataDto.sessionUrl()),
+                eq(stripeSessionMetadataDto.amountToPay()),
+                any()
+        )).thenReturn(1);
+        when(paymentRepository.findPaymentBySessionId(stripeSessionMetadataDto.sessionId()))
+                .thenReturn(Optional.of(payment));
         when(paymentMapper.toPaymentResponseDto(payment)).thenReturn(expectedPaymentDto);
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
 
         // When
-        PaymentResponseDto actualPaymentDto = paymentService.createPaymentSession(
+        paymentService.createPaymentSession(EXISTING_USER_ID, paymentRequestDto, uriBuilder);
+
+        // Then
+        Payment reservation = reservationCaptor.getValue();
+        assertThat(reservation.getSessionId()).startsWith(RESERVATION_PREFIX);
+        assertThat(reservation.getSessionUrl()).isNull();
+        assertThat(reservation.getStatus()).isEqualTo(Payment.Status.PENDING);
+        assertThat(reservation.getAmountToPay()).isEqualTo(expectedPaymentDto.getAmountToPay());
+        verify(paymentRepository, times(1)).attachSession(
+                eq(reservation.getSessionId()),
+                eq(Payment.Status.PENDING),
+                eq(stripeSessionMetadataDto.sessionId()),
+                eq(stripeSessionMetadataDto.sessionUrl()),
+                eq(stripeSessionMetadataDto.amountToPay()),
+                any()
+        );
+    }
+
+    @Test
+    @DisplayName("Test createPaymentSession() releases the reservation when Stripe fails")
+    public void createPaymentSession_StripeFails_ExpiresReservation() throws StripeException {
+        // Given
+        runInTransaction();
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
+        Payment payment = createTestPayment(EXISTING_PAYMENT_WITH_ID_101, Payment.Status.EXPIRED);
+        PaymentRequestDto paymentRequestDto = new PaymentRequestDto(
+                payment.getRentalId(),
+                String.valueOf(payment.getType())
+        );
+        Rental rental = createTestRental(EXISTING_USER_ID, null);
+        ApiConnectionException stripeError = new ApiConnectionException("Stripe unavailable");
+
+        when(rentalService.getRentalEntityByIdAndUserId(
+                EXISTING_USER_ID,
+                payment.getRentalId()
+        )).thenReturn(rental);
+        when(paymentRepository.lockPaymentForUpdate(payment.getRentalId(), payment.getType()))
+                .thenReturn(Optional.of(payment));
+        when(calculator.calculateAmountToPayByType(rental, payment.getType()))
+                .thenReturn(payment.getAmountToPay());
+        when(paymentRepository.save(payment)).thenReturn(payment);
+        when(stripeClient.createSession(
+                any(BigDecimal.class),
+                anyString(),
+                anyString(),
+                eq(paymentRequestDto)
+        )).thenThrow(stripeError);
+
+        // When & Then
+        assertThatThrownBy(() -> paymentService.createPaymentSession(
                 EXISTING_USER_ID,
                 paymentRequestDto,
                 uriBuilder
+        )).isSameAs(stripeError);
+
+        verify(paymentRepository, times(1)).updateStatusBySessionId(
+                startsWith(RESERVATION_PREFIX),
+                eq(Payment.Status.PENDING),
+                eq(Payment.Status.EXPIRED)
         );
+        verify(paymentRepository, never()).attachSession(
+                anyString(), any(), anyString(), anyString(), any(), any());
+        verifyNoInteractions(paymentMapper);
+    }
 
-        // Then
-        assertThat(actualPaymentDto).isEqualTo(expectedPaymentDto);
-        verify(rentalService, times(1)).getRentalEntityByIdAndUserId(
+    @Test
+    @DisplayName("Test createPaymentSession() when another request is creating the session")
+    public void createPaymentSession_ReservationInProgress_ThrowsException() {
+        // Given
+        runInTransaction();
+        Payment payment = createTestPayment(EXISTING_PAYMENT_WITH_ID_101, Payment.Status.PENDING);
+        payment.setSessionId(RESERVATION_PREFIX + SESSION);
+        payment.setSessionUrl(null);
+        PaymentRequestDto paymentRequestDto = new PaymentRequestDto(
+                payment.getRentalId(),
+                String.valueOf(payment.getType())
+        );
+        Rental rental = createTestRental(EXISTING_USER_ID, null);
+
+        when(rentalService.getRentalEntityByIdAndUserId(
                 EXISTING_USER_ID,
                 payment.getRentalId()
-        );
-        verify(paymentRepository, times(2))
-                .lockPaymentForUpdate(payment.getRentalId(), payment.getType());
-        verify(calculator, times(1)).calculateAmountToPayByType(rental, payment.getType());
-        verify(stripeClient, times(1))
-                .createSession(
-                        any(BigDecimal.class),
-                        anyString(),
-                        anyString(),
-                        eq(paymentRequestDto)
-                );
-        verify(paymentRepository, times(1)).save(any(Payment.class));
-        verify(paymentMapper, times(1)).toPaymentResponseDto(payment);
-        verifyNoMoreInteractions(rentalService, paymentRepository, paymentMapper);
-        verifyNoMoreInteractions(calculator, stripeClient);
+        )).thenReturn(rental);
+        when(paymentRepository.lockPaymentForUpdate(payment.getRentalId(), payment.getType()))
+                .thenReturn(Optional.of(payment));
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
+
+        // When & Then
+        assertThatThrownBy(() -> paymentService.createPaymentSession(
+                EXISTING_USER_ID,
+                paymentRequestDto,
+                uriBuilder
+        ))
+                .isInstanceOf(PendingPaymentsExistException.class)
+                .hasMessage("A payment session for rental: %d and type: %s is being created. "
+                        .formatted(payment.getRentalId(), payment.getType())
+                        + "Please try again in a moment.");
+
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verifyNoInteractions(calculator, stripeClient, paymentMapper);
     }
 
     @Test
@@ -618,6 +949,7 @@ public class PaymentServiceTest {
     public void renewPaymentSession_PaymentIsExpired_ReturnsPaymentResponseDto()
             throws StripeException {
         // Given
+        runInTransaction();
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
         PaymentResponseDto expectedPaymentResponseDto = createNewTestPaymentResponseDto(
                 EXISTING_PAYMENT_WITH_ID_101,
@@ -651,6 +983,16 @@ public class PaymentServiceTest {
                 eq(paymentRequestDto)
         )).thenReturn(stripeSessionMetadataDto);
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+        when(paymentRepository.attachSession(
+                startsWith(RESERVATION_PREFIX),
+                eq(Payment.Status.PENDING),
+                eq(stripeSessionMetadataDto.sessionId()),
+                eq(stripeSessionMetadataDto.sessionUrl()),
+                eq(stripeSessionMetadataDto.amountToPay()),
+                any()
+        )).thenReturn(1);
+        when(paymentRepository.findPaymentBySessionId(stripeSessionMetadataDto.sessionId()))
+                .thenReturn(Optional.of(payment));
         when(paymentMapper.toPaymentResponseDto(any(Payment.class)))
                 .thenReturn(expectedPaymentResponseDto);
 
@@ -679,6 +1021,16 @@ public class PaymentServiceTest {
         verify(calculator, times(1))
                 .calculateAmountToPayByType(rental, expectedPaymentResponseDto.getType());
         verify(paymentRepository, times(1)).save(any(Payment.class));
+        verify(paymentRepository, times(1)).attachSession(
+                startsWith(RESERVATION_PREFIX),
+                eq(Payment.Status.PENDING),
+                eq(stripeSessionMetadataDto.sessionId()),
+                eq(stripeSessionMetadataDto.sessionUrl()),
+                eq(stripeSessionMetadataDto.amountToPay()),
+                any()
+        );
+        verify(paymentRepository, times(1))
+                .findPaymentBySessionId(stripeSessionMetadataDto.sessionId());
         verify(paymentMapper, times(1)).toPaymentResponseDto(any(Payment.class));
         verifyNoMoreInteractions(rentalService, paymentRepository, calculator, paymentMapper);
     }
@@ -687,6 +1039,7 @@ public class PaymentServiceTest {
     @DisplayName("Test renewPaymentSession() method when payment is already PAID")
     public void renewPaymentSession_PaymentIsPaid_ThrowsException() {
         // Given
+        runInTransaction();
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
         Payment payment = createTestPayment(
                 EXISTING_PAYMENT_WITH_ID_101,
@@ -732,6 +1085,7 @@ public class PaymentServiceTest {
     @DisplayName("Test renewPaymentSession() method when payment has status PENDING")
     public void renewPaymentSession_PaymentIsPending_ThrowsException() {
         // Given
+        runInTransaction();
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
         Payment payment = createTestPayment(
                 EXISTING_PAYMENT_WITH_ID_101,
@@ -779,6 +1133,7 @@ public class PaymentServiceTest {
     @DisplayName("Test renewPaymentSession() method when payment does not exist")
     public void renewPaymentSession_PaymentDoesNotExist_ThrowsException() {
         // Given
+        runInTransaction();
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
         PaymentRequestDto paymentRequestDto = new PaymentRequestDto(
                 EXISTING_PAYMENT_WITH_ID_101,
@@ -822,6 +1177,7 @@ public class PaymentServiceTest {
     @DisplayName("Test renewPaymentSession() method when rental id is not found")
     public void renewPaymentSession_RentalIdIsNotFound_ThrowsException() {
         // Given
+        runInTransaction();
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(LOCAL_HOST);
         PaymentRequestDto paymentRequestDto = new PaymentRequestDto(
                 NOT_EXISTING_RENTAL_ID,
@@ -880,11 +1236,13 @@ public class PaymentServiceTest {
         verify(paymentValidator, times(1)).checkingAmountToPay(metadataDto);
         verify(paymentRepository, times(1)).lockPaymentForUpdate(rentalId, type);
         verify(paymentRepository, times(1)).save(payment);
+        verify(rentalService, times(1))
+                .recordPayment(payment.getRentalId(), payment.getAmountToPay());
         verify(userService, times(1)).getEmailByRentalId(payment.getRentalId());
         verify(notificationMapper, times(1)).toPaymentPayload(payment, EXISTING_EMAIL);
         verify(notificationService, times(1))
                 .sendMessage(NotificationType.PAYMENT_SUCCESSFUL, paymentPayload);
-        verifyNoMoreInteractions(paymentRepository, paymentValidator);
+        verifyNoMoreInteractions(paymentRepository, paymentValidator, rentalService);
         verifyNoMoreInteractions(userService, notificationMapper, notificationService);
     }
 
@@ -913,11 +1271,13 @@ public class PaymentServiceTest {
         verify(paymentRepository, times(1))
                 .lockPaymentForUpdate(payment.getRentalId(), payment.getType());
         verify(paymentRepository, times(1)).save(payment);
+        verify(rentalService, times(1))
+                .recordPayment(payment.getRentalId(), payment.getAmountToPay());
         verify(userService, times(1)).getEmailByRentalId(payment.getRentalId());
         verify(notificationMapper, times(1)).toPaymentPayload(payment, EXISTING_EMAIL);
         verify(notificationService, times(1))
                 .sendMessage(NotificationType.PAYMENT_SUCCESSFUL, paymentPayload);
-        verifyNoMoreInteractions(paymentRepository, paymentValidator);
+        verifyNoMoreInteractions(paymentRepository, paymentValidator, rentalService);
         verifyNoMoreInteractions(userService, notificationMapper, notificationService);
     }
 
@@ -940,7 +1300,7 @@ public class PaymentServiceTest {
                 .lockPaymentForUpdate(payment.getRentalId(), payment.getType());
         verify(paymentRepository, never()).save(payment);
         verifyNoMoreInteractions(paymentRepository, paymentValidator);
-        verifyNoInteractions(notificationMapper, notificationService, userService);
+        verifyNoInteractions(notificationMapper, notificationService, userService, rentalService);
     }
 
     @Test
@@ -980,12 +1340,16 @@ public class PaymentServiceTest {
                 captor.getValue(),
                 expectedPayment,
                 PAYMENT_IGNORING_FIELDS);
+        verify(rentalService, times(1)).recordPayment(
+                expectedPayment.getRentalId(),
+                expectedPayment.getAmountToPay()
+        );
 
         verify(userService, times(1)).getEmailByRentalId(expectedPayment.getRentalId());
         verify(notificationMapper, times(1)).toPaymentPayload(any(Payment.class), anyString());
         verify(notificationService, times(1))
                 .sendMessage(NotificationType.PAYMENT_SUCCESSFUL, paymentPayload);
-        verifyNoMoreInteractions(paymentRepository, paymentValidator);
+        verifyNoMoreInteractions(paymentRepository, paymentValidator, rentalService);
         verifyNoMoreInteractions(userService, notificationMapper, notificationService);
     }
 
@@ -1029,12 +1393,78 @@ public class PaymentServiceTest {
                 captor.getValue(),
                 expectedPayment,
                 PAYMENT_IGNORING_FIELDS);
+        verify(rentalService, times(1)).recordPayment(
+                expectedPayment.getRentalId(),
+                expectedPayment.getAmountToPay()
+        );
 
         verify(userService, times(1)).getEmailByRentalId(expectedPayment.getRentalId());
         verify(notificationMapper, times(1)).toPaymentPayload(any(Payment.class), anyString());
         verify(notificationService, times(1))
                 .sendMessage(NotificationType.PAYMENT_SUCCESSFUL, paymentPayload);
-        verifyNoMoreInteractions(paymentRepository, paymentValidator);
+        verifyNoMoreInteractions(paymentRepository, paymentValidator, rentalService);
         verifyNoMoreInteractions(userService, notificationMapper, notificationService);
     }
+
+    @Test
+    @DisplayName("Test handlePaymentExpired() expires only a pending payment")
+    public void handlePaymentExpired_PendingSession_UpdatesStatus() {
+        // Given
+        String sessionId = SESSION + EXISTING_PAYMENT_WITH_ID_101;
+        when(paymentRepository.updateStatusBySessionId(
+                sessionId,
+                Payment.Status.PENDING,
+                Payment.Status.EXPIRED
+        )).thenReturn(1);
+
+        // When
+        paymentService.handlePaymentExpired(sessionId);
+
+        // Then
+        verify(paymentRepository, times(1)).updateStatusBySessionId(
+                sessionId,
+                Payment.Status.PENDING,
+                Payment.Status.EXPIRED
+        );
+        verifyNoMoreInteractions(paymentRepository);
+        verifyNoInteractions(stripeClient, notificationService);
+    }
+
+    @Test
+    @DisplayName("Test expireAbandonedReservations() expires reservations past the timeout")
+    public void expireAbandonedReservations_StaleReservations_ExpiresThem() {
+        // Given
+        ReflectionTestUtils.setField(
+                paymentService,
+                "reservationTimeoutSeconds",
+                RESERVATION_TIMEOUT_SECONDS
+        );
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
+        Instant cutoff = FIXED_INSTANT.minusSeconds(RESERVATION_TIMEOUT_SECONDS);
+        when(paymentRepository.updateStatusBySessionIdLikeAndSessionCreatedAtBefore(
+                RESERVATION_PREFIX + "%",
+                Payment.Status.PENDING,
+                Payment.Status.EXPIRED,
+                cutoff
+        )).thenReturn(2);
+
+        // When
+        int expired = paymentService.expireAbandonedReservations();
+
+        // Then
+        assertThat(expired).isEqualTo(2);
+        verify(paymentRepository, times(1)).updateStatusBySessionIdLikeAndSessionCreatedAtBefore(
+                RESERVATION_PREFIX + "%",
+                Payment.Status.PENDING,
+                Payment.Status.EXPIRED,
+                cutoff
+        );
+        verifyNoMoreInteractions(paymentRepository);
+        verifyNoInteractions(stripeClient);
+    }
+
+    private void runInTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
 }
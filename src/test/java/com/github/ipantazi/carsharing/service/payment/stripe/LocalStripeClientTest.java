@@ -0,0 +1,153 @@
+package com.github.ipantazi.carsharing.service.payment.stripe;
+
+import static com.github.ipantazi.carsharing.util.TestDataUtil.AMOUNT_TO_PAY;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.CANCEL_URL;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_RENTAL_ID;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXPIRY_SECONDS;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.FIXED_INSTANT;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.SUCCESS_URL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.github.ipantazi.carsharing.dto.payment.PaymentRequestDto;
+import com.github.ipantazi.carsharing.dto.payment.StripeSessionMetadataDto;
+import com.github.ipantazi.carsharing.model.Payment;
+import com.github.ipantazi.carsharing.service.payment.stripe.impl.LocalStripeClient;
+import com.github.ipantazi.carsharing.service.payment.stripe.impl.LocalStripeWebhookEmitter;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.StripeException;
+import java.time.Clock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LocalStripeClientTest {
+    private static final PaymentRequestDto PAYMENT_REQUEST = new PaymentRequestDto(
+            EXISTING_RENTAL_ID,
+            Payment.Type.PAYMENT.name()
+    );
+
+    @Mock
+    private LocalStripeWebhookEmitter webhookEmitter;
+
+    @Mock
+    private Clock clock;
+
+    @Test
+    @DisplayName("Should create session locally and emit completion webhook")
+    void createSession_CompletionRateOne_EmitsCompletedWebhook() throws StripeException {
+        // Given
+        LocalStripeClient stripeClient = createClient(0.0, 1.0);
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
+
+        // When
+        StripeSessionMetadataDto metadata = stripeClient.createSession(
+                AMOUNT_TO_PAY,
+                SUCCESS_URL,
+                CANCEL_URL,
+                PAYMENT_REQUEST
+        );
+
+        // Then
+        assertThat(metadata.sessionId()).startsWith("cs_local_");
+        assertThat(metadata.rentalId()).isEqualTo(EXISTING_RENTAL_ID);
+        assertThat(metadata.type()).isEqualTo(Payment.Type.PAYMENT);
+        assertThat(metadata.amountToPay()).isEqualByComparingTo(AMOUNT_TO_PAY);
+        verify(webhookEmitter, times(1))
+                .emit(LocalStripeWebhookEmitter.SESSION_COMPLETED, metadata);
+    }
+
+    @Test
+    @DisplayName("Should report session expired once it outlives the expiry window")
+    void isStripeSessionExpired_SessionOutlivedExpiry_ReturnsTrue() throws StripeException {
+        // Given
+        LocalStripeClient stripeClient = createClient(0.0, 0.0);
+        when(clock.instant()).thenReturn(
+                FIXED_INSTANT,
+                FIXED_INSTANT,
+                FIXED_INSTANT.plusSeconds(EXPIRY_SECONDS + 1)
+        );
+        String sessionId = stripeClient.createSession(
+                AMOUNT_TO_PAY,
+                SUCCESS_URL,
+                CANCEL_URL,
+                PAYMENT_REQUEST
+        ).sessionId();
+
+        // When
+        boolean expiredNow = stripeClient.isStripeSessionExpired(sessionId);
+        boolean expiredLater = stripeClient.isStripeSessionExpired(sessionId);
+
+        // Then
+        assertThat(expiredNow).isFalse();
+        assertThat(expiredLater).isTrue();
+        verifyNoInteractions(webhookEmitter);
+    }
+
+    @Test
+    @DisplayName("Should treat unknown session as expired")
+    void isStripeSessionExpired_UnknownSession_ReturnsTrue() throws StripeException {
+        // Given
+        LocalStripeClient stripeClient = createClient(0.0, 0.0);
+
+        // When & Then
+        assertThat(stripeClient.isStripeSessionExpired("cs_local_unknown")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should report session expired once it has been expired explicitly")
+    void expireSession_ActiveSession_ExpiresSession() throws StripeException {
+        // Given
+        LocalStripeClient stripeClient = createClient(0.0, 0.0);
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
+        String sessionId = stripeClient.createSession(
+                AMOUNT_TO_PAY,
+                SUCCESS_URL,
+                CANCEL_URL,
+                PAYMENT_REQUEST
+        ).sessionId();
+
+        // When
+        stripeClient.expireSession(sessionId);
+
+        // Then
+        assertThat(stripeClient.isStripeSessionExpired(sessionId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fail calls according to configured error rate")
+    void createSession_ErrorRateOne_ThrowsApiException() {
+        // Given
+        LocalStripeClient stripeClient = createClient(1.0, 1.0);
+
+        // When & Then
+        assertThatThrownBy(() -> stripeClient.createSession(
+                AMOUNT_TO_PAY,
+                SUCCESS_URL,
+                CANCEL_URL,
+                PAYMENT_REQUEST
+        ))
+                .isInstanceOf(ApiException.class)
+                .hasMessageContaining("Simulated Stripe failure");
+        verifyNoInteractions(webhookEmitter);
+    }
+
+    private LocalStripeClient createClient(double errorRate, double completionRate) {
+        return new LocalStripeClient(
+                clock,
+                webhookEmitter,
+                0L,
+                0L,
+                errorRate,
+                completionRate,
+                EXPIRY_SECONDS
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.ipantazi.carsharing.service.payment.stripe;
+
+import static com.github.ipantazi.carsharing.util.TestDataUtil.AMOUNT_TO_PAY;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.ENDPOINT_SECRET_TEST;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_RENTAL_ID;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.FIXED_CLOCK;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestStripeSessionMetadataDto;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.ipantazi.carsharing.dto.payment.StripeSessionMetadataDto;
+import com.github.ipantazi.carsharing.service.payment.stripe.impl.LocalStripeWebhookEmitter;
+import com.github.ipantazi.carsharing.service.payment.stripe.impl.StripeClientImpl;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.model.Event;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.Webhook;
+import java.time.Clock;
+import java.time.Instant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+class LocalStripeWebhookEmitterTest {
+    private final LocalStripeWebhookEmitter emitter = new LocalStripeWebhookEmitter(
+            WebClient.builder(),
+            Clock.systemUTC(),
+            ENDPOINT_SECRET_TEST,
+            "http://localhost:8080/api/webhook/stripe",
+            0L
+    );
+
+    @Test
+    @DisplayName("Should emit payload that passes Stripe signature verification")
+    void signatureHeader_BuiltPayload_IsAcceptedByStripeWebhook()
+            throws SignatureVerificationException {
+        // Given
+        StripeSessionMetadataDto metadata = createTestStripeSessionMetadataDto(
+                EXISTING_RENTAL_ID,
+                AMOUNT_TO_PAY
+        );
+        String payload = emitter.buildPayload(LocalStripeWebhookEmitter.SESSION_COMPLETED,
+                metadata);
+        String header = emitter.signatureHeader(payload, Instant.now().getEpochSecond());
+
+        // When
+        Event event = Webhook.constructEvent(payload, header, ENDPOINT_SECRET_TEST);
+
+        // Then
+        assertThat(event.getType()).isEqualTo(LocalStripeWebhookEmitter.SESSION_COMPLETED);
+        Session session = (Session) event.getDataObjectDeserializer().getObject().orElseThrow();
+        assertThat(new StripeClientImpl(FIXED_CLOCK).getMetadataFromSession(session))
+                .isEqualTo(metadata);
+    }
+}
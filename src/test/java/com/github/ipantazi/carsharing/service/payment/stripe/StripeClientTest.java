@@ -17,6 +17,7 @@ import static com.github.ipantazi.carsharing.util.TestDataUtil.INVALID_STRIPE_AM
 import static com.github.ipantazi.carsharing.util.TestDataUtil.PAYLOAD_TEST;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.RECENT_CREATED_TIME;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.SESSION_METADATA_IGNORING_FIELD;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.SESSION_STATUS_COMPLETED;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.SIG_HEADER_TEST;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.SUCCESS_URL;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.TEST_AMOUNT;
@@ -37,6 +38,7 @@ import com.github.ipantazi.carsharing.dto.payment.StripeSessionMetadataDto;
 import com.github.ipantazi.carsharing.exception.InvalidStripePayloadException;
 import com.github.ipantazi.carsharing.model.Payment;
 import com.github.ipantazi.carsharing.service.payment.stripe.impl.StripeClientImpl;
+import com.github.ipantazi.carsharing.util.stripe.TestStripeEventFactory;
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Event;
@@ -230,6 +232,24 @@ public class StripeClientTest {
         verifyNoMoreInteractions(mockSession);
     }
 
+    @Test
+    @DisplayName("expireSession expires the retrieved Stripe session")
+    void expireSession_ExistingSession_ExpiresSession() throws StripeException {
+        // Given
+        Session mockSession = mock(Session.class);
+
+        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
+            mockedSession.when(() -> Session.retrieve(EXISTING_SESSION_ID)).thenReturn(mockSession);
+
+            // When
+            stripeClient.expireSession(EXISTING_SESSION_ID);
+        }
+
+        // Then
+        verify(mockSession, times(1)).expire();
+        verifyNoMoreInteractions(mockSession);
+    }
+
     @Test
     @DisplayName("isStripeSessionExpired returns false when session is recent")
     void isStripeSessionExpired_SessionNotExpired_ReturnsFalse() throws StripeException {
@@ -400,4 +420,31 @@ public class StripeClientTest {
             ));
         }
     }
+
+    @Test
+    @DisplayName("Test parseEvent() method with stored webhook payload")
+    void parseEvent_ValidPayload_ReturnsEvent() {
+        // Given
+        String payload = TestStripeEventFactory.dummyPayload(
+                EXISTING_RENTAL_ID,
+                Payment.Type.PAYMENT,
+                AMOUNT_TO_PAY
+        );
+
+        // When
+        Event event = stripeClient.parseEvent(payload);
+
+        // Then
+        assertThat(event.getId()).isEqualTo("evt_test_123");
+        assertThat(event.getType()).isEqualTo(SESSION_STATUS_COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Test parseEvent() method with malformed payload")
+    void parseEvent_MalformedPayload_ThrowsInvalidStripePayloadException() {
+        // When & Then
+        assertThatThrownBy(() -> stripeClient.parseEvent("{not json"))
+                .isInstanceOf(InvalidStripePayloadException.class)
+                .hasMessage("Invalid stored Stripe event payload");
+    }
 }
@@ -0,0 +1,218 @@
+package com.github.ipantazi.carsharing.service.payment.stripe;
+
+import static com.github.ipantazi.carsharing.util.TestDataUtil.FIXED_INSTANT;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.PAYLOAD_TEST;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.SESSION_STATUS_COMPLETED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.github.ipantazi.carsharing.model.StripeEvent;
+import com.github.ipantazi.carsharing.repository.payment.StripeEventRepository;
+import com.github.ipantazi.carsharing.service.payment.stripe.impl.StripeEventInboxImpl;
+import com.stripe.model.Event;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class StripeEventInboxTest {
+    private static final String EVENT_ID = "evt_test_123";
+    private static final int BATCH_SIZE = 50;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_SECONDS = 30L;
+    private static final long CLAIM_TIMEOUT_SECONDS = 300L;
+    private static final long RETENTION_DAYS = 30L;
+    private static final int PRUNE_BATCH_SIZE = 1000;
+    private static final Instant RECEIVED_AT = FIXED_INSTANT.minusSeconds(5);
+
+    @Mock
+    private StripeEventRepository stripeEventRepository;
+
+    @Mock
+    private StripeClient stripeClient;
+
+    @Mock
+    private StripeWebhookService stripeWebhookService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private Clock clock;
+
+    private MeterRegistry meterRegistry;
+    private StripeEventInboxImpl inbox;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        inbox = new StripeEventInboxImpl(
+                stripeEventRepository,
+                stripeClient,
+                stripeWebhookService,
+                transactionTemplate,
+                clock,
+                meterRegistry,
+                1,
+                BATCH_SIZE,
+                MAX_ATTEMPTS,
+                RETRY_DELAY_SECONDS,
+                CLAIM_TIMEOUT_SECONDS,
+                RETENTION_DAYS,
+                PRUNE_BATCH_SIZE
+        );
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        inbox.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should claim batch, process event and mark it processed")
+    void drain_ReceivedEvent_ProcessesAndMarksProcessed() throws Exception {
+        // Given
+        runInTransaction();
+        StripeEvent stripeEvent = createStripeEvent(0);
+        Event event = mock(Event.class);
+        when(stripeEventRepository.lockAvailableBatch(FIXED_INSTANT, BATCH_SIZE))
+                .thenReturn(List.of(stripeEvent), Collections.emptyList());
+        when(stripeClient.parseEvent(PAYLOAD_TEST)).thenReturn(event);
+        when(stripeEventRepository.countByStatus(StripeEvent.Status.RECEIVED)).thenReturn(0L);
+        when(stripeEventRepository.findOldestReceivedAt(StripeEvent.Status.RECEIVED))
+                .thenReturn(Optional.empty());
+
+        // When
+        int processed = inbox.drain();
+
+        // Then
+        assertThat(processed).isEqualTo(1);
+        assertThat(stripeEvent.getStatus()).isEqualTo(StripeEvent.Status.PROCESSING);
+        assertThat(stripeEvent.getAvailableAt())
+                .isEqualTo(FIXED_INSTANT.plusSeconds(CLAIM_TIMEOUT_SECONDS));
+        verify(stripeWebhookService, times(1)).processStripeEvent(event);
+        verify(stripeEventRepository, times(1)).markProcessed(
+                EVENT_ID,
+                StripeEvent.Status.PROCESSED,
+                FIXED_INSTANT
+        );
+        assertThat(meterRegistry.get("stripe.inbox.delivery.lag").timer().count())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should reschedule failed event with backoff")
+    void drain_ProcessingFails_ReschedulesEvent() throws Exception {
+        // Given
+        runInTransaction();
+        StripeEvent stripeEvent = createStripeEvent(0);
+        Event event = mock(Event.class);
+        when(stripeEventRepository.lockAvailableBatch(FIXED_INSTANT, BATCH_SIZE))
+                .thenReturn(List.of(stripeEvent), Collections.emptyList());
+        when(stripeClient.parseEvent(PAYLOAD_TEST)).thenReturn(event);
+        doThrow(new IllegalStateException("Lock wait timeout"))
+                .when(stripeWebhookService).processStripeEvent(event);
+        when(stripeEventRepository.countByStatus(StripeEvent.Status.RECEIVED)).thenReturn(1L);
+        when(stripeEventRepository.findOldestReceivedAt(StripeEvent.Status.RECEIVED))
+                .thenReturn(Optional.of(RECEIVED_AT));
+
+        // When
+        int processed = inbox.drain();
+
+        // Then
+        assertThat(processed).isZero();
+        verify(stripeEventRepository, times(1)).markFailed(
+                EVENT_ID,
+                StripeEvent.Status.RECEIVED,
+                1,
+                FIXED_INSTANT.plusSeconds(RETRY_DELAY_SECONDS),
+                "Lock wait timeout"
+        );
+        assertThat(meterRegistry.get("stripe.inbox.backlog").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("stripe.inbox.lag.seconds").gauge().value()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("Should mark event failed after the last attempt")
+    void drain_LastAttemptFails_MarksEventFailed() throws Exception {
+        // Given
+        runInTransaction();
+        StripeEvent stripeEvent = createStripeEvent(MAX_ATTEMPTS - 1);
+        when(stripeEventRepository.lockAvailableBatch(FIXED_INSTANT, BATCH_SIZE))
+                .thenReturn(List.of(stripeEvent), Collections.emptyList());
+        when(stripeClient.parseEvent(PAYLOAD_TEST)).thenThrow(new IllegalStateException("bad"));
+        when(stripeEventRepository.countByStatus(StripeEvent.Status.RECEIVED)).thenReturn(0L);
+        when(stripeEventRepository.findOldestReceivedAt(StripeEvent.Status.RECEIVED))
+                .thenReturn(Optional.empty());
+
+        // When
+        inbox.drain();
+
+        // Then
+        verify(stripeEventRepository, times(1)).markFailed(
+                EVENT_ID,
+                StripeEvent.Status.FAILED,
+                MAX_ATTEMPTS,
+                FIXED_INSTANT.plusSeconds(RETRY_DELAY_SECONDS * MAX_ATTEMPTS),
+                "bad"
+        );
+        assertThat(meterRegistry.get("stripe.inbox.events")
+                .tag("outcome", "failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should delete processed events past retention in batches")
+    void pruneProcessed_SeveralBatches_DeletesUntilShortBatch() {
+        // Given
+        Instant cutoff = FIXED_INSTANT.minus(Duration.ofDays(RETENTION_DAYS));
+        when(stripeEventRepository.deleteProcessedBefore(cutoff, PRUNE_BATCH_SIZE))
+                .thenReturn(PRUNE_BATCH_SIZE, 1);
+
+        // When
+        int pruned = inbox.pruneProcessed();
+
+        // Then
+        assertThat(pruned).isEqualTo(PRUNE_BATCH_SIZE + 1);
+        verify(stripeEventRepository, times(2)).deleteProcessedBefore(cutoff, PRUNE_BATCH_SIZE);
+        verifyNoMoreInteractions(stripeEventRepository);
+        verifyNoInteractions(stripeWebhookService, transactionTemplate);
+    }
+
+    private void runInTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private StripeEvent createStripeEvent(int attempts) {
+        StripeEvent stripeEvent = new StripeEvent();
+        stripeEvent.setId(EVENT_ID);
+        stripeEvent.setType(SESSION_STATUS_COMPLETED);
+        stripeEvent.setPayload(PAYLOAD_TEST);
+        stripeEvent.setAttempts(attempts);
+        stripeEvent.setReceivedAt(RECEIVED_AT);
+        stripeEvent.setAvailableAt(RECEIVED_AT);
+        return stripeEvent;
+    }
+}
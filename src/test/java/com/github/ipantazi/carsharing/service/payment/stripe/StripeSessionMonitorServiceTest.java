@@ -1,20 +1,23 @@
 package com.github.ipantazi.carsharing.service.payment.stripe;
 
-import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_PAYMENT_WITH_ID_101;
-import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestPayment;
-import static org.assertj.core.api.Assertions.assertThat;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.FIXED_INSTANT;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.LEASE_TOKEN;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.github.ipantazi.carsharing.exception.LeaseLostException;
 import com.github.ipantazi.carsharing.model.Payment;
 import com.github.ipantazi.carsharing.repository.payment.PaymentRepository;
 import com.github.ipantazi.carsharing.service.payment.stripe.impl.StripeSessionMonitorServiceImpl;
-import com.stripe.exception.ApiException;
-import java.util.List;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
+import java.time.Clock;
+import java.time.Instant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,90 +25,86 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class StripeSessionMonitorServiceTest {
+    private static final long EXPIRY_SECONDS = 86400L;
+    private static final Instant CUTOFF = FIXED_INSTANT.minusSeconds(EXPIRY_SECONDS);
 
     @Mock
     private PaymentRepository paymentRepository;
 
     @Mock
-    private StripeClient stripeClient;
+    private StripeSessionVerificationPipeline pipeline;
+
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private Clock clock;
 
     @InjectMocks
     private StripeSessionMonitorServiceImpl monitorService;
 
-    private Payment payment;
-
     @BeforeEach
     void setUp() {
-        payment = createTestPayment(
-                EXISTING_PAYMENT_WITH_ID_101,
-                Payment.Status.PENDING
-        );
+        ReflectionTestUtils.setField(monitorService, "expirySeconds", EXPIRY_SECONDS);
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
-    @DisplayName("Should expire payment when Stripe session is expired")
-    void checkAndExpireSessions_SessionExpired_UpdatesStatus() throws Exception {
+    @DisplayName("Should expire sessions past the deadline with one bulk update")
+    void checkAndExpireSessions_KnownCreationTime_ExpiresLocally() {
         // Given
-        Payment payment = createTestPayment(
-                EXISTING_PAYMENT_WITH_ID_101,
-                Payment.Status.PENDING
-        );
-
-        when(paymentRepository.findPaymentsByStatus(Payment.Status.PENDING))
-                .thenReturn(List.of(payment));
-        when(stripeClient.isStripeSessionExpired(payment.getSessionId()))
-                .thenReturn(true);
+        when(paymentRepository.updateStatusBySessionCreatedAtBefore(
+                Payment.Status.PENDING,
+                Payment.Status.EXPIRED,
+                CUTOFF
+        )).thenReturn(3);
 
         // When
-        monitorService.checkAndExpireSessions();
+        monitorService.checkAndExpireSessions(LEASE_TOKEN);
 
         // Then
-        assertThat(payment.getStatus()).isEqualTo(Payment.Status.EXPIRED);
-        verify(paymentRepository, times(1)).findPaymentsByStatus(Payment.Status.PENDING);
-        verify(stripeClient, times(1)).isStripeSessionExpired(payment.getSessionId());
-        verify(paymentRepository, times(1)).saveAll(List.of(payment));
-        verifyNoMoreInteractions(paymentRepository, stripeClient);
+        verify(paymentRepository, times(1)).updateStatusBySessionCreatedAtBefore(
+                Payment.Status.PENDING,
+                Payment.Status.EXPIRED,
+                CUTOFF
+        );
+        verify(schedulerLeaseService, times(1)).assertHeld(LEASE_TOKEN);
+        verifyNoMoreInteractions(paymentRepository, schedulerLeaseService);
     }
 
     @Test
-    @DisplayName("Should not expire payment when Stripe session is still valid")
-    void checkAndExpireSessions_SessionNotExpired_NoUpdate() throws Exception {
-        // Given
-        when(paymentRepository.findPaymentsByStatus(Payment.Status.PENDING))
-                .thenReturn(List.of(payment));
-        when(stripeClient.isStripeSessionExpired(payment.getSessionId()))
-                .thenReturn(false);
-
+    @DisplayName("Should hand sessions without creation time over to the verification pipeline")
+    void checkAndExpireSessions_UnknownCreationTime_DelegatesToPipeline() {
         // When
-        monitorService.checkAndExpireSessions();
+        monitorService.checkAndExpireSessions(LEASE_TOKEN);
 
         // Then
-        assertThat(payment.getStatus()).isEqualTo(Payment.Status.PENDING);
-        verify(paymentRepository, times(1)).findPaymentsByStatus(Payment.Status.PENDING);
-        verify(stripeClient, times(1)).isStripeSessionExpired(payment.getSessionId());
-        verify(paymentRepository, never()).saveAll(any());
+        verify(pipeline, times(1)).expireVerifiedSessions(LEASE_TOKEN);
+        verifyNoMoreInteractions(pipeline);
     }
 
     @Test
-    @DisplayName("Should log error and continue when Stripe throws exception")
-    void checkAndExpireSessions_StripeException_LogsError() throws Exception {
+    @DisplayName("Should not expire sessions once the scheduler lease is lost")
+    void checkAndExpireSessions_LeaseLost_SkipsUpdates() {
         // Given
-        when(paymentRepository.findPaymentsByStatus(Payment.Status.PENDING))
-                .thenReturn(List.of(payment));
-        when(stripeClient.isStripeSessionExpired(payment.getSessionId()))
-                .thenThrow(new ApiException("fail", "requestId", "Bad request", 400, null));
-
-        // When
-        monitorService.checkAndExpireSessions();
-
-        // Then
-        assertThat(payment.getStatus()).isEqualTo(Payment.Status.PENDING);
-        verify(paymentRepository, times(1)).findPaymentsByStatus(Payment.Status.PENDING);
-        verify(stripeClient, times(1)).isStripeSessionExpired(payment.getSessionId());
-        verify(paymentRepository, never()).saveAll(any());
+        doThrow(new LeaseLostException("Lease lost"))
+                .when(schedulerLeaseService).assertHeld(LEASE_TOKEN);
+
+        // When & Then
+        assertThatThrownBy(() -> monitorService.checkAndExpireSessions(LEASE_TOKEN))
+                .isInstanceOf(LeaseLostException.class)
+                .hasMessage("Lease lost");
+        verifyNoInteractions(paymentRepository, pipeline);
     }
 }
-
@@ -0,0 +1,262 @@
+package com.github.ipantazi.carsharing.service.payment.stripe;
+
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_PAYMENT_WITH_ID_101;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.LEASE_TOKEN;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestPayment;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.ipantazi.carsharing.config.StripeRateLimiterConfig;
+import com.github.ipantazi.carsharing.exception.LeaseLostException;
+import com.github.ipantazi.carsharing.model.Payment;
+import com.github.ipantazi.carsharing.repository.payment.PaymentRepository;
+import com.github.ipantazi.carsharing.service.payment.stripe.impl.StripeSessionVerificationPipelineImpl;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
+import com.stripe.exception.ApiException;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class StripeSessionVerificationPipelineTest {
+    private static final int CHUNK_SIZE = 500;
+    private static final int CONCURRENCY = 32;
+    private static final long STRIPE_LATENCY_MILLIS = 20L;
+    private static final int SAMPLE_REFRESH_PERIODS = 3;
+
+    private static Properties applicationProperties;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private StripeClient stripeClient;
+
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private MeterRegistry meterRegistry;
+    private StripeSessionVerificationPipelineImpl pipeline;
+    private int ratePerSecond;
+    private Duration monitorInterval;
+
+    @BeforeAll
+    static void loadApplicationProperties() throws IOException {
+        applicationProperties = PropertiesLoaderUtils.loadProperties(
+                new ClassPathResource("application.properties"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ratePerSecond = Integer.parseInt(
+                applicationProperties.getProperty("stripe.verification.rate-per-second"));
+        monitorInterval = Duration.ofMillis(Long.parseLong(
+                applicationProperties.getProperty("stripe.session.monitor.delay")));
+        RateLimiter rateLimiter = new StripeRateLimiterConfig().stripeRateLimiter(ratePerSecond);
+        pipeline = new StripeSessionVerificationPipelineImpl(
+                paymentRepository,
+                stripeClient,
+                schedulerLeaseService,
+                transactionTemplate,
+                rateLimiter,
+                meterRegistry,
+                CHUNK_SIZE,
+                CONCURRENCY,
+                ratePerSecond,
+                monitorInterval.toMillis()
+        );
+    }
+
+    @Test
+    @DisplayName("Should expire payment without creation time when Stripe session is expired")
+    void expireVerifiedSessions_SessionExpired_UpdatesStatus() throws Exception {
+        // Given
+        Payment payment = createTestPayment(EXISTING_PAYMENT_WITH_ID_101, Payment.Status.PENDING);
+        runInTransaction();
+        mockChunks(List.of(payment));
+        when(stripeClient.isStripeSessionExpired(payment.getSessionId())).thenReturn(true);
+        when(paymentRepository.updateStatusBySessionIdIn(
+                List.of(payment.getSessionId()),
+                Payment.Status.PENDING,
+                Payment.Status.EXPIRED
+        )).thenReturn(1);
+
+        // When
+        int expired = pipeline.expireVerifiedSessions(LEASE_TOKEN);
+
+        // Then
+        assertThat(expired).isEqualTo(1);
+        assertThat(meterRegistry.get("stripe.session.verification")
+                .tag("outcome", "expired").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("stripe.session.verification.latency")
+                .timer().count()).isEqualTo(1L);
+        verify(schedulerLeaseService, times(1)).assertHeld(LEASE_TOKEN);
+    }
+
+    @Test
+    @DisplayName("Should not expire verified sessions once the scheduler lease is lost")
+    void expireVerifiedSessions_LeaseLost_DoesNotUpdateStatus() throws Exception {
+        // Given
+        runInTransaction();
+        Payment payment = createTestPayment(EXISTING_PAYMENT_WITH_ID_101, Payment.Status.PENDING);
+        mockChunks(List.of(payment));
+        when(stripeClient.isStripeSessionExpired(payment.getSessionId())).thenReturn(true);
+        doThrow(new LeaseLostException("Lease lost"))
+                .when(schedulerLeaseService).assertHeld(LEASE_TOKEN);
+
+        // When & Then
+        assertThatThrownBy(() -> pipeline.expireVerifiedSessions(LEASE_TOKEN))
+                .isInstanceOf(LeaseLostException.class)
+                .hasMessage("Lease lost");
+        verify(paymentRepository, never()).updateStatusBySessionIdIn(anyCollection(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not expire payment when Stripe session is still valid")
+    void expireVerifiedSessions_SessionNotExpired_NoUpdate() throws Exception {
+        // Given
+        Payment payment = createTestPayment(EXISTING_PAYMENT_WITH_ID_101, Payment.Status.PENDING);
+        mockChunks(List.of(payment));
+        when(stripeClient.isStripeSessionExpired(payment.getSessionId())).thenReturn(false);
+
+        // When
+        int expired = pipeline.expireVerifiedSessions(LEASE_TOKEN);
+
+        // Then
+        assertThat(expired).isZero();
+        verify(paymentRepository, never()).updateStatusBySessionIdIn(anyCollection(), any(), any());
+        verify(schedulerLeaseService, never()).assertHeld(any());
+    }
+
+    @Test
+    @DisplayName("Should count failure and continue when Stripe throws exception")
+    void expireVerifiedSessions_StripeException_SkipsFailedSession() throws Exception {
+        // Given
+        Payment payment = createTestPayment(EXISTING_PAYMENT_WITH_ID_101, Payment.Status.PENDING);
+        Payment anotherPayment = createTestPayment(
+                EXISTING_PAYMENT_WITH_ID_101 + 1,
+                Payment.Status.PENDING
+        );
+        runInTransaction();
+        mockChunks(List.of(payment, anotherPayment));
+        when(stripeClient.isStripeSessionExpired(payment.getSessionId()))
+                .thenThrow(new ApiException("fail", "requestId", "Bad request", 400, null));
+        when(stripeClient.isStripeSessionExpired(anotherPayment.getSessionId()))
+                .thenReturn(true);
+        when(paymentRepository.updateStatusBySessionIdIn(
+                List.of(anotherPayment.getSessionId()),
+                Payment.Status.PENDING,
+                Payment.Status.EXPIRED
+        )).thenReturn(1);
+
+        // When
+        int expired = pipeline.expireVerifiedSessions(LEASE_TOKEN);
+
+        // Then
+        assertThat(expired).isEqualTo(1);
+        assertThat(meterRegistry.get("stripe.session.verification")
+                .tag("outcome", "failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should throttle to the configured rate and report capacity per monitor interval")
+    void expireVerifiedSessions_ConfiguredRateLimit_ReportsCapacityPerMonitorInterval()
+            throws Exception {
+        // Given
+        runInTransaction();
+        int sampleSize = ratePerSecond * SAMPLE_REFRESH_PERIODS;
+        List<Payment> payments = LongStream.rangeClosed(1, sampleSize)
+                .mapToObj(id -> createTestPayment(id, Payment.Status.PENDING))
+                .toList();
+        mockChunks(payments);
+        when(stripeClient.isStripeSessionExpired(any())).thenAnswer(invocation -> {
+            Thread.sleep(STRIPE_LATENCY_MILLIS);
+            return invocation.<String>getArgument(0).hashCode() % 2 == 0;
+        });
+        Set<String> committed = ConcurrentHashMap.newKeySet();
+        when(paymentRepository.updateStatusBySessionIdIn(
+                anyCollection(),
+                eq(Payment.Status.PENDING),
+                eq(Payment.Status.EXPIRED)
+        )).thenAnswer(invocation -> {
+            Collection<String> sessionIds = invocation.getArgument(0);
+            committed.addAll(sessionIds);
+            return sessionIds.size();
+        });
+        long expectedExpired = payments.stream()
+                .filter(payment -> payment.getSessionId().hashCode() % 2 == 0)
+                .count();
+
+        // When
+        long start = System.nanoTime();
+        int expired = pipeline.expireVerifiedSessions(LEASE_TOKEN);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        assertThat(elapsed).isGreaterThanOrEqualTo(
+                Duration.ofSeconds(SAMPLE_REFRESH_PERIODS - 2));
+        assertThat(expired).isEqualTo(expectedExpired);
+        assertThat(committed).hasSize((int) expectedExpired);
+        assertThat(meterRegistry.get("stripe.session.verification.capacity").gauge().value())
+                .isEqualTo((double) ratePerSecond * monitorInterval.toSeconds());
+        verify(paymentRepository, times(Math.ceilDiv(sampleSize, CHUNK_SIZE) + 1))
+                .findPendingWithoutSessionCreatedAt(
+                        eq(Payment.Status.PENDING),
+                        anyLong(),
+                        any(Pageable.class)
+                );
+    }
+
+    private void mockChunks(List<Payment> payments) {
+        when(paymentRepository.findPendingWithoutSessionCreatedAt(
+                eq(Payment.Status.PENDING),
+                anyLong(),
+                any(Pageable.class)
+        )).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(1);
+            Pageable pageable = invocation.getArgument(2);
+            return payments.stream()
+                    .filter(payment -> payment.getId() > afterId)
+                    .limit(pageable.getPageSize())
+                    .toList();
+        });
+    }
+
+    private void runInTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+}
@@ -3,6 +3,7 @@ package com.github.ipantazi.carsharing.service.payment.stripe;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.AMOUNT_TO_PAY;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.ENDPOINT_SECRET_TEST;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_RENTAL_ID;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.FIXED_INSTANT;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.INVALID_SESSION_STATUS;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.PAYLOAD_TEST;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.SESSION_STATUS_COMPLETED;
@@ -10,7 +11,6 @@ import static com.github.ipantazi.carsharing.util.TestDataUtil.SIG_HEADER_TEST;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestStripeSessionMetadataDto;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -20,30 +20,40 @@ import static org.mockito.Mockito.when;
 
 import com.github.ipantazi.carsharing.dto.payment.StripeSessionMetadataDto;
 import com.github.ipantazi.carsharing.exception.InvalidStripePayloadException;
+import com.github.ipantazi.carsharing.repository.payment.StripeEventRepository;
 import com.github.ipantazi.carsharing.service.payment.PaymentService;
 import com.github.ipantazi.carsharing.service.payment.stripe.impl.StripeWebhookServiceImpl;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Event;
 import com.stripe.model.EventDataObjectDeserializer;
 import com.stripe.model.checkout.Session;
+import java.time.Clock;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 public class StripeWebhookServiceTest {
+    private static final String EVENT_ID = "evt_test_123";
+    private static final long RECENT_EVENT_IDS_MAX_SIZE = 100L;
+
     @Mock
     private StripeClient stripeClient;
 
     @Mock
     private PaymentService paymentService;
 
+    @Mock
+    private StripeEventRepository stripeEventRepository;
+
+    @Mock
+    private Clock clock;
+
     @Mock
     private Session session;
 
@@ -53,11 +63,17 @@ public class StripeWebhookServiceTest {
     @Mock
     private EventDataObjectDeserializer deserializer;
 
-    @InjectMocks
     private StripeWebhookServiceImpl stripeWebhookService;
 
     @BeforeEach
     public void setUp() {
+        stripeWebhookService = new StripeWebhookServiceImpl(
+                stripeClient,
+                paymentService,
+                stripeEventRepository,
+                clock,
+                RECENT_EVENT_IDS_MAX_SIZE
+        );
         ReflectionTestUtils.setField(stripeWebhookService, "endpointSecret", ENDPOINT_SECRET_TEST);
     }
 
@@ -70,19 +86,15 @@ public class StripeWebhookServiceTest {
                 EXISTING_RENTAL_ID,
                 AMOUNT_TO_PAY);
 
-        when(stripeClient.constructEvent(PAYLOAD_TEST, SIG_HEADER_TEST, ENDPOINT_SECRET_TEST))
-                .thenReturn(event);
         when(event.getType()).thenReturn(SESSION_STATUS_COMPLETED);
         when(event.getDataObjectDeserializer()).thenReturn(deserializer);
         when(deserializer.getObject()).thenReturn(Optional.of(session));
         when(stripeClient.getMetadataFromSession(session)).thenReturn(metadataDto);
 
         // When
-        stripeWebhookService.processStripeEvent(PAYLOAD_TEST, SIG_HEADER_TEST);
+        stripeWebhookService.processStripeEvent(event);
 
         // Then
-        verify(stripeClient, times(1))
-                .constructEvent(PAYLOAD_TEST, SIG_HEADER_TEST, ENDPOINT_SECRET_TEST);
         verify(event, times(1)).getType();
         verify(event, times(1)).getDataObjectDeserializer();
         verify(deserializer, times(1)).getObject();
@@ -91,51 +103,167 @@ public class StripeWebhookServiceTest {
         verifyNoMoreInteractions(stripeClient, event, deserializer, paymentService);
     }
 
+    @Test
+    @DisplayName("Test processStripeEvent() method when session is expired")
+    public void processStripeEvent_SessionExpired_shouldHandlePaymentExpired()
+            throws StripeException {
+        // Given
+        String sessionId = "cs_test_expired";
+        when(event.getType()).thenReturn("checkout.session.expired");
+        when(event.getDataObjectDeserializer()).thenReturn(deserializer);
+        when(deserializer.getObject()).thenReturn(Optional.of(session));
+        when(session.getId()).thenReturn(sessionId);
+
+        // When
+        stripeWebhookService.processStripeEvent(event);
+
+        // Then
+        verify(paymentService, times(1)).handlePaymentExpired(sessionId);
+        verifyNoMoreInteractions(paymentService);
+        verifyNoInteractions(stripeClient);
+    }
+
     @Test
     @DisplayName("Test processStripeEvent() method when session is not completed")
     public void processStripeEvent_SessionNotCompleted_shouldNotHandlePaymentSuccess()
             throws StripeException {
         // Given
-        when(stripeClient.constructEvent(PAYLOAD_TEST, SIG_HEADER_TEST, ENDPOINT_SECRET_TEST))
-                .thenReturn(event);
         when(event.getType()).thenReturn(INVALID_SESSION_STATUS);
 
         // When
-        stripeWebhookService.processStripeEvent(PAYLOAD_TEST, SIG_HEADER_TEST);
+        stripeWebhookService.processStripeEvent(event);
 
         // Then
-        verify(stripeClient, times(1))
-                .constructEvent(PAYLOAD_TEST, SIG_HEADER_TEST, ENDPOINT_SECRET_TEST);
         verify(event, times(2)).getType();
         verify(paymentService, never()).handlePaymentSuccess(any());
-        verifyNoMoreInteractions(stripeClient, event);
-        verifyNoInteractions(deserializer, paymentService);
+        verifyNoMoreInteractions(event);
+        verifyNoInteractions(stripeClient, deserializer, paymentService);
     }
 
     @Test
     @DisplayName("Test processStripeEvent() method when deserialization fails")
     public void processStripeEvent_DeserializationFails_ThrowsException() throws StripeException {
         // Given
-        when(stripeClient.constructEvent(anyString(), anyString(), anyString())).thenReturn(event);
         when(event.getType()).thenReturn(SESSION_STATUS_COMPLETED);
         when(event.getDataObjectDeserializer()).thenReturn(deserializer);
         when(deserializer.getObject()).thenReturn(Optional.empty());
 
         //When & Then
-        assertThatThrownBy(() -> stripeWebhookService.processStripeEvent(
-                PAYLOAD_TEST,
-                SIG_HEADER_TEST
-        ))
+        assertThatThrownBy(() -> stripeWebhookService.processStripeEvent(event))
                 .isInstanceOf(InvalidStripePayloadException.class)
                 .hasMessage("Could not deserialize Stripe session object");
 
-        verify(stripeClient, times(1))
-                .constructEvent(PAYLOAD_TEST, SIG_HEADER_TEST, ENDPOINT_SECRET_TEST);
         verify(event, times(1)).getType();
         verify(event, times(1)).getDataObjectDeserializer();
         verify(deserializer, times(1)).getObject();
         verify(paymentService, never()).handlePaymentSuccess(any());
-        verifyNoMoreInteractions(stripeClient, event, deserializer);
+        verifyNoMoreInteractions(event, deserializer);
+        verifyNoInteractions(stripeClient, paymentService);
+    }
+
+    @Test
+    @DisplayName("Test enqueueStripeEvent() stores verified event in the inbox")
+    public void enqueueStripeEvent_SupportedEvent_StoresEvent() throws StripeException {
+        // Given
+        when(stripeClient.constructEvent(PAYLOAD_TEST, SIG_HEADER_TEST, ENDPOINT_SECRET_TEST))
+                .thenReturn(event);
+        when(event.getType()).thenReturn(SESSION_STATUS_COMPLETED);
+        when(event.getId()).thenReturn(EVENT_ID);
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
+        when(stripeEventRepository.insertIfAbsent(
+                EVENT_ID,
+                SESSION_STATUS_COMPLETED,
+                PAYLOAD_TEST,
+                FIXED_INSTANT
+        )).thenReturn(1);
+
+        // When
+        stripeWebhookService.enqueueStripeEvent(PAYLOAD_TEST, SIG_HEADER_TEST);
+
+        // Then
+        verify(stripeEventRepository, times(1)).insertIfAbsent(
+                EVENT_ID,
+                SESSION_STATUS_COMPLETED,
+                PAYLOAD_TEST,
+                FIXED_INSTANT
+        );
+        verifyNoMoreInteractions(stripeEventRepository);
+        verifyNoInteractions(paymentService, deserializer);
+    }
+
+    @Test
+    @DisplayName("Test enqueueStripeEvent() skips event types the inbox does not handle")
+    public void enqueueStripeEvent_UnsupportedEvent_DoesNotStoreEvent() throws StripeException {
+        // Given
+        when(stripeClient.constructEvent(PAYLOAD_TEST, SIG_HEADER_TEST, ENDPOINT_SECRET_TEST))
+                .thenReturn(event);
+        when(event.getType()).thenReturn(INVALID_SESSION_STATUS);
+
+        // When
+        stripeWebhookService.enqueueStripeEvent(PAYLOAD_TEST, SIG_HEADER_TEST);
+
+        // Then
+        verifyNoInteractions(stripeEventRepository, paymentService);
+    }
+
+    @Test
+    @DisplayName("Test enqueueStripeEvent() relies on the inbox insert to drop a redelivered event")
+    public void enqueueStripeEvent_RedeliveredEvent_IgnoredByInsert() throws StripeException {
+        // Given
+        when(stripeClient.constructEvent(PAYLOAD_TEST, SIG_HEADER_TEST, ENDPOINT_SECRET_TEST))
+                .thenReturn(event);
+        when(event.getType()).thenReturn(SESSION_STATUS_COMPLETED);
+        when(event.getId()).thenReturn(EVENT_ID);
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
+        when(stripeEventRepository.insertIfAbsent(
+                EVENT_ID,
+                SESSION_STATUS_COMPLETED,
+                PAYLOAD_TEST,
+                FIXED_INSTANT
+        )).thenReturn(0);
+
+        // When
+        stripeWebhookService.enqueueStripeEvent(PAYLOAD_TEST, SIG_HEADER_TEST);
+
+        // Then
+        verify(stripeEventRepository, times(1)).insertIfAbsent(
+                EVENT_ID,
+                SESSION_STATUS_COMPLETED,
+                PAYLOAD_TEST,
+                FIXED_INSTANT
+        );
+        verifyNoMoreInteractions(stripeEventRepository);
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    @DisplayName("Test enqueueStripeEvent() skips the inbox insert for a recently seen event")
+    public void enqueueStripeEvent_RecentlySeenEvent_SkipsInsert() throws StripeException {
+        // Given
+        when(stripeClient.constructEvent(PAYLOAD_TEST, SIG_HEADER_TEST, ENDPOINT_SECRET_TEST))
+                .thenReturn(event);
+        when(event.getType()).thenReturn(SESSION_STATUS_COMPLETED);
+        when(event.getId()).thenReturn(EVENT_ID);
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
+        when(stripeEventRepository.insertIfAbsent(
+                EVENT_ID,
+                SESSION_STATUS_COMPLETED,
+                PAYLOAD_TEST,
+                FIXED_INSTANT
+        )).thenReturn(1);
+        stripeWebhookService.enqueueStripeEvent(PAYLOAD_TEST, SIG_HEADER_TEST);
+
+        // When
+        stripeWebhookService.enqueueStripeEvent(PAYLOAD_TEST, SIG_HEADER_TEST);
+
+        // Then
+        verify(stripeEventRepository, times(1)).insertIfAbsent(
+                EVENT_ID,
+                SESSION_STATUS_COMPLETED,
+                PAYLOAD_TEST,
+                FIXED_INSTANT
+        );
+        verifyNoMoreInteractions(stripeEventRepository);
         verifyNoInteractions(paymentService);
     }
 }
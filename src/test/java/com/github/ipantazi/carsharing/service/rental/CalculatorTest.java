@@ -54,7 +54,7 @@ public class CalculatorTest {
         BigDecimal actual = calculator.calculateBaseRentalCost(CAR_DAILY_FEE, rental);
 
         // Then
-        assertThat(actual).isEqualTo(expected);
+        assertThat(actual).isEqualByComparingTo(expected);
     }
 
     @Test
@@ -129,7 +129,7 @@ public class CalculatorTest {
         BigDecimal actual = calculator.calculatePenaltyAmount(CAR_DAILY_FEE, rental);
 
         // Then
-        assertThat(actual).isEqualTo(expected);
+        assertThat(actual).isEqualByComparingTo(expected);
     }
 
     @Test
@@ -196,6 +196,97 @@ public class CalculatorTest {
                 .hasMessage("Rental is not late");
     }
 
+    @Test
+    @DisplayName("Test calculateBaseRentalCostCents() method works as expected")
+    public void calculateBaseRentalCostCents_ValidData_ReturnsBaseRentalCostCents() {
+        // Given
+        long dailyFeeCents = 4999;
+        Rental rental = createTestRental(EXISTING_USER_ID, null);
+        long days = ChronoUnit.DAYS.between(rental.getRentalDate(), rental.getReturnDate());
+
+        // When
+        long actual = calculator.calculateBaseRentalCostCents(dailyFeeCents, rental);
+
+        // Then
+        assertThat(actual).isEqualTo(dailyFeeCents * days);
+    }
+
+    @Test
+    @DisplayName("Test calculateBaseRentalCostCents() method when daily fee is not positive")
+    public void calculateBaseRentalCostCents_ZeroDailyFee_ThrowsException() {
+        // Given
+        Rental rental = createTestRental(EXISTING_USER_ID, null);
+
+        // When & Then
+        assertThatThrownBy(() -> calculator.calculateBaseRentalCostCents(0, rental))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid daily fee cents: 0");
+    }
+
+    @Test
+    @DisplayName("Test calculatePenaltyAmountCents() method rounds half cent up")
+    public void calculatePenaltyAmountCents_HalfCent_RoundsHalfUp() {
+        // Given
+        long dailyFeeCents = 4999;
+        Rental rental = createTestRental(EXISTING_USER_ID, null);
+        rental.setActualReturnDate(rental.getReturnDate().plusDays(1));
+
+        // When
+        long actual = calculator.calculatePenaltyAmountCents(dailyFeeCents, rental);
+
+        // Then
+        assertThat(actual).isEqualTo(7499);
+    }
+
+    @Test
+    @DisplayName("Test calculatePenaltyAmount() method matches cents calculation")
+    public void calculatePenaltyAmount_FractionalFee_MatchesCentsCalculation() {
+        // Given
+        BigDecimal dailyFee = new BigDecimal("49.99");
+        Rental rental = createTestRental(EXISTING_USER_ID, null);
+        rental.setActualReturnDate(rental.getReturnDate().plusDays(1));
+
+        // When
+        BigDecimal actual = calculator.calculatePenaltyAmount(dailyFee, rental);
+
+        // Then
+        assertThat(actual).isEqualTo(new BigDecimal("74.99"));
+    }
+
+    @Test
+    @DisplayName("Test calculateTotalCostCents() method when rental is not returned")
+    public void calculateTotalCostCents_ActiveRental_ReturnsBaseRentalCostCents() {
+        // Given
+        long dailyFeeCents = 4999;
+        Rental rental = createTestRental(EXISTING_USER_ID, null);
+
+        // When
+        long actual = calculator.calculateTotalCostCents(dailyFeeCents, rental);
+
+        // Then
+        assertThat(actual)
+                .isEqualTo(calculator.calculateBaseRentalCostCents(dailyFeeCents, rental));
+    }
+
+    @Test
+    @DisplayName("Test calculateTotalCostCents() method when rental is returned late")
+    public void calculateTotalCostCents_LateRental_ReturnsBaseAndPenaltyCents() {
+        // Given
+        long dailyFeeCents = 4999;
+        Rental rental = createTestRental(
+                EXISTING_USER_ID,
+                ACTUAL_RETURN_DATE_AFTER_RETURN_DATE
+        );
+        long expected = calculator.calculateBaseRentalCostCents(dailyFeeCents, rental)
+                + calculator.calculatePenaltyAmountCents(dailyFeeCents, rental);
+
+        // When
+        long actual = calculator.calculateTotalCostCents(dailyFeeCents, rental);
+
+        // Then
+        assertThat(actual).isEqualTo(expected);
+    }
+
     @Test
     @DisplayName("Test calculateAmountToPayByType() method with type PAYMENT")
     public void calculateAmountToPayByType_PaymentType_ReturnsAmountToPay() {
@@ -1,14 +1,18 @@
 package com.github.ipantazi.carsharing.service.rental;
 
-import static com.github.ipantazi.carsharing.util.TestDataUtil.DAYS_OVERDUE;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_RENTAL_ID;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.FIXED_DATE;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.FIXED_INSTANT;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.LEASE_TOKEN;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.NO_RENTALS_OVERDUE_MESSAGE;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.ZONE;
-import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestOverdueRental;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestOverdueRentalPayload;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestOverdueRentalView;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -16,15 +20,18 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
-import com.github.ipantazi.carsharing.model.Rental;
+import com.github.ipantazi.carsharing.exception.LeaseLostException;
 import com.github.ipantazi.carsharing.notification.NotificationMapper;
 import com.github.ipantazi.carsharing.notification.NotificationService;
 import com.github.ipantazi.carsharing.notification.NotificationType;
 import com.github.ipantazi.carsharing.notification.dto.OverdueRentalPayload;
+import com.github.ipantazi.carsharing.repository.rental.OverdueRentalView;
 import com.github.ipantazi.carsharing.repository.rental.RentalRepository;
 import com.github.ipantazi.carsharing.service.rental.impl.OverdueRentalCheckerImpl;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
 import java.time.Clock;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -32,9 +39,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 public class OverdueRentalCheckerTest {
+    private static final int PAGE_SIZE = 2;
+    private static final Pageable PAGE = Pageable.ofSize(PAGE_SIZE);
+
     @Mock
     private Clock clock;
 
@@ -48,70 +63,135 @@ public class OverdueRentalCheckerTest {
     private NotificationMapper notificationMapper;
 
     @Mock
-    private Calculator calculator;
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
 
     @InjectMocks
     private OverdueRentalCheckerImpl overdueRentalChecker;
 
     @BeforeEach()
     public void setUp() {
+        ReflectionTestUtils.setField(overdueRentalChecker, "pageSize", PAGE_SIZE);
         when(clock.getZone()).thenReturn(ZONE);
         when(clock.instant()).thenReturn(FIXED_INSTANT);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
     @DisplayName("Should send overdue rental notifications when overdue rentals exist")
     public void checkOverdueRental_OverdueRentalExists_SendOverdueRentalNotification() {
         // Given
-        Rental overdueRental = createTestOverdueRental(EXISTING_RENTAL_ID);
-        List<Rental> overdueRentals = List.of(overdueRental);
-        OverdueRentalPayload payload = createTestOverdueRentalPayload(overdueRental);
-
-        when(rentalRepository.findAllByReturnDateLessThanEqualAndActualReturnDateIsNull(
-                FIXED_DATE.plusDays(1)
-        )).thenReturn(overdueRentals);
-        when(calculator.calculateDaysOverdue(overdueRental.getReturnDate(), FIXED_DATE))
-                .thenReturn(DAYS_OVERDUE);
-        when(notificationMapper.toOverdueRentalPayload(
-                overdueRental,
-                DAYS_OVERDUE
-        )).thenReturn(payload);
+        OverdueRentalView overdueRental = createTestOverdueRentalView(EXISTING_RENTAL_ID);
+        OverdueRentalPayload payload = createTestOverdueRentalPayload(EXISTING_RENTAL_ID);
+
+        when(rentalRepository.findOverdueRentalsAfter(
+                FIXED_DATE,
+                FIXED_DATE.plusDays(1),
+                0L,
+                PAGE
+        )).thenReturn(List.of(overdueRental));
+        when(notificationMapper.toOverdueRentalPayload(overdueRental)).thenReturn(payload);
 
         // When
-        overdueRentalChecker.checkOverdueRental();
+        overdueRentalChecker.checkOverdueRental(LEASE_TOKEN);
 
         // Then
         verify(rentalRepository, times(1))
-                .findAllByReturnDateLessThanEqualAndActualReturnDateIsNull(FIXED_DATE.plusDays(1));
-        verify(calculator, times(1))
-                .calculateDaysOverdue(overdueRental.getReturnDate(), FIXED_DATE);
-        verify(notificationMapper, times(1)).toOverdueRentalPayload(
-                overdueRental,
-                DAYS_OVERDUE
-        );
+                .findOverdueRentalsAfter(FIXED_DATE, FIXED_DATE.plusDays(1), 0L, PAGE);
+        verify(notificationMapper, times(1)).toOverdueRentalPayload(overdueRental);
         verify(notificationService, times(1))
                 .sendMessage(NotificationType.OVERDUE_RENTAL, payload);
         verify(notificationService, never()).sendToDefault(anyString());
-        verifyNoMoreInteractions(rentalRepository, calculator);
-        verifyNoMoreInteractions(notificationMapper, notificationService);
+        verify(schedulerLeaseService, times(1)).assertHeld(LEASE_TOKEN);
+        verifyNoMoreInteractions(
+                rentalRepository, notificationMapper, notificationService, schedulerLeaseService);
+    }
+
+    @Test
+    @DisplayName("Should walk overdue rentals page by page using the last seen id")
+    public void checkOverdueRental_SeveralPages_FollowsKeysetCursor() {
+        // Given
+        OverdueRentalView first = createTestOverdueRentalView(EXISTING_RENTAL_ID);
+        OverdueRentalView second = createTestOverdueRentalView(EXISTING_RENTAL_ID + 1);
+        OverdueRentalView third = createTestOverdueRentalView(EXISTING_RENTAL_ID + 2);
+        OverdueRentalPayload payload = createTestOverdueRentalPayload(EXISTING_RENTAL_ID);
+
+        when(rentalRepository.findOverdueRentalsAfter(
+                FIXED_DATE,
+                FIXED_DATE.plusDays(1),
+                0L,
+                PAGE
+        )).thenReturn(List.of(first, second));
+        when(rentalRepository.findOverdueRentalsAfter(
+                FIXED_DATE,
+                FIXED_DATE.plusDays(1),
+                EXISTING_RENTAL_ID + 1,
+                PAGE
+        )).thenReturn(List.of(third));
+        when(notificationMapper.toOverdueRentalPayload(any(OverdueRentalView.class)))
+                .thenReturn(payload);
+
+        // When
+        overdueRentalChecker.checkOverdueRental(LEASE_TOKEN);
+
+        // Then
+        verify(rentalRepository, times(1))
+                .findOverdueRentalsAfter(FIXED_DATE, FIXED_DATE.plusDays(1), 0L, PAGE);
+        verify(rentalRepository, times(1)).findOverdueRentalsAfter(
+                FIXED_DATE,
+                FIXED_DATE.plusDays(1),
+                EXISTING_RENTAL_ID + 1,
+                PAGE
+        );
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(notificationService, times(3))
+                .sendMessage(NotificationType.OVERDUE_RENTAL, payload);
+        verify(notificationService, never()).sendToDefault(anyString());
+        verify(schedulerLeaseService, times(2)).assertHeld(LEASE_TOKEN);
+        verifyNoMoreInteractions(rentalRepository, schedulerLeaseService);
+    }
+
+    @Test
+    @DisplayName("Should stop before queueing notifications when the lease is no longer held")
+    public void checkOverdueRental_LeaseLost_ThrowsWithoutNotifying() {
+        // Given
+        doThrow(new LeaseLostException("Lease lost"))
+                .when(schedulerLeaseService).assertHeld(LEASE_TOKEN);
+
+        // When & Then
+        assertThatThrownBy(() -> overdueRentalChecker.checkOverdueRental(LEASE_TOKEN))
+                .isInstanceOf(LeaseLostException.class)
+                .hasMessage("Lease lost");
+        verifyNoInteractions(rentalRepository, notificationService, notificationMapper);
     }
 
     @Test
     @DisplayName("Should  send default notifications when no overdue rentals exist")
     public void checkOverdueRental_NoOverdueRentals_SendDefaultNotification() {
         // Given
-        when(rentalRepository.findAllByReturnDateLessThanEqualAndActualReturnDateIsNull(
-                FIXED_DATE.plusDays(1)
+        when(rentalRepository.findOverdueRentalsAfter(
+                FIXED_DATE,
+                FIXED_DATE.plusDays(1),
+                0L,
+                PAGE
         )).thenReturn(List.of());
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
 
         // When
-        overdueRentalChecker.checkOverdueRental();
+        overdueRentalChecker.checkOverdueRental(LEASE_TOKEN);
 
         // Then
         verify(rentalRepository, times(1))
-                .findAllByReturnDateLessThanEqualAndActualReturnDateIsNull(FIXED_DATE.plusDays(1));
+                .findOverdueRentalsAfter(FIXED_DATE, FIXED_DATE.plusDays(1), 0L, PAGE);
         verify(notificationService, times(1)).sendToDefault(NO_RENTALS_OVERDUE_MESSAGE);
-        verifyNoMoreInteractions(rentalRepository, notificationService);
-        verifyNoInteractions(calculator, notificationMapper);
+        verify(schedulerLeaseService, times(2)).assertHeld(LEASE_TOKEN);
+        verifyNoMoreInteractions(rentalRepository, notificationService, schedulerLeaseService);
+        verifyNoInteractions(notificationMapper);
     }
 }
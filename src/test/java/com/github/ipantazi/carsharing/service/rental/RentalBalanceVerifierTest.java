@@ -0,0 +1,229 @@
+package com.github.ipantazi.carsharing.service.rental;
+
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_RENTAL_ID;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_RENTAL_ID_ANOTHER_USER;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.LEASE_TOKEN;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.RENTAL_DATE;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.RETURN_DATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.github.ipantazi.carsharing.exception.LeaseLostException;
+import com.github.ipantazi.carsharing.model.Payment;
+import com.github.ipantazi.carsharing.model.Rental;
+import com.github.ipantazi.carsharing.repository.rental.RentalBalanceView;
+import com.github.ipantazi.carsharing.repository.rental.RentalRepository;
+import com.github.ipantazi.carsharing.service.rental.impl.RentalBalanceVerifierImpl;
+import com.github.ipantazi.carsharing.service.scheduler.SchedulerLeaseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class RentalBalanceVerifierTest {
+    private static final int PAGE_SIZE = 2;
+    private static final Pageable PAGE = Pageable.ofSize(PAGE_SIZE);
+    private static final BigDecimal DAILY_FEE = new BigDecimal("101.00");
+    private static final BigDecimal TOTAL_COST = new BigDecimal("505.00");
+    private static final long TOTAL_COST_CENTS = 50500L;
+    private static final long VERSION = 3L;
+
+    @Mock
+    private RentalRepository rentalRepository;
+
+    @Mock
+    private Calculator calculator;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+
+    private MeterRegistry meterRegistry;
+    private RentalBalanceVerifierImpl verifier;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifier = new RentalBalanceVerifierImpl(
+                rentalRepository,
+                calculator,
+                transactionTemplate,
+                schedulerLeaseService,
+                meterRegistry,
+                PAGE_SIZE
+        );
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should leave balances untouched when they match payments and pricing")
+    void verifyBalances_BalancesMatch_NoUpdate() {
+        // Given
+        RentalBalanceView balance = createBalance(EXISTING_RENTAL_ID, TOTAL_COST, TOTAL_COST);
+        when(rentalRepository.findBalancesAfter(Payment.Status.PAID, 0L, PAGE))
+                .thenReturn(List.of(balance));
+        when(calculator.calculateTotalCostCents(eq(10100L), any(Rental.class)))
+                .thenReturn(TOTAL_COST_CENTS);
+
+        // When
+        int drifted = verifier.verifyBalances(LEASE_TOKEN);
+
+        // Then
+        assertThat(drifted).isZero();
+        assertThat(meterRegistry.get("rental.balance.drift").counter().count()).isZero();
+        verify(rentalRepository, times(1)).findBalancesAfter(Payment.Status.PAID, 0L, PAGE);
+        verify(rentalRepository, never()).updateBalance(anyLong(), anyLong(), any(), any());
+        verifyNoMoreInteractions(rentalRepository);
+        verifyNoInteractions(schedulerLeaseService);
+    }
+
+    @Test
+    @DisplayName("Should repair amount paid when it differs from the sum of paid payments")
+    void verifyBalances_AmountPaidDrifted_UpdatesBalance() {
+        // Given
+        RentalBalanceView balance = createBalance(EXISTING_RENTAL_ID, BigDecimal.ZERO, TOTAL_COST);
+        when(rentalRepository.findBalancesAfter(Payment.Status.PAID, 0L, PAGE))
+                .thenReturn(List.of(balance));
+        when(calculator.calculateTotalCostCents(eq(10100L), any(Rental.class)))
+                .thenReturn(TOTAL_COST_CENTS);
+        when(rentalRepository.updateBalance(EXISTING_RENTAL_ID, VERSION, TOTAL_COST, TOTAL_COST))
+                .thenReturn(1);
+
+        // When
+        int drifted = verifier.verifyBalances(LEASE_TOKEN);
+
+        // Then
+        assertThat(drifted).isEqualTo(1);
+        assertThat(meterRegistry.get("rental.balance.drift").counter().count()).isEqualTo(1.0);
+        verify(rentalRepository, times(1))
+                .updateBalance(EXISTING_RENTAL_ID, VERSION, TOTAL_COST, TOTAL_COST);
+        verify(schedulerLeaseService, times(1)).assertHeld(LEASE_TOKEN);
+        verifyNoMoreInteractions(schedulerLeaseService);
+    }
+
+    @Test
+    @DisplayName("Should not repair a drifted balance once the scheduler lease is lost")
+    void verifyBalances_LeaseLost_DoesNotUpdateBalance() {
+        // Given
+        RentalBalanceView balance = createBalance(EXISTING_RENTAL_ID, BigDecimal.ZERO, TOTAL_COST);
+        when(rentalRepository.findBalancesAfter(Payment.Status.PAID, 0L, PAGE))
+                .thenReturn(List.of(balance));
+        when(calculator.calculateTotalCostCents(eq(10100L), any(Rental.class)))
+                .thenReturn(TOTAL_COST_CENTS);
+        doThrow(new LeaseLostException("Lease lost"))
+                .when(schedulerLeaseService).assertHeld(LEASE_TOKEN);
+
+        // When & Then
+        assertThatThrownBy(() -> verifier.verifyBalances(LEASE_TOKEN))
+                .isInstanceOf(LeaseLostException.class)
+                .hasMessage("Lease lost");
+        verify(rentalRepository, never()).updateBalance(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should page through rentals by id until a short page is returned")
+    void verifyBalances_FullPage_RequestsNextPage() {
+        // Given
+        List<RentalBalanceView> firstPage = List.of(
+                createBalance(EXISTING_RENTAL_ID, TOTAL_COST, TOTAL_COST),
+                createBalance(EXISTING_RENTAL_ID_ANOTHER_USER, TOTAL_COST, TOTAL_COST)
+        );
+        when(rentalRepository.findBalancesAfter(Payment.Status.PAID, 0L, PAGE))
+                .thenReturn(firstPage);
+        when(rentalRepository.findBalancesAfter(
+                Payment.Status.PAID,
+                EXISTING_RENTAL_ID_ANOTHER_USER,
+                PAGE
+        )).thenReturn(List.of());
+        when(calculator.calculateTotalCostCents(eq(10100L), any(Rental.class)))
+                .thenReturn(TOTAL_COST_CENTS);
+
+        // When
+        int drifted = verifier.verifyBalances(LEASE_TOKEN);
+
+        // Then
+        assertThat(drifted).isZero();
+        verify(rentalRepository, times(1)).findBalancesAfter(Payment.Status.PAID, 0L, PAGE);
+        verify(rentalRepository, times(1)).findBalancesAfter(
+                Payment.Status.PAID,
+                EXISTING_RENTAL_ID_ANOTHER_USER,
+                PAGE
+        );
+        verifyNoMoreInteractions(rentalRepository);
+    }
+
+    private static RentalBalanceView createBalance(Long rentalId,
+                                                   BigDecimal amountPaid,
+                                                   BigDecimal paidSum) {
+        return new RentalBalanceView() {
+            @Override
+            public Long getRentalId() {
+                return rentalId;
+            }
+
+            @Override
+            public Long getVersion() {
+                return VERSION;
+            }
+
+            @Override
+            public LocalDate getRentalDate() {
+                return RENTAL_DATE;
+            }
+
+            @Override
+            public LocalDate getReturnDate() {
+                return RETURN_DATE;
+            }
+
+            @Override
+            public LocalDate getActualReturnDate() {
+                return null;
+            }
+
+            @Override
+            public BigDecimal getDailyFee() {
+                return DAILY_FEE;
+            }
+
+            @Override
+            public BigDecimal getTotalCost() {
+                return TOTAL_COST;
+            }
+
+            @Override
+            public BigDecimal getAmountPaid() {
+                return amountPaid;
+            }
+
+            @Override
+            public BigDecimal getPaidSum() {
+                return paidSum;
+            }
+        };
+    }
+}
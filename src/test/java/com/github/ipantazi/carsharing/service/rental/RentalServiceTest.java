@@ -1,5 +1,7 @@
 package com.github.ipantazi.carsharing.service.rental;
 
+import static com.github.ipantazi.carsharing.service.rental.MoneyCents.toAmount;
+import static com.github.ipantazi.carsharing.service.rental.MoneyCents.toCentsHalfUp;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.ACTUAL_RETURN_DATE;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_CAR_ID;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_ID_ANOTHER_USER;
@@ -26,10 +28,13 @@ import static com.github.ipantazi.carsharing.util.assertions.TestAssertionsUtil.
 import static com.github.ipantazi.carsharing.util.assertions.TestAssertionsUtil.assertPageMetadataEquals;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -38,8 +43,12 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.github.ipantazi.carsharing.dto.car.CarDto;
+import com.github.ipantazi.carsharing.dto.enums.BulkReturnStatus;
 import com.github.ipantazi.carsharing.dto.enums.OperationType;
 import com.github.ipantazi.carsharing.dto.enums.RentalStatus;
+import com.github.ipantazi.carsharing.dto.rental.BulkReturnItemDto;
+import com.github.ipantazi.carsharing.dto.rental.BulkReturnResponseDto;
+import com.github.ipantazi.carsharing.dto.rental.RentalCursorPageDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalDetailedDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalRequestDto;
 import com.github.ipantazi.carsharing.dto.rental.RentalResponseDto;
@@ -58,16 +67,20 @@ import com.github.ipantazi.carsharing.notification.NotificationType;
 import com.github.ipantazi.carsharing.notification.dto.NewRentalPayload;
 import com.github.ipantazi.carsharing.repository.rental.RentalRepository;
 import com.github.ipantazi.carsharing.repository.rental.RentalSpecificationBuilder;
+import com.github.ipantazi.carsharing.repository.rental.RentalVersionView;
 import com.github.ipantazi.carsharing.service.car.CarServiceImpl;
 import com.github.ipantazi.carsharing.service.car.InventoryServiceImpl;
 import com.github.ipantazi.carsharing.service.payment.PaymentValidator;
 import com.github.ipantazi.carsharing.service.rental.impl.RentalServiceImpl;
 import com.github.ipantazi.carsharing.service.user.UserService;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -76,8 +89,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 public class RentalServiceTest {
@@ -123,7 +139,7 @@ public class RentalServiceTest {
         User user = rental.getUser();
         CarDto carDto = expectedRentalResponseDto.getCarDto();
         Car car = rental.getCar();
-        BigDecimal baseRentalCost = expectedRentalResponseDto.getBaseRentalCost();
+        BigDecimal baseRentalCost = asMoney(expectedRentalResponseDto.getBaseRentalCost());
         NewRentalPayload rentalPayload = createTestNewRentalPayload(rental);
 
         when(clock.getZone()).thenReturn(ZONE);
@@ -138,8 +154,8 @@ public class RentalServiceTest {
         )).thenReturn(rental);
         when(notificationMapper.toRentalPayload(rental)).thenReturn(rentalPayload);
         when(carMapper.toCarDto(car)).thenReturn(carDto);
-        when(calculator.calculateBaseRentalCost(carDto.getDailyFee(), rental))
-                .thenReturn(baseRentalCost);
+        when(calculator.calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental))
+                .thenReturn(toCentsHalfUp(baseRentalCost));
         when(rentalMapper.toRentalDto(
                 rental,
                 carDto,
@@ -159,6 +175,7 @@ public class RentalServiceTest {
                 expectedRentalResponseDto,
                 RENTAL_DTO_IGNORING_FIELDS
         );
+        assertThat(rental.getTotalCost()).isEqualTo(baseRentalCost);
 
         verify(rentalValidator, times(1))
                 .checkDatesBeforeRenting(rentalRequestDto, RENTAL_DATE);
@@ -176,7 +193,8 @@ public class RentalServiceTest {
         verify(notificationService, times(1))
                 .sendMessage(NotificationType.NEW_RENTAL_CREATED, rentalPayload);
         verify(carMapper, times(1)).toCarDto(car);
-        verify(calculator, times(1)).calculateBaseRentalCost(carDto.getDailyFee(), rental);
+        verify(calculator, times(1))
+                .calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental);
         verify(rentalMapper, times(1))
                 .toRentalDto(rental, carDto, RentalStatus.ACTIVE, baseRentalCost);
 
@@ -216,6 +234,177 @@ public class RentalServiceTest {
         verifyNoInteractions(userService, notificationService, notificationMapper);
     }
 
+    @Test
+    @DisplayName("Test createRental() with conditional decrement skips active rentals lock")
+    public void createRental_ConditionalDecrement_DoesNotLockActiveRentals() {
+        // Given
+        ReflectionTestUtils.setField(rentalService, "conditionalDecrement", true);
+        RentalResponseDto expectedRentalResponseDto = createNewTestRentalResponseDto(
+                EXISTING_USER_ID, RENTAL_DATE);
+        Rental rental = createTestRental(expectedRentalResponseDto);
+        RentalRequestDto rentalRequestDto = createTestRentalRequestDto(expectedRentalResponseDto);
+        User user = rental.getUser();
+        CarDto carDto = expectedRentalResponseDto.getCarDto();
+        Car car = rental.getCar();
+        BigDecimal baseRentalCost = asMoney(expectedRentalResponseDto.getBaseRentalCost());
+        NewRentalPayload rentalPayload = createTestNewRentalPayload(rental);
+
+        when(clock.getZone()).thenReturn(ZONE);
+        when(clock.instant()).thenReturn(RENTAL_DATE.atStartOfDay(ZONE).toInstant());
+        when(userService.getUserById(EXISTING_USER_ID)).thenReturn(user);
+        when(carService.findCarById(rentalRequestDto.carId())).thenReturn(car);
+        when(rentalMapper.toRentalEntity(
+                user,
+                car,
+                rentalRequestDto.returnDate(),
+                RENTAL_DATE
+        )).thenReturn(rental);
+        when(notificationMapper.toRentalPayload(rental)).thenReturn(rentalPayload);
+        when(carMapper.toCarDto(car)).thenReturn(carDto);
+        when(calculator.calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental))
+                .thenReturn(toCentsHalfUp(baseRentalCost));
+        when(rentalMapper.toRentalDto(
+                rental,
+                carDto,
+                RentalStatus.ACTIVE,
+                baseRentalCost
+        )).thenReturn(expectedRentalResponseDto);
+
+        // When
+        RentalResponseDto actualRentalResponseDto = rentalService.createRental(
+                EXISTING_USER_ID,
+                rentalRequestDto
+        );
+
+        // Then
+        assertObjectsAreEqualIgnoringFields(
+                actualRentalResponseDto,
+                expectedRentalResponseDto,
+                RENTAL_DTO_IGNORING_FIELDS
+        );
+
+        verify(rentalValidator, times(1))
+                .checkDatesBeforeRenting(rentalRequestDto, RENTAL_DATE);
+        verify(paymentValidator, times(1)).checkForPendingPayments(EXISTING_USER_ID);
+        verify(inventoryService, times(1)).decreaseIfAvailable(rentalRequestDto.carId(), 1);
+        verify(rentalRepository, never()).lockActiveRentalsForUpdateByCarId(anyLong());
+        verify(userService, times(1)).getUserById(EXISTING_USER_ID);
+        verify(carService, times(1)).findCarById(rentalRequestDto.carId());
+        verify(rentalMapper, times(1))
+                .toRentalEntity(user, car, rentalRequestDto.returnDate(), RENTAL_DATE);
+        verify(rentalRepository, times(1)).save(rental);
+        verify(notificationMapper, times(1)).toRentalPayload(rental);
+        verify(notificationService, times(1))
+                .sendMessage(NotificationType.NEW_RENTAL_CREATED, rentalPayload);
+        verify(carMapper, times(1)).toCarDto(car);
+        verify(calculator, times(1))
+                .calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental);
+        verify(rentalMapper, times(1))
+                .toRentalDto(rental, carDto, RentalStatus.ACTIVE, baseRentalCost);
+
+        verifyNoMoreInteractions(carService, paymentValidator, rentalValidator, rentalMapper);
+        verifyNoMoreInteractions(rentalRepository, inventoryService, calculator, carMapper);
+        verifyNoMoreInteractions(userService, notificationService, notificationMapper);
+    }
+
+    @Test
+    @DisplayName("Test createRental() with conditional decrement when car is not available")
+    public void createRental_ConditionalDecrementCarNotAvailable_ThrowsException() {
+        // Given
+        ReflectionTestUtils.setField(rentalService, "conditionalDecrement", true);
+        RentalRequestDto rentalRequestDto = new RentalRequestDto(RETURN_DATE, EXISTING_CAR_ID);
+
+        when(clock.getZone()).thenReturn(ZONE);
+        when(clock.instant()).thenReturn(RENTAL_DATE.atStartOfDay(ZONE).toInstant());
+        doThrow(new CarNotAvailableException(
+                ("Not enough cars with ID: %d".formatted(EXISTING_CAR_ID))
+        )).when(inventoryService).decreaseIfAvailable(rentalRequestDto.carId(), 1);
+
+        // When & Then
+        assertThatThrownBy(() -> rentalService.createRental(EXISTING_USER_ID, rentalRequestDto))
+                .isInstanceOf(CarNotAvailableException.class)
+                .hasMessage("Not enough cars with ID: %d".formatted(EXISTING_CAR_ID));
+
+        verify(rentalValidator, times(1)).checkDatesBeforeRenting(rentalRequestDto, RENTAL_DATE);
+        verify(paymentValidator, times(1)).checkForPendingPayments(EXISTING_USER_ID);
+        verify(inventoryService, times(1)).decreaseIfAvailable(rentalRequestDto.carId(), 1);
+
+        verifyNoMoreInteractions(rentalValidator, paymentValidator, inventoryService);
+        verifyNoInteractions(rentalRepository, rentalMapper, calculator, carService, carMapper);
+        verifyNoInteractions(userService, notificationService, notificationMapper);
+    }
+
+    @Test
+    @DisplayName("Test getRentalsByCursor() returns next cursor when more rentals exist")
+    @SuppressWarnings("unchecked")
+    public void getRentalsByCursor_MoreRentalsExist_ReturnsNextCursor() {
+        // Given
+        RentalResponseDto expectedRentalResponseDto = createTestRentalResponseDto(
+                EXISTING_USER_ID, null);
+        Rental rental = createTestRental(expectedRentalResponseDto);
+        CarDto carDto = expectedRentalResponseDto.getCarDto();
+        BigDecimal baseRentalCost = asMoney(expectedRentalResponseDto.getBaseRentalCost());
+        Window<Rental> window = Window.from(
+                List.of(rental),
+                index -> ScrollPosition.keyset(),
+                true
+        );
+
+        when(specificationBuilder.build(EXISTING_USER_ID, true)).thenReturn(specification);
+        when(rentalRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenReturn(window);
+        when(carMapper.toCarDto(rental.getCar())).thenReturn(carDto);
+        when(calculator.calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental))
+                .thenReturn(toCentsHalfUp(baseRentalCost));
+        when(rentalMapper.toRentalDto(rental, carDto, RentalStatus.ACTIVE, baseRentalCost))
+                .thenReturn(expectedRentalResponseDto);
+
+        // When
+        RentalCursorPageDto actualPage = rentalService.getRentalsByCursor(
+                EXISTING_USER_ID,
+                true,
+                null,
+                1
+        );
+
+        // Then
+        String expectedCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (rental.getRentalDate() + ":" + rental.getId()).getBytes(StandardCharsets.UTF_8));
+        assertThat(actualPage.content()).containsExactly(expectedRentalResponseDto);
+        assertThat(actualPage.hasNext()).isTrue();
+        assertThat(actualPage.nextCursor()).isEqualTo(expectedCursor);
+        verify(specificationBuilder, times(1)).build(EXISTING_USER_ID, true);
+        verify(rentalRepository, times(1))
+                .findBy(any(Specification.class), any(Function.class));
+        verifyNoMoreInteractions(specificationBuilder, rentalRepository);
+    }
+
+    @Test
+    @DisplayName("Test getRentalsByCursor() with invalid page size")
+    public void getRentalsByCursor_InvalidSize_ThrowsException() {
+        // When & Then
+        assertThatThrownBy(() -> rentalService.getRentalsByCursor(EXISTING_USER_ID, true, null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid size. Size should be between 1 and 100.");
+
+        verifyNoInteractions(specificationBuilder, rentalRepository);
+    }
+
+    @Test
+    @DisplayName("Test getRentalsByCursor() with malformed cursor")
+    public void getRentalsByCursor_MalformedCursor_ThrowsException() {
+        // Given
+        String cursor = Base64.getUrlEncoder()
+                .encodeToString("not-a-date:id".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        assertThatThrownBy(() -> rentalService.getRentalsByCursor(null, null, cursor, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor: " + cursor);
+
+        verifyNoInteractions(rentalRepository);
+    }
+
     @Test
     @DisplayName("Test createRental() when car is not available for renting")
     public void createRental_CarNotAvailableForRenting_ThrowsException() {
@@ -289,13 +478,13 @@ public class RentalServiceTest {
         List<Rental> rentalList = Collections.singletonList(rental);
         Page<Rental> rentalPage = new PageImpl<>(rentalList, RENTAL_PAGEABLE, rentalList.size());
         CarDto carDto = expectedRentalDto.getCarDto();
-        BigDecimal baseRentalCost = expectedRentalDto.getBaseRentalCost();
+        BigDecimal baseRentalCost = asMoney(expectedRentalDto.getBaseRentalCost());
 
         when(specificationBuilder.build(EXISTING_USER_ID, isActive)).thenReturn(specification);
         when(rentalRepository.findAll(specification, RENTAL_PAGEABLE)).thenReturn(rentalPage);
         when(carMapper.toCarDto(rental.getCar())).thenReturn(carDto);
-        when(calculator.calculateBaseRentalCost(carDto.getDailyFee(), rental))
-                .thenReturn(baseRentalCost);
+        when(calculator.calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental))
+                .thenReturn(toCentsHalfUp(baseRentalCost));
         when(rentalMapper.toRentalDto(
                 rental,
                 carDto,
@@ -325,7 +514,7 @@ public class RentalServiceTest {
         verify(rentalRepository, times(1)).findAll(specification, RENTAL_PAGEABLE);
         verify(carMapper, times(1)).toCarDto(rental.getCar());
         verify(calculator, times(1))
-                .calculateBaseRentalCost(carDto.getDailyFee(), rental);
+                .calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental);
         verify(rentalMapper, times(1))
                 .toRentalDto(rental, carDto, RentalStatus.ACTIVE, baseRentalCost);
 
@@ -333,6 +522,51 @@ public class RentalServiceTest {
         verifyNoMoreInteractions(calculator, rentalMapper);
     }
 
+    @Test
+    @DisplayName("Test getRentalsByFilter() maps shared car once per page")
+    public void getRentalsByFilter_RentalsShareCar_MapsCarOnce() {
+        // Given
+        RentalResponseDto firstRentalDto = createTestRentalResponseDto(EXISTING_USER_ID, null);
+        RentalResponseDto secondRentalDto = createTestRentalResponseDto(EXISTING_USER_ID, null);
+        secondRentalDto.setId(EXISTING_RENTAL_ID_ANOTHER_USER);
+        Rental firstRental = createTestRental(firstRentalDto);
+        Rental secondRental = createTestRental(secondRentalDto);
+        secondRental.setCar(firstRental.getCar());
+        List<Rental> rentalList = List.of(firstRental, secondRental);
+        Page<Rental> rentalPage = new PageImpl<>(rentalList, RENTAL_PAGEABLE, rentalList.size());
+        CarDto carDto = firstRentalDto.getCarDto();
+        BigDecimal baseRentalCost = asMoney(firstRentalDto.getBaseRentalCost());
+
+        when(specificationBuilder.build(EXISTING_USER_ID, null)).thenReturn(specification);
+        when(rentalRepository.findAll(specification, RENTAL_PAGEABLE)).thenReturn(rentalPage);
+        when(carMapper.toCarDto(firstRental.getCar())).thenReturn(carDto);
+        when(calculator.calculateBaseRentalCostCents(
+                toCentsHalfUp(carDto.getDailyFee()), firstRental))
+                .thenReturn(toCentsHalfUp(baseRentalCost));
+        when(calculator.calculateBaseRentalCostCents(
+                toCentsHalfUp(carDto.getDailyFee()), secondRental))
+                .thenReturn(toCentsHalfUp(baseRentalCost));
+        when(rentalMapper.toRentalDto(firstRental, carDto, RentalStatus.ACTIVE, baseRentalCost))
+                .thenReturn(firstRentalDto);
+        when(rentalMapper.toRentalDto(secondRental, carDto, RentalStatus.ACTIVE, baseRentalCost))
+                .thenReturn(secondRentalDto);
+
+        // When
+        Page<RentalResponseDto> actualRentalDtoPage = rentalService.getRentalsByFilter(
+                EXISTING_USER_ID,
+                null,
+                RENTAL_PAGEABLE
+        );
+
+        // Then
+        assertThat(actualRentalDtoPage.getContent())
+                .containsExactly(firstRentalDto, secondRentalDto);
+        verify(carMapper, times(1)).toCarDto(firstRental.getCar());
+        verify(calculator, times(2)).calculateBaseRentalCostCents(anyLong(), any());
+        verify(rentalMapper, times(2)).toRentalDto(any(), any(), any(), any());
+        verifyNoMoreInteractions(carMapper, calculator, rentalMapper);
+    }
+
     @Test
     @DisplayName("Test getRentalsByFilter() returns empty page.")
     public void getRentalsByFilter_NotRentalExists_ReturnsEmptyPage() {
@@ -372,13 +606,13 @@ public class RentalServiceTest {
         List<Rental> rentalList = Collections.singletonList(rental);
         Page<Rental> rentalPage = new PageImpl<>(rentalList, RENTAL_PAGEABLE, rentalList.size());
         CarDto carDto = expectedRentalDto.getCarDto();
-        BigDecimal baseRentalCost = expectedRentalDto.getBaseRentalCost();
+        BigDecimal baseRentalCost = asMoney(expectedRentalDto.getBaseRentalCost());
 
         when(specificationBuilder.build(EXISTING_USER_ID, isActive)).thenReturn(specification);
         when(rentalRepository.findAll(specification, RENTAL_PAGEABLE)).thenReturn(rentalPage);
         when(carMapper.toCarDto(rental.getCar())).thenReturn(carDto);
-        when(calculator.calculateBaseRentalCost(carDto.getDailyFee(), rental))
-                .thenReturn(baseRentalCost);
+        when(calculator.calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental))
+                .thenReturn(toCentsHalfUp(baseRentalCost));
         when(rentalMapper.toRentalDto(
                 rental,
                 carDto,
@@ -404,7 +638,7 @@ public class RentalServiceTest {
         verify(rentalRepository, times(1)).findAll(specification, RENTAL_PAGEABLE);
         verify(carMapper, times(1)).toCarDto(rental.getCar());
         verify(calculator, times(1))
-                .calculateBaseRentalCost(carDto.getDailyFee(), rental);
+                .calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental);
         verify(rentalMapper, times(1))
                 .toRentalDto(rental, carDto, expectedRentalStatus, baseRentalCost);
 
@@ -426,13 +660,13 @@ public class RentalServiceTest {
         List<Rental> rentalList = Collections.singletonList(rental);
         Page<Rental> rentalPage = new PageImpl<>(rentalList, RENTAL_PAGEABLE, rentalList.size());
         CarDto carDto = expectedRentalDto.getCarDto();
-        BigDecimal baseRentalCost = expectedRentalDto.getBaseRentalCost();
+        BigDecimal baseRentalCost = asMoney(expectedRentalDto.getBaseRentalCost());
 
         when(specificationBuilder.build(EXISTING_USER_ID, isActive)).thenReturn(specification);
         when(rentalRepository.findAll(specification, RENTAL_PAGEABLE)).thenReturn(rentalPage);
         when(carMapper.toCarDto(rental.getCar())).thenReturn(carDto);
-        when(calculator.calculateBaseRentalCost(carDto.getDailyFee(), rental))
-                .thenReturn(baseRentalCost);
+        when(calculator.calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental))
+                .thenReturn(toCentsHalfUp(baseRentalCost));
         when(rentalMapper.toRentalDto(
                 rental,
                 carDto,
@@ -458,7 +692,7 @@ public class RentalServiceTest {
         verify(rentalRepository, times(1)).findAll(specification, RENTAL_PAGEABLE);
         verify(carMapper, times(1)).toCarDto(rental.getCar());
         verify(calculator, times(1))
-                .calculateBaseRentalCost(carDto.getDailyFee(), rental);
+                .calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental);
         verify(rentalMapper, times(1))
                 .toRentalDto(rental, carDto, expectedRentalStatus, baseRentalCost);
 
@@ -476,13 +710,13 @@ public class RentalServiceTest {
         List<Rental> rentalList = Collections.singletonList(rental);
         Page<Rental> rentalPage = new PageImpl<>(rentalList, RENTAL_PAGEABLE, rentalList.size());
         CarDto carDto = expectedRentalDto.getCarDto();
-        BigDecimal baseRentalCost = expectedRentalDto.getBaseRentalCost();
+        BigDecimal baseRentalCost = asMoney(expectedRentalDto.getBaseRentalCost());
 
         when(specificationBuilder.build(null, isActive)).thenReturn(specification);
         when(rentalRepository.findAll(specification, RENTAL_PAGEABLE)).thenReturn(rentalPage);
         when(carMapper.toCarDto(rental.getCar())).thenReturn(carDto);
-        when(calculator.calculateBaseRentalCost(carDto.getDailyFee(), rental))
-                .thenReturn(baseRentalCost);
+        when(calculator.calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental))
+                .thenReturn(toCentsHalfUp(baseRentalCost));
         when(rentalMapper.toRentalDto(
                 rental,
                 carDto,
@@ -512,7 +746,7 @@ public class RentalServiceTest {
         verify(rentalRepository, times(1)).findAll(specification, RENTAL_PAGEABLE);
         verify(carMapper, times(1)).toCarDto(rental.getCar());
         verify(calculator, times(1))
-                .calculateBaseRentalCost(carDto.getDailyFee(), rental);
+                .calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental);
         verify(rentalMapper, times(1))
                 .toRentalDto(rental, carDto, RentalStatus.ACTIVE, baseRentalCost);
 
@@ -530,22 +764,23 @@ public class RentalServiceTest {
         RentalDetailedDto expectedRentalDto = createTestRentalDetailedDto(EXISTING_USER_ID, null);
         Rental rental = createTestRental(expectedRentalDto);
         CarDto carDto = expectedRentalDto.getCarDto();
-        BigDecimal baseRentalCost = expectedRentalDto.getBaseRentalCost();
-        BigDecimal penaltyAmount = expectedRentalDto.getPenaltyAmount();
-        BigDecimal totalCost = expectedRentalDto.getTotalCost();
-        BigDecimal amountPaid = expectedRentalDto.getAmountPaid();
-        BigDecimal amountDue = expectedRentalDto.getAmountDue();
+        BigDecimal baseRentalCost = asMoney(expectedRentalDto.getBaseRentalCost());
+        BigDecimal penaltyAmount = asMoney(expectedRentalDto.getPenaltyAmount());
+        BigDecimal totalCost = asMoney(expectedRentalDto.getTotalCost());
+        BigDecimal amountPaid = asMoney(expectedRentalDto.getAmountPaid());
+        BigDecimal amountDue = asMoney(expectedRentalDto.getAmountDue());
         RentalStatus status = expectedRentalDto.getStatus();
 
         when(rentalRepository.findRentalById(rental.getId()))
                 .thenReturn(Optional.of(rental));
-        when(userService.canAccessRental(EXISTING_USER_ID, rental.getUser().getId()))
-                .thenReturn(true);
+        when(userService.canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                rental.getUser().getId()
+        )).thenReturn(true);
         when(carMapper.toCarDto(rental.getCar())).thenReturn(carDto);
-        when(calculator.calculateBaseRentalCost(carDto.getDailyFee(), rental))
-                .thenReturn(baseRentalCost);
-        when(calculator.calculateTotalAmountPaid(rental.getId()))
-                .thenReturn(expectedRentalDto.getAmountPaid());
+        when(calculator.calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental))
+                .thenReturn(toCentsHalfUp(baseRentalCost));
         when(rentalMapper.toRentalDetailedDto(
                 rental,
                 carDto,
@@ -560,6 +795,7 @@ public class RentalServiceTest {
         // When
         RentalDetailedDto actualRentalDto = rentalService.getRental(
                 EXISTING_USER_ID,
+                User.Role.CUSTOMER,
                 rental.getId()
         );
 
@@ -572,11 +808,16 @@ public class RentalServiceTest {
         );
 
         verify(rentalRepository, times(1)).findRentalById(rental.getId());
-        verify(userService, times(1)).canAccessRental(EXISTING_USER_ID, rental.getUser().getId());
+        verify(userService, times(1)).canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                rental.getUser().getId()
+        );
         verify(carMapper, times(1)).toCarDto(rental.getCar());
-        verify(calculator, times(1)).calculateBaseRentalCost(carDto.getDailyFee(), rental);
-        verify(calculator, never()).calculatePenaltyAmount(carDto.getDailyFee(), rental);
-        verify(calculator, times(1)).calculateTotalAmountPaid(rental.getId());
+        verify(calculator, times(1))
+                .calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental);
+        verify(calculator, never())
+                .calculatePenaltyAmountCents(toCentsHalfUp(carDto.getDailyFee()), rental);
         verify(rentalMapper, times(1)).toRentalDetailedDto(
                 rental,
                 carDto,
@@ -603,23 +844,22 @@ public class RentalServiceTest {
                 EXISTING_USER_ID);
         Rental rental = createTestRental(expectedRentalDto);
         CarDto carDto = expectedRentalDto.getCarDto();
-        BigDecimal baseRentalCost = expectedRentalDto.getBaseRentalCost();
-        BigDecimal penaltyAmount = expectedRentalDto.getPenaltyAmount();
-        BigDecimal totalCost = expectedRentalDto.getTotalCost();
-        BigDecimal amountPaid = expectedRentalDto.getAmountPaid();
-        BigDecimal amountDue = expectedRentalDto.getAmountDue();
+        BigDecimal baseRentalCost = asMoney(expectedRentalDto.getBaseRentalCost());
+        BigDecimal penaltyAmount = asMoney(expectedRentalDto.getPenaltyAmount());
+        BigDecimal totalCost = asMoney(expectedRentalDto.getTotalCost());
+        BigDecimal amountPaid = asMoney(expectedRentalDto.getAmountPaid());
+        BigDecimal amountDue = asMoney(expectedRentalDto.getAmountDue());
         RentalStatus status = expectedRentalDto.getStatus();
 
         when(rentalRepository.findRentalById(rental.getId())).thenReturn(Optional.of(rental));
-        when(userService.canAccessRental(EXISTING_USER_ID, rental.getUser().getId()))
-                .thenReturn(true);
+        when(userService.canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                rental.getUser().getId()
+        )).thenReturn(true);
         when(carMapper.toCarDto(rental.getCar())).thenReturn(carDto);
-        when(calculator.calculateBaseRentalCost(carDto.getDailyFee(), rental))
-                .thenReturn(expectedRentalDto.getBaseRentalCost());
-        when(calculator.calculatePenaltyAmount(carDto.getDailyFee(), rental))
-                .thenReturn(expectedRentalDto.getPenaltyAmount());
-        when(calculator.calculateTotalAmountPaid(rental.getId()))
-                .thenReturn(expectedRentalDto.getAmountPaid());
+        when(calculator.calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental))
+                .thenReturn(toCentsHalfUp(expectedRentalDto.getBaseRentalCost()));
         when(rentalMapper.toRentalDetailedDto(
                 rental,
                 carDto,
@@ -634,6 +874,7 @@ public class RentalServiceTest {
         // When
         RentalDetailedDto actualRentalDto = rentalService.getRental(
                 EXISTING_USER_ID,
+                User.Role.CUSTOMER,
                 rental.getId()
         );
 
@@ -646,11 +887,16 @@ public class RentalServiceTest {
         );
 
         verify(rentalRepository, times(1)).findRentalById(rental.getId());
-        verify(userService, times(1)).canAccessRental(EXISTING_USER_ID, rental.getUser().getId());
+        verify(userService, times(1)).canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                rental.getUser().getId()
+        );
         verify(carMapper, times(1)).toCarDto(rental.getCar());
-        verify(calculator, times(1)).calculateBaseRentalCost(carDto.getDailyFee(), rental);
-        verify(calculator, times(1)).calculatePenaltyAmount(carDto.getDailyFee(), rental);
-        verify(calculator, times(1)).calculateTotalAmountPaid(rental.getId());
+        verify(calculator, times(1))
+                .calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental);
+        verify(calculator, never())
+                .calculatePenaltyAmountCents(toCentsHalfUp(carDto.getDailyFee()), rental);
         verify(rentalMapper, times(1)).toRentalDetailedDto(
                 rental,
                 carDto,
@@ -673,21 +919,22 @@ public class RentalServiceTest {
         RentalDetailedDto expectedRentalDto = createTestRentalDetailedDto(EXISTING_USER_ID, null);
         Rental rental = createTestRental(expectedRentalDto);
         CarDto carDto = expectedRentalDto.getCarDto();
-        BigDecimal baseRentalCost = expectedRentalDto.getBaseRentalCost();
-        BigDecimal penaltyAmount = expectedRentalDto.getPenaltyAmount();
-        BigDecimal totalCost = expectedRentalDto.getTotalCost();
-        BigDecimal amountPaid = expectedRentalDto.getAmountPaid();
-        BigDecimal amountDue = expectedRentalDto.getAmountDue();
+        BigDecimal baseRentalCost = asMoney(expectedRentalDto.getBaseRentalCost());
+        BigDecimal penaltyAmount = asMoney(expectedRentalDto.getPenaltyAmount());
+        BigDecimal totalCost = asMoney(expectedRentalDto.getTotalCost());
+        BigDecimal amountPaid = asMoney(expectedRentalDto.getAmountPaid());
+        BigDecimal amountDue = asMoney(expectedRentalDto.getAmountDue());
         RentalStatus status = expectedRentalDto.getStatus();
 
         when(rentalRepository.findRentalById(rental.getId())).thenReturn(Optional.of(rental));
-        when(userService.canAccessRental(EXISTING_ID_ANOTHER_USER, rental.getUser().getId()))
-                .thenReturn(Boolean.TRUE);
+        when(userService.canAccessRental(
+                EXISTING_ID_ANOTHER_USER,
+                User.Role.MANAGER,
+                rental.getUser().getId()
+        )).thenReturn(Boolean.TRUE);
         when(carMapper.toCarDto(rental.getCar())).thenReturn(carDto);
-        when(calculator.calculateBaseRentalCost(carDto.getDailyFee(), rental))
-                .thenReturn(baseRentalCost);
-        when(calculator.calculateTotalAmountPaid(rental.getId()))
-                .thenReturn(expectedRentalDto.getAmountPaid());
+        when(calculator.calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental))
+                .thenReturn(toCentsHalfUp(baseRentalCost));
         when(rentalMapper.toRentalDetailedDto(
                 rental,
                 carDto,
@@ -700,8 +947,11 @@ public class RentalServiceTest {
         )).thenReturn(expectedRentalDto);
 
         //When
-        RentalDetailedDto actualRentalDto = rentalService.getRental(EXISTING_ID_ANOTHER_USER,
-                EXISTING_RENTAL_ID);
+        RentalDetailedDto actualRentalDto = rentalService.getRental(
+                EXISTING_ID_ANOTHER_USER,
+                User.Role.MANAGER,
+                EXISTING_RENTAL_ID
+        );
 
         // Then
         assertThat(actualRentalDto.getStatus()).isEqualTo(RentalStatus.ACTIVE);
@@ -713,11 +963,16 @@ public class RentalServiceTest {
 
         verify(rentalRepository, times(1)).findRentalById(rental.getId());
         verify(userService, times(1))
-                .canAccessRental(EXISTING_ID_ANOTHER_USER, rental.getUser().getId());
+                .canAccessRental(
+                        EXISTING_ID_ANOTHER_USER,
+                        User.Role.MANAGER,
+                        rental.getUser().getId()
+                );
         verify(carMapper, times(1)).toCarDto(rental.getCar());
-        verify(calculator, times(1)).calculateBaseRentalCost(carDto.getDailyFee(), rental);
-        verify(calculator, never()).calculatePenaltyAmount(carDto.getDailyFee(), rental);
-        verify(calculator, times(1)).calculateTotalAmountPaid(rental.getId());
+        verify(calculator, times(1))
+                .calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental);
+        verify(calculator, never())
+                .calculatePenaltyAmountCents(toCentsHalfUp(carDto.getDailyFee()), rental);
         verify(rentalMapper, times(1)).toRentalDetailedDto(
                 rental,
                 carDto,
@@ -733,6 +988,70 @@ public class RentalServiceTest {
         verifyNoMoreInteractions(calculator, carMapper, rentalMapper);
     }
 
+    @Test
+    @DisplayName("Test getRentalETag() combines rental and car versions.")
+    public void getRentalETag_AccessibleRental_ReturnsVersionedETag() {
+        // Given
+        RentalVersionView versions = mock(RentalVersionView.class);
+        when(versions.getUserId()).thenReturn(EXISTING_USER_ID);
+        when(versions.getRentalVersion()).thenReturn(2L);
+        when(versions.getCarVersion()).thenReturn(5L);
+        when(rentalRepository.findVersionsById(EXISTING_RENTAL_ID))
+                .thenReturn(Optional.of(versions));
+        when(userService.canAccessRental(EXISTING_USER_ID, User.Role.CUSTOMER, EXISTING_USER_ID))
+                .thenReturn(Boolean.TRUE);
+
+        // When
+        String etag = rentalService.getRentalETag(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                EXISTING_RENTAL_ID
+        );
+
+        // Then
+        assertThat(etag).isEqualTo("\"rental-%d-2-5\"".formatted(EXISTING_RENTAL_ID));
+        verify(rentalRepository, times(1)).findVersionsById(EXISTING_RENTAL_ID);
+        verify(userService, times(1)).canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                EXISTING_USER_ID
+        );
+        verifyNoMoreInteractions(rentalRepository, userService);
+        verifyNoInteractions(calculator);
+    }
+
+    @Test
+    @DisplayName("Test getRentalETag() denies access before computing the tag.")
+    public void getRentalETag_NotOwner_ThrowsException() {
+        // Given
+        RentalVersionView versions = mock(RentalVersionView.class);
+        when(versions.getUserId()).thenReturn(EXISTING_ID_ANOTHER_USER);
+        when(rentalRepository.findVersionsById(EXISTING_RENTAL_ID_ANOTHER_USER))
+                .thenReturn(Optional.of(versions));
+        when(userService.canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                EXISTING_ID_ANOTHER_USER
+        )).thenReturn(Boolean.FALSE);
+
+        // When & Then
+        assertThatThrownBy(() -> rentalService.getRentalETag(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                EXISTING_RENTAL_ID_ANOTHER_USER
+        ))
+                .isInstanceOf(AccessDeniedException.class)
+                .hasMessage("You do not have permission to access this rental");
+        verify(rentalRepository, times(1)).findVersionsById(EXISTING_RENTAL_ID_ANOTHER_USER);
+        verify(userService, times(1)).canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                EXISTING_ID_ANOTHER_USER
+        );
+        verifyNoMoreInteractions(rentalRepository, userService);
+        verifyNoInteractions(calculator);
+    }
+
     @Test
     @DisplayName("Test getRental() method when rental is not found.")
     public void getRental_NonExistsRentalId_ThrowsException() {
@@ -740,7 +1059,11 @@ public class RentalServiceTest {
         when(rentalRepository.findRentalById(NOT_EXISTING_RENTAL_ID)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> rentalService.getRental(EXISTING_USER_ID, NOT_EXISTING_RENTAL_ID))
+        assertThatThrownBy(() -> rentalService.getRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                NOT_EXISTING_RENTAL_ID
+        ))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Rental not found with id: " + NOT_EXISTING_RENTAL_ID);
 
@@ -760,19 +1083,27 @@ public class RentalServiceTest {
 
         when(rentalRepository.findRentalById(EXISTING_RENTAL_ID_ANOTHER_USER))
                 .thenReturn(Optional.of(rental));
-        when(userService.canAccessRental(EXISTING_USER_ID, rental.getUser().getId()))
-                .thenReturn(Boolean.FALSE);
+        when(userService.canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                rental.getUser().getId()
+        )).thenReturn(Boolean.FALSE);
 
         // When & Then
         assertThatThrownBy(() -> rentalService.getRental(
                 EXISTING_USER_ID,
+                User.Role.CUSTOMER,
                 EXISTING_RENTAL_ID_ANOTHER_USER
         ))
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessage("You do not have permission to access this rental");
 
         verify(rentalRepository, times(1)).findRentalById(EXISTING_RENTAL_ID_ANOTHER_USER);
-        verify(userService, times(1)).canAccessRental(EXISTING_USER_ID, rental.getUser().getId());
+        verify(userService, times(1)).canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                rental.getUser().getId()
+        );
 
         verifyNoMoreInteractions(userService, rentalRepository);
         verifyNoInteractions(calculator, carMapper, rentalMapper);
@@ -784,27 +1115,31 @@ public class RentalServiceTest {
         // Given
         RentalDetailedDto expectedRentalDto = createTestRentalDetailedDto(EXISTING_USER_ID,
                 FIXED_DATE);
-        final BigDecimal baseRentalCost = expectedRentalDto.getBaseRentalCost();
-        final BigDecimal penaltyAmount = expectedRentalDto.getPenaltyAmount();
-        final BigDecimal totalCost = expectedRentalDto.getTotalCost();
-        final BigDecimal amountPaid = expectedRentalDto.getAmountPaid();
-        final BigDecimal amountDue = expectedRentalDto.getAmountDue();
+        final BigDecimal baseRentalCost = asMoney(expectedRentalDto.getBaseRentalCost());
+        final BigDecimal penaltyAmount = asMoney(expectedRentalDto.getPenaltyAmount());
+        final BigDecimal totalCost = asMoney(expectedRentalDto.getTotalCost());
+        final BigDecimal amountPaid = asMoney(expectedRentalDto.getAmountPaid());
+        final BigDecimal amountDue = asMoney(expectedRentalDto.getAmountDue());
         final RentalStatus status = expectedRentalDto.getStatus();
         final CarDto carDto = expectedRentalDto.getCarDto();
 
         Rental rental = createTestRental(expectedRentalDto);
         rental.setActualReturnDate(null);
+        rental.setTotalCost(BigDecimal.ZERO);
 
         when(clock.getZone()).thenReturn(ZONE);
         when(clock.instant()).thenReturn(FIXED_INSTANT);
         when(rentalRepository.lockRentalForUpdate(rental.getId())).thenReturn(Optional.of(rental));
-        when(userService.canAccessRental(EXISTING_USER_ID, rental.getUser().getId()))
-                .thenReturn(true);
+        when(userService.canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                rental.getUser().getId()
+        )).thenReturn(true);
         when(carMapper.toCarDto(rental.getCar())).thenReturn(carDto);
-        when(calculator.calculateBaseRentalCost(carDto.getDailyFee(), rental))
-                .thenReturn(expectedRentalDto.getBaseRentalCost());
-        when(calculator.calculateTotalAmountPaid(rental.getId()))
-                .thenReturn(expectedRentalDto.getAmountPaid());
+        when(calculator.calculateTotalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental))
+                .thenReturn(toCentsHalfUp(expectedRentalDto.getTotalCost()));
+        when(calculator.calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental))
+                .thenReturn(toCentsHalfUp(expectedRentalDto.getBaseRentalCost()));
         when(rentalMapper.toRentalDetailedDto(
                 rental,
                 carDto,
@@ -819,11 +1154,13 @@ public class RentalServiceTest {
         // When
         RentalDetailedDto actualRentalDto = rentalService.returnRental(
                 EXISTING_USER_ID,
+                User.Role.CUSTOMER,
                 rental.getId()
         );
 
         // Then
         assertThat(actualRentalDto.getStatus()).isEqualTo(RentalStatus.RETURNED);
+        assertThat(rental.getTotalCost()).isEqualTo(totalCost);
         assertObjectsAreEqualIgnoringFields(
                 actualRentalDto,
                 expectedRentalDto,
@@ -831,14 +1168,21 @@ public class RentalServiceTest {
         );
 
         verify(rentalRepository, times(1)).lockRentalForUpdate(rental.getId());
-        verify(userService, times(1)).canAccessRental(EXISTING_USER_ID, rental.getUser().getId());
+        verify(userService, times(1)).canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                rental.getUser().getId()
+        );
         verify(rentalRepository, times(1)).save(rental);
         verify(inventoryService, times(1))
                 .adjustInventory(rental.getCar().getId(), 1, OperationType.INCREASE);
         verify(carMapper, times(1)).toCarDto(rental.getCar());
-        verify(calculator, times(1)).calculateBaseRentalCost(carDto.getDailyFee(), rental);
-        verify(calculator, never()).calculatePenaltyAmount(carDto.getDailyFee(), rental);
-        verify(calculator, times(1)).calculateTotalAmountPaid(rental.getId());
+        verify(calculator, times(1))
+                .calculateTotalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental);
+        verify(calculator, times(1))
+                .calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental);
+        verify(calculator, never())
+                .calculatePenaltyAmountCents(toCentsHalfUp(carDto.getDailyFee()), rental);
         verify(rentalMapper, times(1)).toRentalDetailedDto(
                 rental,
                 carDto,
@@ -866,12 +1210,16 @@ public class RentalServiceTest {
         when(clock.getZone()).thenReturn(ZONE);
         when(clock.instant()).thenReturn(FIXED_INSTANT);
         when(rentalRepository.lockRentalForUpdate(rental.getId())).thenReturn(Optional.of(rental));
-        when(userService.canAccessRental(EXISTING_USER_ID, rental.getUser().getId()))
-                .thenReturn(true);
+        when(userService.canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                rental.getUser().getId()
+        )).thenReturn(true);
 
         // When & Then
         assertThatThrownBy(() -> rentalService.returnRental(
                 EXISTING_USER_ID,
+                User.Role.CUSTOMER,
                 rental.getId()
         ))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -879,7 +1227,11 @@ public class RentalServiceTest {
                         .formatted(rental.getId(), rental.getActualReturnDate()));
 
         verify(rentalRepository, times(1)).lockRentalForUpdate(rental.getId());
-        verify(userService, times(1)).canAccessRental(EXISTING_USER_ID, rental.getUser().getId());
+        verify(userService, times(1)).canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                rental.getUser().getId()
+        );
         verify(rentalRepository, never()).save(any(Rental.class));
         verify(inventoryService, never())
                 .adjustInventory(anyLong(), anyInt(), any(OperationType.class));
@@ -897,19 +1249,27 @@ public class RentalServiceTest {
         when(clock.getZone()).thenReturn(ZONE);
         when(clock.instant()).thenReturn(FIXED_INSTANT);
         when(rentalRepository.lockRentalForUpdate(rental.getId())).thenReturn(Optional.of(rental));
-        when(userService.canAccessRental(EXISTING_USER_ID, rental.getUser().getId()))
-                .thenReturn(false);
+        when(userService.canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                rental.getUser().getId()
+        )).thenReturn(false);
 
         // When & Then
         assertThatThrownBy(() -> rentalService.returnRental(
                 EXISTING_USER_ID,
+                User.Role.CUSTOMER,
                 rental.getId()
         ))
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessage("You do not have permission to access this rental");
 
         verify(rentalRepository, times(1)).lockRentalForUpdate(rental.getId());
-        verify(userService, times(1)).canAccessRental(EXISTING_USER_ID, rental.getUser().getId());
+        verify(userService, times(1)).canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                rental.getUser().getId()
+        );
         verify(rentalRepository, never()).save(any(Rental.class));
         verify(inventoryService, never())
                 .adjustInventory(anyLong(), anyInt(), any(OperationType.class));
@@ -929,6 +1289,7 @@ public class RentalServiceTest {
         // When & Then
         assertThatThrownBy(() -> rentalService.returnRental(
                 EXISTING_USER_ID,
+                User.Role.CUSTOMER,
                 NOT_EXISTING_RENTAL_ID
         ))
                 .isInstanceOf(EntityNotFoundException.class)
@@ -943,6 +1304,195 @@ public class RentalServiceTest {
         verifyNoInteractions(userService, carMapper, rentalMapper, inventoryService);
     }
 
+    @Test
+    @DisplayName("Test returnRentals() method reports result for each requested rental.")
+    public void returnRentals_MixedRentals_ReturnsResultPerRental() {
+        // Given
+        RentalDetailedDto expectedRentalDto = createTestRentalDetailedDto(EXISTING_USER_ID,
+                FIXED_DATE);
+        final BigDecimal baseRentalCost = asMoney(expectedRentalDto.getBaseRentalCost());
+        final BigDecimal penaltyAmount = asMoney(expectedRentalDto.getPenaltyAmount());
+        final BigDecimal totalCost = asMoney(expectedRentalDto.getTotalCost());
+        final BigDecimal amountPaid = asMoney(expectedRentalDto.getAmountPaid());
+        final BigDecimal amountDue = asMoney(expectedRentalDto.getAmountDue());
+        final RentalStatus status = expectedRentalDto.getStatus();
+        final CarDto carDto = expectedRentalDto.getCarDto();
+
+        Rental rental = createTestRental(expectedRentalDto);
+        rental.setActualReturnDate(null);
+        rental.setTotalCost(BigDecimal.ZERO);
+        Rental returnedRental = createTestRental(
+                EXISTING_RENTAL_ID_ANOTHER_USER,
+                ACTUAL_RETURN_DATE
+        );
+        List<Long> rentalIds = List.of(
+                NOT_EXISTING_RENTAL_ID,
+                returnedRental.getId(),
+                rental.getId()
+        );
+        List<Long> sortedIds = List.of(
+                rental.getId(),
+                returnedRental.getId(),
+                NOT_EXISTING_RENTAL_ID
+        );
+
+        when(clock.getZone()).thenReturn(ZONE);
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
+        when(rentalRepository.lockRentalsForUpdate(
+                argThat(ids -> List.copyOf(ids).equals(sortedIds))
+        )).thenReturn(List.of(rental, returnedRental));
+        when(userService.canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.MANAGER,
+                rental.getUser().getId()
+        )).thenReturn(true);
+        when(userService.canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.MANAGER,
+                returnedRental.getUser().getId()
+        )).thenReturn(true);
+        when(carMapper.toCarDto(rental.getCar())).thenReturn(carDto);
+        when(calculator.calculateTotalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental))
+                .thenReturn(toCentsHalfUp(expectedRentalDto.getTotalCost()));
+        when(calculator.calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental))
+                .thenReturn(toCentsHalfUp(expectedRentalDto.getBaseRentalCost()));
+        when(rentalMapper.toRentalDetailedDto(
+                rental,
+                carDto,
+                baseRentalCost,
+                penaltyAmount,
+                totalCost,
+                amountPaid,
+                amountDue,
+                status
+        )).thenReturn(expectedRentalDto);
+
+        // When
+        BulkReturnResponseDto actual = rentalService.returnRentals(
+                EXISTING_USER_ID,
+                User.Role.MANAGER,
+                rentalIds
+        );
+
+        // Then
+        assertThat(actual.returned()).isEqualTo(1);
+        assertThat(actual.results())
+                .extracting(BulkReturnItemDto::rentalId, BulkReturnItemDto::status)
+                .containsExactly(
+                        tuple(rental.getId(), BulkReturnStatus.RETURNED),
+                        tuple(returnedRental.getId(), BulkReturnStatus.ALREADY_RETURNED),
+                        tuple(NOT_EXISTING_RENTAL_ID, BulkReturnStatus.NOT_FOUND)
+                );
+        assertThat(actual.results().get(0).rental()).isEqualTo(expectedRentalDto);
+        assertThat(actual.results().get(1).message())
+                .isEqualTo("Rental with id %d is already returned on %s"
+                        .formatted(returnedRental.getId(), ACTUAL_RETURN_DATE));
+        assertThat(actual.results().get(2).message())
+                .isEqualTo("Rental not found with id: " + NOT_EXISTING_RENTAL_ID);
+        assertThat(rental.getActualReturnDate()).isEqualTo(FIXED_DATE);
+        assertThat(rental.getTotalCost()).isEqualTo(totalCost);
+        assertThat(returnedRental.getActualReturnDate()).isEqualTo(ACTUAL_RETURN_DATE);
+
+        verify(rentalRepository, times(1)).lockRentalsForUpdate(any());
+        verify(userService, times(2))
+                .canAccessRental(anyLong(), any(User.Role.class), anyLong());
+        verify(inventoryService, times(1))
+                .adjustInventory(rental.getCar().getId(), 1, OperationType.INCREASE);
+        verify(carMapper, times(1)).toCarDto(rental.getCar());
+        verify(calculator, times(1))
+                .calculateTotalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental);
+        verify(calculator, times(1))
+                .calculateBaseRentalCostCents(toCentsHalfUp(carDto.getDailyFee()), rental);
+        verify(rentalMapper, times(1)).toRentalDetailedDto(
+                rental,
+                carDto,
+                baseRentalCost,
+                penaltyAmount,
+                totalCost,
+                amountPaid,
+                amountDue,
+                status
+        );
+        verify(rentalRepository, times(1)).saveAll(List.of(rental));
+
+        verifyNoMoreInteractions(rentalRepository, userService, carMapper);
+        verifyNoMoreInteractions(rentalMapper, inventoryService, calculator);
+    }
+
+    @Test
+    @DisplayName("Test returnRentals() method adjusts inventory once per car.")
+    public void returnRentals_RentalsShareCar_AdjustsInventoryOncePerCar() {
+        // Given
+        RentalDetailedDto expectedRentalDto = createTestRentalDetailedDto(EXISTING_USER_ID,
+                FIXED_DATE);
+        final CarDto carDto = expectedRentalDto.getCarDto();
+        final Long carId = carDto.getId();
+
+        Rental firstRental = createTestRental(expectedRentalDto);
+        firstRental.setActualReturnDate(null);
+        Rental secondRental = createTestRental(expectedRentalDto);
+        secondRental.setId(EXISTING_RENTAL_ID_ANOTHER_USER);
+        secondRental.setActualReturnDate(null);
+        Rental foreignRental = createTestRental(NOT_EXISTING_RENTAL_ID, null);
+        List<Long> rentalIds = List.of(
+                foreignRental.getId(),
+                secondRental.getId(),
+                firstRental.getId()
+        );
+
+        when(clock.getZone()).thenReturn(ZONE);
+        when(clock.instant()).thenReturn(FIXED_INSTANT);
+        when(rentalRepository.lockRentalsForUpdate(any()))
+                .thenReturn(List.of(firstRental, secondRental, foreignRental));
+        when(userService.canAccessRental(EXISTING_USER_ID, User.Role.CUSTOMER, EXISTING_USER_ID))
+                .thenReturn(true);
+        when(userService.canAccessRental(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                foreignRental.getUser().getId()
+        )).thenReturn(false);
+        when(carMapper.toCarDto(any(Car.class))).thenReturn(carDto);
+        when(calculator.calculateBaseRentalCostCents(
+                anyLong(),
+                any(Rental.class)
+        )).thenReturn(toCentsHalfUp(expectedRentalDto.getBaseRentalCost()));
+        when(rentalMapper.toRentalDetailedDto(
+                any(Rental.class),
+                any(CarDto.class),
+                any(BigDecimal.class),
+                any(BigDecimal.class),
+                any(BigDecimal.class),
+                any(BigDecimal.class),
+                any(BigDecimal.class),
+                any(RentalStatus.class)
+        )).thenReturn(expectedRentalDto);
+
+        // When
+        BulkReturnResponseDto actual = rentalService.returnRentals(
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                rentalIds
+        );
+
+        // Then
+        assertThat(actual.returned()).isEqualTo(2);
+        assertThat(actual.results())
+                .extracting(BulkReturnItemDto::rentalId, BulkReturnItemDto::status)
+                .containsExactly(
+                        tuple(firstRental.getId(), BulkReturnStatus.RETURNED),
+                        tuple(secondRental.getId(), BulkReturnStatus.RETURNED),
+                        tuple(foreignRental.getId(), BulkReturnStatus.FORBIDDEN)
+                );
+        assertThat(actual.results().get(2).message())
+                .isEqualTo("You do not have permission to access this rental");
+        assertThat(foreignRental.getActualReturnDate()).isNull();
+
+        verify(inventoryService, times(1)).adjustInventory(carId, 2, OperationType.INCREASE);
+        verify(carMapper, times(1)).toCarDto(any(Car.class));
+        verify(rentalRepository, times(1)).saveAll(List.of(firstRental, secondRental));
+        verifyNoMoreInteractions(inventoryService, carMapper);
+    }
+
     @Test
     @DisplayName("Test getRentalEntityByIdAndUserId() method works.")
     public void getRentalEntityByIdAndUserId_ValidData_ReturnsRentalEntity() {
@@ -1031,4 +1581,39 @@ public class RentalServiceTest {
 
         verifyNoMoreInteractions(rentalRepository);
     }
+
+    @Test
+    @DisplayName("Test recordPayment() adds amount to rental balance.")
+    public void recordPayment_ExistingRental_AddsAmountPaid() {
+        // Given
+        BigDecimal amount = new BigDecimal("505.00");
+        when(rentalRepository.addAmountPaid(EXISTING_RENTAL_ID, amount)).thenReturn(1);
+
+        // When
+        rentalService.recordPayment(EXISTING_RENTAL_ID, amount);
+
+        // Then
+        verify(rentalRepository, times(1)).addAmountPaid(EXISTING_RENTAL_ID, amount);
+        verifyNoMoreInteractions(rentalRepository);
+    }
+
+    @Test
+    @DisplayName("Test recordPayment() when rental does not exist.")
+    public void recordPayment_NotExistingRental_ThrowsException() {
+        // Given
+        BigDecimal amount = new BigDecimal("505.00");
+        when(rentalRepository.addAmountPaid(NOT_EXISTING_RENTAL_ID, amount)).thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> rentalService.recordPayment(NOT_EXISTING_RENTAL_ID, amount))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Rental not found with id: " + NOT_EXISTING_RENTAL_ID);
+
+        verify(rentalRepository, times(1)).addAmountPaid(NOT_EXISTING_RENTAL_ID, amount);
+        verifyNoMoreInteractions(rentalRepository);
+    }
+
+    private static BigDecimal asMoney(BigDecimal amount) {
+        return toAmount(toCentsHalfUp(amount));
+    }
 }
@@ -0,0 +1,291 @@
+package com.github.ipantazi.carsharing.service.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.github.ipantazi.carsharing.exception.LeaseLostException;
+import com.github.ipantazi.carsharing.repository.scheduler.SchedulerLeaseRepository;
+import com.github.ipantazi.carsharing.service.scheduler.impl.SchedulerLeaseServiceImpl;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@ExtendWith(MockitoExtension.class)
+public class SchedulerLeaseServiceTest {
+    private static final String LEASE_NAME = "test-job";
+    private static final Duration MIN_HOLD = Duration.ofSeconds(30);
+    private static final long LEASE_MICROS = 60_000_000L;
+    private static final long MIN_HOLD_MICROS = 30_000_000L;
+    private static final long FENCING_TOKEN = 7L;
+    private static final long RENEW_INTERVAL_SECONDS = 1L;
+
+    @Mock
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    private ThreadPoolTaskScheduler leaseRenewalScheduler;
+    private SchedulerLeaseServiceImpl schedulerLeaseService;
+
+    @BeforeEach
+    void setUp() {
+        leaseRenewalScheduler = new ThreadPoolTaskScheduler();
+        leaseRenewalScheduler.initialize();
+        schedulerLeaseService = new SchedulerLeaseServiceImpl(
+                schedulerLeaseRepository,
+                leaseRenewalScheduler,
+                60,
+                RENEW_INTERVAL_SECONDS
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaseRenewalScheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test runExclusively() runs job and releases lease with its fencing token.")
+    public void runExclusively_LeaseAvailable_RunsJobAndReleases() {
+        // Given
+        AtomicInteger runs = new AtomicInteger();
+        when(schedulerLeaseRepository.acquire(eq(LEASE_NAME), anyString(), eq(LEASE_MICROS)))
+                .thenReturn(1);
+        when(schedulerLeaseRepository.findFencingToken(eq(LEASE_NAME), anyString()))
+                .thenReturn(Optional.of(FENCING_TOKEN));
+        when(schedulerLeaseRepository.release(
+                eq(LEASE_NAME), anyString(), eq(FENCING_TOKEN), eq(MIN_HOLD_MICROS)))
+                .thenReturn(1);
+
+        // When
+        boolean executed = schedulerLeaseService.runExclusively(
+                LEASE_NAME, MIN_HOLD, lease -> runs.incrementAndGet());
+
+        // Then
+        assertThat(executed).isTrue();
+        assertThat(runs.get()).isEqualTo(1);
+        verify(schedulerLeaseRepository, times(1))
+                .acquire(eq(LEASE_NAME), anyString(), eq(LEASE_MICROS));
+        verify(schedulerLeaseRepository, times(1)).findFencingToken(eq(LEASE_NAME), anyString());
+        verify(schedulerLeaseRepository, times(1)).release(
+                eq(LEASE_NAME), anyString(), eq(FENCING_TOKEN), eq(MIN_HOLD_MICROS));
+        verifyNoMoreInteractions(schedulerLeaseRepository);
+    }
+
+    @Test
+    @DisplayName("Test runExclusively() skips job when another node holds the lease.")
+    public void runExclusively_LeaseHeldElsewhere_SkipsJob() {
+        // Given
+        AtomicInteger runs = new AtomicInteger();
+        when(schedulerLeaseRepository.acquire(eq(LEASE_NAME), anyString(), eq(LEASE_MICROS)))
+                .thenReturn(0);
+        when(schedulerLeaseRepository.createIfAbsent(LEASE_NAME)).thenReturn(0);
+
+        // When
+        boolean executed = schedulerLeaseService.runExclusively(
+                LEASE_NAME, MIN_HOLD, lease -> runs.incrementAndGet());
+
+        // Then
+        assertThat(executed).isFalse();
+        assertThat(runs.get()).isZero();
+        verify(schedulerLeaseRepository, times(1))
+                .acquire(eq(LEASE_NAME), anyString(), eq(LEASE_MICROS));
+        verify(schedulerLeaseRepository, times(1)).createIfAbsent(LEASE_NAME);
+        verifyNoMoreInteractions(schedulerLeaseRepository);
+    }
+
+    @Test
+    @DisplayName("Test runExclusively() creates missing lease row and acquires it.")
+    public void runExclusively_LeaseMissing_CreatesAndAcquires() {
+        // Given
+        AtomicInteger runs = new AtomicInteger();
+        when(schedulerLeaseRepository.acquire(eq(LEASE_NAME), anyString(), eq(LEASE_MICROS)))
+                .thenReturn(0, 1);
+        when(schedulerLeaseRepository.createIfAbsent(LEASE_NAME)).thenReturn(1);
+        when(schedulerLeaseRepository.findFencingToken(eq(LEASE_NAME), anyString()))
+                .thenReturn(Optional.of(1L));
+        when(schedulerLeaseRepository.release(
+                eq(LEASE_NAME), anyString(), eq(1L), eq(MIN_HOLD_MICROS)))
+                .thenReturn(1);
+
+        // When
+        boolean executed = schedulerLeaseService.runExclusively(
+                LEASE_NAME, MIN_HOLD, lease -> runs.incrementAndGet());
+
+        // Then
+        assertThat(executed).isTrue();
+        assertThat(runs.get()).isEqualTo(1);
+        verify(schedulerLeaseRepository, times(2))
+                .acquire(eq(LEASE_NAME), anyString(), eq(LEASE_MICROS));
+        verify(schedulerLeaseRepository, times(1)).createIfAbsent(LEASE_NAME);
+    }
+
+    @Test
+    @DisplayName("Test runExclusively() skips job when lease table is unreachable.")
+    public void runExclusively_DatabaseFailure_SkipsJob() {
+        // Given
+        AtomicInteger runs = new AtomicInteger();
+        when(schedulerLeaseRepository.acquire(eq(LEASE_NAME), anyString(), anyLong()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        // When
+        boolean executed = schedulerLeaseService.runExclusively(
+                LEASE_NAME, MIN_HOLD, lease -> runs.incrementAndGet());
+
+        // Then
+        assertThat(executed).isFalse();
+        assertThat(runs.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test runExclusively() releases lease when job fails.")
+    public void runExclusively_JobFails_ReleasesLease() {
+        // Given
+        when(schedulerLeaseRepository.acquire(eq(LEASE_NAME), anyString(), eq(LEASE_MICROS)))
+                .thenReturn(1);
+        when(schedulerLeaseRepository.findFencingToken(eq(LEASE_NAME), anyString()))
+                .thenReturn(Optional.of(FENCING_TOKEN));
+        when(schedulerLeaseRepository.release(
+                eq(LEASE_NAME), anyString(), eq(FENCING_TOKEN), eq(MIN_HOLD_MICROS)))
+                .thenReturn(1);
+
+        // When & Then
+        assertThatThrownBy(() -> schedulerLeaseService.runExclusively(
+                LEASE_NAME,
+                MIN_HOLD,
+                lease -> {
+                    throw new IllegalStateException("job failed");
+                }
+        ))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("job failed");
+        verify(schedulerLeaseRepository, times(1)).release(
+                eq(LEASE_NAME), anyString(), eq(FENCING_TOKEN), eq(MIN_HOLD_MICROS));
+    }
+
+    @Test
+    @DisplayName("Test runExclusively() hands the job a token carrying its fencing token.")
+    public void runExclusively_LeaseAvailable_PassesFencingToken() {
+        // Given
+        when(schedulerLeaseRepository.acquire(eq(LEASE_NAME), anyString(), eq(LEASE_MICROS)))
+                .thenReturn(1);
+        when(schedulerLeaseRepository.findFencingToken(eq(LEASE_NAME), anyString()))
+                .thenReturn(Optional.of(FENCING_TOKEN));
+        when(schedulerLeaseRepository.release(
+                eq(LEASE_NAME), anyString(), eq(FENCING_TOKEN), eq(MIN_HOLD_MICROS)))
+                .thenReturn(1);
+        AtomicReference<LeaseToken> received = new AtomicReference<>();
+
+        // When
+        schedulerLeaseService.runExclusively(LEASE_NAME, MIN_HOLD, received::set);
+
+        // Then
+        assertThat(received.get().leaseName()).isEqualTo(LEASE_NAME);
+        assertThat(received.get().fencingToken()).isEqualTo(FENCING_TOKEN);
+        assertThat(received.get().owner()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Test runExclusively() interrupts job when heartbeat finds lease taken over.")
+    public void runExclusively_LeaseLostDuringJob_InterruptsJob() {
+        // Given
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(schedulerLeaseRepository.acquire(eq(LEASE_NAME), anyString(), eq(LEASE_MICROS)))
+                .thenReturn(1);
+        when(schedulerLeaseRepository.findFencingToken(eq(LEASE_NAME), anyString()))
+                .thenReturn(Optional.of(FENCING_TOKEN));
+        when(schedulerLeaseRepository.renew(
+                eq(LEASE_NAME), anyString(), eq(FENCING_TOKEN), eq(LEASE_MICROS)))
+                .thenReturn(0);
+        when(schedulerLeaseRepository.release(
+                eq(LEASE_NAME), anyString(), eq(FENCING_TOKEN), eq(MIN_HOLD_MICROS)))
+                .thenReturn(0);
+
+        // When
+        boolean executed = schedulerLeaseService.runExclusively(LEASE_NAME, MIN_HOLD, lease -> {
+            try {
+                TimeUnit.SECONDS.sleep(30);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+
+        // Then
+        assertThat(executed).isFalse();
+        assertThat(interrupted).isTrue();
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        verify(schedulerLeaseRepository, atLeastOnce()).renew(
+                eq(LEASE_NAME), anyString(), eq(FENCING_TOKEN), eq(LEASE_MICROS));
+    }
+
+    @Test
+    @DisplayName("Test runExclusively() reports job stopped by a lost lease as not executed.")
+    public void runExclusively_JobThrowsLeaseLost_ReturnsFalse() {
+        // Given
+        when(schedulerLeaseRepository.acquire(eq(LEASE_NAME), anyString(), eq(LEASE_MICROS)))
+                .thenReturn(1);
+        when(schedulerLeaseRepository.findFencingToken(eq(LEASE_NAME), anyString()))
+                .thenReturn(Optional.of(FENCING_TOKEN));
+        when(schedulerLeaseRepository.release(
+                eq(LEASE_NAME), anyString(), eq(FENCING_TOKEN), eq(MIN_HOLD_MICROS)))
+                .thenReturn(0);
+
+        // When
+        boolean executed = schedulerLeaseService.runExclusively(LEASE_NAME, MIN_HOLD, lease -> {
+            throw new LeaseLostException("Lease lost");
+        });
+
+        // Then
+        assertThat(executed).isFalse();
+        verify(schedulerLeaseRepository, times(1)).release(
+                eq(LEASE_NAME), anyString(), eq(FENCING_TOKEN), eq(MIN_HOLD_MICROS));
+    }
+
+    @Test
+    @DisplayName("Test assertHeld() passes while the fencing token is still current.")
+    public void assertHeld_TokenCurrent_DoesNotThrow() {
+        // Given
+        LeaseToken lease = new LeaseToken(LEASE_NAME, "node", FENCING_TOKEN);
+        when(schedulerLeaseRepository.lockIfHeld(LEASE_NAME, "node", FENCING_TOKEN))
+                .thenReturn(1L);
+
+        // When
+        schedulerLeaseService.assertHeld(lease);
+
+        // Then
+        verify(schedulerLeaseRepository, times(1)).lockIfHeld(LEASE_NAME, "node", FENCING_TOKEN);
+        verifyNoMoreInteractions(schedulerLeaseRepository);
+    }
+
+    @Test
+    @DisplayName("Test assertHeld() throws once another node holds a newer fencing token.")
+    public void assertHeld_TokenStale_ThrowsException() {
+        // Given
+        LeaseToken lease = new LeaseToken(LEASE_NAME, "node", FENCING_TOKEN);
+        when(schedulerLeaseRepository.lockIfHeld(LEASE_NAME, "node", FENCING_TOKEN))
+                .thenReturn(0L);
+
+        // When & Then
+        assertThatThrownBy(() -> schedulerLeaseService.assertHeld(lease))
+                .isInstanceOf(LeaseLostException.class)
+                .hasMessage("Lease test-job with fencing token 7 is no longer held");
+    }
+}
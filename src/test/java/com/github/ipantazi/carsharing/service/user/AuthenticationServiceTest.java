@@ -2,6 +2,7 @@ package com.github.ipantazi.carsharing.service.user;
 
 import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_USER_ID;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.NOT_EXISTING_USER_ID;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestUser;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.createTestUserLoginRequestDto;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -15,6 +16,7 @@ import static org.mockito.Mockito.when;
 
 import com.github.ipantazi.carsharing.dto.user.UserLoginRequestDto;
 import com.github.ipantazi.carsharing.dto.user.UserLoginResponseDto;
+import com.github.ipantazi.carsharing.model.User;
 import com.github.ipantazi.carsharing.security.AuthenticationService;
 import com.github.ipantazi.carsharing.security.JwtUtil;
 import org.junit.jupiter.api.DisplayName;
@@ -45,10 +47,17 @@ public class AuthenticationServiceTest {
         String expectedToken = "Test token";
         UserLoginRequestDto requestDto = createTestUserLoginRequestDto(EXISTING_USER_ID);
         Authentication authentication = mock(Authentication.class);
+        User user = createTestUser(EXISTING_USER_ID);
 
         when(authenticationManager.authenticate(any())).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(user);
         when(authentication.getName()).thenReturn(requestDto.email());
-        when(jwtUtil.generateToken(requestDto.email())).thenReturn(expectedToken);
+        when(jwtUtil.generateToken(
+                requestDto.email(),
+                user.getId(),
+                user.getRole(),
+                user.getTokenVersion()
+        )).thenReturn(expectedToken);
 
         //When
         UserLoginResponseDto actualResponseDto = authenticationService.authenticate(requestDto);
@@ -56,7 +65,12 @@ public class AuthenticationServiceTest {
         //Then
         assertThat(actualResponseDto.token()).isEqualTo(expectedToken);
         verify(authenticationManager, times(1)).authenticate(any());
-        verify(jwtUtil, times(1)).generateToken(requestDto.email());
+        verify(jwtUtil, times(1)).generateToken(
+                requestDto.email(),
+                user.getId(),
+                user.getRole(),
+                user.getTokenVersion()
+        );
         verifyNoMoreInteractions(authenticationManager, jwtUtil);
     }
 
@@ -14,6 +14,7 @@ import static org.mockito.Mockito.when;
 import com.github.ipantazi.carsharing.exception.EntityNotFoundException;
 import com.github.ipantazi.carsharing.model.User;
 import com.github.ipantazi.carsharing.repository.user.UserRepository;
+import com.github.ipantazi.carsharing.security.CachedPrincipal;
 import com.github.ipantazi.carsharing.security.CustomUserDetailsService;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
@@ -70,4 +71,20 @@ public class CustomUserDetailsServiceTest {
         verify(userRepository, times(1)).findByEmail(nonExistingEmail);
         verifyNoMoreInteractions(userRepository);
     }
+
+    @Test
+    @DisplayName("Should load minimal principal with token version by user id")
+    public void findPrincipal_ExistingUser_ReturnsCachedPrincipal() {
+        // Given
+        CachedPrincipal expected = new CachedPrincipal(EXISTING_USER_ID, User.Role.CUSTOMER, 2L);
+        when(userRepository.findPrincipalById(EXISTING_USER_ID)).thenReturn(Optional.of(expected));
+
+        // When
+        Optional<CachedPrincipal> actual = customUserDetailsService.findPrincipal(EXISTING_USER_ID);
+
+        // Then
+        assertThat(actual).contains(expected);
+        verify(userRepository, times(1)).findPrincipalById(EXISTING_USER_ID);
+        verifyNoMoreInteractions(userRepository);
+    }
 }
@@ -1,20 +1,30 @@
 package com.github.ipantazi.carsharing.service.user;
 
 import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_EMAIL;
+import static com.github.ipantazi.carsharing.util.TestDataUtil.EXISTING_USER_ID;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.INVALID_TOKEN;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.JWT_EXPIRATION_TIME_TEST;
 import static com.github.ipantazi.carsharing.util.TestDataUtil.JWT_SECRET_TEST;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.github.ipantazi.carsharing.model.User;
+import com.github.ipantazi.carsharing.security.JwtPrincipal;
 import com.github.ipantazi.carsharing.security.JwtUtil;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
 public class JwtUtilTest {
+    private static final long TOKEN_VERSION = 2L;
     private JwtUtil jwtUtil;
 
     @BeforeEach
@@ -27,13 +37,104 @@ public class JwtUtilTest {
     @DisplayName("Test generateToken method")
     public void generateToken_And_ValidateToken_Success() {
         //When
-        String token = jwtUtil.generateToken(EXISTING_EMAIL);
+        String token = jwtUtil.generateToken(
+                EXISTING_EMAIL,
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                TOKEN_VERSION
+        );
 
         //Then
         assertThat(jwtUtil.isValidToken(token)).isTrue();
         assertThat(jwtUtil.getUsernameFromToken(token)).isEqualTo(EXISTING_EMAIL);
     }
 
+    @Test
+    @DisplayName("Test parseClaims method returns validated claims")
+    public void parseClaims_ValidToken_ReturnsClaims() {
+        //Given
+        String token = jwtUtil.generateToken(
+                EXISTING_EMAIL,
+                EXISTING_USER_ID,
+                User.Role.CUSTOMER,
+                TOKEN_VERSION
+        );
+
+        //When
+        Claims claims = jwtUtil.parseClaims(token);
+
+        //Then
+        assertThat(claims.getSubject()).isEqualTo(EXISTING_EMAIL);
+        assertThat(claims.getExpiration()).isAfter(claims.getIssuedAt());
+    }
+
+    @Test
+    @DisplayName("Test getPrincipal method reads user id, role and token version claims")
+    public void getPrincipal_TokenWithUserClaims_ReturnsPrincipal() {
+        //Given
+        String token = jwtUtil.generateToken(
+                EXISTING_EMAIL,
+                EXISTING_USER_ID,
+                User.Role.MANAGER,
+                TOKEN_VERSION
+        );
+
+        //When
+        Optional<JwtPrincipal> principal = jwtUtil.getPrincipal(jwtUtil.parseClaims(token));
+
+        //Then
+        assertThat(principal).contains(new JwtPrincipal(
+                EXISTING_USER_ID, EXISTING_EMAIL, User.Role.MANAGER, TOKEN_VERSION));
+        assertThat(principal.get().getAuthorities())
+                .extracting(Object::toString)
+                .containsExactly("ROLE_MANAGER");
+    }
+
+    @Test
+    @DisplayName("Test getPrincipal method with token issued without user claims")
+    public void getPrincipal_TokenWithoutUserClaims_ReturnsEmpty() {
+        //Given
+        String token = Jwts.builder()
+                .subject(EXISTING_EMAIL)
+                .expiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION_TIME_TEST))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET_TEST.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        //When
+        Optional<JwtPrincipal> principal = jwtUtil.getPrincipal(jwtUtil.parseClaims(token));
+
+        //Then
+        assertThat(principal).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test getPrincipal method with token issued without token version claim")
+    public void getPrincipal_TokenWithoutVersionClaim_ReturnsEmpty() {
+        //Given
+        String token = Jwts.builder()
+                .subject(EXISTING_EMAIL)
+                .claim(JwtUtil.USER_ID_CLAIM, EXISTING_USER_ID)
+                .claim(JwtUtil.ROLE_CLAIM, User.Role.CUSTOMER.name())
+                .expiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION_TIME_TEST))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET_TEST.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        //When
+        Optional<JwtPrincipal> principal = jwtUtil.getPrincipal(jwtUtil.parseClaims(token));
+
+        //Then
+        assertThat(principal).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test parseClaims method with invalid token")
+    public void parseClaims_InvalidToken_ReturnsThrow() {
+        //When & Then
+        assertThatThrownBy(() -> jwtUtil.parseClaims(INVALID_TOKEN))
+                .isInstanceOf(JwtException.class)
+                .hasMessageContaining("Expired or invalid JWT token.");
+    }
+
     @Test
     @DisplayName("Test isValidToken method with invalid token")
     public void isValidToken_InvalidToken_ReturnsThrow() {
@@ -35,6 +35,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.github.ipantazi.carsharing.config.CacheConfig;
 import com.github.ipantazi.carsharing.dto.user.UserChangePasswordDto;
 import com.github.ipantazi.carsharing.dto.user.UserProfileUpdateDto;
 import com.github.ipantazi.carsharing.dto.user.UserRegistrationRequestDto;
@@ -47,6 +48,7 @@ import com.github.ipantazi.carsharing.exception.RegistrationException;
 import com.github.ipantazi.carsharing.mapper.UserMapper;
 import com.github.ipantazi.carsharing.model.User;
 import com.github.ipantazi.carsharing.repository.user.UserRepository;
+import com.github.ipantazi.carsharing.security.CachedPrincipal;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -54,6 +56,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @ExtendWith(MockitoExtension.class)
@@ -64,6 +69,8 @@ public class UserServiceTest {
     private UserMapper userMapper;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private CacheManager cacheManager;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -144,10 +151,12 @@ public class UserServiceTest {
                 expectedUserResponseDto,
                 USER_DTO_IGNORING_FIELD
         );
+        assertThat(user.getTokenVersion()).isEqualTo(1L);
         verify(userRepository, times(1)).lockUserForUpdate(EXISTING_USER_ID);
         verify(userRepository, times(1)).save(user);
         verify(userMapper, times(1)).toUserDto(user);
-        verifyNoMoreInteractions(userRepository, userMapper);
+        verify(cacheManager, times(1)).getCache(CacheConfig.PRINCIPALS_CACHE);
+        verifyNoMoreInteractions(userRepository, userMapper, cacheManager);
     }
 
     @Test
@@ -369,6 +378,32 @@ public class UserServiceTest {
         verifyNoMoreInteractions(userRepository, passwordEncoder);
     }
 
+    @Test
+    @DisplayName("Test change password revokes issued tokens and evicts cached principal.")
+    public void changePassword_CachedPrincipal_RevokesTokens() {
+        // Given
+        User user = createTestUser(EXISTING_USER_ID);
+        Cache principals = new ConcurrentMapCache(CacheConfig.PRINCIPALS_CACHE);
+        principals.put(user.getId(), Optional.of(
+                new CachedPrincipal(user.getId(), user.getRole(), user.getTokenVersion())));
+        UserChangePasswordDto requestDto = createTestChangePasswordRequestDto();
+        when(userRepository.lockUserForUpdate(EXISTING_USER_ID)).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches(NOT_HASHED_PASSWORD, B_CRYPT_PASSWORD))
+                .thenReturn(true);
+        when(passwordEncoder.encode(requestDto.newPassword())).thenReturn(NEW_NOT_HASHED_PASSWORD);
+        when(cacheManager.getCache(CacheConfig.PRINCIPALS_CACHE)).thenReturn(principals);
+
+        // When
+        userService.changePassword(EXISTING_USER_ID, requestDto);
+
+        // Then
+        assertThat(user.getTokenVersion()).isEqualTo(1L);
+        assertThat(principals.get(user.getId())).isNull();
+        verify(cacheManager, times(1)).getCache(CacheConfig.PRINCIPALS_CACHE);
+        verify(userRepository, times(1)).save(user);
+        verifyNoMoreInteractions(cacheManager);
+    }
+
     @Test
     @DisplayName("Test change password when user does not exist.")
     public void changePassword_UserDoesNotExist_ThrowsException() {
@@ -585,36 +620,25 @@ public class UserServiceTest {
     Test canAccessRental() method when user is a MANAGER and ignores requestedUserId.
             """)
     public void canAccessRental_Manager_returnsTrue() {
-        //Given
-        when(userRepository.existsByIdAndRole(EXISTING_ID_ANOTHER_USER, User.Role.MANAGER))
-                .thenReturn(true);
-
         //When
         boolean actualResult = userService.canAccessRental(EXISTING_ID_ANOTHER_USER,
-                EXISTING_USER_ID);
+                User.Role.MANAGER, EXISTING_USER_ID);
 
         //Then
         assertThat(actualResult).isTrue();
-        verify(userRepository, times(1))
-                .existsByIdAndRole(EXISTING_ID_ANOTHER_USER, User.Role.MANAGER);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     @DisplayName("Test canAccessRental() method when user is a CUSTOMER and has access to rental.")
     public void canAccessRental_Customer_returnsTrue() {
-        //Given
-        when(userRepository.existsByIdAndRole(EXISTING_USER_ID, User.Role.MANAGER))
-                .thenReturn(false);
-
         //When
         boolean actualResult = userService.canAccessRental(EXISTING_USER_ID,
-                EXISTING_USER_ID);
+                User.Role.CUSTOMER, EXISTING_USER_ID);
 
         //Then
         assertThat(actualResult).isTrue();
-        verify(userRepository, times(1)).existsByIdAndRole(EXISTING_USER_ID, User.Role.MANAGER);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -623,18 +647,13 @@ public class UserServiceTest {
              rental.
             """)
     public void canAccessRental_CustomerAndNoAccess_returnsFalse() {
-        //Given
-        when(userRepository.existsByIdAndRole(EXISTING_USER_ID, User.Role.MANAGER))
-                .thenReturn(false);
-
         //When
         boolean actualResult = userService.canAccessRental(EXISTING_USER_ID,
-                EXISTING_ID_ANOTHER_USER);
+                User.Role.CUSTOMER, EXISTING_ID_ANOTHER_USER);
 
         //Then
         assertThat(actualResult).isFalse();
-        verify(userRepository, times(1)).existsByIdAndRole(EXISTING_USER_ID, User.Role.MANAGER);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
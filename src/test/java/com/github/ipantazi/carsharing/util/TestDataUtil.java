@@ -23,6 +23,8 @@ import com.github.ipantazi.carsharing.model.User;
 import com.github.ipantazi.carsharing.notification.dto.NewRentalPayload;
 import com.github.ipantazi.carsharing.notification.dto.OverdueRentalPayload;
 import com.github.ipantazi.carsharing.notification.dto.PaymentPayload;
+import com.github.ipantazi.carsharing.repository.rental.OverdueRentalView;
+import com.github.ipantazi.carsharing.service.scheduler.LeaseToken;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Clock;
@@ -104,6 +106,7 @@ public class TestDataUtil {
     public static final long NOW_EPOCH = FIXED_CLOCK.instant().getEpochSecond();
     public static final long EXPIRED_CREATED_TIME = NOW_EPOCH - EXPIRY_SECONDS - 1;
     public static final long RECENT_CREATED_TIME = NOW_EPOCH - EXPIRY_SECONDS + 1;
+    public static final LeaseToken LEASE_TOKEN = new LeaseToken("test-job", "test-node", 7L);
 
     public static final BigDecimal AMOUNT_TO_PAY = CAR_DAILY_FEE.multiply(BigDecimal.valueOf(
             ChronoUnit.DAYS.between(RENTAL_DATE, RETURN_DATE)
@@ -170,14 +173,16 @@ public class TestDataUtil {
     public static final String INVALID_SIG_HEADER_TEST = "invalid-sig-header";
     public static final String INVALID_PAYLOAD_TEST = "{\"id\":\"invalid\"}";
 
-    public static final String[] CAR_IGNORING_FIELDS = new String[] {"id", "type", "isDeleted"};
+    public static final String[] CAR_IGNORING_FIELDS = new String[] {
+            "id", "type", "isDeleted", "version"
+    };
     public static final String CAR_DTO_IGNORING_FIELD = "id";
     public static final String USER_DTO_IGNORING_FIELD = "id";
     public static final String[] RENTAL_DTO_IGNORING_FIELDS = new String[] {
             "id", "userId", "carDto.id"
     };
     public static final String[] RENTAL_IGNORING_FIELDS = new String[] {
-            "id", "user", "car"
+            "id", "user", "car", "version", "totalCost", "amountPaid"
     };
     public static final String[] PAYMENT_IGNORING_FIELDS = new String[] {"id", "rentalId"};
     public static final String[] NEW_PAYMENT_IGNORING_FIELDS = new String[] {
@@ -518,6 +523,7 @@ public class TestDataUtil {
         rental.getCar().setType(Car.Type.valueOfType(rentalResponseDto.getCarDto().getType()));
         rental.getCar().setInventory(rentalResponseDto.getCarDto().getInventory());
         rental.getCar().setDailyFee(rentalResponseDto.getCarDto().getDailyFee());
+        rental.setDailyFee(rentalResponseDto.getCarDto().getDailyFee());
 
         rental.setUser(createTestUser(rentalResponseDto.getUserId()));
         return rental;
@@ -541,6 +547,9 @@ public class TestDataUtil {
         rental.getCar().setType(Car.Type.valueOfType(rentalDetailedDto.getCarDto().getType()));
         rental.getCar().setInventory(rentalDetailedDto.getCarDto().getInventory());
         rental.getCar().setDailyFee(rentalDetailedDto.getCarDto().getDailyFee());
+        rental.setDailyFee(rentalDetailedDto.getCarDto().getDailyFee());
+        rental.setTotalCost(rentalDetailedDto.getTotalCost());
+        rental.setAmountPaid(rentalDetailedDto.getAmountPaid());
 
         rental.setUser(createTestUser(rentalDetailedDto.getUserId()));
         return rental;
@@ -553,6 +562,7 @@ public class TestDataUtil {
         rental.setReturnDate(RETURN_DATE);
         rental.setActualReturnDate(actualReturnDate);
         rental.setCar(createTestCar(id));
+        rental.setDailyFee(rental.getCar().getDailyFee());
         rental.setUser(createTestUser(id));
         return rental;
     }
@@ -564,6 +574,7 @@ public class TestDataUtil {
         rental.setCar(createTestCar(id));
         rental.setRentalDate(RENTAL_DATE);
         rental.setReturnDate(RETURN_DATE_BEFORE_FIXED_DATE);
+        rental.setDailyFee(rental.getCar().getDailyFee());
         return rental;
     }
 
@@ -756,4 +767,43 @@ public class TestDataUtil {
                 DAYS_OVERDUE
         );
     }
+
+    public static OverdueRentalView createTestOverdueRentalView(Long id) {
+        return new OverdueRentalView() {
+            @Override
+            public Long getRentalId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return EXISTING_EMAIL;
+            }
+
+            @Override
+            public String getCarModel() {
+                return CAR_MODEL;
+            }
+
+            @Override
+            public String getCarBrand() {
+                return CAR_BRAND;
+            }
+
+            @Override
+            public Car.Type getCarType() {
+                return Car.Type.valueOf(CAR_TYPE);
+            }
+
+            @Override
+            public LocalDate getReturnDate() {
+                return RETURN_DATE_BEFORE_FIXED_DATE;
+            }
+
+            @Override
+            public long getDaysOverdue() {
+                return DAYS_OVERDUE;
+            }
+        };
+    }
 }
@@ -29,6 +29,7 @@ public class ControllerTestDataUtil extends TestDataUtil {
     public static final String URL_RENTALS = "/rentals";
     public static final String URL_RENTAL_BY_ID = "/rentals/{id}";
     public static final String URL_RETURN_RENTAL = "/rentals/{id}/return";
+    public static final String URL_RETURN_RENTALS = "/rentals/return";
 
     public static final String URL_PAYMENTS = "/payments";
     public static final String URL_PAYMENTS_SUCCESS = "/payments/success";
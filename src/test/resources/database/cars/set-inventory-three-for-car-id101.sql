@@ -0,0 +1 @@
+update cars set inventory = 3 where id = 101;
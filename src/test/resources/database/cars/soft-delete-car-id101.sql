@@ -0,0 +1 @@
+update cars set is_deleted = 1 where id = 101;
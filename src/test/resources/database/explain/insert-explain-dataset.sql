@@ -0,0 +1,29 @@
+SET SESSION cte_max_recursion_depth = 5000;
+
+insert into rentals (id, car_id, user_id, rental_date, return_date, actual_return_date)
+with recursive seq (n) as (
+    select 1
+    union all
+    select n + 1 from seq where n < 3000
+)
+select 1000 + n,
+       101 + mod(n, 3),
+       101 + mod(n, 5),
+       date_sub('2025-01-01', interval mod(n, 365) day),
+       date_sub('2025-01-06', interval mod(n, 365) day),
+       case when mod(n, 50) = 0 then null
+            else date_sub('2025-01-06', interval mod(n, 365) day) end
+from seq;
+
+insert into payments (id, rental_id, session_url, session_id, amount_to_pay, status, type)
+select id,
+       id,
+       'https://checkout.stripe.com/pay/session_test_id',
+       concat('explain session ', id),
+       100,
+       case when mod(id, 50) = 0 then 'PENDING' else 'PAID' end,
+       'PAYMENT'
+from rentals
+where id > 1000;
+
+ANALYZE TABLE rentals, payments;
@@ -1,2 +1,2 @@
-insert into rentals (id, car_id, user_id, rental_date, return_date)
-values (101, 101, 101, '2025-01-01', '2025-01-06');
+insert into rentals (id, car_id, user_id, rental_date, return_date, daily_fee, total_cost)
+values (101, 101, 101, '2025-01-01', '2025-01-06', 101, 505);
@@ -1,5 +1,5 @@
-insert into rentals (id, car_id, user_id, rental_date, return_date)
-values (101, 101, 101, '2025-01-01', '2025-01-06');
+insert into rentals (id, car_id, user_id, rental_date, return_date, daily_fee, total_cost)
+values (101, 101, 101, '2025-01-01', '2025-01-06', 101, 505);
 
-insert into rentals (id, car_id, user_id, rental_date, return_date)
-values (102, 102, 102, '2025-01-01', '2025-01-06');
+insert into rentals (id, car_id, user_id, rental_date, return_date, daily_fee, total_cost)
+values (102, 102, 102, '2025-01-01', '2025-01-06', 102, 510);
@@ -2,5 +2,8 @@ update rentals set car_id = 101,
                    user_id = 101,
                    rental_date = '2025-01-01',
                    return_date = '2025-01-06',
-                   actual_return_date = null
+                   actual_return_date = null,
+                   daily_fee = 101,
+                   total_cost = 505,
+                   amount_paid = 0
 where id = 101;
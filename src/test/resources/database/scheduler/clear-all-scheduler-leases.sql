@@ -0,0 +1 @@
+DELETE FROM scheduler_leases;